@@ -0,0 +1,132 @@
+package org.example;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.example.config.ShutdownConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks whether this node should receive traffic, and shuts it down in order within a deadline.
+ *
+ * On shutdown the node first reports not ready and keeps serving for the readiness delay, so
+ * load balancers stop routing to it. The registered steps then run one at a time in
+ * registration order; a step that throws is logged and the next one runs. Steps still running
+ * at the deadline are abandoned and the JVM is left to exit.
+ */
+@Singleton
+public class ApplicationLifecycle {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ApplicationLifecycle.class);
+
+  public enum State { STARTING, READY, DRAINING, STOPPED }
+
+  private final ShutdownConfig config;
+  private final List<Step> steps = new CopyOnWriteArrayList<>();
+  private volatile State state = State.STARTING;
+  private volatile String currentStep;
+
+  @Inject
+  public ApplicationLifecycle(ShutdownConfig config) {
+    this.config = config;
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  /**
+   * Whether load balancers should send traffic here: startup has finished and shutdown has not
+   * begun.
+   */
+  public boolean isReady() {
+    return state == State.READY;
+  }
+
+  public synchronized void markReady() {
+    if (state == State.STARTING) {
+      state = State.READY;
+    }
+  }
+
+  /**
+   * Adds a step to run on shutdown, after those already added.
+   */
+  public void onShutdown(String name, Runnable action) {
+    steps.add(new Step(name, action));
+  }
+
+  public void installShutdownHook() {
+    Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "stockiq-shutdown"));
+  }
+
+  /**
+   * Drains and stops the node. Only the first call does anything.
+   *
+   * @return whether every step finished before the deadline
+   */
+  public boolean shutdown() {
+    State previous;
+    synchronized (this) {
+      previous = state;
+      if (previous == State.DRAINING || previous == State.STOPPED) {
+        return true;
+      }
+      state = State.DRAINING;
+    }
+    long start = System.currentTimeMillis();
+    long deadline = start + config.getTimeout().toMillis();
+    LOGGER.info("Shutting down, deadline {} ms", config.getTimeout().toMillis());
+
+    Thread runner = new Thread(() -> runSteps(previous == State.READY, deadline),
+        "stockiq-shutdown-steps");
+    runner.setDaemon(true);
+    runner.start();
+    try {
+      runner.join(Math.max(1, deadline - System.currentTimeMillis()));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    state = State.STOPPED;
+    if (runner.isAlive()) {
+      LOGGER.error("Shutdown deadline of {} ms passed during step '{}', abandoning the rest",
+          config.getTimeout().toMillis(), currentStep);
+      return false;
+    }
+    LOGGER.info("Shutdown complete in {} ms", System.currentTimeMillis() - start);
+    return true;
+  }
+
+  private void runSteps(boolean wasReady, long deadline) {
+    if (wasReady) {
+      currentStep = "readiness delay";
+      long delayMillis = Math.min(config.getReadinessDelay().toMillis(),
+          deadline - System.currentTimeMillis());
+      if (delayMillis > 0) {
+        try {
+          Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+    for (Step step : steps) {
+      currentStep = step.name;
+      long stepStart = System.currentTimeMillis();
+      try {
+        step.action.run();
+      } catch (RuntimeException e) {
+        LOGGER.error("Shutdown step '{}' failed", step.name, e);
+      }
+      LOGGER.debug("Shutdown step '{}' took {} ms", step.name,
+          System.currentTimeMillis() - stepStart);
+    }
+    currentStep = null;
+  }
+
+  private record Step(String name, Runnable action) {
+  }
+}
@@ -2,12 +2,40 @@ package org.example;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
+import com.google.inject.Stage;
 import io.javalin.Javalin;
+import io.javalin.http.Header;
+import io.javalin.http.HttpStatus;
 import io.javalin.json.JavalinJackson;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.jetty.server.handler.StatisticsHandler;
 import org.example.config.AppModule;
+import org.example.config.ApplicationProperties;
+import org.example.config.DatabaseConfig;
+import org.example.config.IngestionConfig;
+import org.example.config.ShutdownConfig;
+import org.example.config.StartupTimer;
+import org.example.controller.AdmissionControl;
+import org.example.controller.AdmissionControl.EndpointClass;
+import org.example.controller.AdminController;
 import org.example.controller.HelloController;
+import org.example.controller.IndicatorController;
 import org.example.controller.StockController;
+import org.example.controller.StockStreamController;
+import org.example.provider.MarketDataProvider;
+import org.example.repository.DatabaseHealth;
+import org.example.repository.SchemaMigrator;
+import org.example.repository.StockOverviewChangeListener;
+import org.example.service.IngestionService;
+import org.example.service.StockService;
+import org.example.service.impl.OverviewWriteBuffer;
+import org.example.stream.QuoteStreamHub;
+import org.example.symbol.SymbolDirectory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,60 +47,252 @@ public class Main {
   private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
   private static final int DEFAULT_PORT = 8080;
 
+  /**
+   * When set, the server starts, serves one request to itself and exits. Used by the
+   * {@code appcds} Maven profile to record the class list for the CDS archive.
+   */
+  private static final String EXIT_AFTER_STARTUP_PROPERTY = "stockiq.exitAfterStartup";
+
   public static void main(String[] args) {
+    StartupTimer startupTimer = new StartupTimer();
     try {
-      // Create Guice injector
-      Injector injector = Guice.createInjector(new AppModule());
+      // Create Guice injector. DEVELOPMENT stage keeps singletons lazy, and the database pool
+      // and upstream HTTP client are only built when first used.
+      Injector injector = Guice.createInjector(Stage.DEVELOPMENT, new AppModule());
+      startupTimer.mark("guice injector");
 
       // Get port from environment or use default
       int port = getPort();
+      Javalin app = start(injector, port, startupTimer);
+      injector.getInstance(ApplicationLifecycle.class).installShutdownHook();
 
-      // Create and configure Javalin app
-      Javalin app = Javalin.create(config -> {
-        // Configure Jackson for JSON serialization
-        config.jsonMapper(new JavalinJackson());
-        
-        // Enable CORS for frontend compatibility
-        config.bundledPlugins.enableCors(cors -> {
-          cors.addRule(it -> {
-            it.anyHost();
-            it.allowCredentials = false;
-          });
-        });
+      if (Boolean.getBoolean(EXIT_AFTER_STARTUP_PROPERTY)) {
+        runTrainingRequestAndExit(app, app.port());
+      }
+
+    } catch (Exception e) {
+      LOGGER.error("Failed to start application", e);
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Builds the Javalin app from an injector, registers all routes and starts it. Port 0 binds
+   * an ephemeral port; read it back with {@link Javalin#port()}. Used by {@link #main} and by
+   * tests that boot the full stack. Everything started here is registered with
+   * {@link ApplicationLifecycle} to be stopped on shutdown; only {@link #main} installs the
+   * shutdown hook.
+   */
+  public static Javalin start(Injector injector, int port, StartupTimer startupTimer) {
+    DatabaseHealth databaseHealth = injector.getInstance(DatabaseHealth.class);
+    boolean migrate = ApplicationProperties.getBoolean("db.migrate.enabled", true);
+    AtomicBoolean migrationPending = new AtomicBoolean(migrate);
+    if (migrate) {
+      // First of the recovery hooks, so a migration deferred by an outage at startup creates
+      // the schema before queued writes are flushed into it
+      SchemaMigrator migrator = injector.getInstance(SchemaMigrator.class);
+      databaseHealth.onRecovery(() -> {
+        if (migrationPending.get()) {
+          migrator.migrate();
+          migrationPending.set(false);
+        }
       });
+    }
 
-      // Get controllers from Guice
-      HelloController helloController = injector.getInstance(HelloController.class);
-      StockController stockController = injector.getInstance(StockController.class);
+    // Before anything that needs the database, so cached overviews are served straight away
+    StockService stockService = injector.getInstance(StockService.class);
+    stockService.startOverviewSnapshots();
+    startupTimer.mark("overview snapshot");
 
-      // Define routes
-      app.get("/hello", helloController::getHello);
+    if (migrate) {
+      migrateSchema(injector.getInstance(SchemaMigrator.class), databaseHealth, migrationPending);
+      startupTimer.mark("schema migration");
+    }
 
-      app.get("/stock-info", stockController::getStock);
-      app.get("/stock-overview", stockController::getStockOverview);
-      app.post("/stock", stockController::postStock);
+    ApplicationLifecycle lifecycle = injector.getInstance(ApplicationLifecycle.class);
+    ShutdownConfig shutdownConfig = injector.getInstance(ShutdownConfig.class);
 
-      // Health check endpoint
-      app.get("/health", ctx -> {
-        ctx.json(Map.of(
-            "status", "UP", 
-            "timestamp", System.currentTimeMillis()
-        ));
+    // Create and configure Javalin app
+    Javalin app = Javalin.create(config -> {
+      // Stopping the server closes the connectors, then waits for requests the statistics
+      // handler still counts as in flight
+      config.jetty.modifyServer(server -> {
+        server.setHandler(new StatisticsHandler());
+        server.setStopTimeout(shutdownConfig.getDrainTimeout().toMillis());
       });
 
-      // Start server
-      app.start(port);
-      LOGGER.info("Server started successfully on port {}", port);
-      LOGGER.info("Hello World endpoint: http://localhost:{}/hello", port);
-      LOGGER.info("Stock endpoint: http://localhost:{}/stock-info", port);
-      LOGGER.info("Stock overview endpoint: http://localhost:{}/stock-overview", port);
-      LOGGER.info("Health check endpoint: http://localhost:{}/health", port);
-      LOGGER.info("Try: http://localhost:{}/hello?name=YourName", port);
+      // Configure Jackson for JSON serialization
+      config.jsonMapper(new JavalinJackson());
+      
+      // Enable CORS for frontend compatibility
+      config.bundledPlugins.enableCors(cors -> {
+        cors.addRule(it -> {
+          it.anyHost();
+          it.allowCredentials = false;
+        });
+      });
+    });
+    startupTimer.mark("javalin config");
 
-    } catch (Exception e) {
-      LOGGER.error("Failed to start application", e);
-      System.exit(1);
+    // Get controllers from Guice
+    HelloController helloController = injector.getInstance(HelloController.class);
+    StockController stockController = injector.getInstance(StockController.class);
+    IndicatorController indicatorController = injector.getInstance(IndicatorController.class);
+    AdminController adminController = injector.getInstance(AdminController.class);
+    StockStreamController stockStreamController = injector.getInstance(StockStreamController.class);
+    AdmissionControl admission = injector.getInstance(AdmissionControl.class);
+    startupTimer.mark("controllers");
+
+    app.before(ctx -> startupTimer.recordFirstRequest());
+    // While draining, keep-alive clients are told to reconnect, which reaches another node
+    app.after(ctx -> {
+      if (lifecycle.getState() == ApplicationLifecycle.State.DRAINING) {
+        ctx.header(Header.CONNECTION, "close");
+      }
+    });
+
+    // Define routes. Data endpoints go through admission control, each in the budget of what
+    // serving it usually costs; streams, admin and health endpoints are not limited.
+    app.get("/hello", admission.admit(EndpointClass.CACHED, helloController::getHello));
+
+    app.get("/stock-info", admission.admit(EndpointClass.UPSTREAM, stockController::getStock));
+    app.get("/stock-overview", admission.admit(EndpointClass.CACHED, stockController::getStockOverview));
+    app.get("/stock-history", admission.admit(EndpointClass.DATABASE, stockController::getStockHistory));
+    app.get("/stock-screener", admission.admit(EndpointClass.DATABASE, stockController::getStockScreener));
+    app.get("/stock-indicators", admission.admit(EndpointClass.DATABASE, indicatorController::getIndicators));
+    app.post("/stock", admission.admit(EndpointClass.UPSTREAM, stockController::postStock));
+    app.sse("/stock-stream", stockStreamController::streamQuotes);
+
+    app.get("/admin/admission", adminController::getAdmissionStatus);
+    app.get("/admin/upstream", adminController::getUpstreamStatus);
+    app.get("/admin/hot-symbols", adminController::getHotSymbols);
+    app.get("/admin/symbols", adminController::getSymbolDirectoryStatus);
+    app.get("/admin/ingestion", adminController::getIngestionStatus);
+    app.post("/admin/ingestion/enqueue", adminController::postIngestionEnqueue);
+
+    // Health check endpoints; the node stays UP and ready while the database is down, serving
+    // what it can. Liveness only fails if the process stops answering; readiness fails from the
+    // start of shutdown, so load balancers drain the node before it stops accepting connections.
+    app.get("/health", ctx -> {
+      ctx.json(Map.of(
+          "status", "UP", 
+          "ready", lifecycle.isReady(),
+          "database", databaseHealth.isAvailable() ? "UP" : "DOWN",
+          "timestamp", System.currentTimeMillis()
+      ));
+    });
+    app.get("/health/live", ctx -> ctx.json(Map.of("status", "UP")));
+    app.get("/health/ready", ctx -> {
+      if (!lifecycle.isReady()) {
+        ctx.status(HttpStatus.SERVICE_UNAVAILABLE);
+      }
+      ctx.json(Map.of("status", lifecycle.getState().name()));
+    });
+
+    // Start server
+    app.start(port);
+    port = app.port();
+    // Open streams would hold the server's drain until its timeout; closed first, their clients
+    // reconnect to another node
+    lifecycle.onShutdown("quote streams", injector.getInstance(QuoteStreamHub.class)::stop);
+    lifecycle.onShutdown("http server", app::stop);
+    databaseHealth.start();
+    if (ApplicationProperties.getBoolean("cache.overview.invalidation.enabled", true)) {
+      startOverviewChangeListener(injector);
+      lifecycle.onShutdown("overview change listener",
+          injector.getInstance(StockOverviewChangeListener.class)::stop);
+    }
+    if (injector.getInstance(IngestionConfig.class).isEnabled()) {
+      IngestionService ingestionService = injector.getInstance(IngestionService.class);
+      ingestionService.start();
+      lifecycle.onShutdown("ingestion workers", ingestionService::stop);
+    }
+    SymbolDirectory symbolDirectory = injector.getInstance(SymbolDirectory.class);
+    symbolDirectory.start();
+    lifecycle.onShutdown("symbol directory", symbolDirectory::stop);
+    OverviewWriteBuffer overviewWriteBuffer = injector.getInstance(OverviewWriteBuffer.class);
+    overviewWriteBuffer.start();
+    // Queued overview writes before the probe and the pool go, so none is acknowledged and
+    // then lost
+    lifecycle.onShutdown("queued overview writes", overviewWriteBuffer::stop);
+    lifecycle.onShutdown("database health probe", databaseHealth::stop);
+    lifecycle.onShutdown("overview snapshot", stockService::stopOverviewSnapshots);
+    lifecycle.onShutdown("market data provider",
+        injector.getInstance(MarketDataProvider.class)::close);
+    lifecycle.onShutdown("connection pool", DatabaseConfig::closeDataSource);
+    lifecycle.markReady();
+    startupTimer.mark("server start");
+    startupTimer.logReport();
+    LOGGER.info("Server started successfully on port {}", port);
+    LOGGER.info("Hello World endpoint: http://localhost:{}/hello", port);
+    LOGGER.info("Stock endpoint: http://localhost:{}/stock-info", port);
+    LOGGER.info("Stock overview endpoint: http://localhost:{}/stock-overview", port);
+    LOGGER.info("Price history endpoint: http://localhost:{}/stock-history", port);
+    LOGGER.info("Screener endpoint: http://localhost:{}/stock-screener?sector=Technology", port);
+    LOGGER.info("Quote stream endpoint: http://localhost:{}/stock-stream?symbols=AAPL,MSFT", port);
+    LOGGER.info("Indicators endpoint: http://localhost:{}/stock-indicators", port);
+    LOGGER.info("Ingestion status endpoint: http://localhost:{}/admin/ingestion", port);
+    LOGGER.info("Admission status endpoint: http://localhost:{}/admin/admission", port);
+    LOGGER.info("Upstream scheduler endpoint: http://localhost:{}/admin/upstream", port);
+    LOGGER.info("Hot symbols endpoint: http://localhost:{}/admin/hot-symbols", port);
+    LOGGER.info("Symbol directory endpoint: http://localhost:{}/admin/symbols", port);
+    LOGGER.info("Health check endpoint: http://localhost:{}/health (also /health/live, /health/ready)", port);
+    LOGGER.info("Try: http://localhost:{}/hello?name=YourName", port);
+    return app;
+  }
+
+  /**
+   * Brings the schema up to date. While the database is unreachable the migration is left to
+   * the recovery hook, and the node starts in degraded mode; a schema this build cannot accept,
+   * such as an applied script that was edited since, still fails startup.
+   */
+  private static void migrateSchema(SchemaMigrator migrator, DatabaseHealth databaseHealth,
+      AtomicBoolean migrationPending) {
+    if (!databaseHealth.checkNow()) {
+      LOGGER.warn("Database unreachable at startup, migrating the schema once it is back");
+      return;
     }
+    try {
+      migrator.migrate();
+      migrationPending.set(false);
+    } catch (RuntimeException e) {
+      if (!databaseHealth.reportFailure(e)) {
+        throw e;
+      }
+      LOGGER.warn("Database lost during schema migration, retrying once it is back", e);
+    }
+  }
+
+  /**
+   * Drops cached overviews when another node changes them. Connects in the background so
+   * startup does not wait for the database.
+   */
+  private static void startOverviewChangeListener(Injector injector) {
+    StockService stockService = injector.getInstance(StockService.class);
+    injector.getInstance(StockOverviewChangeListener.class).start(
+        new StockOverviewChangeListener.Handler() {
+          @Override
+          public void overviewChanged(String symbol) {
+            stockService.invalidateOverview(symbol);
+          }
+
+          @Override
+          public void resync() {
+            stockService.invalidateAllOverviews();
+          }
+        });
+  }
+
+  private static void runTrainingRequestAndExit(Javalin app, int port) throws Exception {
+    HttpRequest request = HttpRequest.newBuilder()
+        .uri(URI.create("http://localhost:" + port + "/health"))
+        .GET()
+        .build();
+    HttpResponse<String> response = HttpClient.newHttpClient()
+        .send(request, HttpResponse.BodyHandlers.ofString());
+    LOGGER.info("Training request returned HTTP {}, exiting", response.statusCode());
+    // The shutdown hook stops the server, so shutdown classes are recorded too
+    System.exit(0);
   }
 
   private static int getPort() {
@@ -88,4 +308,4 @@ public class Main {
     return DEFAULT_PORT;
   }
 
-}
\ No newline at end of file
+}
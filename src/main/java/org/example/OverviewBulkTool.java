@@ -0,0 +1,90 @@
+package org.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.sql.DataSource;
+import org.example.config.ApplicationProperties;
+import org.example.config.DatabaseConfig;
+import org.example.repository.SchemaMigrator;
+import org.example.repository.StockOverviewBulkLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Command-line bulk export and import of stock overviews against the configured database.
+ *
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=org.example.OverviewBulkTool -Dexec.args="export overviews.csv.gz"
+ * mvn compile exec:java -Dexec.mainClass=org.example.OverviewBulkTool -Dexec.args="import overviews.csv.gz"
+ * </pre>
+ *
+ * Files ending in {@code .gz} are compressed; {@code -} means stdin or stdout.
+ */
+public class OverviewBulkTool {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OverviewBulkTool.class);
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  public static void main(String[] args) {
+    if (args.length != 2 || !(args[0].equals("export") || args[0].equals("import"))) {
+      System.err.println("Usage: OverviewBulkTool export|import <file.csv[.gz]|->");
+      System.exit(2);
+    }
+    try {
+      DataSource dataSource = DatabaseConfig.getDataSource();
+      if (ApplicationProperties.getBoolean("db.migrate.enabled", true)) {
+        new SchemaMigrator(dataSource).migrate();
+      }
+      StockOverviewBulkLoader loader = new StockOverviewBulkLoader(dataSource);
+      long start = System.nanoTime();
+      if (args[0].equals("export")) {
+        try (OutputStream out = openOutput(args[1])) {
+          long rows = loader.export(out);
+          LOGGER.info("Exported {} rows to {} in {} ms", rows, args[1], elapsedMillis(start));
+        }
+      } else {
+        try (InputStream in = openInput(args[1])) {
+          StockOverviewBulkLoader.ImportResult result = loader.importFrom(in);
+          LOGGER.info("Imported {} rows from {} in {} ms ({} inserted, {} updated, {} skipped)",
+              result.staged(), args[1], elapsedMillis(start), result.inserted(), result.updated(),
+              result.skipped());
+        }
+      }
+    } catch (Exception e) {
+      LOGGER.error("Bulk {} failed", args[0], e);
+      System.exit(1);
+    } finally {
+      DatabaseConfig.closeDataSource();
+    }
+  }
+
+  private static OutputStream openOutput(String target) throws IOException {
+    OutputStream out = target.equals("-")
+        ? new BufferedOutputStream(System.out, BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+              flush();
+            }
+          }
+        : new BufferedOutputStream(Files.newOutputStream(Path.of(target)), BUFFER_SIZE);
+    return target.endsWith(".gz") ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+  }
+
+  private static InputStream openInput(String source) throws IOException {
+    InputStream in = source.equals("-")
+        ? new BufferedInputStream(System.in, BUFFER_SIZE)
+        : new BufferedInputStream(Files.newInputStream(Path.of(source)), BUFFER_SIZE);
+    return source.endsWith(".gz") ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+  }
+
+  private static long elapsedMillis(long startNanos) {
+    return (System.nanoTime() - startNanos) / 1_000_000;
+  }
+}
@@ -0,0 +1,131 @@
+package org.example.cache;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.example.config.FrequencyConfig;
+import org.example.symbol.Symbols;
+
+/**
+ * Which symbols are requested most, in bounded memory.
+ *
+ * Every request is counted in a {@link FrequencySketch}, whose counters are halved
+ * periodically so the estimates reflect recent traffic. The caches use the estimates to keep
+ * popular symbols over cold ones, and ingestion refreshes the hottest symbols first. Counting
+ * takes no lock: a request bumps the sketch and drops its symbol into a ring of recent
+ * requests. The current top symbols, for ingestion and {@code /admin/hot-symbols}, are worked
+ * out from that ring when asked for.
+ */
+@Singleton
+public class AccessFrequencyTracker {
+
+  // Recent requests kept for ranking, a power of two; a hot symbol is requested often enough
+  // to be among them
+  private static final int RECENT_REQUESTS = 1024;
+
+  private final FrequencyConfig config;
+  private final FrequencySketch sketch;
+  private final AtomicReferenceArray<String> recent = new AtomicReferenceArray<>(RECENT_REQUESTS);
+  private final AtomicLong recorded = new AtomicLong();
+  // Guarded by this
+  private final Set<String> hot = new HashSet<>();
+
+  @Inject
+  public AccessFrequencyTracker(FrequencyConfig config) {
+    this.config = config;
+    this.sketch = new FrequencySketch(config.isEnabled() ? config.getCounters() : 1);
+  }
+
+  /**
+   * A tracker that counts nothing; every symbol is equally cold.
+   */
+  public static AccessFrequencyTracker disabled() {
+    return new AccessFrequencyTracker(new FrequencyConfig(false, 1, 0));
+  }
+
+  public boolean isEnabled() {
+    return config.isEnabled();
+  }
+
+  /**
+   * Counts one request for a symbol.
+   */
+  public void record(String symbol) {
+    String key = Symbols.canonicalize(symbol);
+    if (!config.isEnabled() || key == null) {
+      return;
+    }
+    sketch.increment(key);
+    recent.set((int) (recorded.getAndIncrement() & (RECENT_REQUESTS - 1)), key);
+  }
+
+  /**
+   * Estimated recent requests for a symbol; never less than the true count since the last
+   * halving.
+   */
+  public int frequency(String symbol) {
+    return sketch.frequency(symbol);
+  }
+
+  /**
+   * The most requested symbols, hottest first.
+   */
+  public List<String> hotSymbols(int limit) {
+    List<String> symbols = new ArrayList<>();
+    for (Map.Entry<String, Integer> entry : rankedHot(limit)) {
+      symbols.add(entry.getKey());
+    }
+    return symbols;
+  }
+
+  /**
+   * The hottest symbols with their estimated request counts, and how the estimates are aged.
+   */
+  public Map<String, Object> getStatus(int limit) {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("enabled", config.isEnabled());
+    List<Map<String, Object>> symbols = new ArrayList<>();
+    for (Map.Entry<String, Integer> entry : rankedHot(limit)) {
+      Map<String, Object> symbol = new LinkedHashMap<>();
+      symbol.put("symbol", entry.getKey());
+      symbol.put("estimatedRequests", entry.getValue());
+      symbols.add(symbol);
+    }
+    status.put("recorded", recorded.get());
+    status.put("sampleSize", sketch.getSampleSize());
+    status.put("halvings", sketch.getResets());
+    status.put("symbols", symbols);
+    return status;
+  }
+
+  /**
+   * Ranks the symbols hot so far together with those requested since, by their current
+   * estimates, and keeps the top ones as the new hot set.
+   */
+  private synchronized List<Map.Entry<String, Integer>> rankedHot(int limit) {
+    Set<String> candidates = new HashSet<>(hot);
+    for (int i = 0; i < RECENT_REQUESTS; i++) {
+      String key = recent.getAndSet(i, null);
+      if (key != null) {
+        candidates.add(key);
+      }
+    }
+    List<Map.Entry<String, Integer>> ranked = new ArrayList<>(candidates.size());
+    for (String symbol : candidates) {
+      ranked.add(Map.entry(symbol, sketch.frequency(symbol)));
+    }
+    ranked.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+        .thenComparing(Map.Entry.comparingByKey()));
+    ranked = ranked.subList(0, Math.min(config.getHotSymbols(), ranked.size()));
+    hot.clear();
+    ranked.forEach(entry -> hot.add(entry.getKey()));
+    return new ArrayList<>(ranked.subList(0, Math.min(limit, ranked.size())));
+  }
+}
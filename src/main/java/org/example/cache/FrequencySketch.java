@@ -0,0 +1,98 @@
+package org.example.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Count-min sketch of how often keys were seen, in fixed memory.
+ *
+ * Estimates never undercount but may overcount when keys collide in every row. After
+ * {@code sampleSize} increments all counters are halved, so old popularity fades and the
+ * estimates follow recent traffic. Safe for concurrent use without locking; an increment that
+ * races a halving may or may not be halved with the rest, which only blurs the estimates.
+ */
+public class FrequencySketch {
+
+  private static final int DEPTH = 4;
+  private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+  // DEPTH rows of rowWidth counters, row after row
+  private final AtomicIntegerArray table;
+  private final int rowWidth;
+  private final int mask;
+  private final int sampleSize;
+  private final AtomicInteger additions = new AtomicInteger();
+  private final AtomicLong resets = new AtomicLong();
+
+  /**
+   * @param width counters per row, rounded up to a power of two
+   */
+  public FrequencySketch(int width) {
+    if (width < 1) {
+      throw new IllegalArgumentException("width must be positive");
+    }
+    this.rowWidth = Integer.highestOneBit(Math.max(16, width) - 1) << 1;
+    this.table = new AtomicIntegerArray(DEPTH * rowWidth);
+    this.mask = rowWidth - 1;
+    this.sampleSize = 10 * rowWidth;
+  }
+
+  /**
+   * Counts one occurrence and returns the new estimate.
+   */
+  public int increment(Object key) {
+    int hash = spread(key.hashCode());
+    int estimate = Integer.MAX_VALUE;
+    for (int row = 0; row < DEPTH; row++) {
+      int count = table.updateAndGet(slotOf(hash, row),
+          value -> value < Integer.MAX_VALUE ? value + 1 : value);
+      estimate = Math.min(estimate, count);
+    }
+    // Only the increment that reaches the sample size halves, so halvings never overlap
+    if (additions.incrementAndGet() == sampleSize) {
+      reset();
+      return estimate >>> 1;
+    }
+    return estimate;
+  }
+
+  public int frequency(Object key) {
+    int hash = spread(key.hashCode());
+    int estimate = Integer.MAX_VALUE;
+    for (int row = 0; row < DEPTH; row++) {
+      estimate = Math.min(estimate, table.get(slotOf(hash, row)));
+    }
+    return estimate;
+  }
+
+  /**
+   * Times the counters have been halved; estimates taken before a reset are twice as large as
+   * they would be now.
+   */
+  public long getResets() {
+    return resets.get();
+  }
+
+  public int getSampleSize() {
+    return sampleSize;
+  }
+
+  private void reset() {
+    for (int i = 0; i < table.length(); i++) {
+      table.updateAndGet(i, value -> value >>> 1);
+    }
+    additions.addAndGet(-sampleSize / 2);
+    resets.incrementAndGet();
+  }
+
+  private int slotOf(int hash, int row) {
+    int h = (hash ^ SEEDS[row]) * SEEDS[(row + 1) % DEPTH];
+    return row * rowWidth + ((h ^ (h >>> 16)) & mask);
+  }
+
+  private static int spread(int hash) {
+    int h = hash * 0x45D9F3B;
+    return h ^ (h >>> 16);
+  }
+}
@@ -0,0 +1,106 @@
+package org.example.cache;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.example.model.StockOverview;
+import org.example.model.compact.OverviewBinaryCodec;
+
+/**
+ * Local file holding a copy of the in-process overview cache, so a restarted node can serve
+ * overviews before it has talked to Postgres.
+ *
+ * Layout: a magic number, a format version and the entry count, then per entry the time it
+ * was loaded (epoch millis) and its {@link OverviewBinaryCodec} payload, length-prefixed.
+ * Files are written to a temporary sibling and renamed into place, so a reader never sees a
+ * partial snapshot, and are read back through a memory mapping.
+ */
+public final class OverviewSnapshotFile {
+
+  static final int MAGIC = 0x53495153; // "SIQS"
+  static final byte VERSION = 1;
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private OverviewSnapshotFile() {
+  }
+
+  /**
+   * Replaces the snapshot at {@code file} with {@code entries}.
+   */
+  public static void write(Path file, Collection<Entry> entries) throws IOException {
+    Path directory = file.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(entries.size());
+        for (Entry entry : entries) {
+          byte[] payload = OverviewBinaryCodec.encode(entry.overview());
+          out.writeLong(entry.loadedAtMillis());
+          out.writeInt(payload.length);
+          out.write(payload);
+        }
+        out.flush();
+        // The rename must not reach disk before the data does
+        channel.force(true);
+      }
+      Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Reads every entry of the snapshot at {@code file}; an absent file is an empty snapshot.
+   *
+   * @throws IOException if the file cannot be read or is not a complete snapshot of this
+   *     format version
+   */
+  public static List<Entry> read(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.remaining() < 9 || buffer.getInt() != MAGIC) {
+        throw new IOException("Not an overview snapshot: " + file);
+      }
+      byte version = buffer.get();
+      if (version != VERSION) {
+        throw new IOException("Unsupported overview snapshot version " + version + ": " + file);
+      }
+      int count = buffer.getInt();
+      List<Entry> entries = new ArrayList<>(Math.max(0, Math.min(count, buffer.remaining() / 12)));
+      for (int i = 0; i < count; i++) {
+        long loadedAtMillis = buffer.getLong();
+        byte[] payload = new byte[buffer.getInt()];
+        buffer.get(payload);
+        entries.add(new Entry(loadedAtMillis, OverviewBinaryCodec.decode(payload)));
+      }
+      return entries;
+    } catch (NoSuchFileException e) {
+      return List.of();
+    } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+      throw new IOException("Truncated or corrupt overview snapshot: " + file, e);
+    }
+  }
+
+  /**
+   * A cached overview and the time it was loaded, i.e. when it was last known to be current.
+   */
+  public record Entry(long loadedAtMillis, StockOverview overview) {
+  }
+}
@@ -0,0 +1,243 @@
+package org.example.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Small in-process cache with a fixed time-to-live per entry.
+ *
+ * Concurrent misses for the same key are coalesced: only one caller runs the loader and the
+ * others wait for its result. Expired entries stay readable through {@link #getEntry} so
+ * callers can fall back to stale data.
+ *
+ * Entries are kept in the order they were stored, so when the cache is full the entry stored
+ * longest ago is evicted in constant time. Expired entries are not swept: reads treat them as
+ * absent and they leave through eviction like any other. Given an access frequency estimate,
+ * the cache instead evicts the least requested of the few oldest entries, and does not admit
+ * a new key that is requested less than that victim, so a burst of one-off keys cannot push
+ * out popular ones.
+ */
+public class TtlCache<K, V> {
+
+  // How many of the oldest entries are weighed against each other by frequency
+  private static final int EVICTION_CANDIDATES = 8;
+
+  // Stored longest ago first. Guarded by itself.
+  private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>();
+  private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final long ttlMillis;
+  private final int maxEntries;
+  private final LongSupplier clock;
+  private final ToIntFunction<K> frequency;
+
+  public TtlCache(long ttlMillis, int maxEntries) {
+    this(ttlMillis, maxEntries, System::currentTimeMillis);
+  }
+
+  public TtlCache(long ttlMillis, int maxEntries, LongSupplier clock) {
+    this(ttlMillis, maxEntries, clock, null);
+  }
+
+  /**
+   * @param frequency estimated recent requests per key, or null to always evict the oldest
+   */
+  public TtlCache(long ttlMillis, int maxEntries, LongSupplier clock, ToIntFunction<K> frequency) {
+    if (ttlMillis <= 0) {
+      throw new IllegalArgumentException("ttlMillis must be positive");
+    }
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("maxEntries must be positive");
+    }
+    this.ttlMillis = ttlMillis;
+    this.maxEntries = maxEntries;
+    this.clock = clock;
+    this.frequency = frequency;
+  }
+
+  /**
+   * Returns the cached value if present and not expired.
+   */
+  public Optional<V> getIfFresh(K key) {
+    Entry<V> entry = entry(key);
+    if (entry == null || isExpired(entry)) {
+      return Optional.empty();
+    }
+    return Optional.of(entry.value());
+  }
+
+  /**
+   * Returns the cached entry even if it has expired.
+   */
+  public Optional<Entry<V>> getEntry(K key) {
+    return Optional.ofNullable(entry(key));
+  }
+
+  /**
+   * Returns the fresh cached value, or loads it. Concurrent callers for the same key share a
+   * single loader invocation. Exceptions thrown by the loader propagate to every waiter.
+   */
+  public V get(K key, Function<K, V> loader) {
+    Optional<V> cached = getIfFresh(key);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+
+    CompletableFuture<V> future = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+    if (existing != null) {
+      return join(existing);
+    }
+
+    try {
+      // Another thread may have finished loading between our miss and claiming the slot
+      V value = getIfFresh(key).orElseGet(() -> {
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+          put(key, loaded);
+        }
+        return loaded;
+      });
+      future.complete(value);
+      return value;
+    } catch (Throwable e) {
+      // Errors too, or waiters would block forever
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, future);
+    }
+  }
+
+  public void put(K key, V value) {
+    put(key, value, clock.getAsLong());
+  }
+
+  /**
+   * Stores a value as if it had been loaded at {@code loadedAtMillis}. When the cache is full
+   * and the key is less requested than the entry it would replace, the value is not stored.
+   */
+  public void put(K key, V value, long loadedAtMillis) {
+    synchronized (entries) {
+      // A replaced key moves to the back
+      boolean replacing = entries.remove(key) != null;
+      if (frequency != null && !replacing && entries.size() >= maxEntries && !admit(key)) {
+        return;
+      }
+      entries.put(key, new Entry<>(value, loadedAtMillis));
+      if (entries.size() > maxEntries) {
+        evictOldest();
+      }
+    }
+  }
+
+  public void invalidate(K key) {
+    synchronized (entries) {
+      entries.remove(key);
+    }
+  }
+
+  public void invalidateAll() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  /**
+   * Visits every entry, expired ones included, as they were when the visit began.
+   */
+  public void forEach(BiConsumer<K, Entry<V>> action) {
+    List<Map.Entry<K, Entry<V>>> snapshot;
+    synchronized (entries) {
+      snapshot = new ArrayList<>(entries.entrySet());
+    }
+    snapshot.forEach(e -> action.accept(e.getKey(), e.getValue()));
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public long getTtlMillis() {
+    return ttlMillis;
+  }
+
+  private boolean isExpired(Entry<V> entry) {
+    return clock.getAsLong() - entry.loadedAtMillis() >= ttlMillis;
+  }
+
+  private Entry<V> entry(K key) {
+    synchronized (entries) {
+      return entries.get(key);
+    }
+  }
+
+  // Callers hold the entries lock
+  private void evictOldest() {
+    Iterator<K> oldest = entries.keySet().iterator();
+    oldest.next();
+    oldest.remove();
+  }
+
+  /**
+   * Makes room for a new key by evicting the least requested of the few entries stored
+   * longest ago, or an expired one among them. Returns false, evicting nothing, if the key is
+   * requested less than that entry. Callers hold the entries lock.
+   */
+  private boolean admit(K key) {
+    K victim = null;
+    int victimFrequency = Integer.MAX_VALUE;
+    int candidates = 0;
+    for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+      if (isExpired(e.getValue())) {
+        entries.remove(e.getKey());
+        return true;
+      }
+      int estimate = frequency.applyAsInt(e.getKey());
+      if (estimate < victimFrequency) {
+        victimFrequency = estimate;
+        victim = e.getKey();
+      }
+      if (++candidates == EVICTION_CANDIDATES) {
+        break;
+      }
+    }
+    if (frequency.applyAsInt(key) < victimFrequency) {
+      return false;
+    }
+    entries.remove(victim);
+    return true;
+  }
+
+  private static <V> V join(CompletableFuture<V> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * A cached value and the time it was loaded.
+   */
+  public record Entry<V>(V value, long loadedAtMillis) {
+  }
+}
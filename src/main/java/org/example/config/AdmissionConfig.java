@@ -0,0 +1,101 @@
+package org.example.config;
+
+/**
+ * Settings for admission control on the HTTP API.
+ */
+public class AdmissionConfig {
+
+    private final boolean enabled;
+    private final int cachedMaxConcurrent;
+    private final int databaseMaxConcurrent;
+    private final int upstreamMaxConcurrent;
+    private final double clientRequestsPerMinute;
+    private final int clientBurst;
+    private final String clientHeader;
+    private final int maxTrackedClients;
+    private final int retryAfterSeconds;
+
+    public AdmissionConfig(boolean enabled, int cachedMaxConcurrent, int databaseMaxConcurrent,
+                           int upstreamMaxConcurrent, double clientRequestsPerMinute, int clientBurst,
+                           String clientHeader, int maxTrackedClients, int retryAfterSeconds) {
+        this.enabled = enabled;
+        this.cachedMaxConcurrent = cachedMaxConcurrent;
+        this.databaseMaxConcurrent = databaseMaxConcurrent;
+        this.upstreamMaxConcurrent = upstreamMaxConcurrent;
+        this.clientRequestsPerMinute = clientRequestsPerMinute;
+        this.clientBurst = clientBurst;
+        this.clientHeader = clientHeader;
+        this.maxTrackedClients = maxTrackedClients;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public static AdmissionConfig fromProperties() {
+        String clientHeader = ApplicationProperties.get("admission.client.header", "").trim();
+        return new AdmissionConfig(
+                ApplicationProperties.getBoolean("admission.enabled", true),
+                ApplicationProperties.getInt("admission.cached.maxConcurrent", 128),
+                ApplicationProperties.getInt("admission.database.maxConcurrent", 48),
+                ApplicationProperties.getInt("admission.upstream.maxConcurrent", 32),
+                ApplicationProperties.getDouble("admission.client.requestsPerMinute", 600),
+                ApplicationProperties.getInt("admission.client.burst", 60),
+                clientHeader.isEmpty() ? null : clientHeader,
+                ApplicationProperties.getInt("admission.client.maxTracked", 100_000),
+                ApplicationProperties.getInt("admission.retryAfterSeconds", 1));
+    }
+
+    public static AdmissionConfig defaults() {
+        return new AdmissionConfig(true, 128, 48, 32, 600, 60, null, 100_000, 1);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Concurrent requests for endpoints served from memory or a single-row lookup.
+     */
+    public int getCachedMaxConcurrent() {
+        return cachedMaxConcurrent;
+    }
+
+    /**
+     * Concurrent requests for endpoints that run range or screening queries.
+     */
+    public int getDatabaseMaxConcurrent() {
+        return databaseMaxConcurrent;
+    }
+
+    /**
+     * Concurrent requests for endpoints that usually call the upstream API.
+     */
+    public int getUpstreamMaxConcurrent() {
+        return upstreamMaxConcurrent;
+    }
+
+    public double getClientRequestsPerMinute() {
+        return clientRequestsPerMinute;
+    }
+
+    public int getClientBurst() {
+        return clientBurst;
+    }
+
+    /**
+     * Request header identifying the client (first comma-separated value), or null to use the
+     * remote address.
+     */
+    public String getClientHeader() {
+        return clientHeader;
+    }
+
+    public int getMaxTrackedClients() {
+        return maxTrackedClients;
+    }
+
+    /**
+     * Retry-After sent when a concurrency budget is full.
+     */
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
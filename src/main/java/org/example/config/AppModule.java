@@ -4,12 +4,25 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
+import org.example.model.PriceBar;
+import org.example.model.StockInfo;
 import org.example.model.StockOverview;
+import org.example.provider.MarketDataProvider;
+import org.example.provider.MarketDataProviders;
+import org.example.provider.UpstreamScheduler;
+import org.example.repository.DatabaseHealth;
+import org.example.repository.PriceBarRowMapper;
+import org.example.repository.StockInfoRowMapper;
+import org.example.repository.StockOverviewChangeListener;
 import org.example.repository.StockOverviewRowMapper;
 import org.example.service.HelloService;
+import org.example.service.IndicatorService;
+import org.example.service.IngestionService;
 import org.example.service.StockService;
 import org.example.service.impl.AlphaVantageStockService;
 import org.example.service.impl.HelloServiceImpl;
+import org.example.service.impl.IncrementalIndicatorService;
+import org.example.service.impl.QueueIngestionService;
 import org.jdbi.v3.core.Jdbi;
 
 import javax.sql.DataSource;
@@ -24,6 +37,8 @@ public class AppModule extends AbstractModule {
     // Bind service interfaces to their implementations
     bind(HelloService.class).to(HelloServiceImpl.class);
     bind(StockService.class).to(AlphaVantageStockService.class);
+    bind(IndicatorService.class).to(IncrementalIndicatorService.class);
+    bind(IngestionService.class).to(QueueIngestionService.class);
   }
   
   @Provides
@@ -32,6 +47,103 @@ public class AppModule extends AbstractModule {
     return DatabaseConfig.getDataSource();
   }
   
+  @Provides
+  @Singleton
+  public CacheConfig provideCacheConfig() {
+    return CacheConfig.fromProperties();
+  }
+  
+  @Provides
+  @Singleton
+  public StorageConfig provideStorageConfig() {
+    return StorageConfig.fromProperties();
+  }
+  
+  @Provides
+  @Singleton
+  public SnapshotConfig provideSnapshotConfig() {
+    return SnapshotConfig.fromProperties();
+  }
+  
+  @Provides
+  @Singleton
+  public DatabaseHealthConfig provideDatabaseHealthConfig() {
+    return DatabaseHealthConfig.fromProperties();
+  }
+  
+  @Provides
+  @Singleton
+  public DatabaseHealth provideDatabaseHealth(DatabaseHealthConfig config) {
+    if (!config.isEnabled()) {
+      return DatabaseHealth.disabled();
+    }
+    return DatabaseHealth.forJdbc(ApplicationProperties.get("db.url"),
+        ApplicationProperties.get("db.username"), ApplicationProperties.get("db.password"),
+        DatabaseConfig.getApplicationName(), config.getProbeInterval(), config.getProbeTimeout());
+  }
+  
+  @Provides
+  @Singleton
+  public WriteBehindConfig provideWriteBehindConfig() {
+    return WriteBehindConfig.fromProperties();
+  }
+  
+  @Provides
+  @Singleton
+  public SymbolConfig provideSymbolConfig() {
+    return SymbolConfig.fromProperties();
+  }
+  
+  @Provides
+  @Singleton
+  public FrequencyConfig provideFrequencyConfig() {
+    return FrequencyConfig.fromProperties();
+  }
+  
+  @Provides
+  @Singleton
+  public AdmissionConfig provideAdmissionConfig() {
+    return AdmissionConfig.fromProperties();
+  }
+  
+  @Provides
+  @Singleton
+  public ShutdownConfig provideShutdownConfig() {
+    return ShutdownConfig.fromProperties();
+  }
+  
+  @Provides
+  @Singleton
+  public IngestionConfig provideIngestionConfig() {
+    return IngestionConfig.fromProperties();
+  }
+  
+  @Provides
+  @Singleton
+  public StreamConfig provideStreamConfig() {
+    return StreamConfig.fromProperties();
+  }
+  
+  @Provides
+  @Singleton
+  public UpstreamScheduler provideUpstreamScheduler() {
+    return MarketDataProviders.schedulerFromProperties();
+  }
+  
+  @Provides
+  @Singleton
+  public MarketDataProvider provideMarketDataProvider(UpstreamScheduler upstreamScheduler) {
+    return MarketDataProviders.fromProperties(upstreamScheduler);
+  }
+  
+  @Provides
+  @Singleton
+  public StockOverviewChangeListener provideStockOverviewChangeListener(ObjectMapper objectMapper) {
+    return new StockOverviewChangeListener(ApplicationProperties.get("db.url"),
+        ApplicationProperties.get("db.username"), ApplicationProperties.get("db.password"),
+        DatabaseConfig.getApplicationName(), objectMapper);
+  }
+  
   @Provides
   @Singleton
   public ObjectMapper provideObjectMapper() {
@@ -42,6 +154,8 @@ public class AppModule extends AbstractModule {
   @Singleton
   public Jdbi provideJdbi(ObjectMapper objectMapper) {
     return DatabaseConfig.getJdbi()
-            .registerRowMapper(StockOverview.class, new StockOverviewRowMapper(objectMapper));
+            .registerRowMapper(StockOverview.class, new StockOverviewRowMapper(objectMapper))
+            .registerRowMapper(StockInfo.class, new StockInfoRowMapper(objectMapper))
+            .registerRowMapper(PriceBar.class, new PriceBarRowMapper());
   }
 }
@@ -0,0 +1,83 @@
+package org.example.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Lazily loaded application properties.
+ *
+ * Loads {@code application-<env>.properties} (falling back to {@code application.properties})
+ * on first access. JVM system properties with the same key take precedence, so any setting
+ * can be overridden with {@code -Dkey=value}.
+ */
+public final class ApplicationProperties {
+
+    private ApplicationProperties() {
+    }
+
+    private static final class Holder {
+        private static final Properties PROPERTIES = loadProperties();
+    }
+
+    public static String get(String key) {
+        String override = System.getProperty(key);
+        if (override != null) {
+            return override;
+        }
+        return Holder.PROPERTIES.getProperty(key);
+    }
+
+    public static String get(String key, String defaultValue) {
+        String value = get(key);
+        return (value == null || value.trim().isEmpty()) ? defaultValue : value.trim();
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key);
+        return (value == null || value.trim().isEmpty()) ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key);
+        return (value == null || value.trim().isEmpty()) ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    public static double getDouble(String key, double defaultValue) {
+        String value = get(key);
+        return (value == null || value.trim().isEmpty()) ? defaultValue : Double.parseDouble(value.trim());
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key);
+        return (value == null || value.trim().isEmpty()) ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    private static Properties loadProperties() {
+        Properties props = new Properties();
+        String environment = System.getProperty("env", "default");
+        String propertiesFile = "application-" + environment + ".properties";
+
+        // Try environment-specific properties first
+        try (InputStream is = ApplicationProperties.class.getClassLoader().getResourceAsStream(propertiesFile)) {
+            if (is != null) {
+                props.load(is);
+                return props;
+            }
+        } catch (IOException e) {
+            // Fall back to default properties
+        }
+
+        // Load default properties
+        try (InputStream is = ApplicationProperties.class.getClassLoader().getResourceAsStream("application.properties")) {
+            if (is == null) {
+                throw new RuntimeException("application.properties not found in classpath");
+            }
+            props.load(is);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load application.properties", e);
+        }
+
+        return props;
+    }
+}
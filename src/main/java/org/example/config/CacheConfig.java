@@ -0,0 +1,111 @@
+package org.example.config;
+
+import java.time.Duration;
+
+/**
+ * Freshness and sizing settings for the quote and overview caches.
+ */
+public class CacheConfig {
+
+    private final Duration quoteTtl;
+    private final int quoteMaxEntries;
+    private final boolean quotePersistenceEnabled;
+    private final Duration overviewTtl;
+    private final Duration overviewMemoryTtl;
+    private final int overviewMaxEntries;
+    private final Duration historyRefreshCheckInterval;
+    private final Duration refreshLeaseTtl;
+    private final Duration refreshLeaseWait;
+
+    public CacheConfig(Duration quoteTtl, int quoteMaxEntries, boolean quotePersistenceEnabled,
+                       Duration overviewTtl, Duration overviewMemoryTtl, int overviewMaxEntries,
+                       Duration historyRefreshCheckInterval, Duration refreshLeaseTtl,
+                       Duration refreshLeaseWait) {
+        this.quoteTtl = quoteTtl;
+        this.quoteMaxEntries = quoteMaxEntries;
+        this.quotePersistenceEnabled = quotePersistenceEnabled;
+        this.overviewTtl = overviewTtl;
+        this.overviewMemoryTtl = overviewMemoryTtl;
+        this.overviewMaxEntries = overviewMaxEntries;
+        this.historyRefreshCheckInterval = historyRefreshCheckInterval;
+        this.refreshLeaseTtl = refreshLeaseTtl;
+        this.refreshLeaseWait = refreshLeaseWait;
+    }
+
+    public static CacheConfig fromProperties() {
+        return new CacheConfig(
+                Duration.ofSeconds(ApplicationProperties.getLong("cache.quote.ttlSeconds", 60)),
+                ApplicationProperties.getInt("cache.quote.maxEntries", 10_000),
+                ApplicationProperties.getBoolean("cache.quote.persistent", false),
+                Duration.ofHours(ApplicationProperties.getLong("cache.overview.ttlHours", 24)),
+                Duration.ofSeconds(ApplicationProperties.getLong("cache.overview.memoryTtlSeconds", 300)),
+                ApplicationProperties.getInt("cache.overview.maxEntries", 20_000),
+                Duration.ofSeconds(ApplicationProperties.getLong("cache.history.refreshCheckSeconds", 300)),
+                ApplicationProperties.getBoolean("cache.refreshLease.enabled", true)
+                        ? Duration.ofSeconds(ApplicationProperties.getLong("cache.refreshLease.ttlSeconds", 30))
+                        : Duration.ZERO,
+                Duration.ofMillis(ApplicationProperties.getLong("cache.refreshLease.waitMillis", 2_000)));
+    }
+
+    public static CacheConfig defaults() {
+        return new CacheConfig(Duration.ofSeconds(60), 10_000, false, Duration.ofHours(24),
+                Duration.ofMinutes(5), 20_000, Duration.ofMinutes(5), Duration.ofSeconds(30),
+                Duration.ofSeconds(2));
+    }
+
+    public Duration getQuoteTtl() {
+        return quoteTtl;
+    }
+
+    public int getQuoteMaxEntries() {
+        return quoteMaxEntries;
+    }
+
+    public boolean isQuotePersistenceEnabled() {
+        return quotePersistenceEnabled;
+    }
+
+    public Duration getOverviewTtl() {
+        return overviewTtl;
+    }
+
+    /**
+     * How long an overview is served from process memory before Postgres is consulted again.
+     */
+    public Duration getOverviewMemoryTtl() {
+        return overviewMemoryTtl;
+    }
+
+    public int getOverviewMaxEntries() {
+        return overviewMaxEntries;
+    }
+
+    /**
+     * How often a symbol's stored price history is checked for staleness against upstream.
+     */
+    public Duration getHistoryRefreshCheckInterval() {
+        return historyRefreshCheckInterval;
+    }
+
+    /**
+     * Whether upstream refreshes are coordinated across nodes with symbol_refresh_lease.
+     */
+    public boolean isRefreshLeaseEnabled() {
+        return !refreshLeaseTtl.isZero();
+    }
+
+    /**
+     * How long a node may hold a refresh lease before others can take it over.
+     */
+    public Duration getRefreshLeaseTtl() {
+        return refreshLeaseTtl;
+    }
+
+    /**
+     * How long a node that did not get the lease waits for the holder's result before serving
+     * stale data.
+     */
+    public Duration getRefreshLeaseWait() {
+        return refreshLeaseWait;
+    }
+}
@@ -1,118 +1,131 @@
 package org.example.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
-import org.example.repository.StockOverviewRowMapper;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.jackson2.Jackson2Plugin;
 import org.jdbi.v3.postgres.PostgresPlugin;
 import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.Properties;
+import java.security.SecureRandom;
 
+/**
+ * Database configuration.
+ *
+ * Nothing here touches the database until the first query: the Hikari pool is created on the
+ * first {@link #getDataSource()} call, and the {@link Jdbi} instance only asks for it when it
+ * opens its first handle.
+ */
 public class DatabaseConfig {
     
-    private static final Properties properties = loadProperties();
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseConfig.class);
     
-    // Database configuration
-    private static final String DB_URL = properties.getProperty("db.url");
-    private static final String DB_USERNAME = properties.getProperty("db.username");
-    private static final String DB_PASSWORD = properties.getProperty("db.password");
-    private static final String DB_DRIVER = properties.getProperty("db.driver");
-    
-    // HikariCP configuration
-    private static final int MAX_POOL_SIZE = Integer.parseInt(
-            properties.getProperty("db.pool.maxPoolSize"));
-    private static final int MIN_IDLE = Integer.parseInt(
-            properties.getProperty("db.pool.minIdle"));
-    private static final long CONNECTION_TIMEOUT = Long.parseLong(
-            properties.getProperty("db.pool.connectionTimeout"));
-    private static final long IDLE_TIMEOUT = Long.parseLong(
-            properties.getProperty("db.pool.idleTimeout"));
-    private static final long MAX_LIFETIME = Long.parseLong(
-            properties.getProperty("db.pool.maxLifetime"));
-    
-    private static HikariDataSource dataSource;
-    private static Jdbi jdbi;
+    private static volatile HikariDataSource dataSource;
+    private static volatile Jdbi jdbi;
+    private static volatile String applicationName;
     
     public static DataSource getDataSource() {
-        if (dataSource == null) {
-            validateConfiguration();
-            
-            HikariConfig config = new HikariConfig();
-            config.setJdbcUrl(DB_URL);
-            config.setUsername(DB_USERNAME);
-            config.setPassword(DB_PASSWORD);
-            config.setDriverClassName(DB_DRIVER);
-            
-            config.setMaximumPoolSize(MAX_POOL_SIZE);
-            config.setMinimumIdle(MIN_IDLE);
-            config.setConnectionTimeout(CONNECTION_TIMEOUT);
-            config.setIdleTimeout(IDLE_TIMEOUT);
-            config.setMaxLifetime(MAX_LIFETIME);
-            
-            dataSource = new HikariDataSource(config);
+        HikariDataSource ds = dataSource;
+        if (ds == null) {
+            synchronized (DatabaseConfig.class) {
+                ds = dataSource;
+                if (ds == null) {
+                    long start = System.nanoTime();
+                    ds = new HikariDataSource(buildHikariConfig());
+                    dataSource = ds;
+                    logger.info("Initialized database connection pool in {} ms",
+                            (System.nanoTime() - start) / 1_000_000);
+                }
+            }
         }
-        return dataSource;
+        return ds;
     }
     
-    private static Properties loadProperties() {
-        Properties props = new Properties();
-        String environment = System.getProperty("env", "default");
-        String propertiesFile = "application-" + environment + ".properties";
-        
-        // Try environment-specific properties first
-        try (InputStream is = DatabaseConfig.class.getClassLoader().getResourceAsStream(propertiesFile)) {
-            if (is != null) {
-                props.load(is);
-                return props;
-            }
-        } catch (IOException e) {
-            // Fall back to default properties
-        }
+    private static HikariConfig buildHikariConfig() {
+        String dbUrl = ApplicationProperties.get("db.url");
+        String dbUsername = ApplicationProperties.get("db.username");
+        String dbPassword = ApplicationProperties.get("db.password");
+        validateConfiguration(dbUrl, dbUsername, dbPassword);
         
-        // Load default properties
-        try (InputStream is = DatabaseConfig.class.getClassLoader().getResourceAsStream("application.properties")) {
-            if (is == null) {
-                throw new RuntimeException("application.properties not found in classpath");
-            }
-            props.load(is);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load application.properties", e);
-        }
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(dbUrl);
+        config.setUsername(dbUsername);
+        config.setPassword(dbPassword);
+        config.setDriverClassName(ApplicationProperties.get("db.driver"));
+        config.addDataSourceProperty("ApplicationName", getApplicationName());
         
-        return props;
+        config.setMaximumPoolSize(Integer.parseInt(ApplicationProperties.get("db.pool.maxPoolSize")));
+        config.setMinimumIdle(Integer.parseInt(ApplicationProperties.get("db.pool.minIdle")));
+        config.setConnectionTimeout(Long.parseLong(ApplicationProperties.get("db.pool.connectionTimeout")));
+        config.setIdleTimeout(Long.parseLong(ApplicationProperties.get("db.pool.idleTimeout")));
+        config.setMaxLifetime(Long.parseLong(ApplicationProperties.get("db.pool.maxLifetime")));
+        // Build the pool even while Postgres is down, so the node can start degraded; until it
+        // is back, callers get the usual connection timeout
+        config.setInitializationFailTimeout(-1);
+        return config;
     }
     
-    private static void validateConfiguration() {
-        if (DB_URL == null || DB_URL.isEmpty()) {
+    private static void validateConfiguration(String dbUrl, String dbUsername, String dbPassword) {
+        if (dbUrl == null || dbUrl.isEmpty()) {
             throw new IllegalStateException("db.url property is required");
         }
-        if (DB_USERNAME == null || DB_USERNAME.isEmpty()) {
+        if (dbUsername == null || dbUsername.isEmpty()) {
             throw new IllegalStateException("db.username property is required");
         }
-        if (DB_PASSWORD == null || DB_PASSWORD.isEmpty()) {
+        if (dbPassword == null || dbPassword.isEmpty()) {
             throw new IllegalStateException("db.password property is required");
         }
     }
     
     public static Jdbi getJdbi() {
-        if (jdbi == null) {
-            jdbi = Jdbi.create(getDataSource())
-                    .installPlugin(new SqlObjectPlugin())
-                    .installPlugin(new PostgresPlugin())
-                    .installPlugin(new Jackson2Plugin());
+        Jdbi instance = jdbi;
+        if (instance == null) {
+            synchronized (DatabaseConfig.class) {
+                instance = jdbi;
+                if (instance == null) {
+                    // Resolve the pool per connection so creating Jdbi does not start Hikari
+                    instance = Jdbi.create(() -> getDataSource().getConnection())
+                            .installPlugin(new SqlObjectPlugin())
+                            .installPlugin(new PostgresPlugin())
+                            .installPlugin(new Jackson2Plugin());
+                    jdbi = instance;
+                }
+            }
         }
-        return jdbi;
+        return instance;
+    }
+    
+    /**
+     * Postgres application_name used by this node's connections. Unique per process unless set
+     * with {@code db.applicationName}; change notifications carry it so a node can recognise
+     * its own writes.
+     */
+    public static String getApplicationName() {
+        String name = applicationName;
+        if (name == null) {
+            synchronized (DatabaseConfig.class) {
+                name = applicationName;
+                if (name == null) {
+                    name = ApplicationProperties.get("db.applicationName",
+                            "stockiq-" + Long.toHexString(new SecureRandom().nextLong() & 0xffffffffL));
+                    applicationName = name;
+                }
+            }
+        }
+        return name;
+    }
+    
+    public static boolean isDataSourceInitialized() {
+        return dataSource != null;
     }
     
     public static void closeDataSource() {
-        if (dataSource != null && !dataSource.isClosed()) {
-            dataSource.close();
+        HikariDataSource ds = dataSource;
+        if (ds != null && !ds.isClosed()) {
+            ds.close();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package org.example.config;
+
+import java.time.Duration;
+
+/**
+ * Settings for the database health probe and the degraded mode it switches on.
+ */
+public class DatabaseHealthConfig {
+
+    private final boolean enabled;
+    private final Duration probeInterval;
+    private final Duration probeTimeout;
+    private final int writeBufferCapacity;
+
+    public DatabaseHealthConfig(boolean enabled, Duration probeInterval, Duration probeTimeout,
+                                int writeBufferCapacity) {
+        this.enabled = enabled;
+        this.probeInterval = probeInterval;
+        this.probeTimeout = probeTimeout;
+        this.writeBufferCapacity = writeBufferCapacity;
+    }
+
+    public static DatabaseHealthConfig fromProperties() {
+        return new DatabaseHealthConfig(
+                ApplicationProperties.getBoolean("db.health.enabled", true),
+                Duration.ofMillis(ApplicationProperties.getLong("db.health.probeIntervalMillis", 1_000)),
+                Duration.ofSeconds(ApplicationProperties.getLong("db.health.probeTimeoutSeconds", 2)),
+                ApplicationProperties.getInt("db.health.writeBufferSize", 10_000));
+    }
+
+    public static DatabaseHealthConfig defaults() {
+        return new DatabaseHealthConfig(true, Duration.ofSeconds(1), Duration.ofSeconds(2), 10_000);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getProbeInterval() {
+        return probeInterval;
+    }
+
+    /**
+     * Connect and query timeout of a probe; whole seconds, as the Postgres driver takes them.
+     */
+    public Duration getProbeTimeout() {
+        return probeTimeout;
+    }
+
+    /**
+     * How many overview writes, one per symbol, are held while the database is down. Beyond
+     * that the oldest are dropped.
+     */
+    public int getWriteBufferCapacity() {
+        return writeBufferCapacity;
+    }
+}
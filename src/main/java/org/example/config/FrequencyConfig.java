@@ -0,0 +1,47 @@
+package org.example.config;
+
+/**
+ * Settings for per-symbol access frequency tracking.
+ */
+public class FrequencyConfig {
+
+    private final boolean enabled;
+    private final int counters;
+    private final int hotSymbols;
+
+    public FrequencyConfig(boolean enabled, int counters, int hotSymbols) {
+        this.enabled = enabled;
+        this.counters = counters;
+        this.hotSymbols = hotSymbols;
+    }
+
+    public static FrequencyConfig fromProperties() {
+        return new FrequencyConfig(
+                ApplicationProperties.getBoolean("cache.frequency.enabled", true),
+                ApplicationProperties.getInt("cache.frequency.counters", 16_384),
+                ApplicationProperties.getInt("cache.frequency.hotSymbols", 100));
+    }
+
+    public static FrequencyConfig defaults() {
+        return new FrequencyConfig(true, 16_384, 100);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Counters per row of the count-min sketch, rounded up to a power of two. Memory is fixed at
+     * four rows of this many ints.
+     */
+    public int getCounters() {
+        return counters;
+    }
+
+    /**
+     * How many of the most requested symbols are listed and refreshed first.
+     */
+    public int getHotSymbols() {
+        return hotSymbols;
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.config;
+
+import java.time.Duration;
+
+/**
+ * Settings for the bulk overview ingestion workers.
+ */
+public class IngestionConfig {
+
+    private final boolean enabled;
+    private final int workers;
+    private final int claimBatchSize;
+    private final Duration claimLease;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration refreshInterval;
+
+    public IngestionConfig(boolean enabled, int workers, int claimBatchSize,
+                           Duration claimLease, int maxAttempts, Duration retryDelay,
+                           Duration refreshInterval) {
+        this.enabled = enabled;
+        this.workers = workers;
+        this.claimBatchSize = claimBatchSize;
+        this.claimLease = claimLease;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.refreshInterval = refreshInterval;
+    }
+
+    public static IngestionConfig fromProperties() {
+        return new IngestionConfig(
+                ApplicationProperties.getBoolean("ingestion.enabled", false),
+                ApplicationProperties.getInt("ingestion.workers", 4),
+                ApplicationProperties.getInt("ingestion.claimBatchSize", 25),
+                Duration.ofSeconds(ApplicationProperties.getLong("ingestion.claimLeaseSeconds", 300)),
+                ApplicationProperties.getInt("ingestion.maxAttempts", 5),
+                Duration.ofSeconds(ApplicationProperties.getLong("ingestion.retryDelaySeconds", 60)),
+                Duration.ofHours(ApplicationProperties.getLong("ingestion.refreshIntervalHours", 24)));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * How many symbols a worker claims at once; their overviews are upserted as one batch.
+     */
+    public int getClaimBatchSize() {
+        return claimBatchSize;
+    }
+
+    /**
+     * How long a claim is held before another worker may take the symbol over.
+     */
+    public Duration getClaimLease() {
+        return claimLease;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public Duration getRetryDelay() {
+        return retryDelay;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.config;
+
+import java.time.Duration;
+
+/**
+ * Settings for graceful shutdown.
+ */
+public class ShutdownConfig {
+
+    private final Duration readinessDelay;
+    private final Duration drainTimeout;
+    private final Duration timeout;
+
+    public ShutdownConfig(Duration readinessDelay, Duration drainTimeout, Duration timeout) {
+        this.readinessDelay = readinessDelay;
+        this.drainTimeout = drainTimeout;
+        this.timeout = timeout;
+    }
+
+    public static ShutdownConfig fromProperties() {
+        return new ShutdownConfig(
+                Duration.ofMillis(ApplicationProperties.getLong("shutdown.readinessDelayMillis", 5_000)),
+                Duration.ofSeconds(ApplicationProperties.getLong("shutdown.drainTimeoutSeconds", 15)),
+                Duration.ofSeconds(ApplicationProperties.getLong("shutdown.timeoutSeconds", 30)));
+    }
+
+    public static ShutdownConfig defaults() {
+        return new ShutdownConfig(Duration.ofSeconds(5), Duration.ofSeconds(15), Duration.ofSeconds(30));
+    }
+
+    /**
+     * How long the node keeps serving after reporting not ready, so load balancers stop
+     * routing to it before it stops accepting connections.
+     */
+    public Duration getReadinessDelay() {
+        return readinessDelay;
+    }
+
+    /**
+     * Longest wait for in-flight requests once the server stops accepting connections.
+     */
+    public Duration getDrainTimeout() {
+        return drainTimeout;
+    }
+
+    /**
+     * Deadline for the whole shutdown; whatever is still running then is abandoned.
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for the local snapshot of the in-process overview cache.
+ */
+public class SnapshotConfig {
+
+    private final Path overviewPath;
+    private final Duration overviewInterval;
+
+    public SnapshotConfig(Path overviewPath, Duration overviewInterval) {
+        this.overviewPath = overviewPath;
+        this.overviewInterval = overviewInterval;
+    }
+
+    public static SnapshotConfig fromProperties() {
+        String path = ApplicationProperties.get("cache.overview.snapshot.path", "");
+        return new SnapshotConfig(path.isBlank() ? null : Path.of(path.trim()),
+                Duration.ofSeconds(ApplicationProperties.getLong("cache.overview.snapshot.intervalSeconds", 60)));
+    }
+
+    public static SnapshotConfig defaults() {
+        return new SnapshotConfig(null, Duration.ofSeconds(60));
+    }
+
+    public boolean isOverviewSnapshotEnabled() {
+        return overviewPath != null;
+    }
+
+    /**
+     * File the overview cache is written to and restored from; null when snapshots are off.
+     */
+    public Path getOverviewPath() {
+        return overviewPath;
+    }
+
+    /**
+     * How often the overview cache is written out.
+     */
+    public Duration getOverviewInterval() {
+        return overviewInterval;
+    }
+}
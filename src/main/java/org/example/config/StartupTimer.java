@@ -0,0 +1,64 @@
+package org.example.config;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records how long each startup phase takes and logs a report once the server is up.
+ *
+ * Also reports time-to-first-request, measured from JVM process start, so CDS and lazy-init
+ * changes can be compared across builds.
+ */
+public class StartupTimer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(StartupTimer.class);
+
+  private final long createdAtNanos = System.nanoTime();
+  private final List<String> phaseNames = new ArrayList<>();
+  private final List<Long> phaseNanos = new ArrayList<>();
+  private final AtomicBoolean firstRequestSeen = new AtomicBoolean(false);
+  private long phaseStartNanos = createdAtNanos;
+
+  /**
+   * Ends the current phase and starts the next one.
+   */
+  public synchronized void mark(String phaseName) {
+    long now = System.nanoTime();
+    phaseNames.add(phaseName);
+    phaseNanos.add(now - phaseStartNanos);
+    phaseStartNanos = now;
+  }
+
+  public synchronized void logReport() {
+    StringBuilder report = new StringBuilder("Startup timing report:");
+    for (int i = 0; i < phaseNames.size(); i++) {
+      report.append(String.format("%n  %-24s %6d ms", phaseNames.get(i), phaseNanos.get(i) / 1_000_000));
+    }
+    report.append(String.format("%n  %-24s %6d ms", "total (main)", (System.nanoTime() - createdAtNanos) / 1_000_000));
+    sinceProcessStart().ifPresent(d ->
+        report.append(String.format("%n  %-24s %6d ms", "since JVM start", d.toMillis())));
+    LOGGER.info(report.toString());
+  }
+
+  /**
+   * Logs time-to-first-request the first time it is called; later calls are no-ops.
+   */
+  public void recordFirstRequest() {
+    if (!firstRequestSeen.get() && firstRequestSeen.compareAndSet(false, true)) {
+      long sinceMain = (System.nanoTime() - createdAtNanos) / 1_000_000;
+      LOGGER.info("First request received {} ms after main() ({} ms after JVM start)", sinceMain,
+          sinceProcessStart().map(Duration::toMillis).orElse(-1L));
+    }
+  }
+
+  private static Optional<Duration> sinceProcessStart() {
+    return ProcessHandle.current().info().startInstant()
+        .map(start -> Duration.between(start, Instant.now()));
+  }
+}
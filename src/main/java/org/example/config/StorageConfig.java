@@ -0,0 +1,29 @@
+package org.example.config;
+
+/**
+ * How rows are laid out in Postgres.
+ */
+public class StorageConfig {
+
+    private final boolean overviewBinaryPayload;
+
+    public StorageConfig(boolean overviewBinaryPayload) {
+        this.overviewBinaryPayload = overviewBinaryPayload;
+    }
+
+    public static StorageConfig fromProperties() {
+        return new StorageConfig(ApplicationProperties.getBoolean("db.overview.binaryPayload", false));
+    }
+
+    public static StorageConfig defaults() {
+        return new StorageConfig(false);
+    }
+
+    /**
+     * Whether overview writes also store the binary payload (stock_overview.data_bin) that reads
+     * prefer over the JSONB column.
+     */
+    public boolean isOverviewBinaryPayload() {
+        return overviewBinaryPayload;
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.config;
+
+import java.time.Duration;
+
+/**
+ * Settings for pushing quote updates to streaming clients.
+ */
+public class StreamConfig {
+
+    private final Duration pollInterval;
+    private final Duration heartbeatInterval;
+    private final int maxSymbolsPerClient;
+    private final int maxClients;
+    private final int maxMissedUpdates;
+    private final int pollerThreads;
+    private final int senderThreads;
+
+    public StreamConfig(Duration pollInterval, Duration heartbeatInterval, int maxSymbolsPerClient,
+                        int maxClients, int maxMissedUpdates, int pollerThreads,
+                        int senderThreads) {
+        this.pollInterval = pollInterval;
+        this.heartbeatInterval = heartbeatInterval;
+        this.maxSymbolsPerClient = maxSymbolsPerClient;
+        this.maxClients = maxClients;
+        this.maxMissedUpdates = maxMissedUpdates;
+        this.pollerThreads = pollerThreads;
+        this.senderThreads = senderThreads;
+    }
+
+    public static StreamConfig fromProperties() {
+        return new StreamConfig(
+                Duration.ofSeconds(ApplicationProperties.getLong("stream.pollIntervalSeconds", 15)),
+                Duration.ofSeconds(ApplicationProperties.getLong("stream.heartbeatSeconds", 20)),
+                ApplicationProperties.getInt("stream.maxSymbolsPerClient", 20),
+                ApplicationProperties.getInt("stream.maxClients", 1_000),
+                ApplicationProperties.getInt("stream.maxMissedUpdates", 20),
+                ApplicationProperties.getInt("stream.pollerThreads", 2),
+                ApplicationProperties.getInt("stream.senderThreads", 4));
+    }
+
+    /**
+     * How often each subscribed symbol is re-read through the quote cache.
+     */
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public int getMaxSymbolsPerClient() {
+        return maxSymbolsPerClient;
+    }
+
+    public int getMaxClients() {
+        return maxClients;
+    }
+
+    /**
+     * How many undelivered updates may be overwritten by newer ones before a client is
+     * considered too slow and disconnected.
+     */
+    public int getMaxMissedUpdates() {
+        return maxMissedUpdates;
+    }
+
+    public int getPollerThreads() {
+        return pollerThreads;
+    }
+
+    public int getSenderThreads() {
+        return senderThreads;
+    }
+}
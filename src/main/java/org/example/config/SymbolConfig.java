@@ -0,0 +1,68 @@
+package org.example.config;
+
+import java.time.Duration;
+
+/**
+ * Settings for the symbol directory and the cache of unknown symbols.
+ */
+public class SymbolConfig {
+
+    private final boolean directoryEnabled;
+    private final Duration directoryRefreshInterval;
+    private final Duration directoryRetryDelay;
+    private final Duration unknownTtl;
+    private final int unknownMaxEntries;
+
+    public SymbolConfig(boolean directoryEnabled, Duration directoryRefreshInterval,
+                        Duration directoryRetryDelay, Duration unknownTtl, int unknownMaxEntries) {
+        this.directoryEnabled = directoryEnabled;
+        this.directoryRefreshInterval = directoryRefreshInterval;
+        this.directoryRetryDelay = directoryRetryDelay;
+        this.unknownTtl = unknownTtl;
+        this.unknownMaxEntries = unknownMaxEntries;
+    }
+
+    public static SymbolConfig fromProperties() {
+        return new SymbolConfig(
+                ApplicationProperties.getBoolean("symbols.directory.enabled", true),
+                Duration.ofHours(ApplicationProperties.getLong("symbols.directory.refreshHours", 24)),
+                Duration.ofMinutes(ApplicationProperties.getLong("symbols.directory.retryMinutes", 5)),
+                Duration.ofMinutes(ApplicationProperties.getLong("symbols.unknown.ttlMinutes", 60)),
+                ApplicationProperties.getInt("symbols.unknown.maxEntries", 10_000));
+    }
+
+    public static SymbolConfig defaults() {
+        return new SymbolConfig(true, Duration.ofHours(24), Duration.ofMinutes(5),
+                Duration.ofMinutes(60), 10_000);
+    }
+
+    /**
+     * Whether the listing of active symbols is loaded from upstream and used to reject unlisted
+     * symbols.
+     */
+    public boolean isDirectoryEnabled() {
+        return directoryEnabled;
+    }
+
+    public Duration getDirectoryRefreshInterval() {
+        return directoryRefreshInterval;
+    }
+
+    /**
+     * How soon a failed directory load is retried.
+     */
+    public Duration getDirectoryRetryDelay() {
+        return directoryRetryDelay;
+    }
+
+    /**
+     * How long a symbol upstream reported as unknown is rejected without asking again.
+     */
+    public Duration getUnknownTtl() {
+        return unknownTtl;
+    }
+
+    public int getUnknownMaxEntries() {
+        return unknownMaxEntries;
+    }
+}
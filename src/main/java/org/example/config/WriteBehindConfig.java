@@ -0,0 +1,52 @@
+package org.example.config;
+
+import java.time.Duration;
+
+/**
+ * Settings for write-behind persistence of freshly fetched overviews.
+ */
+public class WriteBehindConfig {
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration flushInterval;
+
+    public WriteBehindConfig(boolean enabled, int batchSize, Duration flushInterval) {
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+    }
+
+    public static WriteBehindConfig fromProperties() {
+        return new WriteBehindConfig(
+                ApplicationProperties.getBoolean("db.overview.writeBehind.enabled", false),
+                ApplicationProperties.getInt("db.overview.writeBehind.batchSize", 200),
+                Duration.ofMillis(ApplicationProperties.getLong("db.overview.writeBehind.flushIntervalMillis", 1_000)));
+    }
+
+    public static WriteBehindConfig defaults() {
+        return new WriteBehindConfig(false, 200, Duration.ofSeconds(1));
+    }
+
+    /**
+     * Whether overview writes are queued and flushed in the background instead of being made
+     * before the response.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queued symbols that trigger a flush before the interval is up.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Longest time a write is held before it is flushed.
+     */
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+}
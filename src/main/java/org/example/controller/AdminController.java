@@ -0,0 +1,182 @@
+package org.example.controller;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.example.cache.AccessFrequencyTracker;
+import org.example.model.IngestionStatus;
+import org.example.provider.UpstreamScheduler;
+import org.example.service.IngestionService;
+import org.example.symbol.SymbolDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Controller for operational endpoints under /admin
+ */
+@Singleton
+public class AdminController {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AdminController.class);
+
+  private static final int DEFAULT_HOT_SYMBOLS_LIMIT = 20;
+
+  private final IngestionService ingestionService;
+  private final AdmissionControl admissionControl;
+  private final UpstreamScheduler upstreamScheduler;
+  private final AccessFrequencyTracker accessFrequencyTracker;
+  private final SymbolDirectory symbolDirectory;
+
+  @Inject
+  public AdminController(IngestionService ingestionService, AdmissionControl admissionControl,
+      UpstreamScheduler upstreamScheduler, AccessFrequencyTracker accessFrequencyTracker,
+      SymbolDirectory symbolDirectory) {
+    this.ingestionService = ingestionService;
+    this.admissionControl = admissionControl;
+    this.upstreamScheduler = upstreamScheduler;
+    this.accessFrequencyTracker = accessFrequencyTracker;
+    this.symbolDirectory = symbolDirectory;
+  }
+
+  /**
+   * {@code GET /admin/symbols}: whether the symbol listing is loaded, and symbols rejected as
+   * malformed or unknown.
+   */
+  public void getSymbolDirectoryStatus(Context ctx) {
+    Map<String, Object> response = new HashMap<>();
+    response.put("success", true);
+    response.put("data", symbolDirectory.getStatus());
+
+    ctx.status(HttpStatus.OK).json(response);
+  }
+
+  /**
+   * {@code GET /admin/hot-symbols?limit=20}: the most requested symbols with their estimated
+   * recent request counts.
+   */
+  public void getHotSymbols(Context ctx) {
+    int limit;
+    try {
+      String value = ctx.queryParam("limit");
+      limit = value == null || value.isBlank()
+          ? DEFAULT_HOT_SYMBOLS_LIMIT : Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      sendErrorResponse(ctx, HttpStatus.BAD_REQUEST, "Invalid limit: " + ctx.queryParam("limit"));
+      return;
+    }
+    if (limit < 1) {
+      sendErrorResponse(ctx, HttpStatus.BAD_REQUEST, "limit must be at least 1");
+      return;
+    }
+
+    Map<String, Object> response = new HashMap<>();
+    response.put("success", true);
+    response.put("data", accessFrequencyTracker.getStatus(limit));
+
+    ctx.status(HttpStatus.OK).json(response);
+  }
+
+  /**
+   * {@code GET /admin/upstream}: upstream calls waiting, dispatched, timed out and preempted
+   * per priority queue.
+   */
+  public void getUpstreamStatus(Context ctx) {
+    Map<String, Object> response = new HashMap<>();
+    response.put("success", true);
+    response.put("data", upstreamScheduler.getStats());
+
+    ctx.status(HttpStatus.OK).json(response);
+  }
+
+  /**
+   * {@code GET /admin/admission}: in-flight requests and 429s per endpoint class.
+   */
+  public void getAdmissionStatus(Context ctx) {
+    Map<String, Object> response = new HashMap<>();
+    response.put("success", true);
+    response.put("data", admissionControl.getStatus());
+
+    ctx.status(HttpStatus.OK).json(response);
+  }
+
+  public void getIngestionStatus(Context ctx) {
+    try {
+      IngestionStatus status = ingestionService.getStatus();
+
+      Map<String, Object> response = new HashMap<>();
+      response.put("success", true);
+      response.put("data", status);
+
+      ctx.status(HttpStatus.OK).json(response);
+
+    } catch (Exception e) {
+      LOGGER.error("Error reading ingestion status", e);
+      sendErrorResponse(ctx, HttpStatus.INTERNAL_SERVER_ERROR,
+          "Failed to read ingestion status. Please try again later.");
+    }
+  }
+
+  /**
+   * Queues symbols for ingestion. Body: {@code {"symbols": ["AAPL", "MSFT"]}}, or
+   * {@code {"universe": true}} to queue every active stock from the upstream listing.
+   */
+  public void postIngestionEnqueue(Context ctx) {
+    Map<?, ?> body;
+    try {
+      body = ctx.bodyAsClass(Map.class);
+    } catch (Exception e) {
+      sendErrorResponse(ctx, HttpStatus.BAD_REQUEST,
+          "Request body must be JSON: {\"symbols\": [...]} or {\"universe\": true}");
+      return;
+    }
+
+    try {
+      int queued;
+      if (Boolean.TRUE.equals(body.get("universe"))) {
+        LOGGER.info("Received request to queue the full ticker universe");
+        queued = ingestionService.enqueueUniverse();
+      } else if (body.get("symbols") instanceof List<?> requested) {
+        List<String> symbols = new ArrayList<>();
+        for (Object symbol : requested) {
+          if (symbol != null) {
+            symbols.add(symbol.toString());
+          }
+        }
+        LOGGER.info("Received request to queue {} symbols for ingestion", symbols.size());
+        queued = ingestionService.enqueue(symbols);
+      } else {
+        sendErrorResponse(ctx, HttpStatus.BAD_REQUEST, "Missing required field: symbols or universe");
+        return;
+      }
+
+      Map<String, Object> response = new HashMap<>();
+      response.put("success", true);
+      response.put("data", Map.of("queued", queued));
+
+      ctx.status(HttpStatus.OK).json(response);
+
+    } catch (IllegalStateException e) {
+      LOGGER.warn("Cannot queue ingestion: {}", e.getMessage());
+      sendErrorResponse(ctx, HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+
+    } catch (Exception e) {
+      LOGGER.error("Error queueing symbols for ingestion", e);
+      sendErrorResponse(ctx, HttpStatus.INTERNAL_SERVER_ERROR,
+          "Failed to queue symbols. Please try again later.");
+    }
+  }
+
+  private void sendErrorResponse(Context ctx, HttpStatus status, String message) {
+    Map<String, Object> errorResponse = new HashMap<>();
+    errorResponse.put("success", false);
+    errorResponse.put("error", message);
+    errorResponse.put("timestamp", System.currentTimeMillis());
+
+    ctx.status(status).json(errorResponse);
+  }
+}
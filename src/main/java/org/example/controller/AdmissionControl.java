@@ -0,0 +1,147 @@
+package org.example.controller;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.javalin.http.Context;
+import io.javalin.http.Handler;
+import io.javalin.http.Header;
+import io.javalin.http.HttpStatus;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.example.config.AdmissionConfig;
+import org.example.provider.TokenBucketRateLimiter;
+
+/**
+ * Sheds load before it reaches a controller.
+ *
+ * Each endpoint class has its own concurrency budget, so a burst of upstream-bound requests
+ * cannot take the threads that cached overview hits need. Each client also has a token bucket.
+ * A request over either limit is answered 429 with Retry-After straight away; nothing queues,
+ * so admitted requests keep their latency under overload.
+ */
+@Singleton
+public class AdmissionControl {
+
+  /**
+   * Endpoints grouped by what serving them costs.
+   */
+  public enum EndpointClass { CACHED, DATABASE, UPSTREAM }
+
+  private final AdmissionConfig config;
+  private final Map<EndpointClass, Budget> budgets = new EnumMap<>(EndpointClass.class);
+  // Least recently seen client first, dropped in O(1) once too many are tracked. A dropped
+  // client that comes back starts with a full bucket, as an idle one would have refilled to.
+  // Guarded by itself.
+  private final Map<String, TokenBucketRateLimiter> clientBuckets;
+  private final AtomicLong clientRejections = new AtomicLong();
+
+  @Inject
+  public AdmissionControl(AdmissionConfig config) {
+    this.config = config;
+    budgets.put(EndpointClass.CACHED, new Budget(config.getCachedMaxConcurrent()));
+    budgets.put(EndpointClass.DATABASE, new Budget(config.getDatabaseMaxConcurrent()));
+    budgets.put(EndpointClass.UPSTREAM, new Budget(config.getUpstreamMaxConcurrent()));
+    int maxTrackedClients = config.getMaxTrackedClients();
+    this.clientBuckets = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, TokenBucketRateLimiter> eldest) {
+        return size() > maxTrackedClients;
+      }
+    };
+  }
+
+  /**
+   * Wraps a handler so it only runs within the client's rate and its class's concurrency
+   * budget.
+   */
+  public Handler admit(EndpointClass endpointClass, Handler handler) {
+    if (!config.isEnabled()) {
+      return handler;
+    }
+    Budget budget = budgets.get(endpointClass);
+    return ctx -> {
+      long waitNanos = clientBucket(clientId(ctx)).tryAcquire();
+      if (waitNanos > 0) {
+        clientRejections.incrementAndGet();
+        long retryAfterSeconds = (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)
+            / TimeUnit.SECONDS.toNanos(1);
+        reject(ctx, retryAfterSeconds, "Rate limit exceeded. Please slow down.");
+        return;
+      }
+      if (!budget.permits.tryAcquire()) {
+        budget.rejections.incrementAndGet();
+        reject(ctx, config.getRetryAfterSeconds(), "Server is busy. Please try again shortly.");
+        return;
+      }
+      try {
+        handler.handle(ctx);
+      } finally {
+        budget.permits.release();
+      }
+    };
+  }
+
+  /**
+   * In-flight requests and rejections per endpoint class, and rate-limited requests.
+   */
+  public Map<String, Object> getStatus() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("enabled", config.isEnabled());
+    budgets.forEach((endpointClass, budget) -> {
+      Map<String, Object> classStatus = new LinkedHashMap<>();
+      classStatus.put("maxConcurrent", budget.maxConcurrent);
+      classStatus.put("inFlight", budget.maxConcurrent - budget.permits.availablePermits());
+      classStatus.put("rejected", budget.rejections.get());
+      status.put(endpointClass.name().toLowerCase(), classStatus);
+    });
+    synchronized (clientBuckets) {
+      status.put("clientsTracked", clientBuckets.size());
+    }
+    status.put("rateLimited", clientRejections.get());
+    return status;
+  }
+
+  private TokenBucketRateLimiter clientBucket(String clientId) {
+    synchronized (clientBuckets) {
+      return clientBuckets.computeIfAbsent(clientId, client -> new TokenBucketRateLimiter(
+          config.getClientRequestsPerMinute(), config.getClientBurst()));
+    }
+  }
+
+  private String clientId(Context ctx) {
+    if (config.getClientHeader() != null) {
+      String value = ctx.header(config.getClientHeader());
+      if (value != null && !value.isBlank()) {
+        int comma = value.indexOf(',');
+        return (comma < 0 ? value : value.substring(0, comma)).trim();
+      }
+    }
+    return ctx.ip();
+  }
+
+  private void reject(Context ctx, long retryAfterSeconds, String message) {
+    Map<String, Object> errorResponse = new HashMap<>();
+    errorResponse.put("success", false);
+    errorResponse.put("error", message);
+    errorResponse.put("timestamp", System.currentTimeMillis());
+
+    ctx.header(Header.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    ctx.status(HttpStatus.TOO_MANY_REQUESTS).json(errorResponse);
+  }
+
+  private static final class Budget {
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final AtomicLong rejections = new AtomicLong();
+
+    private Budget(int maxConcurrent) {
+      this.maxConcurrent = maxConcurrent;
+      this.permits = new Semaphore(maxConcurrent);
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package org.example.controller;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+import java.util.HashMap;
+import java.util.Map;
+import org.example.cache.AccessFrequencyTracker;
+import org.example.model.IndicatorSnapshot;
+import org.example.model.PriceInterval;
+import org.example.repository.DatabaseUnavailableException;
+import org.example.service.IndicatorService;
+import org.example.symbol.SymbolDirectory;
+import org.example.symbol.UnknownSymbolException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Controller for handling technical indicator requests
+ */
+@Singleton
+public class IndicatorController {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(IndicatorController.class);
+  private static final int DEFAULT_WINDOW = 20;
+
+  private final IndicatorService indicatorService;
+  private final AccessFrequencyTracker accessFrequencyTracker;
+  private final SymbolDirectory symbolDirectory;
+
+  @Inject
+  public IndicatorController(IndicatorService indicatorService,
+      AccessFrequencyTracker accessFrequencyTracker, SymbolDirectory symbolDirectory) {
+    this.indicatorService = indicatorService;
+    this.accessFrequencyTracker = accessFrequencyTracker;
+    this.symbolDirectory = symbolDirectory;
+  }
+
+  public void getIndicators(Context ctx) {
+    String symbol = ctx.queryParam("symbol");
+
+    if (symbol == null || symbol.trim().isEmpty()) {
+      sendErrorResponse(ctx, HttpStatus.BAD_REQUEST, "Missing required parameter: symbol");
+      return;
+    }
+
+    LOGGER.debug("Received indicator request for symbol: {}", symbol);
+
+    try {
+      String canonicalSymbol = symbolDirectory.require(symbol);
+      accessFrequencyTracker.record(canonicalSymbol);
+      PriceInterval interval = PriceInterval.fromLabel(ctx.queryParam("interval"));
+      int window = parseWindow(ctx.queryParam("window"));
+
+      IndicatorSnapshot snapshot = indicatorService.getIndicators(canonicalSymbol, interval, window);
+
+      Map<String, Object> response = new HashMap<>();
+      response.put("success", true);
+      response.put("data", snapshot);
+
+      ctx.status(HttpStatus.OK).json(response);
+
+    } catch (UnknownSymbolException e) {
+      LOGGER.info("Rejected unknown symbol: {}", symbol);
+      sendErrorResponse(ctx, HttpStatus.NOT_FOUND, e.getMessage());
+
+    } catch (IllegalArgumentException e) {
+      LOGGER.warn("Invalid indicator request for symbol: {}, error: {}", symbol, e.getMessage());
+      sendErrorResponse(ctx, HttpStatus.BAD_REQUEST, e.getMessage());
+
+    } catch (DatabaseUnavailableException e) {
+      LOGGER.warn("Database unavailable, cannot compute indicators for symbol: {}", symbol);
+      sendErrorResponse(ctx, HttpStatus.SERVICE_UNAVAILABLE,
+          "Indicators are temporarily unavailable. Please try again later.");
+
+    } catch (Exception e) {
+      LOGGER.error("Error computing indicators for symbol: {}", symbol, e);
+      sendErrorResponse(ctx, HttpStatus.INTERNAL_SERVER_ERROR,
+          "Failed to compute indicators. Please try again later.");
+    }
+  }
+
+  private int parseWindow(String value) {
+    if (value == null || value.trim().isEmpty()) {
+      return DEFAULT_WINDOW;
+    }
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid window: " + value);
+    }
+  }
+
+  private void sendErrorResponse(Context ctx, HttpStatus status, String message) {
+    Map<String, Object> errorResponse = new HashMap<>();
+    errorResponse.put("success", false);
+    errorResponse.put("error", message);
+    errorResponse.put("timestamp", System.currentTimeMillis());
+
+    ctx.status(status).json(errorResponse);
+  }
+}
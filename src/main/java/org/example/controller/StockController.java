@@ -4,11 +4,28 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import io.javalin.http.Context;
 import io.javalin.http.HttpStatus;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import org.example.cache.AccessFrequencyTracker;
+import org.example.model.HistoryBucket;
+import org.example.model.PriceBar;
+import org.example.model.PriceInterval;
 import org.example.model.StockInfo;
 import org.example.model.StockOverview;
+import org.example.repository.DatabaseUnavailableException;
 import org.example.service.StockService;
+import org.example.symbol.SymbolDirectory;
+import org.example.symbol.UnknownSymbolException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,11 +37,20 @@ public class StockController {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(StockController.class);
 
+  private static final int MAX_BATCH_SYMBOLS = 50;
+  private static final int DEFAULT_SCREENER_LIMIT = 50;
+  private static final int MAX_SCREENER_LIMIT = 500;
+
   private final StockService stockService;
+  private final AccessFrequencyTracker accessFrequencyTracker;
+  private final SymbolDirectory symbolDirectory;
 
   @Inject
-  public StockController(StockService stockService) {
+  public StockController(StockService stockService, AccessFrequencyTracker accessFrequencyTracker,
+      SymbolDirectory symbolDirectory) {
     this.stockService = stockService;
+    this.accessFrequencyTracker = accessFrequencyTracker;
+    this.symbolDirectory = symbolDirectory;
   }
 
   public void getStock(Context ctx) {
@@ -38,7 +64,9 @@ public class StockController {
     LOGGER.info("Received stock data request for symbol: {}", symbol);
 
     try {
-      StockInfo stockInfo = stockService.getStockInfo(symbol.trim().toUpperCase());
+      String canonicalSymbol = symbolDirectory.require(symbol);
+      accessFrequencyTracker.record(canonicalSymbol);
+      StockInfo stockInfo = stockService.getStockInfo(canonicalSymbol);
 
       Map<String, Object> response = new HashMap<>();
       response.put("success", true);
@@ -47,6 +75,10 @@ public class StockController {
       ctx.status(HttpStatus.OK).json(response);
       LOGGER.info("Successfully returned stock data for: {}", symbol);
 
+    } catch (UnknownSymbolException e) {
+      LOGGER.info("Rejected unknown symbol: {}", symbol);
+      sendErrorResponse(ctx, HttpStatus.NOT_FOUND, e.getMessage());
+
     } catch (IllegalArgumentException e) {
       LOGGER.warn("Invalid request for symbol: {}, error: {}", symbol, e.getMessage());
       sendErrorResponse(ctx, HttpStatus.BAD_REQUEST, e.getMessage());
@@ -69,7 +101,9 @@ public class StockController {
     LOGGER.info("Received stock overview request for symbol: {}", symbol);
 
     try {
-      StockOverview stockOverview = stockService.getOverview(symbol.trim().toUpperCase());
+      String canonicalSymbol = symbolDirectory.require(symbol);
+      accessFrequencyTracker.record(canonicalSymbol);
+      StockOverview stockOverview = stockService.getOverview(canonicalSymbol);
 
       Map<String, Object> response = new HashMap<>();
       response.put("success", true);
@@ -78,6 +112,10 @@ public class StockController {
       ctx.status(HttpStatus.OK).json(response);
       LOGGER.info("Successfully returned stock overview for: {}", symbol);
 
+    } catch (UnknownSymbolException e) {
+      LOGGER.info("Rejected unknown symbol: {}", symbol);
+      sendErrorResponse(ctx, HttpStatus.NOT_FOUND, e.getMessage());
+
     } catch (IllegalArgumentException e) {
       LOGGER.warn("Invalid request for symbol: {}, error: {}", symbol, e.getMessage());
       sendErrorResponse(ctx, HttpStatus.BAD_REQUEST, e.getMessage());
@@ -89,10 +127,209 @@ public class StockController {
     }
   }
 
+  /**
+   * {@code GET /stock-screener?sector=Technology&maxPe=30&limit=50}: stored overviews in a
+   * sector, cheapest P/E first.
+   */
+  public void getStockScreener(Context ctx) {
+    String sector = ctx.queryParam("sector");
+
+    if (sector == null || sector.trim().isEmpty()) {
+      sendErrorResponse(ctx, HttpStatus.BAD_REQUEST, "Missing required parameter: sector");
+      return;
+    }
+
+    LOGGER.info("Received screener request for sector: {}", sector);
+
+    try {
+      BigDecimal maxPeRatio = parseDecimalParam("maxPe", ctx.queryParam("maxPe"));
+      int limit = parseLimit(ctx.queryParam("limit"));
+
+      List<StockOverview> overviews = stockService.screenOverviews(sector, maxPeRatio, limit);
+
+      Map<String, Object> response = new HashMap<>();
+      response.put("success", true);
+      response.put("data", overviews);
+
+      ctx.status(HttpStatus.OK).json(response);
+      LOGGER.info("Successfully returned {} overviews for sector: {}", overviews.size(), sector);
+
+    } catch (IllegalArgumentException e) {
+      LOGGER.warn("Invalid screener request for sector: {}, error: {}", sector, e.getMessage());
+      sendErrorResponse(ctx, HttpStatus.BAD_REQUEST, e.getMessage());
+
+    } catch (DatabaseUnavailableException e) {
+      LOGGER.warn("Database unavailable, cannot screen overviews for sector: {}", sector);
+      sendErrorResponse(ctx, HttpStatus.SERVICE_UNAVAILABLE,
+          "Stock screener is temporarily unavailable. Please try again later.");
+
+    } catch (Exception e) {
+      LOGGER.error("Error screening overviews for sector: {}", sector, e);
+      sendErrorResponse(ctx, HttpStatus.INTERNAL_SERVER_ERROR,
+          "Failed to screen stocks. Please try again later.");
+    }
+  }
+
+  public void getStockHistory(Context ctx) {
+    String symbol = ctx.queryParam("symbol");
+
+    if (symbol == null || symbol.trim().isEmpty()) {
+      sendErrorResponse(ctx, HttpStatus.BAD_REQUEST, "Missing required parameter: symbol");
+      return;
+    }
+
+    LOGGER.info("Received price history request for symbol: {}", symbol);
+
+    try {
+      String canonicalSymbol = symbolDirectory.require(symbol);
+      accessFrequencyTracker.record(canonicalSymbol);
+      PriceInterval interval = PriceInterval.fromLabel(ctx.queryParam("interval"));
+      long toMillis = parseTimeParam(ctx.queryParam("to"), System.currentTimeMillis());
+      Duration defaultRange = interval.isIntraday() ? Duration.ofDays(1) : Duration.ofDays(365);
+      long fromMillis = parseTimeParam(ctx.queryParam("from"), toMillis - defaultRange.toMillis());
+      String bucket = ctx.queryParam("bucket");
+
+      List<PriceBar> bars = (bucket == null || bucket.trim().isEmpty())
+          ? stockService.getPriceHistory(canonicalSymbol, interval, fromMillis, toMillis)
+          : stockService.getPriceHistory(canonicalSymbol, interval, fromMillis, toMillis,
+              HistoryBucket.parse(bucket));
+
+      Map<String, Object> response = new HashMap<>();
+      response.put("success", true);
+      response.put("data", bars);
+
+      ctx.status(HttpStatus.OK).json(response);
+      LOGGER.info("Successfully returned {} price bars for: {}", bars.size(), symbol);
+
+    } catch (UnknownSymbolException e) {
+      LOGGER.info("Rejected unknown symbol: {}", symbol);
+      sendErrorResponse(ctx, HttpStatus.NOT_FOUND, e.getMessage());
+
+    } catch (IllegalArgumentException e) {
+      LOGGER.warn("Invalid history request for symbol: {}, error: {}", symbol, e.getMessage());
+      sendErrorResponse(ctx, HttpStatus.BAD_REQUEST, e.getMessage());
+
+    } catch (DatabaseUnavailableException e) {
+      LOGGER.warn("Database unavailable, cannot serve price history for symbol: {}", symbol);
+      sendErrorResponse(ctx, HttpStatus.SERVICE_UNAVAILABLE,
+          "Price history is temporarily unavailable. Please try again later.");
+
+    } catch (Exception e) {
+      LOGGER.error("Error fetching price history for symbol: {}", symbol, e);
+      sendErrorResponse(ctx, HttpStatus.INTERNAL_SERVER_ERROR,
+          "Failed to fetch price history. Please try again later.");
+    }
+  }
+
+  /**
+   * Batch quote lookup. Body: {@code {"symbols": ["AAPL", "MSFT"]}}. Symbols that fail are
+   * reported under "errors" without failing the whole batch.
+   */
   public void postStock(Context ctx) {
-    // For future batch requests
-    sendErrorResponse(ctx, HttpStatus.METHOD_NOT_ALLOWED,
-        "POST method not yet implemented. Use GET with ?symbol=TICKER");
+    List<String> symbols;
+    try {
+      Object requested = ctx.bodyAsClass(Map.class).get("symbols");
+      if (!(requested instanceof List)) {
+        sendErrorResponse(ctx, HttpStatus.BAD_REQUEST, "Missing required field: symbols");
+        return;
+      }
+      symbols = new ArrayList<>();
+      for (Object symbol : (List<?>) requested) {
+        if (symbol != null && !symbol.toString().trim().isEmpty()) {
+          symbols.add(symbol.toString().trim());
+        }
+      }
+    } catch (Exception e) {
+      sendErrorResponse(ctx, HttpStatus.BAD_REQUEST, "Request body must be JSON: {\"symbols\": [...]}");
+      return;
+    }
+
+    if (symbols.isEmpty() || symbols.size() > MAX_BATCH_SYMBOLS) {
+      sendErrorResponse(ctx, HttpStatus.BAD_REQUEST,
+          "Between 1 and " + MAX_BATCH_SYMBOLS + " symbols are required");
+      return;
+    }
+
+    LOGGER.info("Received batch stock data request for {} symbols", symbols.size());
+
+    Map<String, StockInfo> quotes = new LinkedHashMap<>();
+    Map<String, String> errors = new LinkedHashMap<>();
+    for (String symbol : symbols) {
+      String canonicalSymbol;
+      try {
+        canonicalSymbol = symbolDirectory.require(symbol);
+      } catch (IllegalArgumentException e) {
+        // Malformed or unknown: rejected without a lookup
+        errors.put(symbol, e.getMessage());
+        continue;
+      }
+      accessFrequencyTracker.record(canonicalSymbol);
+      try {
+        quotes.put(canonicalSymbol, stockService.getStockInfo(canonicalSymbol));
+      } catch (UnknownSymbolException e) {
+        errors.put(canonicalSymbol, e.getMessage());
+      } catch (Exception e) {
+        LOGGER.warn("Error fetching stock data for symbol: {} in batch", canonicalSymbol, e);
+        errors.put(canonicalSymbol, "Failed to fetch stock data");
+      }
+    }
+
+    Map<String, Object> response = new HashMap<>();
+    response.put("success", true);
+    response.put("data", quotes);
+    response.put("errors", errors);
+
+    ctx.status(HttpStatus.OK).json(response);
+  }
+
+  private BigDecimal parseDecimalParam(String name, String value) {
+    if (value == null || value.trim().isEmpty()) {
+      return null;
+    }
+    try {
+      return new BigDecimal(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid " + name + ": " + value);
+    }
+  }
+
+  private int parseLimit(String value) {
+    if (value == null || value.trim().isEmpty()) {
+      return DEFAULT_SCREENER_LIMIT;
+    }
+    try {
+      int limit = Integer.parseInt(value.trim());
+      if (limit < 1 || limit > MAX_SCREENER_LIMIT) {
+        throw new IllegalArgumentException("limit must be between 1 and " + MAX_SCREENER_LIMIT);
+      }
+      return limit;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid limit: " + value);
+    }
+  }
+
+  /**
+   * Accepts epoch milliseconds, an ISO date (UTC midnight) or an ISO local date-time (UTC).
+   */
+  private long parseTimeParam(String value, long defaultValue) {
+    if (value == null || value.trim().isEmpty()) {
+      return defaultValue;
+    }
+    String trimmed = value.trim();
+    try {
+      if (trimmed.chars().allMatch(Character::isDigit)) {
+        return Long.parseLong(trimmed);
+      }
+      if (trimmed.length() == 10) {
+        return LocalDate.parse(trimmed).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+      }
+      if (trimmed.endsWith("Z")) {
+        return Instant.parse(trimmed).toEpochMilli();
+      }
+      return LocalDateTime.parse(trimmed).toInstant(ZoneOffset.UTC).toEpochMilli();
+    } catch (DateTimeParseException | NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid time parameter: " + value);
+    }
   }
 
   private void sendErrorResponse(Context ctx, HttpStatus status, String message) {
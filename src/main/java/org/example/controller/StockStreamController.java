@@ -0,0 +1,91 @@
+package org.example.controller;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.javalin.http.sse.SseClient;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.example.stream.QuoteSink;
+import org.example.stream.QuoteStreamHub;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Controller for streaming quote updates over Server-Sent Events
+ */
+@Singleton
+public class StockStreamController {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(StockStreamController.class);
+
+  private final QuoteStreamHub quoteStreamHub;
+
+  @Inject
+  public StockStreamController(QuoteStreamHub quoteStreamHub) {
+    this.quoteStreamHub = quoteStreamHub;
+  }
+
+  /**
+   * {@code GET /stock-stream?symbols=AAPL,MSFT}. Sends a {@code quote} event whenever a
+   * subscribed symbol's quote changes, starting with the latest known quote.
+   */
+  public void streamQuotes(SseClient client) {
+    String symbolsParam = client.ctx().queryParam("symbols");
+    if (symbolsParam == null || symbolsParam.trim().isEmpty()) {
+      sendErrorAndClose(client, "Missing required parameter: symbols");
+      return;
+    }
+    List<String> symbols = Arrays.asList(symbolsParam.split(","));
+
+    try {
+      QuoteStreamHub.Subscription subscription =
+          quoteStreamHub.subscribe(symbols, new SseQuoteSink(client));
+      client.onClose(subscription::close);
+      client.keepAlive();
+      LOGGER.info("Streaming quotes for {} to {}", subscription.getSymbols(), client.ctx().ip());
+
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      LOGGER.warn("Rejected quote stream for symbols: {}, error: {}", symbolsParam, e.getMessage());
+      sendErrorAndClose(client, e.getMessage());
+    }
+  }
+
+  private void sendErrorAndClose(SseClient client, String message) {
+    client.sendEvent("error", Map.of(
+        "success", false,
+        "error", message,
+        "timestamp", System.currentTimeMillis()));
+    client.close();
+  }
+
+  /**
+   * Writes quotes as SSE events. SseClient swallows write errors and marks itself terminated,
+   * which is how a vanished client is detected.
+   */
+  private static final class SseQuoteSink implements QuoteSink {
+
+    private final SseClient client;
+
+    private SseQuoteSink(SseClient client) {
+      this.client = client;
+    }
+
+    @Override
+    public boolean send(String symbol, String quoteJson) {
+      client.sendEvent("quote", quoteJson);
+      return !client.terminated();
+    }
+
+    @Override
+    public boolean heartbeat() {
+      client.sendComment("keep-alive");
+      return !client.terminated();
+    }
+
+    @Override
+    public void close() {
+      client.close();
+    }
+  }
+}
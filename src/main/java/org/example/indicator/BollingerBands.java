@@ -0,0 +1,47 @@
+package org.example.indicator;
+
+/**
+ * Bollinger bands: simple moving average plus/minus {@code k} population standard deviations,
+ * maintained with running sums over the window.
+ */
+public final class BollingerBands {
+
+  private final DoubleRingBuffer window;
+  private final double k;
+  private double sum;
+  private double sumOfSquares;
+
+  public BollingerBands(int period, double k) {
+    this.window = new DoubleRingBuffer(period);
+    this.k = k;
+  }
+
+  public void update(double value) {
+    double evicted = window.add(value);
+    sum += value;
+    sumOfSquares += value * value;
+    if (!Double.isNaN(evicted)) {
+      sum -= evicted;
+      sumOfSquares -= evicted * evicted;
+    }
+  }
+
+  public double middle() {
+    return window.isFull() ? sum / window.capacity() : Double.NaN;
+  }
+
+  public double upper() {
+    return middle() + k * standardDeviation();
+  }
+
+  public double lower() {
+    return middle() - k * standardDeviation();
+  }
+
+  private double standardDeviation() {
+    int n = window.capacity();
+    double mean = sum / n;
+    // Clamp tiny negative values caused by floating point cancellation
+    return Math.sqrt(Math.max(0.0, sumOfSquares / n - mean * mean));
+  }
+}
@@ -0,0 +1,45 @@
+package org.example.indicator;
+
+/**
+ * Fixed-capacity FIFO of primitive doubles.
+ */
+public final class DoubleRingBuffer {
+
+  private final double[] values;
+  private int head;
+  private int size;
+
+  public DoubleRingBuffer(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.values = new double[capacity];
+  }
+
+  /**
+   * Appends a value and returns the one it displaced, or NaN while the buffer is filling.
+   */
+  public double add(double value) {
+    double evicted = Double.NaN;
+    if (size == values.length) {
+      evicted = values[head];
+    } else {
+      size++;
+    }
+    values[head] = value;
+    head = (head + 1) % values.length;
+    return evicted;
+  }
+
+  public boolean isFull() {
+    return size == values.length;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int capacity() {
+    return values.length;
+  }
+}
@@ -0,0 +1,41 @@
+package org.example.indicator;
+
+/**
+ * Exponential moving average with smoothing 2 / (period + 1), seeded with the simple average
+ * of the first {@code period} values.
+ */
+public final class ExponentialMovingAverage {
+
+  private final int period;
+  private final double alpha;
+  private double value = Double.NaN;
+  private double seedSum;
+  private int count;
+
+  public ExponentialMovingAverage(int period) {
+    if (period <= 0) {
+      throw new IllegalArgumentException("period must be positive");
+    }
+    this.period = period;
+    this.alpha = 2.0 / (period + 1);
+  }
+
+  public double update(double input) {
+    count++;
+    if (count < period) {
+      seedSum += input;
+    } else if (count == period) {
+      value = (seedSum + input) / period;
+    } else {
+      value += alpha * (input - value);
+    }
+    return value;
+  }
+
+  /**
+   * Current average, or NaN until {@code period} values have been seen.
+   */
+  public double value() {
+    return value;
+  }
+}
@@ -0,0 +1,87 @@
+package org.example.indicator;
+
+import org.example.model.IndicatorSnapshot;
+
+/**
+ * All indicators for one symbol, interval and window, updated together one bar at a time.
+ *
+ * Each update is O(1) and allocation-free. Not thread-safe; callers synchronize on the instance.
+ */
+public final class IndicatorSet {
+
+  public static final int MACD_FAST = 12;
+  public static final int MACD_SLOW = 26;
+  public static final int MACD_SIGNAL = 9;
+  public static final double BOLLINGER_K = 2.0;
+
+  private final int window;
+  private final SimpleMovingAverage sma;
+  private final ExponentialMovingAverage ema;
+  private final RelativeStrengthIndex rsi;
+  private final Macd macd;
+  private final BollingerBands bollinger;
+  private long lastTimestamp = Long.MIN_VALUE;
+  private double lastClose = Double.NaN;
+  private long barCount;
+
+  public IndicatorSet(int window) {
+    this.window = window;
+    this.sma = new SimpleMovingAverage(window);
+    this.ema = new ExponentialMovingAverage(window);
+    this.rsi = new RelativeStrengthIndex(window);
+    this.macd = new Macd(MACD_FAST, MACD_SLOW, MACD_SIGNAL);
+    this.bollinger = new BollingerBands(window, BOLLINGER_K);
+  }
+
+  /**
+   * Feeds one closed bar. Bars at or before the last seen timestamp are ignored, so
+   * overlapping history reads can be replayed safely.
+   *
+   * @return true if the bar was applied
+   */
+  public boolean update(long timestamp, double close) {
+    if (timestamp <= lastTimestamp) {
+      return false;
+    }
+    sma.update(close);
+    ema.update(close);
+    rsi.update(close);
+    macd.update(close);
+    bollinger.update(close);
+    lastTimestamp = timestamp;
+    lastClose = close;
+    barCount++;
+    return true;
+  }
+
+  public long getLastTimestamp() {
+    return lastTimestamp;
+  }
+
+  public long getBarCount() {
+    return barCount;
+  }
+
+  public IndicatorSnapshot snapshot(String symbol, String interval) {
+    IndicatorSnapshot snapshot = new IndicatorSnapshot();
+    snapshot.setSymbol(symbol);
+    snapshot.setInterval(interval);
+    snapshot.setWindow(window);
+    snapshot.setTimestamp(barCount == 0 ? null : lastTimestamp);
+    snapshot.setClose(orNull(lastClose));
+    snapshot.setSma(orNull(sma.value()));
+    snapshot.setEma(orNull(ema.value()));
+    snapshot.setRsi(orNull(rsi.value()));
+    snapshot.setMacd(orNull(macd.line()));
+    snapshot.setMacdSignal(orNull(macd.signal()));
+    snapshot.setMacdHistogram(orNull(macd.histogram()));
+    snapshot.setBollingerUpper(orNull(bollinger.upper()));
+    snapshot.setBollingerMiddle(orNull(bollinger.middle()));
+    snapshot.setBollingerLower(orNull(bollinger.lower()));
+    return snapshot;
+  }
+
+  private static Double orNull(double value) {
+    return Double.isNaN(value) ? null : value;
+  }
+}
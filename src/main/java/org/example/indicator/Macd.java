@@ -0,0 +1,42 @@
+package org.example.indicator;
+
+/**
+ * Moving average convergence/divergence: fast EMA minus slow EMA, with an EMA signal line.
+ */
+public final class Macd {
+
+  private final ExponentialMovingAverage fast;
+  private final ExponentialMovingAverage slow;
+  private final ExponentialMovingAverage signal;
+  private double line = Double.NaN;
+
+  public Macd(int fastPeriod, int slowPeriod, int signalPeriod) {
+    if (fastPeriod >= slowPeriod) {
+      throw new IllegalArgumentException("fastPeriod must be shorter than slowPeriod");
+    }
+    this.fast = new ExponentialMovingAverage(fastPeriod);
+    this.slow = new ExponentialMovingAverage(slowPeriod);
+    this.signal = new ExponentialMovingAverage(signalPeriod);
+  }
+
+  public void update(double close) {
+    double fastValue = fast.update(close);
+    double slowValue = slow.update(close);
+    if (!Double.isNaN(slowValue)) {
+      line = fastValue - slowValue;
+      signal.update(line);
+    }
+  }
+
+  public double line() {
+    return line;
+  }
+
+  public double signal() {
+    return signal.value();
+  }
+
+  public double histogram() {
+    return line - signal.value();
+  }
+}
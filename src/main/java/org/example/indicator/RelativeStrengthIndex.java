@@ -0,0 +1,56 @@
+package org.example.indicator;
+
+/**
+ * Relative strength index using Wilder's smoothing.
+ */
+public final class RelativeStrengthIndex {
+
+  private final int period;
+  private double previous = Double.NaN;
+  private double averageGain;
+  private double averageLoss;
+  private int changes;
+
+  public RelativeStrengthIndex(int period) {
+    if (period <= 0) {
+      throw new IllegalArgumentException("period must be positive");
+    }
+    this.period = period;
+  }
+
+  public double update(double close) {
+    if (Double.isNaN(previous)) {
+      previous = close;
+      return Double.NaN;
+    }
+    double change = close - previous;
+    previous = close;
+    double gain = Math.max(change, 0);
+    double loss = Math.max(-change, 0);
+    changes++;
+
+    if (changes <= period) {
+      // Seed with the plain average of the first period changes
+      averageGain += gain / period;
+      averageLoss += loss / period;
+    } else {
+      averageGain = (averageGain * (period - 1) + gain) / period;
+      averageLoss = (averageLoss * (period - 1) + loss) / period;
+    }
+    return value();
+  }
+
+  /**
+   * Current RSI in [0, 100], or NaN until {@code period} price changes have been seen.
+   */
+  public double value() {
+    if (changes < period) {
+      return Double.NaN;
+    }
+    if (averageLoss == 0) {
+      return averageGain == 0 ? 50.0 : 100.0;
+    }
+    double relativeStrength = averageGain / averageLoss;
+    return 100.0 - (100.0 / (1.0 + relativeStrength));
+  }
+}
@@ -0,0 +1,30 @@
+package org.example.indicator;
+
+/**
+ * Simple moving average maintained with a running sum.
+ */
+public final class SimpleMovingAverage {
+
+  private final DoubleRingBuffer window;
+  private double sum;
+
+  public SimpleMovingAverage(int period) {
+    this.window = new DoubleRingBuffer(period);
+  }
+
+  public double update(double value) {
+    double evicted = window.add(value);
+    sum += value;
+    if (!Double.isNaN(evicted)) {
+      sum -= evicted;
+    }
+    return value();
+  }
+
+  /**
+   * Current average, or NaN until a full window has been seen.
+   */
+  public double value() {
+    return window.isFull() ? sum / window.capacity() : Double.NaN;
+  }
+}
@@ -0,0 +1,89 @@
+package org.example.model;
+
+/**
+ * Downsampling bucket for price history queries, e.g. {@code 15m}, {@code 1h}, {@code 1d},
+ * {@code 1w}, {@code 1mo}, {@code 3mo} or {@code 1y}.
+ *
+ * Minute, hour and day buckets have a fixed length; week, month, quarter and year buckets
+ * follow the calendar.
+ */
+public final class HistoryBucket {
+
+  private final String label;
+  private final long fixedSeconds;
+  private final String calendarUnit;
+
+  private HistoryBucket(String label, long fixedSeconds, String calendarUnit) {
+    this.label = label;
+    this.fixedSeconds = fixedSeconds;
+    this.calendarUnit = calendarUnit;
+  }
+
+  public static HistoryBucket parse(String value) {
+    if (value == null || value.trim().isEmpty()) {
+      throw new IllegalArgumentException("Bucket cannot be null or empty");
+    }
+    String label = value.trim().toLowerCase();
+    int unitStart = 0;
+    while (unitStart < label.length() && Character.isDigit(label.charAt(unitStart))) {
+      unitStart++;
+    }
+    if (unitStart == 0 || unitStart > 6) {
+      throw new IllegalArgumentException("Invalid bucket: " + value);
+    }
+    long count = Long.parseLong(label.substring(0, unitStart));
+    String unit = label.substring(unitStart);
+    if (count <= 0) {
+      throw new IllegalArgumentException("Invalid bucket: " + value);
+    }
+
+    switch (unit) {
+      case "m":
+        return new HistoryBucket(label, count * 60, null);
+      case "h":
+        return new HistoryBucket(label, count * 3600, null);
+      case "d":
+        return new HistoryBucket(label, count * 86400, null);
+      case "w":
+        return calendar(label, count, 1, "week");
+      case "mo":
+        if (count == 3) {
+          return new HistoryBucket(label, 0, "quarter");
+        }
+        return calendar(label, count, 1, "month");
+      case "y":
+        return calendar(label, count, 1, "year");
+      default:
+        throw new IllegalArgumentException("Invalid bucket unit: " + value);
+    }
+  }
+
+  private static HistoryBucket calendar(String label, long count, long supported, String unit) {
+    if (count != supported) {
+      throw new IllegalArgumentException("Calendar buckets only support a count of 1: " + label);
+    }
+    return new HistoryBucket(label, 0, unit);
+  }
+
+  public String getLabel() {
+    return label;
+  }
+
+  public boolean isCalendar() {
+    return calendarUnit != null;
+  }
+
+  /**
+   * Bucket length in seconds for fixed-length buckets.
+   */
+  public long getFixedSeconds() {
+    return fixedSeconds;
+  }
+
+  /**
+   * {@code date_trunc} field for calendar buckets.
+   */
+  public String getCalendarUnit() {
+    return calendarUnit;
+  }
+}
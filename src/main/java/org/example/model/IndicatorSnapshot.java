@@ -0,0 +1,176 @@
+package org.example.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Latest technical indicator values for a symbol. Values are null until enough bars have
+ * been seen to compute them.
+ */
+public class IndicatorSnapshot {
+
+  @JsonProperty("symbol")
+  private String symbol;
+
+  @JsonProperty("interval")
+  private String interval;
+
+  @JsonProperty("window")
+  private int window;
+
+  // Start of the latest bar as epoch milliseconds (UTC)
+  @JsonProperty("timestamp")
+  private Long timestamp;
+
+  @JsonProperty("close")
+  private Double close;
+
+  @JsonProperty("SMA")
+  private Double sma;
+
+  @JsonProperty("EMA")
+  private Double ema;
+
+  @JsonProperty("RSI")
+  private Double rsi;
+
+  @JsonProperty("MACD")
+  private Double macd;
+
+  @JsonProperty("MACDSignal")
+  private Double macdSignal;
+
+  @JsonProperty("MACDHistogram")
+  private Double macdHistogram;
+
+  @JsonProperty("BollingerUpper")
+  private Double bollingerUpper;
+
+  @JsonProperty("BollingerMiddle")
+  private Double bollingerMiddle;
+
+  @JsonProperty("BollingerLower")
+  private Double bollingerLower;
+
+  // Getters and Setters
+  public String getSymbol() {
+    return symbol;
+  }
+
+  public void setSymbol(String symbol) {
+    this.symbol = symbol;
+  }
+
+  public String getInterval() {
+    return interval;
+  }
+
+  public void setInterval(String interval) {
+    this.interval = interval;
+  }
+
+  public int getWindow() {
+    return window;
+  }
+
+  public void setWindow(int window) {
+    this.window = window;
+  }
+
+  public Long getTimestamp() {
+    return timestamp;
+  }
+
+  public void setTimestamp(Long timestamp) {
+    this.timestamp = timestamp;
+  }
+
+  public Double getClose() {
+    return close;
+  }
+
+  public void setClose(Double close) {
+    this.close = close;
+  }
+
+  public Double getSma() {
+    return sma;
+  }
+
+  public void setSma(Double sma) {
+    this.sma = sma;
+  }
+
+  public Double getEma() {
+    return ema;
+  }
+
+  public void setEma(Double ema) {
+    this.ema = ema;
+  }
+
+  public Double getRsi() {
+    return rsi;
+  }
+
+  public void setRsi(Double rsi) {
+    this.rsi = rsi;
+  }
+
+  public Double getMacd() {
+    return macd;
+  }
+
+  public void setMacd(Double macd) {
+    this.macd = macd;
+  }
+
+  public Double getMacdSignal() {
+    return macdSignal;
+  }
+
+  public void setMacdSignal(Double macdSignal) {
+    this.macdSignal = macdSignal;
+  }
+
+  public Double getMacdHistogram() {
+    return macdHistogram;
+  }
+
+  public void setMacdHistogram(Double macdHistogram) {
+    this.macdHistogram = macdHistogram;
+  }
+
+  public Double getBollingerUpper() {
+    return bollingerUpper;
+  }
+
+  public void setBollingerUpper(Double bollingerUpper) {
+    this.bollingerUpper = bollingerUpper;
+  }
+
+  public Double getBollingerMiddle() {
+    return bollingerMiddle;
+  }
+
+  public void setBollingerMiddle(Double bollingerMiddle) {
+    this.bollingerMiddle = bollingerMiddle;
+  }
+
+  public Double getBollingerLower() {
+    return bollingerLower;
+  }
+
+  public void setBollingerLower(Double bollingerLower) {
+    this.bollingerLower = bollingerLower;
+  }
+
+  @Override
+  public String toString() {
+    return "IndicatorSnapshot{" +
+        "symbol='" + symbol + '\'' +
+        ", interval='" + interval + '\'' +
+        ", window=" + window +
+        ", timestamp=" + timestamp +
+        '}';
+  }
+}
@@ -0,0 +1,122 @@
+package org.example.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Map;
+
+/**
+ * Progress of the bulk ingestion workers on this node, plus the shared queue depth.
+ */
+public class IngestionStatus {
+
+  @JsonProperty("running")
+  private boolean running;
+
+  @JsonProperty("workers")
+  private int workers;
+
+  // Job counts by status across all nodes
+  @JsonProperty("queue")
+  private Map<String, Long> queue;
+
+  @JsonProperty("due")
+  private long due;
+
+  @JsonProperty("claimed")
+  private long claimed;
+
+  @JsonProperty("fetched")
+  private long fetched;
+
+  @JsonProperty("upserted")
+  private long upserted;
+
+  @JsonProperty("failed")
+  private long failed;
+
+  @JsonProperty("rateLimited")
+  private long rateLimited;
+
+  // Upserted overviews per minute since the workers started
+  @JsonProperty("perMinute")
+  private double perMinute;
+
+  public boolean isRunning() {
+    return running;
+  }
+
+  public void setRunning(boolean running) {
+    this.running = running;
+  }
+
+  public int getWorkers() {
+    return workers;
+  }
+
+  public void setWorkers(int workers) {
+    this.workers = workers;
+  }
+
+  public Map<String, Long> getQueue() {
+    return queue;
+  }
+
+  public void setQueue(Map<String, Long> queue) {
+    this.queue = queue;
+  }
+
+  public long getDue() {
+    return due;
+  }
+
+  public void setDue(long due) {
+    this.due = due;
+  }
+
+  public long getClaimed() {
+    return claimed;
+  }
+
+  public void setClaimed(long claimed) {
+    this.claimed = claimed;
+  }
+
+  public long getFetched() {
+    return fetched;
+  }
+
+  public void setFetched(long fetched) {
+    this.fetched = fetched;
+  }
+
+  public long getUpserted() {
+    return upserted;
+  }
+
+  public void setUpserted(long upserted) {
+    this.upserted = upserted;
+  }
+
+  public long getFailed() {
+    return failed;
+  }
+
+  public void setFailed(long failed) {
+    this.failed = failed;
+  }
+
+  public long getRateLimited() {
+    return rateLimited;
+  }
+
+  public void setRateLimited(long rateLimited) {
+    this.rateLimited = rateLimited;
+  }
+
+  public double getPerMinute() {
+    return perMinute;
+  }
+
+  public void setPerMinute(double perMinute) {
+    this.perMinute = perMinute;
+  }
+}
@@ -0,0 +1,127 @@
+package org.example.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One OHLCV bar of price history.
+ *
+ * Prices are doubles rather than BigDecimal: history is read in bulk for charts, where the
+ * fixed-width representation matters more than exact decimal arithmetic.
+ */
+public class PriceBar {
+
+  @JsonProperty("symbol")
+  private String symbol;
+
+  @JsonProperty("interval")
+  private String interval;
+
+  // Bar start as epoch milliseconds (UTC)
+  @JsonProperty("timestamp")
+  private long timestamp;
+
+  @JsonProperty("open")
+  private double open;
+
+  @JsonProperty("high")
+  private double high;
+
+  @JsonProperty("low")
+  private double low;
+
+  @JsonProperty("close")
+  private double close;
+
+  @JsonProperty("volume")
+  private long volume;
+
+  // Default constructor
+  public PriceBar() {}
+
+  public PriceBar(String symbol, String interval, long timestamp, double open, double high,
+      double low, double close, long volume) {
+    this.symbol = symbol;
+    this.interval = interval;
+    this.timestamp = timestamp;
+    this.open = open;
+    this.high = high;
+    this.low = low;
+    this.close = close;
+    this.volume = volume;
+  }
+
+  // Getters and Setters
+  public String getSymbol() {
+    return symbol;
+  }
+
+  public void setSymbol(String symbol) {
+    this.symbol = symbol;
+  }
+
+  public String getInterval() {
+    return interval;
+  }
+
+  public void setInterval(String interval) {
+    this.interval = interval;
+  }
+
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public void setTimestamp(long timestamp) {
+    this.timestamp = timestamp;
+  }
+
+  public double getOpen() {
+    return open;
+  }
+
+  public void setOpen(double open) {
+    this.open = open;
+  }
+
+  public double getHigh() {
+    return high;
+  }
+
+  public void setHigh(double high) {
+    this.high = high;
+  }
+
+  public double getLow() {
+    return low;
+  }
+
+  public void setLow(double low) {
+    this.low = low;
+  }
+
+  public double getClose() {
+    return close;
+  }
+
+  public void setClose(double close) {
+    this.close = close;
+  }
+
+  public long getVolume() {
+    return volume;
+  }
+
+  public void setVolume(long volume) {
+    this.volume = volume;
+  }
+
+  @Override
+  public String toString() {
+    return "PriceBar{" +
+        "symbol='" + symbol + '\'' +
+        ", interval='" + interval + '\'' +
+        ", timestamp=" + timestamp +
+        ", close=" + close +
+        '}';
+  }
+}
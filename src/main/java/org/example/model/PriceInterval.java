@@ -0,0 +1,69 @@
+package org.example.model;
+
+import java.time.Duration;
+
+/**
+ * Bar intervals supported by the price history endpoints, mapped to Alpha Vantage TIME_SERIES functions
+ */
+public enum PriceInterval {
+  DAILY("daily", "TIME_SERIES_DAILY", null, "Time Series (Daily)", Duration.ofDays(1)),
+  MIN_1("1min", "TIME_SERIES_INTRADAY", "1min", "Time Series (1min)", Duration.ofMinutes(1)),
+  MIN_5("5min", "TIME_SERIES_INTRADAY", "5min", "Time Series (5min)", Duration.ofMinutes(5)),
+  MIN_15("15min", "TIME_SERIES_INTRADAY", "15min", "Time Series (15min)", Duration.ofMinutes(15)),
+  MIN_30("30min", "TIME_SERIES_INTRADAY", "30min", "Time Series (30min)", Duration.ofMinutes(30)),
+  MIN_60("60min", "TIME_SERIES_INTRADAY", "60min", "Time Series (60min)", Duration.ofMinutes(60));
+
+  private final String label;
+  private final String function;
+  private final String upstreamInterval;
+  private final String seriesKey;
+  private final Duration length;
+
+  PriceInterval(String label, String function, String upstreamInterval, String seriesKey,
+      Duration length) {
+    this.label = label;
+    this.function = function;
+    this.upstreamInterval = upstreamInterval;
+    this.seriesKey = seriesKey;
+    this.length = length;
+  }
+
+  public static PriceInterval fromLabel(String label) {
+    if (label == null || label.trim().isEmpty()) {
+      return DAILY;
+    }
+    for (PriceInterval interval : values()) {
+      if (interval.label.equalsIgnoreCase(label.trim())) {
+        return interval;
+      }
+    }
+    throw new IllegalArgumentException("Unsupported interval: " + label);
+  }
+
+  public String getLabel() {
+    return label;
+  }
+
+  public String getFunction() {
+    return function;
+  }
+
+  /**
+   * Value of the upstream {@code interval} parameter, or null for daily bars.
+   */
+  public String getUpstreamInterval() {
+    return upstreamInterval;
+  }
+
+  public String getSeriesKey() {
+    return seriesKey;
+  }
+
+  public Duration getLength() {
+    return length;
+  }
+
+  public boolean isIntraday() {
+    return upstreamInterval != null;
+  }
+}
@@ -0,0 +1,94 @@
+package org.example.model.compact;
+
+import java.math.BigDecimal;
+import org.example.model.StockInfo;
+
+/**
+ * Immutable, compact form of {@link StockInfo}. Prices are packed decimals with a null bitmap;
+ * conversion in both directions is lossless.
+ */
+public final class CompactStockInfo {
+
+  private static final int PRICE = 0;
+  private static final int CHANGE = 1;
+  private static final int CHANGE_PERCENT = 2;
+  private static final int PREVIOUS_CLOSE = 3;
+  private static final int OPEN = 4;
+  private static final int HIGH = 5;
+  private static final int LOW = 6;
+  private static final int SLOTS = 7;
+
+  private static final long NULL_VOLUME = Long.MIN_VALUE;
+
+  private final String symbol;
+  private final long volume;
+  private final long[] prices;
+  private final int nullBits;
+  private final BigDecimal[] overflow;
+
+  private CompactStockInfo(String symbol, long volume, long[] prices, int nullBits,
+      BigDecimal[] overflow) {
+    this.symbol = symbol;
+    this.volume = volume;
+    this.prices = prices;
+    this.nullBits = nullBits;
+    this.overflow = overflow;
+  }
+
+  public static CompactStockInfo from(StockInfo info) {
+    if (info.getVolume() != null && info.getVolume() == NULL_VOLUME) {
+      throw new IllegalArgumentException("Volume out of range: " + info.getVolume());
+    }
+    BigDecimal[] values = new BigDecimal[SLOTS];
+    values[PRICE] = info.getPrice();
+    values[CHANGE] = info.getChange();
+    values[CHANGE_PERCENT] = info.getChangePercent();
+    values[PREVIOUS_CLOSE] = info.getPreviousClose();
+    values[OPEN] = info.getOpen();
+    values[HIGH] = info.getHigh();
+    values[LOW] = info.getLow();
+    return new CompactStockInfo(
+        info.getSymbol(),
+        info.getVolume() == null ? NULL_VOLUME : info.getVolume(),
+        PackedDecimal.packAll(values),
+        PackedDecimal.nullBits(values),
+        PackedDecimal.overflow(values));
+  }
+
+  public StockInfo toStockInfo() {
+    StockInfo info = new StockInfo();
+    info.setSymbol(symbol);
+    info.setVolume(volume == NULL_VOLUME ? null : volume);
+    info.setPrice(read(PRICE));
+    info.setChange(read(CHANGE));
+    info.setChangePercent(read(CHANGE_PERCENT));
+    info.setPreviousClose(read(PREVIOUS_CLOSE));
+    info.setOpen(read(OPEN));
+    info.setHigh(read(HIGH));
+    info.setLow(read(LOW));
+    return info;
+  }
+
+  public String getSymbol() {
+    return symbol;
+  }
+
+  /**
+   * Last price as a double, or NaN if absent.
+   */
+  public double getPriceAsDouble() {
+    return PackedDecimal.readDouble(prices, nullBits, overflow, PRICE);
+  }
+
+  private BigDecimal read(int slot) {
+    return PackedDecimal.read(prices, nullBits, overflow, slot);
+  }
+
+  @Override
+  public String toString() {
+    return "CompactStockInfo{" +
+        "symbol='" + symbol + '\'' +
+        ", price=" + read(PRICE) +
+        '}';
+  }
+}
@@ -0,0 +1,116 @@
+package org.example.model.compact;
+
+import java.math.BigDecimal;
+import org.example.model.StockOverview;
+
+/**
+ * Immutable, compact form of {@link StockOverview} for large in-memory caches and bulk scans.
+ *
+ * Metrics are packed decimals (see {@link PackedDecimal}) with a null bitmap; exchange,
+ * currency, country, sector and industry are dictionary codes. Conversion in both directions
+ * is lossless, including decimal scale.
+ */
+public final class CompactStockOverview {
+
+  private final String symbol;
+  private final String name;
+  private final int exchange;
+  private final int currency;
+  private final int country;
+  private final int sector;
+  private final int industry;
+  private final long[] metrics;
+  private final int nullBits;
+  private final BigDecimal[] overflow;
+
+  private CompactStockOverview(String symbol, String name, int exchange, int currency, int country,
+      int sector, int industry, long[] metrics, int nullBits, BigDecimal[] overflow) {
+    this.symbol = symbol;
+    this.name = name;
+    this.exchange = exchange;
+    this.currency = currency;
+    this.country = country;
+    this.sector = sector;
+    this.industry = industry;
+    this.metrics = metrics;
+    this.nullBits = nullBits;
+    this.overflow = overflow;
+  }
+
+  public static CompactStockOverview from(StockOverview overview) {
+    StringDictionary dictionary = StringDictionary.shared();
+    OverviewMetric[] all = OverviewMetric.all();
+    BigDecimal[] values = new BigDecimal[all.length];
+    for (int i = 0; i < all.length; i++) {
+      values[i] = all[i].get(overview);
+    }
+    return new CompactStockOverview(
+        overview.getSymbol(),
+        overview.getName(),
+        dictionary.encode(overview.getExchange()),
+        dictionary.encode(overview.getCurrency()),
+        dictionary.encode(overview.getCountry()),
+        dictionary.encode(overview.getSector()),
+        dictionary.encode(overview.getIndustry()),
+        PackedDecimal.packAll(values),
+        PackedDecimal.nullBits(values),
+        PackedDecimal.overflow(values));
+  }
+
+  public StockOverview toStockOverview() {
+    StringDictionary dictionary = StringDictionary.shared();
+    StockOverview overview = new StockOverview(symbol, name);
+    overview.setExchange(dictionary.decode(exchange));
+    overview.setCurrency(dictionary.decode(currency));
+    overview.setCountry(dictionary.decode(country));
+    overview.setSector(dictionary.decode(sector));
+    overview.setIndustry(dictionary.decode(industry));
+    OverviewMetric[] all = OverviewMetric.all();
+    for (int i = 0; i < all.length; i++) {
+      all[i].set(overview, PackedDecimal.read(metrics, nullBits, overflow, i));
+    }
+    return overview;
+  }
+
+  public String getSymbol() {
+    return symbol;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getSector() {
+    return StringDictionary.shared().decode(sector);
+  }
+
+  public String getIndustry() {
+    return StringDictionary.shared().decode(industry);
+  }
+
+  /**
+   * Dictionary code of the sector, for grouping without decoding.
+   */
+  public int getSectorCode() {
+    return sector;
+  }
+
+  public BigDecimal getMetric(OverviewMetric metric) {
+    return PackedDecimal.read(metrics, nullBits, overflow, metric.ordinal());
+  }
+
+  /**
+   * Metric as a double, or NaN if absent. Allocation-free for typical values.
+   */
+  public double getMetricAsDouble(OverviewMetric metric) {
+    return PackedDecimal.readDouble(metrics, nullBits, overflow, metric.ordinal());
+  }
+
+  @Override
+  public String toString() {
+    return "CompactStockOverview{" +
+        "symbol='" + symbol + '\'' +
+        ", name='" + name + '\'' +
+        '}';
+  }
+}
@@ -0,0 +1,220 @@
+package org.example.model.compact;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.example.model.StockOverview;
+
+/**
+ * Versioned binary encoding of {@link StockOverview}, stored in stock_overview.data_bin so
+ * reads skip JSONB text output and JSON parsing.
+ *
+ * Layout (version 1): a version byte; symbol, name, exchange, currency, country, sector and
+ * industry as varint length + 1 (0 for null) followed by UTF-8 bytes; a varint null bitmap and a
+ * varint "wide" bitmap over {@link OverviewMetric}; then each present metric in metric order,
+ * either as a zigzag varlong unscaled value and zigzag varint scale, or, when wide, as a zigzag
+ * varint scale and a length-prefixed two's-complement unscaled value. Decimal scale is kept,
+ * so round trips are lossless. New fields need a new version; decoding must keep accepting the
+ * old ones, since rows are only rewritten when their content changes.
+ */
+public final class OverviewBinaryCodec {
+
+  public static final int VERSION = 1;
+
+  private OverviewBinaryCodec() {
+  }
+
+  public static byte[] encode(StockOverview overview) {
+    Writer out = new Writer();
+    out.writeByte(VERSION);
+    out.writeString(overview.getSymbol());
+    out.writeString(overview.getName());
+    out.writeString(overview.getExchange());
+    out.writeString(overview.getCurrency());
+    out.writeString(overview.getCountry());
+    out.writeString(overview.getSector());
+    out.writeString(overview.getIndustry());
+
+    OverviewMetric[] all = OverviewMetric.all();
+    BigDecimal[] values = new BigDecimal[all.length];
+    int nullBits = 0;
+    int wideBits = 0;
+    for (int i = 0; i < all.length; i++) {
+      values[i] = all[i].get(overview);
+      if (values[i] == null) {
+        nullBits |= 1 << i;
+      } else if (values[i].unscaledValue().bitLength() > 63) {
+        wideBits |= 1 << i;
+      }
+    }
+    out.writeVarLong(nullBits);
+    out.writeVarLong(wideBits);
+    for (int i = 0; i < all.length; i++) {
+      BigDecimal value = values[i];
+      if (value == null) {
+        continue;
+      }
+      if ((wideBits & (1 << i)) != 0) {
+        out.writeVarLong(zigzag(value.scale()));
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeVarLong(unscaled.length);
+        out.writeBytes(unscaled);
+      } else {
+        out.writeVarLong(zigzag(value.unscaledValue().longValue()));
+        out.writeVarLong(zigzag(value.scale()));
+      }
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * @throws IllegalArgumentException if the payload is truncated or of an unknown version
+   */
+  public static StockOverview decode(byte[] data) {
+    Reader in = new Reader(data);
+    int version = in.readByte();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported overview payload version " + version);
+    }
+    StockOverview overview = new StockOverview(in.readString(), in.readString());
+    overview.setExchange(in.readString());
+    overview.setCurrency(in.readString());
+    overview.setCountry(in.readString());
+    overview.setSector(in.readString());
+    overview.setIndustry(in.readString());
+
+    OverviewMetric[] all = OverviewMetric.all();
+    long nullBits = in.readVarLong();
+    long wideBits = in.readVarLong();
+    for (int i = 0; i < all.length; i++) {
+      if ((nullBits & (1L << i)) != 0) {
+        continue;
+      }
+      BigDecimal value;
+      if ((wideBits & (1L << i)) != 0) {
+        int scale = (int) unzigzag(in.readVarLong());
+        value = new BigDecimal(new BigInteger(in.readBytes(in.readLength())), scale);
+      } else {
+        long unscaled = unzigzag(in.readVarLong());
+        value = BigDecimal.valueOf(unscaled, (int) unzigzag(in.readVarLong()));
+      }
+      all[i].set(overview, value);
+    }
+    return overview;
+  }
+
+  private static long zigzag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unzigzag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static final class Writer {
+    private byte[] buffer = new byte[256];
+    private int position;
+
+    void writeByte(int value) {
+      ensureCapacity(1);
+      buffer[position++] = (byte) value;
+    }
+
+    void writeBytes(byte[] bytes) {
+      ensureCapacity(bytes.length);
+      System.arraycopy(bytes, 0, buffer, position, bytes.length);
+      position += bytes.length;
+    }
+
+    void writeVarLong(long value) {
+      ensureCapacity(10);
+      while ((value & ~0x7FL) != 0) {
+        buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      buffer[position++] = (byte) value;
+    }
+
+    void writeString(String value) {
+      if (value == null) {
+        writeVarLong(0);
+        return;
+      }
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeVarLong(bytes.length + 1L);
+      writeBytes(bytes);
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensureCapacity(int extra) {
+      if (position + extra > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+      }
+    }
+  }
+
+  private static final class Reader {
+    private final byte[] data;
+    private int position;
+
+    Reader(byte[] data) {
+      this.data = data;
+    }
+
+    int readByte() {
+      require(1);
+      return data[position++] & 0xFF;
+    }
+
+    byte[] readBytes(int length) {
+      require(length);
+      byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+      position += length;
+      return bytes;
+    }
+
+    long readVarLong() {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        int b = readByte();
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("Malformed varint in overview payload");
+    }
+
+    int readLength() {
+      long length = readVarLong();
+      if (length < 0 || length > data.length - position) {
+        throw new IllegalArgumentException("Truncated overview payload");
+      }
+      return (int) length;
+    }
+
+    String readString() {
+      long encoded = readVarLong();
+      if (encoded == 0) {
+        return null;
+      }
+      if (encoded < 0 || encoded - 1 > data.length - position) {
+        throw new IllegalArgumentException("Truncated overview payload");
+      }
+      int length = (int) (encoded - 1);
+      String value = new String(data, position, length, StandardCharsets.UTF_8);
+      position += length;
+      return value;
+    }
+
+    private void require(int length) {
+      if (position + length > data.length) {
+        throw new IllegalArgumentException("Truncated overview payload");
+      }
+    }
+  }
+}
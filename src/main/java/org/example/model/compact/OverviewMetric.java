@@ -0,0 +1,50 @@
+package org.example.model.compact;
+
+import java.math.BigDecimal;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.example.model.StockOverview;
+
+/**
+ * The numeric metrics of {@link StockOverview}, in the order used by {@link CompactStockOverview}.
+ */
+public enum OverviewMetric {
+  PE_RATIO(StockOverview::getPeRatio, StockOverview::setPeRatio),
+  PRICE_TO_BOOK_RATIO(StockOverview::getPriceToBookRatio, StockOverview::setPriceToBookRatio),
+  PEG_RATIO(StockOverview::getPegRatio, StockOverview::setPegRatio),
+  RETURN_ON_EQUITY_TTM(StockOverview::getReturnOnEquityTTM, StockOverview::setReturnOnEquityTTM),
+  RETURN_ON_ASSETS_TTM(StockOverview::getReturnOnAssetsTTM, StockOverview::setReturnOnAssetsTTM),
+  PROFIT_MARGIN(StockOverview::getProfitMargin, StockOverview::setProfitMargin),
+  OPERATING_MARGIN_TTM(StockOverview::getOperatingMarginTTM, StockOverview::setOperatingMarginTTM),
+  CURRENT_RATIO(StockOverview::getCurrentRatio, StockOverview::setCurrentRatio),
+  DEBT_TO_EQUITY_RATIO(StockOverview::getDebtToEquityRatio, StockOverview::setDebtToEquityRatio),
+  QUICK_RATIO(StockOverview::getQuickRatio, StockOverview::setQuickRatio),
+  QUARTERLY_REVENUE_GROWTH_YOY(StockOverview::getQuarterlyRevenueGrowthYOY,
+      StockOverview::setQuarterlyRevenueGrowthYOY),
+  QUARTERLY_EARNINGS_GROWTH_YOY(StockOverview::getQuarterlyEarningsGrowthYOY,
+      StockOverview::setQuarterlyEarningsGrowthYOY),
+  BETA(StockOverview::getBeta, StockOverview::setBeta);
+
+  private static final OverviewMetric[] VALUES = values();
+
+  private final Function<StockOverview, BigDecimal> getter;
+  private final BiConsumer<StockOverview, BigDecimal> setter;
+
+  OverviewMetric(Function<StockOverview, BigDecimal> getter,
+      BiConsumer<StockOverview, BigDecimal> setter) {
+    this.getter = getter;
+    this.setter = setter;
+  }
+
+  static OverviewMetric[] all() {
+    return VALUES;
+  }
+
+  BigDecimal get(StockOverview overview) {
+    return getter.apply(overview);
+  }
+
+  void set(StockOverview overview, BigDecimal value) {
+    setter.accept(overview, value);
+  }
+}
@@ -0,0 +1,115 @@
+package org.example.model.compact;
+
+import java.math.BigDecimal;
+
+/**
+ * Packs a {@link BigDecimal} into a single {@code long}: the unscaled value in the upper 56
+ * bits and the scale in the lower 8. Values outside that range are not packable and have to be
+ * kept as BigDecimal by the caller.
+ */
+final class PackedDecimal {
+
+  private static final long MAX_UNSCALED = (1L << 55) - 1;
+  private static final long MIN_UNSCALED = -(1L << 55);
+
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  private PackedDecimal() {
+  }
+
+  static boolean isPackable(BigDecimal value) {
+    int scale = value.scale();
+    if (scale < Byte.MIN_VALUE || scale > Byte.MAX_VALUE) {
+      return false;
+    }
+    if (value.unscaledValue().bitLength() > 63) {
+      return false;
+    }
+    long unscaled = value.unscaledValue().longValue();
+    return unscaled >= MIN_UNSCALED && unscaled <= MAX_UNSCALED;
+  }
+
+  /**
+   * Callers must check {@link #isPackable} first.
+   */
+  static long pack(BigDecimal value) {
+    return (value.unscaledValue().longValue() << 8) | (value.scale() & 0xFF);
+  }
+
+  static BigDecimal unpack(long packed) {
+    // Arithmetic shift restores the sign of the unscaled value; the cast sign-extends the scale
+    return BigDecimal.valueOf(packed >> 8, (byte) packed);
+  }
+
+  /**
+   * Converts without allocating when the unscaled value and the power of ten are both exact
+   * doubles, in which case a single division is correctly rounded.
+   */
+  static double toDouble(long packed) {
+    long unscaled = packed >> 8;
+    int scale = (byte) packed;
+    if (scale >= 0 && scale < POWERS_OF_TEN.length && Math.abs(unscaled) < (1L << 53)) {
+      return unscaled / POWERS_OF_TEN[scale];
+    }
+    return unpack(packed).doubleValue();
+  }
+
+  // Helpers for fixed slots of decimals: a packed long per slot, a null bitmap, and a sparse
+  // BigDecimal array (null when every value was packable) for the rare unpackable ones.
+
+  static long[] packAll(BigDecimal[] values) {
+    long[] packed = new long[values.length];
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null && isPackable(values[i])) {
+        packed[i] = pack(values[i]);
+      }
+    }
+    return packed;
+  }
+
+  static int nullBits(BigDecimal[] values) {
+    int bits = 0;
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == null) {
+        bits |= 1 << i;
+      }
+    }
+    return bits;
+  }
+
+  static BigDecimal[] overflow(BigDecimal[] values) {
+    BigDecimal[] overflow = null;
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null && !isPackable(values[i])) {
+        if (overflow == null) {
+          overflow = new BigDecimal[values.length];
+        }
+        overflow[i] = values[i];
+      }
+    }
+    return overflow;
+  }
+
+  static BigDecimal read(long[] packed, int nullBits, BigDecimal[] overflow, int slot) {
+    if ((nullBits & (1 << slot)) != 0) {
+      return null;
+    }
+    if (overflow != null && overflow[slot] != null) {
+      return overflow[slot];
+    }
+    return unpack(packed[slot]);
+  }
+
+  static double readDouble(long[] packed, int nullBits, BigDecimal[] overflow, int slot) {
+    if ((nullBits & (1 << slot)) != 0) {
+      return Double.NaN;
+    }
+    if (overflow != null && overflow[slot] != null) {
+      return overflow[slot].doubleValue();
+    }
+    return toDouble(packed[slot]);
+  }
+}
@@ -0,0 +1,61 @@
+package org.example.model.compact;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only dictionary that maps low-cardinality strings (exchange, currency, country,
+ * sector, industry) to small int codes. Code 0 is reserved for null.
+ */
+public final class StringDictionary {
+
+  private static final StringDictionary SHARED = new StringDictionary();
+
+  private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+  private volatile String[] values = new String[64];
+  private int nextCode = 1;
+
+  /**
+   * Dictionary shared by all compact models in this process.
+   */
+  public static StringDictionary shared() {
+    return SHARED;
+  }
+
+  public int encode(String value) {
+    if (value == null) {
+      return 0;
+    }
+    Integer code = codes.get(value);
+    if (code != null) {
+      return code;
+    }
+    synchronized (this) {
+      code = codes.get(value);
+      if (code != null) {
+        return code;
+      }
+      int newCode = nextCode++;
+      String[] current = values;
+      if (newCode >= current.length) {
+        current = Arrays.copyOf(current, current.length * 2);
+      }
+      current[newCode] = value;
+      // Publish the array before the code so readers never see a code they cannot decode
+      values = current;
+      codes.put(value, newCode);
+      return newCode;
+    }
+  }
+
+  public String decode(int code) {
+    if (code == 0) {
+      return null;
+    }
+    return values[code];
+  }
+
+  public int size() {
+    return codes.size();
+  }
+}
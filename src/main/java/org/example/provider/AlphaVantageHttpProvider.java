@@ -0,0 +1,132 @@
+package org.example.provider;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fetches payloads from the Alpha Vantage HTTP API (or anything serving the same protocol at
+ * {@code provider.alphavantage.baseUrl}).
+ */
+public class AlphaVantageHttpProvider implements MarketDataProvider {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AlphaVantageHttpProvider.class);
+
+  public static final String DEFAULT_BASE_URL = "https://www.alphavantage.co/query";
+
+  private final String baseUrl;
+  private final String apiKey;
+  private final Duration connectTimeout;
+  private final Duration requestTimeout;
+
+  // Built on first upstream call so startup does not pay for HttpClient initialization
+  private volatile HttpClient httpClient;
+  private ExecutorService httpExecutor;
+  private boolean closed;
+
+  public AlphaVantageHttpProvider(String baseUrl, String apiKey, Duration connectTimeout,
+      Duration requestTimeout) {
+    this.baseUrl = baseUrl;
+    this.apiKey = apiKey;
+    this.connectTimeout = connectTimeout;
+    this.requestTimeout = requestTimeout;
+  }
+
+  @Override
+  public String getName() {
+    return "alphavantage";
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return apiKey != null && !apiKey.trim().isEmpty();
+  }
+
+  @Override
+  public String fetch(MarketDataRequest request) throws IOException, InterruptedException {
+    HttpRequest httpRequest = HttpRequest.newBuilder()
+        .uri(URI.create(buildUrl(request)))
+        .timeout(request.getTimeout() != null ? request.getTimeout() : requestTimeout)
+        .GET()
+        .build();
+
+    HttpResponse<String> response = httpClient().send(httpRequest,
+        HttpResponse.BodyHandlers.ofString());
+
+    if (response.statusCode() != 200) {
+      LOGGER.error("API request {} failed with status: {}", request, response.statusCode());
+      throw new UpstreamException("Upstream request failed: HTTP " + response.statusCode(),
+          response.statusCode());
+    }
+    return response.body();
+  }
+
+  private String buildUrl(MarketDataRequest request) {
+    StringBuilder url = new StringBuilder(baseUrl)
+        .append("?function=").append(encode(request.getFunction()));
+    if (request.getSymbol() != null) {
+      url.append("&symbol=").append(encode(request.getSymbol()));
+    }
+    for (Map.Entry<String, String> parameter : request.getParameters().entrySet()) {
+      url.append('&').append(encode(parameter.getKey()))
+          .append('=').append(encode(parameter.getValue()));
+    }
+    url.append("&apikey=").append(encode(apiKey));
+    return url.toString();
+  }
+
+  private static String encode(String value) {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * JDK 17's HttpClient has no close(); shutting down its executor stops its worker threads
+   * and fails any further calls, and the selector thread exits once the client is unreachable.
+   */
+  @Override
+  public synchronized void close() {
+    closed = true;
+    httpClient = null;
+    if (httpExecutor != null) {
+      httpExecutor.shutdownNow();
+      httpExecutor = null;
+    }
+  }
+
+  private HttpClient httpClient() throws IOException {
+    HttpClient client = httpClient;
+    if (client == null) {
+      synchronized (this) {
+        if (closed) {
+          throw new IOException("Upstream HTTP client is closed");
+        }
+        client = httpClient;
+        if (client == null) {
+          AtomicInteger threadNumber = new AtomicInteger();
+          httpExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "alphavantage-http-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          });
+          client = HttpClient.newBuilder()
+              .connectTimeout(connectTimeout)
+              .executor(httpExecutor)
+              .build();
+          httpClient = client;
+        }
+      }
+    }
+    return client;
+  }
+}
@@ -0,0 +1,147 @@
+package org.example.provider;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Count-based circuit breaker for upstream calls.
+ *
+ * Tracks the outcome of the last {@code windowSize} calls. Once at least {@code minimumCalls}
+ * are recorded and the failure rate reaches the threshold, the breaker opens and rejects calls
+ * for {@code openDuration}. It then lets a single trial call through (half-open); success
+ * closes it, failure opens it again.
+ */
+public class CircuitBreaker {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+  public enum State { CLOSED, OPEN, HALF_OPEN }
+
+  private final String name;
+  private final boolean[] outcomes;
+  private final int minimumCalls;
+  private final double failureRateThreshold;
+  private final long openMillis;
+  private final LongSupplier clock;
+
+  private State state = State.CLOSED;
+  private int recorded;
+  private int next;
+  private int failures;
+  private long openedAt;
+  private boolean trialInFlight;
+
+  public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+      Duration openDuration) {
+    this(name, windowSize, minimumCalls, failureRateThreshold, openDuration,
+        System::currentTimeMillis);
+  }
+
+  public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+      Duration openDuration, LongSupplier clock) {
+    if (windowSize <= 0 || minimumCalls <= 0 || minimumCalls > windowSize) {
+      throw new IllegalArgumentException("minimumCalls must be in [1, windowSize]");
+    }
+    if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+      throw new IllegalArgumentException("failureRateThreshold must be in (0, 1]");
+    }
+    this.name = name;
+    this.outcomes = new boolean[windowSize];
+    this.minimumCalls = minimumCalls;
+    this.failureRateThreshold = failureRateThreshold;
+    this.openMillis = openDuration.toMillis();
+    this.clock = clock;
+  }
+
+  /**
+   * Returns true if a call may proceed. Every permitted call must be followed by
+   * {@link #recordSuccess} or {@link #recordFailure}.
+   */
+  public synchronized boolean tryAcquire() {
+    switch (state) {
+      case CLOSED:
+        return true;
+      case OPEN:
+        if (clock.getAsLong() - openedAt < openMillis) {
+          return false;
+        }
+        transition(State.HALF_OPEN);
+        trialInFlight = true;
+        return true;
+      default:
+        if (trialInFlight) {
+          return false;
+        }
+        trialInFlight = true;
+        return true;
+    }
+  }
+
+  public synchronized void recordSuccess() {
+    if (state == State.HALF_OPEN) {
+      transition(State.CLOSED);
+      return;
+    }
+    record(false);
+  }
+
+  public synchronized void recordFailure() {
+    if (state == State.HALF_OPEN) {
+      open();
+      return;
+    }
+    record(true);
+    if (state == State.CLOSED && recorded >= minimumCalls
+        && failures >= failureRateThreshold * recorded) {
+      open();
+    }
+  }
+
+  /**
+   * Ends a permitted call whose outcome says nothing about upstream health (e.g. the caller
+   * was interrupted).
+   */
+  public synchronized void release() {
+    trialInFlight = false;
+  }
+
+  public synchronized State getState() {
+    return state;
+  }
+
+  private void record(boolean failure) {
+    if (recorded == outcomes.length) {
+      if (outcomes[next]) {
+        failures--;
+      }
+    } else {
+      recorded++;
+    }
+    outcomes[next] = failure;
+    if (failure) {
+      failures++;
+    }
+    next = (next + 1) % outcomes.length;
+  }
+
+  private void open() {
+    openedAt = clock.getAsLong();
+    transition(State.OPEN);
+  }
+
+  private void transition(State newState) {
+    if (state != newState) {
+      LOGGER.warn("Circuit breaker {} {} -> {} ({} failures in last {} calls)", name, state,
+          newState, failures, recorded);
+    }
+    state = newState;
+    trialInFlight = false;
+    if (newState == State.CLOSED) {
+      recorded = 0;
+      next = 0;
+      failures = 0;
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package org.example.provider;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of calling upstream while the circuit breaker is open.
+ */
+public class CircuitOpenException extends IOException {
+
+  public CircuitOpenException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,37 @@
+package org.example.provider;
+
+import java.io.IOException;
+
+/**
+ * Source of raw upstream market-data payloads.
+ *
+ * Payloads are Alpha Vantage formatted JSON (or CSV for CSV functions); parsing stays in the
+ * StockService implementation, so any provider can stand in for the real API.
+ */
+public interface MarketDataProvider {
+
+  /**
+   * Short name used in logs and metrics.
+   */
+  String getName();
+
+  /**
+   * Whether this provider can serve requests. When it cannot (e.g. no API key configured), the
+   * service falls back to generated mock data.
+   */
+  boolean isAvailable();
+
+  /**
+   * Fetches the payload for a request.
+   *
+   * @throws UpstreamException if the upstream answered with an error status
+   * @throws IOException on transport failure
+   */
+  String fetch(MarketDataRequest request) throws IOException, InterruptedException;
+
+  /**
+   * Releases threads and connections on shutdown. Decorators close their delegate.
+   */
+  default void close() {
+  }
+}
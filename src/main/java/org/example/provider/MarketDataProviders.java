@@ -0,0 +1,112 @@
+package org.example.provider;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.example.config.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Builds the configured {@link MarketDataProvider} from {@code provider.*} properties.
+ */
+public final class MarketDataProviders {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MarketDataProviders.class);
+
+  private MarketDataProviders() {
+  }
+
+  /**
+   * Builds the provider, scheduling upstream calls through {@code scheduler} when it is
+   * enabled.
+   */
+  public static MarketDataProvider fromProperties(UpstreamScheduler scheduler) {
+    String type = ApplicationProperties.get("provider.type", "alphavantage");
+    MarketDataProvider provider;
+    switch (type) {
+      case "alphavantage":
+        provider = new AlphaVantageHttpProvider(
+            ApplicationProperties.get("provider.alphavantage.baseUrl",
+                AlphaVantageHttpProvider.DEFAULT_BASE_URL),
+            ApplicationProperties.get("provider.alphavantage.apiKey",
+                System.getenv("ALPHA_VANTAGE_API_KEY")),
+            Duration.ofMillis(ApplicationProperties.getLong(
+                "provider.alphavantage.connectTimeoutMillis", 10_000)),
+            Duration.ofMillis(ApplicationProperties.getLong(
+                "provider.alphavantage.requestTimeoutMillis", 10_000)));
+        break;
+      case "replay":
+        provider = new ReplayMarketDataProvider(
+            Path.of(ApplicationProperties.get("provider.replay.dir", "replay")),
+            ApplicationProperties.getLong("provider.replay.latencyMillis", 0),
+            ApplicationProperties.getLong("provider.replay.jitterMillis", 0),
+            ApplicationProperties.getDouble("provider.replay.errorRate", 0),
+            ApplicationProperties.getDouble("provider.replay.rateLimitRate", 0));
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown provider.type: " + type);
+    }
+
+    String recordDir = ApplicationProperties.get("provider.record.dir", "");
+    double callsPerMinute = ApplicationProperties.getDouble("provider.rateLimit.callsPerMinute", 0);
+    if (scheduler.isEnabled()) {
+      // Innermost, so retries and hedges are scheduled and paid for too
+      provider = new ScheduledMarketDataProvider(provider, scheduler);
+    } else if (callsPerMinute > 0) {
+      // Innermost, so retries and hedges are paid for too
+      provider = new RateLimitedMarketDataProvider(provider,
+          new TokenBucketRateLimiter(callsPerMinute,
+              ApplicationProperties.getInt("provider.rateLimit.burst", 5)),
+          Duration.ofMillis(ApplicationProperties.getLong("provider.rateLimit.interactiveMaxWaitMillis", 2_000)),
+          ApplicationProperties.getInt("provider.rateLimit.bulkReserve", 2));
+    }
+    if (!recordDir.isEmpty()) {
+      provider = new RecordingMarketDataProvider(provider, Path.of(recordDir));
+    }
+    if (ApplicationProperties.getBoolean("provider.resilience.enabled", true)) {
+      provider = withResilience(provider);
+    }
+    LOGGER.info("Using market data provider: {}{}", provider.getName(),
+        recordDir.isEmpty() ? "" : " (recording to " + recordDir + ")");
+    return provider;
+  }
+
+  /**
+   * Builds the upstream scheduler from {@code provider.scheduler.*}, sharing the quota and wait
+   * limits of {@code provider.rateLimit.*}.
+   */
+  public static UpstreamScheduler schedulerFromProperties() {
+    if (!ApplicationProperties.getBoolean("provider.scheduler.enabled", true)) {
+      return UpstreamScheduler.disabled();
+    }
+    double callsPerMinute = ApplicationProperties.getDouble("provider.rateLimit.callsPerMinute", 0);
+    return new UpstreamScheduler(
+        callsPerMinute > 0
+            ? new TokenBucketRateLimiter(callsPerMinute,
+                ApplicationProperties.getInt("provider.rateLimit.burst", 5))
+            : null,
+        ApplicationProperties.getInt("provider.scheduler.maxConcurrent", 16),
+        ApplicationProperties.getInt("provider.scheduler.prefetchWeight", 3),
+        ApplicationProperties.getInt("provider.scheduler.bulkWeight", 1),
+        Duration.ofMillis(ApplicationProperties.getLong("provider.rateLimit.interactiveMaxWaitMillis", 2_000)),
+        Duration.ofMillis(ApplicationProperties.getLong("provider.scheduler.prefetchMaxWaitMillis", 10_000)),
+        ApplicationProperties.getInt("provider.rateLimit.bulkReserve", 2));
+  }
+
+  private static MarketDataProvider withResilience(MarketDataProvider provider) {
+    CircuitBreaker circuitBreaker = new CircuitBreaker(provider.getName(),
+        ApplicationProperties.getInt("provider.breaker.windowSize", 20),
+        ApplicationProperties.getInt("provider.breaker.minimumCalls", 10),
+        ApplicationProperties.getDouble("provider.breaker.failureRateThreshold", 0.5),
+        Duration.ofMillis(ApplicationProperties.getLong("provider.breaker.openMillis", 30_000)));
+    RetryBudget retryBudget = new RetryBudget(
+        ApplicationProperties.getDouble("provider.retry.budgetRatio", 0.1),
+        ApplicationProperties.getInt("provider.retry.maxBudgetTokens", 10));
+    long hedgeDelayMillis = ApplicationProperties.getLong("provider.hedge.delayMillis", 0);
+    return new ResilientMarketDataProvider(provider, circuitBreaker, retryBudget,
+        ApplicationProperties.getInt("provider.retry.maxAttempts", 2),
+        Duration.ofMillis(ApplicationProperties.getLong("provider.retry.backoffMillis", 200)),
+        Duration.ofMillis(ApplicationProperties.getLong("provider.retry.maxBackoffMillis", 2_000)),
+        hedgeDelayMillis > 0 ? Duration.ofMillis(hedgeDelayMillis) : null);
+  }
+}
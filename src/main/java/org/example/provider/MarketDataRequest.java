@@ -0,0 +1,106 @@
+package org.example.provider;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * One upstream market-data call in Alpha Vantage terms: a function (e.g. {@code OVERVIEW}),
+ * a symbol and any extra query parameters.
+ */
+public final class MarketDataRequest {
+
+  /**
+   * Who is waiting on the call: a user, background refresh of data users are watching, or
+   * bulk ingestion. Lower priorities yield upstream quota to higher ones.
+   */
+  public enum Priority { INTERACTIVE, PREFETCH, BULK }
+
+  private final String function;
+  private final String symbol;
+  private final Map<String, String> parameters;
+  private final Duration timeout;
+  private final Priority priority;
+
+  private MarketDataRequest(String function, String symbol, Map<String, String> parameters,
+      Duration timeout, Priority priority) {
+    this.function = Objects.requireNonNull(function, "function");
+    this.symbol = symbol;
+    this.parameters = Collections.unmodifiableMap(new TreeMap<>(parameters));
+    this.timeout = timeout;
+    this.priority = priority;
+  }
+
+  public static MarketDataRequest of(String function, String symbol) {
+    return new MarketDataRequest(function, symbol, Map.of(), null, Priority.INTERACTIVE);
+  }
+
+  public MarketDataRequest withParameter(String name, String value) {
+    Map<String, String> copy = new TreeMap<>(parameters);
+    copy.put(name, value);
+    return new MarketDataRequest(function, symbol, copy, timeout, priority);
+  }
+
+  public MarketDataRequest withTimeout(Duration timeout) {
+    return new MarketDataRequest(function, symbol, parameters, timeout, priority);
+  }
+
+  public MarketDataRequest withPriority(Priority priority) {
+    return new MarketDataRequest(function, symbol, parameters, timeout, priority);
+  }
+
+  public String getFunction() {
+    return function;
+  }
+
+  /**
+   * Symbol the request is for, or null for universe-wide functions such as LISTING_STATUS.
+   */
+  public String getSymbol() {
+    return symbol;
+  }
+
+  /**
+   * Extra query parameters, sorted by name.
+   */
+  public Map<String, String> getParameters() {
+    return parameters;
+  }
+
+  /**
+   * Per-request timeout, or null to use the provider's configured default.
+   */
+  public Duration getTimeout() {
+    return timeout;
+  }
+
+  public Priority getPriority() {
+    return priority;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof MarketDataRequest)) {
+      return false;
+    }
+    MarketDataRequest that = (MarketDataRequest) o;
+    return function.equals(that.function)
+        && Objects.equals(symbol, that.symbol)
+        && parameters.equals(that.parameters);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(function, symbol, parameters);
+  }
+
+  @Override
+  public String toString() {
+    return function + (symbol == null ? "" : ":" + symbol) + (parameters.isEmpty() ? "" : parameters);
+  }
+}
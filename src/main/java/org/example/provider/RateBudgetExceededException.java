@@ -0,0 +1,13 @@
+package org.example.provider;
+
+import java.io.IOException;
+
+/**
+ * No upstream quota became available within the caller's wait limit; upstream was not called.
+ */
+public class RateBudgetExceededException extends IOException {
+
+  public RateBudgetExceededException(String message) {
+    super(message);
+  }
+}
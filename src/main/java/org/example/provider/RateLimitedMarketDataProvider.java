@@ -0,0 +1,56 @@
+package org.example.provider;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Decorator that spends one token from a shared {@link TokenBucketRateLimiter} per upstream
+ * call, so the configured quota is never exceeded.
+ *
+ * Interactive calls wait at most {@code interactiveMaxWait} and may use the whole bucket. Bulk
+ * calls wait as long as needed but leave {@code bulkReserve} tokens for interactive traffic.
+ */
+public class RateLimitedMarketDataProvider implements MarketDataProvider {
+
+  private static final long BULK_MAX_WAIT_NANOS = Duration.ofMinutes(5).toNanos();
+
+  private final MarketDataProvider delegate;
+  private final TokenBucketRateLimiter rateLimiter;
+  private final Duration interactiveMaxWait;
+  private final int bulkReserve;
+
+  public RateLimitedMarketDataProvider(MarketDataProvider delegate,
+      TokenBucketRateLimiter rateLimiter, Duration interactiveMaxWait, int bulkReserve) {
+    this.delegate = delegate;
+    this.rateLimiter = rateLimiter;
+    this.interactiveMaxWait = interactiveMaxWait;
+    this.bulkReserve = bulkReserve;
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return delegate.isAvailable();
+  }
+
+  @Override
+  public String fetch(MarketDataRequest request) throws IOException, InterruptedException {
+    boolean bulk = request.getPriority() == MarketDataRequest.Priority.BULK;
+    boolean acquired = bulk
+        ? rateLimiter.acquire(bulkReserve, BULK_MAX_WAIT_NANOS)
+        : rateLimiter.acquire(0, interactiveMaxWait.toNanos());
+    if (!acquired) {
+      throw new RateBudgetExceededException("Upstream rate budget exhausted for " + request);
+    }
+    return delegate.fetch(request);
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+}
@@ -0,0 +1,58 @@
+package org.example.provider;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decorator that writes every payload fetched through the delegate to a directory in the
+ * layout {@link ReplayMarketDataProvider} reads, so real traffic can be captured once and
+ * replayed later.
+ */
+public class RecordingMarketDataProvider implements MarketDataProvider {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RecordingMarketDataProvider.class);
+
+  private final MarketDataProvider delegate;
+  private final Path directory;
+
+  public RecordingMarketDataProvider(MarketDataProvider delegate, Path directory) {
+    this.delegate = delegate;
+    this.directory = directory;
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return delegate.isAvailable();
+  }
+
+  @Override
+  public String fetch(MarketDataRequest request) throws IOException, InterruptedException {
+    String payload = delegate.fetch(request);
+    try {
+      Path target = ReplayFiles.exactPath(directory, request);
+      Files.createDirectories(target.getParent());
+      Path temp = Files.createTempFile(target.getParent(), ".record", ".tmp");
+      Files.writeString(temp, payload, StandardCharsets.UTF_8);
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      // Recording is a side channel; never fail the request because of it
+      LOGGER.warn("Failed to record payload for {}", request, e);
+    }
+    return payload;
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+}
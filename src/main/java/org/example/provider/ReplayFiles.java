@@ -0,0 +1,65 @@
+package org.example.provider;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * File layout shared by the replay and recording providers:
+ * {@code <dir>/<FUNCTION>/<SYMBOL>[__name-value...].json}, with {@code _default} standing in
+ * for the symbol in template payloads.
+ */
+final class ReplayFiles {
+
+  static final String DEFAULT_NAME = "_default";
+  static final String SYMBOL_PLACEHOLDER = "{{symbol}}";
+
+  private ReplayFiles() {
+  }
+
+  /**
+   * Path a recorded payload for this exact request is stored under.
+   */
+  static Path exactPath(Path directory, MarketDataRequest request) {
+    return directory.resolve(request.getFunction())
+        .resolve(fileName(nameFor(request.getSymbol()), request.getParameters()));
+  }
+
+  /**
+   * Paths to try when replaying, most specific first.
+   */
+  static List<Path> candidates(Path directory, MarketDataRequest request) {
+    Path functionDir = directory.resolve(request.getFunction());
+    String name = nameFor(request.getSymbol());
+    List<Path> paths = new ArrayList<>(4);
+    paths.add(functionDir.resolve(fileName(name, request.getParameters())));
+    if (!request.getParameters().isEmpty()) {
+      paths.add(functionDir.resolve(fileName(name, Map.of())));
+    }
+    if (!DEFAULT_NAME.equals(name)) {
+      paths.add(functionDir.resolve(fileName(DEFAULT_NAME, request.getParameters())));
+      if (!request.getParameters().isEmpty()) {
+        paths.add(functionDir.resolve(fileName(DEFAULT_NAME, Map.of())));
+      }
+    }
+    return paths;
+  }
+
+  private static String nameFor(String symbol) {
+    return symbol == null ? DEFAULT_NAME : sanitize(symbol);
+  }
+
+  private static String fileName(String name, Map<String, String> parameters) {
+    StringBuilder fileName = new StringBuilder(name);
+    for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+      fileName.append("__").append(sanitize(parameter.getKey()))
+          .append('-').append(sanitize(parameter.getValue()));
+    }
+    return fileName.append(".json").toString();
+  }
+
+  private static String sanitize(String value) {
+    return value.replaceAll("[^A-Za-z0-9.\\-]", "_");
+  }
+}
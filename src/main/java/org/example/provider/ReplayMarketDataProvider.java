@@ -0,0 +1,103 @@
+package org.example.provider;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serves recorded upstream payloads from a local directory, so the full stack can be load
+ * tested and benchmarked offline.
+ *
+ * Each call is delayed by {@code latencyMillis} plus up to {@code jitterMillis}, fails with an
+ * IOException at {@code errorRate} and answers with an Alpha Vantage rate-limit note at
+ * {@code rateLimitRate}. Template files named {@code _default} serve any symbol; occurrences of
+ * {@code {{symbol}}} in them are replaced with the requested symbol.
+ */
+public class ReplayMarketDataProvider implements MarketDataProvider {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReplayMarketDataProvider.class);
+
+  static final String RATE_LIMIT_PAYLOAD = "{\"Note\": \"Thank you for using Alpha Vantage! "
+      + "Our standard API call frequency is 5 calls per minute and 500 calls per day.\"}";
+  static final String UNKNOWN_SYMBOL_PAYLOAD = "{\"Error Message\": \"Invalid API call. "
+      + "Please retry or visit the documentation for %s.\"}";
+
+  private final Path directory;
+  private final long latencyMillis;
+  private final long jitterMillis;
+  private final double errorRate;
+  private final double rateLimitRate;
+  private final ConcurrentHashMap<Path, Optional<String>> payloads = new ConcurrentHashMap<>();
+
+  public ReplayMarketDataProvider(Path directory, long latencyMillis, long jitterMillis,
+      double errorRate, double rateLimitRate) {
+    if (latencyMillis < 0 || jitterMillis < 0) {
+      throw new IllegalArgumentException("latencyMillis and jitterMillis must not be negative");
+    }
+    if (errorRate < 0 || rateLimitRate < 0 || errorRate + rateLimitRate > 1) {
+      throw new IllegalArgumentException("errorRate and rateLimitRate must be in [0, 1] in total");
+    }
+    this.directory = directory;
+    this.latencyMillis = latencyMillis;
+    this.jitterMillis = jitterMillis;
+    this.errorRate = errorRate;
+    this.rateLimitRate = rateLimitRate;
+  }
+
+  @Override
+  public String getName() {
+    return "replay";
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return true;
+  }
+
+  @Override
+  public String fetch(MarketDataRequest request) throws IOException, InterruptedException {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long delay = latencyMillis + (jitterMillis > 0 ? random.nextLong(jitterMillis + 1) : 0);
+    if (delay > 0) {
+      Thread.sleep(delay);
+    }
+
+    double roll = random.nextDouble();
+    if (roll < errorRate) {
+      throw new IOException("Simulated upstream failure for " + request);
+    }
+    if (roll < errorRate + rateLimitRate) {
+      return RATE_LIMIT_PAYLOAD;
+    }
+
+    for (Path candidate : ReplayFiles.candidates(directory, request)) {
+      Optional<String> payload = payloads.computeIfAbsent(candidate, this::read);
+      if (payload.isPresent()) {
+        String body = payload.get();
+        return request.getSymbol() == null
+            ? body
+            : body.replace(ReplayFiles.SYMBOL_PLACEHOLDER, request.getSymbol());
+      }
+    }
+    LOGGER.debug("No recorded payload for {} under {}", request, directory);
+    return String.format(UNKNOWN_SYMBOL_PAYLOAD, request.getFunction());
+  }
+
+  private Optional<String> read(Path path) {
+    if (!Files.isRegularFile(path)) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(Files.readString(path, StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      LOGGER.warn("Failed to read recorded payload {}", path, e);
+      return Optional.empty();
+    }
+  }
+}
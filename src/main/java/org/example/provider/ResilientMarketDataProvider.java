@@ -0,0 +1,215 @@
+package org.example.provider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decorator that guards a provider with a circuit breaker, budgeted retries with jittered
+ * exponential backoff and optional hedged requests.
+ *
+ * While the breaker is open calls fail immediately with {@link CircuitOpenException}, so
+ * callers can fall back to cached data instead of waiting out upstream timeouts. With hedging
+ * on, a second identical request is sent if the first has not answered after
+ * {@code hedgeDelay}; the first success wins. Retries and hedges share one budget.
+ */
+public class ResilientMarketDataProvider implements MarketDataProvider {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ResilientMarketDataProvider.class);
+
+  private final MarketDataProvider delegate;
+  private final CircuitBreaker circuitBreaker;
+  private final RetryBudget retryBudget;
+  private final int maxAttempts;
+  private final long baseBackoffMillis;
+  private final long maxBackoffMillis;
+  private final Duration hedgeDelay;
+  private final ExecutorService hedgeExecutor;
+
+  /**
+   * @param hedgeDelay delay before a hedged request is sent, or null to disable hedging
+   */
+  public ResilientMarketDataProvider(MarketDataProvider delegate, CircuitBreaker circuitBreaker,
+      RetryBudget retryBudget, int maxAttempts, Duration baseBackoff, Duration maxBackoff,
+      Duration hedgeDelay) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("maxAttempts must be at least 1");
+    }
+    this.delegate = delegate;
+    this.circuitBreaker = circuitBreaker;
+    this.retryBudget = retryBudget;
+    this.maxAttempts = maxAttempts;
+    this.baseBackoffMillis = baseBackoff.toMillis();
+    this.maxBackoffMillis = maxBackoff.toMillis();
+    this.hedgeDelay = hedgeDelay;
+    this.hedgeExecutor = hedgeDelay == null ? null : Executors.newCachedThreadPool(daemonThreads());
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return delegate.isAvailable();
+  }
+
+  public CircuitBreaker.State getCircuitState() {
+    return circuitBreaker.getState();
+  }
+
+  @Override
+  public String fetch(MarketDataRequest request) throws IOException, InterruptedException {
+    retryBudget.recordRequest();
+    for (int attempt = 1; ; attempt++) {
+      if (!circuitBreaker.tryAcquire()) {
+        throw new CircuitOpenException("Circuit open for " + delegate.getName() + ", not calling upstream");
+      }
+      try {
+        String payload = hedgeDelay == null ? delegate.fetch(request) : fetchHedged(request);
+        circuitBreaker.recordSuccess();
+        return payload;
+      } catch (RateBudgetExceededException e) {
+        // Our own quota, not upstream health
+        circuitBreaker.release();
+        throw e;
+      } catch (IOException | UpstreamException e) {
+        circuitBreaker.recordFailure();
+        if (attempt >= maxAttempts || !isRetryable(e) || !retryBudget.tryWithdraw()) {
+          throw e;
+        }
+        long backoff = backoffMillis(attempt);
+        LOGGER.info("Retrying {} in {} ms after attempt {} failed: {}", request, backoff, attempt,
+            e.getMessage());
+        Thread.sleep(backoff);
+      } catch (InterruptedException | RuntimeException e) {
+        // Not an upstream health signal; release a half-open trial without judging it
+        circuitBreaker.release();
+        throw e;
+      }
+    }
+  }
+
+  private static boolean isRetryable(Exception e) {
+    if (e instanceof UpstreamException) {
+      int status = ((UpstreamException) e).getStatusCode();
+      return status == 429 || status >= 500;
+    }
+    return !(e instanceof CircuitOpenException);
+  }
+
+  /**
+   * Full-jitter exponential backoff: uniform in [0, min(max, base * 2^(attempt-1))].
+   */
+  private long backoffMillis(int attempt) {
+    long ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt - 1, 20));
+    return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+  }
+
+  private String fetchHedged(MarketDataRequest request) throws IOException, InterruptedException {
+    CompletableFuture<String> primary = submit(request);
+    try {
+      return primary.get(hedgeDelay.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      if (!retryBudget.tryWithdraw()) {
+        return await(primary);
+      }
+      LOGGER.debug("Hedging {} after {} ms", request, hedgeDelay.toMillis());
+      CompletableFuture<String> hedge = submit(request);
+      try {
+        return await(firstSuccess(primary, hedge));
+      } finally {
+        primary.cancel(true);
+        hedge.cancel(true);
+      }
+    } catch (ExecutionException e) {
+      throw unwrap(e);
+    } catch (InterruptedException e) {
+      primary.cancel(true);
+      throw e;
+    }
+  }
+
+  private CompletableFuture<String> submit(MarketDataRequest request) {
+    CompletableFuture<String> result = new CompletableFuture<>();
+    Future<?> task = hedgeExecutor.submit(() -> {
+      try {
+        result.complete(delegate.fetch(request));
+      } catch (Throwable t) {
+        result.completeExceptionally(t);
+      }
+    });
+    // Cancelling the result interrupts the losing upstream call
+    result.whenComplete((value, error) -> {
+      if (result.isCancelled()) {
+        task.cancel(true);
+      }
+    });
+    return result;
+  }
+
+  private static CompletableFuture<String> firstSuccess(CompletableFuture<String> a,
+      CompletableFuture<String> b) {
+    CompletableFuture<String> winner = new CompletableFuture<>();
+    AtomicInteger failed = new AtomicInteger();
+    for (CompletableFuture<String> candidate : new CompletableFuture[] {a, b}) {
+      candidate.whenComplete((value, error) -> {
+        if (error == null) {
+          winner.complete(value);
+        } else if (failed.incrementAndGet() == 2) {
+          winner.completeExceptionally(error);
+        }
+      });
+    }
+    return winner;
+  }
+
+  private static String await(CompletableFuture<String> future)
+      throws IOException, InterruptedException {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      throw unwrap(e);
+    }
+  }
+
+  private static IOException unwrap(ExecutionException e) {
+    Throwable cause = e.getCause();
+    if (cause instanceof IOException) {
+      return (IOException) cause;
+    }
+    if (cause instanceof RuntimeException) {
+      throw (RuntimeException) cause;
+    }
+    return new IOException(cause);
+  }
+
+  @Override
+  public void close() {
+    if (hedgeExecutor != null) {
+      hedgeExecutor.shutdownNow();
+    }
+    delegate.close();
+  }
+
+  private static ThreadFactory daemonThreads() {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "upstream-hedge-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
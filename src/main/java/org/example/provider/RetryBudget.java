@@ -0,0 +1,36 @@
+package org.example.provider;
+
+/**
+ * Caps retries (and hedged requests) at a fraction of regular traffic, so a failing upstream
+ * never sees more than {@code 1 + ratio} times the normal request rate.
+ *
+ * Each request deposits {@code ratio} tokens, each retry withdraws one. The balance is capped
+ * at {@code maxTokens}, which is also the starting balance.
+ */
+public class RetryBudget {
+
+  private final double ratio;
+  private final double maxTokens;
+  private double tokens;
+
+  public RetryBudget(double ratio, int maxTokens) {
+    if (ratio < 0 || maxTokens < 0) {
+      throw new IllegalArgumentException("ratio and maxTokens must not be negative");
+    }
+    this.ratio = ratio;
+    this.maxTokens = maxTokens;
+    this.tokens = maxTokens;
+  }
+
+  public synchronized void recordRequest() {
+    tokens = Math.min(maxTokens, tokens + ratio);
+  }
+
+  public synchronized boolean tryWithdraw() {
+    if (tokens < 1) {
+      return false;
+    }
+    tokens -= 1;
+    return true;
+  }
+}
@@ -0,0 +1,40 @@
+package org.example.provider;
+
+import java.io.IOException;
+
+/**
+ * Decorator that runs every upstream call through an {@link UpstreamScheduler}, holding a call
+ * slot for the duration of the call.
+ */
+public class ScheduledMarketDataProvider implements MarketDataProvider {
+
+  private final MarketDataProvider delegate;
+  private final UpstreamScheduler scheduler;
+
+  public ScheduledMarketDataProvider(MarketDataProvider delegate, UpstreamScheduler scheduler) {
+    this.delegate = delegate;
+    this.scheduler = scheduler;
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return delegate.isAvailable();
+  }
+
+  @Override
+  public String fetch(MarketDataRequest request) throws IOException, InterruptedException {
+    try (UpstreamScheduler.Permit permit = scheduler.acquire(request)) {
+      return delegate.fetch(request);
+    }
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+}
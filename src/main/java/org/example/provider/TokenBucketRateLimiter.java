@@ -0,0 +1,87 @@
+package org.example.provider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket holding the upstream call quota, or one API client's request quota.
+ *
+ * Refills continuously at {@code callsPerMinute} up to {@code burst} tokens. Callers can ask
+ * to leave a reserve in the bucket, so low-priority work never takes the last tokens that
+ * interactive requests need.
+ */
+public class TokenBucketRateLimiter {
+
+  private final double tokensPerNano;
+  private final double capacity;
+  private double tokens;
+  private long refilledAtNanos;
+
+  public TokenBucketRateLimiter(double callsPerMinute, int burst) {
+    if (callsPerMinute <= 0 || burst < 1) {
+      throw new IllegalArgumentException("callsPerMinute must be positive and burst at least 1");
+    }
+    this.tokensPerNano = callsPerMinute / TimeUnit.MINUTES.toNanos(1);
+    this.capacity = burst;
+    this.tokens = burst;
+    this.refilledAtNanos = System.nanoTime();
+  }
+
+  /**
+   * Takes one token, waiting up to {@code maxWaitNanos} for it. A positive {@code reserve}
+   * only takes a token while more than {@code reserve} remain (capped at burst - 1).
+   *
+   * @return false if no token became available in time
+   */
+  public synchronized boolean acquire(int reserve, long maxWaitNanos) throws InterruptedException {
+    double needed = 1 + Math.min(reserve, capacity - 1);
+    long deadline = System.nanoTime() + maxWaitNanos;
+    while (true) {
+      refill();
+      if (tokens >= needed) {
+        tokens -= 1;
+        return true;
+      }
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return false;
+      }
+      long untilAvailable = (long) Math.ceil((needed - tokens) / tokensPerNano);
+      TimeUnit.NANOSECONDS.timedWait(this, Math.min(untilAvailable, remaining));
+    }
+  }
+
+  /**
+   * Takes one token if one is available, without waiting.
+   *
+   * @return 0 if a token was taken, otherwise the nanoseconds until one will be available
+   */
+  public long tryAcquire() {
+    return tryAcquire(0);
+  }
+
+  /**
+   * Takes one token without waiting, leaving {@code reserve} tokens as {@link #acquire} does.
+   *
+   * @return 0 if a token was taken, otherwise the nanoseconds until one will be available
+   */
+  public synchronized long tryAcquire(int reserve) {
+    double needed = 1 + Math.min(reserve, capacity - 1);
+    refill();
+    if (tokens >= needed) {
+      tokens -= 1;
+      return 0;
+    }
+    return Math.max(1, (long) Math.ceil((needed - tokens) / tokensPerNano));
+  }
+
+  public synchronized double getAvailableTokens() {
+    refill();
+    return tokens;
+  }
+
+  private void refill() {
+    long now = System.nanoTime();
+    tokens = Math.min(capacity, tokens + (now - refilledAtNanos) * tokensPerNano);
+    refilledAtNanos = now;
+  }
+}
@@ -0,0 +1,18 @@
+package org.example.provider;
+
+/**
+ * Upstream answered, but with a non-success HTTP status.
+ */
+public class UpstreamException extends RuntimeException {
+
+  private final int statusCode;
+
+  public UpstreamException(String message, int statusCode) {
+    super(message);
+    this.statusCode = statusCode;
+  }
+
+  public int getStatusCode() {
+    return statusCode;
+  }
+}
@@ -0,0 +1,12 @@
+package org.example.provider;
+
+/**
+ * Upstream answered with a rate-limit notice (Alpha Vantage "Note"/"Information") instead of
+ * data.
+ */
+public class UpstreamRateLimitException extends RuntimeException {
+
+  public UpstreamRateLimitException(String message) {
+    super(message);
+  }
+}
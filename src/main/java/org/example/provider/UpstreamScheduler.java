@@ -0,0 +1,288 @@
+package org.example.provider;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.example.provider.MarketDataRequest.Priority;
+
+/**
+ * Decides which waiting upstream call goes next, so user-facing misses are served first.
+ *
+ * Calls wait in one queue per {@link Priority} until a call slot and a quota token are free.
+ * Interactive calls always go first. Prefetch and bulk share what is left by weight (smooth
+ * weighted round robin), and both leave {@code backgroundReserve} tokens in the bucket. When
+ * an interactive call has to wait, queued bulk calls are preempted: they fail with
+ * {@link RateBudgetExceededException} straight away, as do new bulk calls until the
+ * interactive queue is empty, so ingestion hands its batch back and retries later. Bulk calls
+ * already in flight finish.
+ */
+public class UpstreamScheduler {
+
+  private static final long BULK_MAX_WAIT_NANOS = Duration.ofMinutes(5).toNanos();
+
+  private final boolean enabled;
+  private final TokenBucketRateLimiter rateLimiter;
+  private final int maxConcurrent;
+  private final int prefetchWeight;
+  private final int bulkWeight;
+  private final long interactiveMaxWaitNanos;
+  private final long prefetchMaxWaitNanos;
+  private final int backgroundReserve;
+  private final Map<Priority, Queue> queues = new EnumMap<>(Priority.class);
+  // All below guarded by this
+  private int inFlight;
+  private int prefetchCredit;
+  private int bulkCredit;
+  private long tokenDueNanos;
+
+  /**
+   * @param rateLimiter upstream quota, or null for no quota
+   */
+  public UpstreamScheduler(TokenBucketRateLimiter rateLimiter, int maxConcurrent,
+      int prefetchWeight, int bulkWeight, Duration interactiveMaxWait, Duration prefetchMaxWait,
+      int backgroundReserve) {
+    this(true, rateLimiter, maxConcurrent, prefetchWeight, bulkWeight, interactiveMaxWait,
+        prefetchMaxWait, backgroundReserve);
+  }
+
+  private UpstreamScheduler(boolean enabled, TokenBucketRateLimiter rateLimiter,
+      int maxConcurrent, int prefetchWeight, int bulkWeight, Duration interactiveMaxWait,
+      Duration prefetchMaxWait, int backgroundReserve) {
+    if (maxConcurrent < 1 || prefetchWeight < 1 || bulkWeight < 1) {
+      throw new IllegalArgumentException("maxConcurrent and weights must be at least 1");
+    }
+    this.enabled = enabled;
+    this.rateLimiter = rateLimiter;
+    this.maxConcurrent = maxConcurrent;
+    this.prefetchWeight = prefetchWeight;
+    this.bulkWeight = bulkWeight;
+    this.interactiveMaxWaitNanos = interactiveMaxWait.toNanos();
+    this.prefetchMaxWaitNanos = prefetchMaxWait.toNanos();
+    this.backgroundReserve = backgroundReserve;
+    for (Priority priority : Priority.values()) {
+      queues.put(priority, new Queue());
+    }
+  }
+
+  /**
+   * A scheduler that is not used; upstream calls are only rate limited, as before.
+   */
+  public static UpstreamScheduler disabled() {
+    return new UpstreamScheduler(false, null, 1, 1, 1, Duration.ZERO, Duration.ZERO, 0);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Waits until the request may call upstream. Close the permit when the call is done.
+   *
+   * @throws RateBudgetExceededException if no slot or token was free within the priority's
+   *         wait limit, or a bulk request was preempted
+   */
+  public synchronized Permit acquire(MarketDataRequest request)
+      throws RateBudgetExceededException, InterruptedException {
+    if (!enabled) {
+      return new Permit();
+    }
+    Priority priority = request.getPriority();
+    Queue queue = queues.get(priority);
+    if (priority == Priority.BULK && !queues.get(Priority.INTERACTIVE).waiting.isEmpty()) {
+      queue.preempted++;
+      throw preempted(request);
+    }
+    Ticket ticket = new Ticket();
+    queue.waiting.addLast(ticket);
+    dispatch();
+    if (!ticket.granted && priority == Priority.INTERACTIVE) {
+      preemptBulk();
+    }
+
+    long deadline = ticket.enqueuedAtNanos + maxWaitNanos(priority);
+    while (!ticket.granted) {
+      if (ticket.preempted) {
+        throw preempted(request);
+      }
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        queue.waiting.remove(ticket);
+        queue.timedOut++;
+        dispatch();
+        throw new RateBudgetExceededException("No upstream capacity for " + request + " within "
+            + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos(priority)) + " ms");
+      }
+      // Woken when a slot frees up; wakes itself when the next token is due
+      long tokenWait = tokenDueNanos - System.nanoTime();
+      try {
+        TimeUnit.NANOSECONDS.timedWait(this, tokenWait > 0 ? Math.min(remaining, tokenWait) : remaining);
+      } catch (InterruptedException e) {
+        if (ticket.granted) {
+          inFlight--;
+        } else {
+          queue.waiting.remove(ticket);
+        }
+        dispatch();
+        throw e;
+      }
+      if (!ticket.granted && !ticket.preempted) {
+        dispatch();
+      }
+    }
+    long waitedNanos = System.nanoTime() - ticket.enqueuedAtNanos;
+    queue.dispatched++;
+    queue.totalWaitNanos += waitedNanos;
+    queue.maxWaitNanos = Math.max(queue.maxWaitNanos, waitedNanos);
+    return new Permit();
+  }
+
+  /**
+   * Per-queue counters and wait times, and the calls now in flight.
+   */
+  public synchronized Map<String, Object> getStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("enabled", enabled);
+    if (!enabled) {
+      return stats;
+    }
+    stats.put("inFlight", inFlight);
+    stats.put("maxConcurrent", maxConcurrent);
+    queues.forEach((priority, queue) -> {
+      Map<String, Object> queueStats = new LinkedHashMap<>();
+      queueStats.put("waiting", queue.waiting.size());
+      queueStats.put("dispatched", queue.dispatched);
+      queueStats.put("timedOut", queue.timedOut);
+      queueStats.put("preempted", queue.preempted);
+      queueStats.put("avgWaitMillis", queue.dispatched == 0 ? 0.0
+          : queue.totalWaitNanos / 1_000_000.0 / queue.dispatched);
+      queueStats.put("maxWaitMillis", TimeUnit.NANOSECONDS.toMillis(queue.maxWaitNanos));
+      stats.put(priority.name().toLowerCase(), queueStats);
+    });
+    return stats;
+  }
+
+  private long maxWaitNanos(Priority priority) {
+    switch (priority) {
+      case INTERACTIVE:
+        return interactiveMaxWaitNanos;
+      case PREFETCH:
+        return prefetchMaxWaitNanos;
+      default:
+        return BULK_MAX_WAIT_NANOS;
+    }
+  }
+
+  /**
+   * Grants slots to waiting calls, best first, while slots and tokens last.
+   */
+  private void dispatch() {
+    boolean granted = false;
+    while (inFlight < maxConcurrent) {
+      Priority next = nextPriority();
+      if (next == null) {
+        break;
+      }
+      if (rateLimiter != null) {
+        long tokenWait = rateLimiter.tryAcquire(next == Priority.INTERACTIVE ? 0 : backgroundReserve);
+        if (tokenWait > 0) {
+          tokenDueNanos = System.nanoTime() + tokenWait;
+          break;
+        }
+      }
+      if (next != Priority.INTERACTIVE && !queues.get(Priority.PREFETCH).waiting.isEmpty()
+          && !queues.get(Priority.BULK).waiting.isEmpty()) {
+        prefetchCredit += prefetchWeight;
+        bulkCredit += bulkWeight;
+        if (next == Priority.PREFETCH) {
+          prefetchCredit -= prefetchWeight + bulkWeight;
+        } else {
+          bulkCredit -= prefetchWeight + bulkWeight;
+        }
+      }
+      queues.get(next).waiting.removeFirst().granted = true;
+      inFlight++;
+      granted = true;
+    }
+    if (granted) {
+      notifyAll();
+    }
+  }
+
+  private Priority nextPriority() {
+    if (!queues.get(Priority.INTERACTIVE).waiting.isEmpty()) {
+      return Priority.INTERACTIVE;
+    }
+    boolean prefetchWaiting = !queues.get(Priority.PREFETCH).waiting.isEmpty();
+    boolean bulkWaiting = !queues.get(Priority.BULK).waiting.isEmpty();
+    if (prefetchWaiting && bulkWaiting) {
+      return prefetchCredit + prefetchWeight >= bulkCredit + bulkWeight
+          ? Priority.PREFETCH : Priority.BULK;
+    }
+    return prefetchWaiting ? Priority.PREFETCH : bulkWaiting ? Priority.BULK : null;
+  }
+
+  private void preemptBulk() {
+    Queue bulk = queues.get(Priority.BULK);
+    if (bulk.waiting.isEmpty()) {
+      return;
+    }
+    for (Ticket ticket : bulk.waiting) {
+      ticket.preempted = true;
+      bulk.preempted++;
+    }
+    bulk.waiting.clear();
+    notifyAll();
+  }
+
+  private synchronized void release() {
+    inFlight--;
+    dispatch();
+  }
+
+  private static RateBudgetExceededException preempted(MarketDataRequest request) {
+    return new RateBudgetExceededException("Preempted by interactive demand: " + request);
+  }
+
+  /**
+   * A granted call slot.
+   */
+  public final class Permit implements AutoCloseable {
+
+    private boolean released;
+
+    private Permit() {
+    }
+
+    @Override
+    public void close() {
+      if (!enabled) {
+        return;
+      }
+      synchronized (UpstreamScheduler.this) {
+        if (released) {
+          return;
+        }
+        released = true;
+      }
+      release();
+    }
+  }
+
+  private static final class Ticket {
+    private final long enqueuedAtNanos = System.nanoTime();
+    private boolean granted;
+    private boolean preempted;
+  }
+
+  private static final class Queue {
+    private final ArrayDeque<Ticket> waiting = new ArrayDeque<>();
+    private long dispatched;
+    private long timedOut;
+    private long preempted;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+  }
+}
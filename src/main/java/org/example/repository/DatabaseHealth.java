@@ -0,0 +1,224 @@
+package org.example.repository;
+
+import org.jdbi.v3.core.ConnectionException;
+import org.postgresql.PGProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tracks whether Postgres is reachable, so callers can skip it during an outage instead of
+ * waiting out the pool's connection timeout on every request.
+ *
+ * The database is marked down as soon as a caller reports a connection failure or a probe
+ * fails. A background probe, on its own connection outside the pool and with short timeouts,
+ * then checks every interval with a fresh connection; when one succeeds the recovery hooks run
+ * and the database is marked up again.
+ */
+public class DatabaseHealth {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseHealth.class);
+
+    /**
+     * Opens a connection to the database, or fails within the probe timeout.
+     */
+    public interface Probe {
+        Connection connect() throws SQLException;
+    }
+
+    private final Probe probe;
+    private final Duration interval;
+    private final int timeoutSeconds;
+    private final boolean enabled;
+    private final List<Runnable> recoveryHooks = new CopyOnWriteArrayList<>();
+    private volatile boolean available = true;
+    private volatile long unavailableSinceMillis;
+    private volatile boolean running;
+    private Connection connection;
+    private Thread thread;
+
+    public DatabaseHealth(Probe probe, Duration interval, Duration timeout) {
+        this(probe, interval, timeout, true);
+    }
+
+    private DatabaseHealth(Probe probe, Duration interval, Duration timeout, boolean enabled) {
+        this.probe = probe;
+        this.interval = interval;
+        this.timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+        this.enabled = enabled;
+    }
+
+    public static DatabaseHealth forJdbc(String jdbcUrl, String username, String password,
+                                         String applicationName, Duration interval, Duration timeout) {
+        int timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+        Properties properties = new Properties();
+        properties.setProperty(PGProperty.USER.getName(), username);
+        properties.setProperty(PGProperty.PASSWORD.getName(), password);
+        properties.setProperty(PGProperty.APPLICATION_NAME.getName(), applicationName + "-health");
+        properties.setProperty(PGProperty.CONNECT_TIMEOUT.getName(), String.valueOf(timeoutSeconds));
+        properties.setProperty(PGProperty.LOGIN_TIMEOUT.getName(), String.valueOf(timeoutSeconds));
+        properties.setProperty(PGProperty.SOCKET_TIMEOUT.getName(), String.valueOf(timeoutSeconds));
+        return new DatabaseHealth(() -> DriverManager.getConnection(jdbcUrl, properties), interval, timeout);
+    }
+
+    /**
+     * Always reports the database as available; failures are left to callers as before.
+     */
+    public static DatabaseHealth disabled() {
+        return new DatabaseHealth(() -> {
+            throw new SQLException("Database health checks are disabled");
+        }, Duration.ofSeconds(1), Duration.ofSeconds(1), false);
+    }
+
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "database-health");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Registers a hook run on the probe thread when the database comes back, before it is
+     * reported available again. A hook that throws keeps the database marked down until the
+     * next successful probe.
+     */
+    public void onRecovery(Runnable hook) {
+        recoveryHooks.add(hook);
+    }
+
+    /**
+     * Marks the database down if {@code failure} means it could not be reached.
+     *
+     * @return true if it was a connection failure; the caller may then fall back to degraded
+     *         behaviour instead of failing
+     */
+    public boolean reportFailure(Throwable failure) {
+        if (!enabled || !isConnectionFailure(failure)) {
+            return false;
+        }
+        markUnavailable(failure);
+        return true;
+    }
+
+    /**
+     * Probes the database now, running the recovery hooks if it has just come back.
+     *
+     * @return whether the database is available
+     */
+    public synchronized boolean checkNow() {
+        if (!enabled) {
+            return true;
+        }
+        if (!available) {
+            // Prove that new connections can be opened, not just that an old one still works
+            closeConnection();
+        }
+        try {
+            if (connection == null) {
+                connection = probe.connect();
+            }
+            if (!connection.isValid(timeoutSeconds)) {
+                throw new SQLException("Health probe connection is no longer valid");
+            }
+        } catch (SQLException e) {
+            closeConnection();
+            markUnavailable(e);
+            return false;
+        }
+        if (!available) {
+            try {
+                for (Runnable hook : recoveryHooks) {
+                    hook.run();
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Database reachable again but recovery failed, staying in degraded mode", e);
+                return false;
+            }
+            available = true;
+            logger.info("Database available again after {} ms",
+                    System.currentTimeMillis() - unavailableSinceMillis);
+        }
+        return true;
+    }
+
+    private void run() {
+        while (running) {
+            checkNow();
+            try {
+                Thread.sleep(interval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        synchronized (this) {
+            closeConnection();
+        }
+    }
+
+    private void markUnavailable(Throwable cause) {
+        if (available) {
+            unavailableSinceMillis = System.currentTimeMillis();
+            available = false;
+            logger.warn("Database unavailable, switching to degraded mode: {}", cause.toString());
+        }
+    }
+
+    private void closeConnection() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.debug("Error closing health probe connection", e);
+            }
+            connection = null;
+        }
+    }
+
+    /**
+     * Pool timeouts, connection-class SQL states (08xxx) and server shutdown or startup
+     * (57P01 to 57P03), anywhere in the cause chain.
+     */
+    static boolean isConnectionFailure(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof SQLTransientConnectionException || t instanceof ConnectionException
+                    || t instanceof DatabaseUnavailableException) {
+                return true;
+            }
+            if (t instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                String state = sqlException.getSQLState();
+                if (state.startsWith("08") || state.equals("57P01") || state.equals("57P02")
+                        || state.equals("57P03")) {
+                    return true;
+                }
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+}
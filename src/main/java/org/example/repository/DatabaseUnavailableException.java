@@ -0,0 +1,15 @@
+package org.example.repository;
+
+/**
+ * Thrown instead of waiting on the connection pool when the database is known to be down.
+ */
+public class DatabaseUnavailableException extends RuntimeException {
+
+    public DatabaseUnavailableException() {
+        super("Database unavailable");
+    }
+
+    public DatabaseUnavailableException(Throwable cause) {
+        super("Database unavailable", cause);
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.repository;
+
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindList;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.config.KeyColumn;
+import org.jdbi.v3.sqlobject.config.ValueColumn;
+
+import java.util.List;
+import java.util.Map;
+
+public interface IngestionJobDao {
+
+    /**
+     * Queues symbols. Existing DONE or FAILED jobs are made due now; pending and running jobs
+     * are left alone, so enqueueing is idempotent.
+     */
+    @SqlBatch("""
+        INSERT INTO ingestion_job (symbol, status, attempts, available_at, updated_at)
+        VALUES (:symbol, 'PENDING', 0, now(), now())
+        ON CONFLICT (symbol) DO UPDATE
+        SET status = 'PENDING', attempts = 0, available_at = now(), last_error = NULL, updated_at = now()
+        WHERE ingestion_job.status IN ('DONE', 'FAILED')
+        """)
+    int[] enqueue(@Bind("symbol") List<String> symbols);
+
+    @SqlQuery("""
+        UPDATE ingestion_job
+        SET status = 'IN_PROGRESS', locked_by = :worker,
+            locked_until = now() + make_interval(secs => :leaseSeconds),
+            attempts = attempts + 1, updated_at = now()
+        WHERE symbol IN (
+            SELECT symbol FROM ingestion_job
+            WHERE (status IN ('PENDING', 'DONE') AND available_at <= now())
+               OR (status = 'IN_PROGRESS' AND locked_until < now())
+            ORDER BY available_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING symbol
+        """)
+    List<String> claim(@Bind("worker") String worker, @Bind("limit") int limit,
+                       @Bind("leaseSeconds") double leaseSeconds);
+
+    /**
+     * Like {@link #claim}, but only among the given symbols, earliest in the array first.
+     */
+    @SqlQuery("""
+        UPDATE ingestion_job
+        SET status = 'IN_PROGRESS', locked_by = :worker,
+            locked_until = now() + make_interval(secs => :leaseSeconds),
+            attempts = attempts + 1, updated_at = now()
+        WHERE symbol IN (
+            SELECT symbol FROM ingestion_job
+            WHERE symbol = ANY(:symbols)
+              AND ((status IN ('PENDING', 'DONE') AND available_at <= now())
+                   OR (status = 'IN_PROGRESS' AND locked_until < now()))
+            ORDER BY array_position(:symbols, symbol::text)
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING symbol
+        """)
+    List<String> claimAmong(@Bind("worker") String worker, @Bind("symbols") String[] symbols,
+                            @Bind("limit") int limit, @Bind("leaseSeconds") double leaseSeconds);
+
+    @SqlUpdate("""
+        UPDATE ingestion_job
+        SET status = 'DONE', attempts = 0, available_at = now() + make_interval(secs => :refreshSeconds),
+            locked_by = NULL, locked_until = NULL, last_error = NULL, updated_at = now()
+        WHERE symbol IN (<symbols>)
+        """)
+    int markDone(@BindList("symbols") List<String> symbols, @Bind("refreshSeconds") double refreshSeconds);
+
+    /**
+     * Puts a job back in the queue after a delay, or marks it FAILED once attempts run out.
+     */
+    @SqlUpdate("""
+        UPDATE ingestion_job
+        SET status = CASE WHEN attempts >= :maxAttempts THEN 'FAILED' ELSE 'PENDING' END,
+            available_at = now() + make_interval(secs => :delaySeconds),
+            locked_by = NULL, locked_until = NULL, last_error = :error, updated_at = now()
+        WHERE symbol = :symbol
+        """)
+    int markFailed(@Bind("symbol") String symbol, @Bind("error") String error,
+                   @Bind("maxAttempts") int maxAttempts, @Bind("delaySeconds") double delaySeconds);
+
+    /**
+     * Releases a claim without counting the attempt, e.g. when the worker was rate limited.
+     */
+    @SqlUpdate("""
+        UPDATE ingestion_job
+        SET status = 'PENDING', attempts = GREATEST(attempts - 1, 0),
+            available_at = now() + make_interval(secs => :delaySeconds),
+            locked_by = NULL, locked_until = NULL, updated_at = now()
+        WHERE symbol IN (<symbols>) AND status = 'IN_PROGRESS'
+        """)
+    int release(@BindList("symbols") List<String> symbols, @Bind("delaySeconds") double delaySeconds);
+
+    @SqlQuery("SELECT status, count(*) FROM ingestion_job GROUP BY status")
+    @KeyColumn("status")
+    @ValueColumn("count")
+    Map<String, Long> countByStatus();
+
+    @SqlQuery("SELECT count(*) FROM ingestion_job WHERE status IN ('PENDING', 'DONE') AND available_at <= now()")
+    long countDue();
+}
@@ -0,0 +1,137 @@
+package org.example.repository;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.jdbi.v3.core.Jdbi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Postgres-backed work queue of symbols for bulk ingestion (ingestion_job table).
+ */
+@Singleton
+public class IngestionJobRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestionJobRepository.class);
+    private static final int ENQUEUE_CHUNK_SIZE = 1000;
+    private final IngestionJobDao dao;
+
+    @Inject
+    public IngestionJobRepository(Jdbi jdbi) {
+        this.dao = jdbi.onDemand(IngestionJobDao.class);
+    }
+
+    /**
+     * Queues symbols for ingestion; returns how many were newly queued or re-queued.
+     */
+    public int enqueue(List<String> symbols) {
+        try {
+            int queued = 0;
+            for (int from = 0; from < symbols.size(); from += ENQUEUE_CHUNK_SIZE) {
+                for (int rows : dao.enqueue(symbols.subList(from, Math.min(symbols.size(), from + ENQUEUE_CHUNK_SIZE)))) {
+                    queued += rows;
+                }
+            }
+            logger.info("Queued {} of {} symbols for ingestion", queued, symbols.size());
+            return queued;
+        } catch (Exception e) {
+            logger.error("Database error when queueing {} symbols for ingestion", symbols.size(), e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+
+    /**
+     * Claims up to {@code limit} due jobs for {@code lease}; concurrent workers never get the
+     * same symbol.
+     */
+    public List<String> claim(String worker, int limit, Duration lease) {
+        try {
+            return dao.claim(worker, limit, lease.toMillis() / 1000.0);
+        } catch (Exception e) {
+            logger.error("Database error when claiming ingestion jobs for worker: {}", worker, e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+
+    /**
+     * Like {@link #claim(String, int, Duration)}, but due jobs for {@code preferred} symbols are
+     * claimed first, in the order given.
+     */
+    public List<String> claim(String worker, int limit, Duration lease, List<String> preferred) {
+        if (preferred.isEmpty()) {
+            return claim(worker, limit, lease);
+        }
+        try {
+            List<String> claimed = new ArrayList<>(dao.claimAmong(worker, preferred.toArray(new String[0]),
+                    limit, lease.toMillis() / 1000.0));
+            claimed.sort(Comparator.comparingInt(preferred::indexOf));
+            if (claimed.size() < limit) {
+                claimed.addAll(dao.claim(worker, limit - claimed.size(), lease.toMillis() / 1000.0));
+            }
+            return claimed;
+        } catch (Exception e) {
+            logger.error("Database error when claiming ingestion jobs for worker: {}", worker, e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+
+    /**
+     * Marks jobs done and schedules their next refresh.
+     */
+    public void markDone(List<String> symbols, Duration refreshAfter) {
+        if (symbols.isEmpty()) {
+            return;
+        }
+        try {
+            dao.markDone(symbols, refreshAfter.toMillis() / 1000.0);
+        } catch (Exception e) {
+            logger.error("Database error when completing {} ingestion jobs", symbols.size(), e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+
+    public void markFailed(String symbol, String error, int maxAttempts, Duration retryAfter) {
+        try {
+            dao.markFailed(symbol, error, maxAttempts, retryAfter.toMillis() / 1000.0);
+        } catch (Exception e) {
+            logger.error("Database error when failing ingestion job for symbol: {}", symbol, e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+
+    public void release(List<String> symbols, Duration retryAfter) {
+        if (symbols.isEmpty()) {
+            return;
+        }
+        try {
+            dao.release(symbols, retryAfter.toMillis() / 1000.0);
+        } catch (Exception e) {
+            logger.error("Database error when releasing {} ingestion jobs", symbols.size(), e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+
+    public Map<String, Long> countByStatus() {
+        try {
+            return dao.countByStatus();
+        } catch (Exception e) {
+            logger.error("Database error when counting ingestion jobs", e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+
+    public long countDue() {
+        try {
+            return dao.countDue();
+        } catch (Exception e) {
+            logger.error("Database error when counting due ingestion jobs", e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+}
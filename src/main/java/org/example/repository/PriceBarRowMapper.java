@@ -0,0 +1,28 @@
+package org.example.repository;
+
+import org.example.model.PriceBar;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps price history rows by column position; queries must select
+ * symbol, interval, epoch millis, open, high, low, close, volume in that order.
+ */
+public class PriceBarRowMapper implements RowMapper<PriceBar> {
+    
+    @Override
+    public PriceBar map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return new PriceBar(
+                rs.getString(1),
+                rs.getString(2),
+                rs.getLong(3),
+                rs.getDouble(4),
+                rs.getDouble(5),
+                rs.getDouble(6),
+                rs.getDouble(7),
+                rs.getLong(8));
+    }
+}
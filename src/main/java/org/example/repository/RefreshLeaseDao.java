@@ -0,0 +1,28 @@
+package org.example.repository;
+
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+import java.util.Optional;
+
+public interface RefreshLeaseDao {
+
+    /**
+     * Takes the lease if it is free, expired or already ours; returns the holder on success.
+     */
+    @SqlQuery("""
+        INSERT INTO symbol_refresh_lease (lease_key, holder, expires_at)
+        VALUES (:leaseKey, :holder, now() + make_interval(secs => :ttlSeconds))
+        ON CONFLICT (lease_key)
+        DO UPDATE SET holder = EXCLUDED.holder, expires_at = EXCLUDED.expires_at
+        WHERE symbol_refresh_lease.expires_at < now()
+           OR symbol_refresh_lease.holder = EXCLUDED.holder
+        RETURNING holder
+        """)
+    Optional<String> tryAcquire(@Bind("leaseKey") String leaseKey, @Bind("holder") String holder,
+                                @Bind("ttlSeconds") double ttlSeconds);
+
+    @SqlUpdate("DELETE FROM symbol_refresh_lease WHERE lease_key = :leaseKey AND holder = :holder")
+    int release(@Bind("leaseKey") String leaseKey, @Bind("holder") String holder);
+}
@@ -0,0 +1,59 @@
+package org.example.repository;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.example.config.DatabaseConfig;
+import org.jdbi.v3.core.Jdbi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Cluster-wide refresh leases in the symbol_refresh_lease table, so only one node at a time
+ * refreshes a given key (e.g. "OVERVIEW:AAPL") from upstream.
+ *
+ * A lease expires on its own, so a node that dies mid-refresh blocks others for at most the
+ * lease TTL. Expired rows are taken over in place by the next acquirer, so the table never
+ * holds more than one row per key and needs no cleanup.
+ */
+@Singleton
+public class RefreshLeaseRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshLeaseRepository.class);
+    private final RefreshLeaseDao dao;
+    private final String holder;
+
+    @Inject
+    public RefreshLeaseRepository(Jdbi jdbi) {
+        this(jdbi, DatabaseConfig.getApplicationName());
+    }
+
+    public RefreshLeaseRepository(Jdbi jdbi, String holder) {
+        this.dao = jdbi.onDemand(RefreshLeaseDao.class);
+        this.holder = holder;
+    }
+
+    /**
+     * Returns true if this node now holds the lease for {@code ttl}.
+     */
+    public boolean tryAcquire(String leaseKey, Duration ttl) {
+        try {
+            boolean acquired = dao.tryAcquire(leaseKey, holder, ttl.toMillis() / 1000.0).isPresent();
+            logger.debug("Refresh lease {} {} by {}", leaseKey, acquired ? "acquired" : "held elsewhere", holder);
+            return acquired;
+        } catch (Exception e) {
+            logger.error("Database error when acquiring refresh lease: {}", leaseKey, e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+
+    public void release(String leaseKey) {
+        try {
+            dao.release(leaseKey, holder);
+        } catch (Exception e) {
+            logger.error("Database error when releasing refresh lease: {}", leaseKey, e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+}
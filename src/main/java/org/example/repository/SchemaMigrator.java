@@ -0,0 +1,290 @@
+package org.example.repository;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Applies versioned schema scripts ({@code V<version>__<description>.sql}) in order and records
+ * them in the schema_migration table.
+ *
+ * Nodes serialize on a Postgres advisory lock, so only one applies a given version. A script
+ * runs in a single transaction together with its history row, unless it uses CONCURRENTLY; such
+ * scripts run statement by statement in auto-commit mode and must be safe to re-run, since a
+ * failure part way through leaves the version unrecorded. Editing a script after it has been
+ * applied is an error, while versions this build does not know about (a newer node rolled them
+ * out) are left alone.
+ */
+@Singleton
+public class SchemaMigrator {
+
+    public static final String DEFAULT_LOCATION = "db/migration";
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    // Arbitrary key shared by all nodes; pg_try_advisory_lock takes a bigint
+    private static final long LOCK_KEY = 0x5354_4f43_4b49_51L;
+    private static final long LOCK_WAIT_MILLIS = 300_000;
+    private static final long LOCK_POLL_MILLIS = 500;
+
+    private final DataSource dataSource;
+    private final String location;
+
+    @Inject
+    public SchemaMigrator(DataSource dataSource) {
+        this(dataSource, DEFAULT_LOCATION);
+    }
+
+    /**
+     * @param location classpath directory holding the scripts, or a file system directory if
+     *                 no such resource exists
+     */
+    public SchemaMigrator(DataSource dataSource, String location) {
+        this.dataSource = dataSource;
+        this.location = location;
+    }
+
+    /**
+     * Brings the schema up to date.
+     *
+     * @return the number of versions applied
+     */
+    public int migrate() {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            List<Migration> migrations = loadMigrations();
+            acquireLock(connection);
+            try {
+                createHistoryTable(connection);
+                Map<Integer, String> applied = findApplied(connection);
+                int count = 0;
+                for (Migration migration : migrations) {
+                    String checksum = applied.remove(migration.version());
+                    if (checksum == null) {
+                        apply(connection, migration);
+                        count++;
+                    } else if (!checksum.equals(migration.script().getChecksum())) {
+                        throw new IllegalStateException("Migration " + migration.script().getName()
+                                + " was changed after it was applied");
+                    }
+                }
+                if (!applied.isEmpty()) {
+                    logger.warn("Database has schema versions {} that this build does not know about",
+                            applied.keySet());
+                }
+                logger.info("Schema is up to date ({} migrations, {} applied now)", migrations.size(), count);
+                return count;
+            } finally {
+                releaseLock(connection);
+            }
+        } catch (SQLException | IOException e) {
+            logger.error("Schema migration from {} failed", location, e);
+            throw new RuntimeException("Schema migration failed", e);
+        }
+    }
+
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        SqlScript script = migration.script();
+        long start = System.nanoTime();
+        try {
+            if (script.requiresAutoCommit()) {
+                script.execute(connection);
+                record(connection, migration, start);
+            } else {
+                connection.setAutoCommit(false);
+                try {
+                    script.execute(connection);
+                    record(connection, migration, start);
+                    connection.commit();
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            if (script.requiresAutoCommit()) {
+                // A failed concurrent build leaves an invalid index that IF NOT EXISTS would keep
+                logInvalidIndexes(connection);
+            }
+            throw e;
+        }
+        logger.info("Applied migration {} in {} ms", script.getName(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void record(Connection connection, Migration migration, long startNanos) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                INSERT INTO schema_migration (version, description, checksum, execution_millis)
+                VALUES (?, ?, ?, ?)
+                """)) {
+            statement.setInt(1, migration.version());
+            statement.setString(2, migration.description());
+            statement.setString(3, migration.script().getChecksum());
+            statement.setLong(4, (System.nanoTime() - startNanos) / 1_000_000);
+            statement.executeUpdate();
+        }
+    }
+
+    private static void createHistoryTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE IF NOT EXISTS schema_migration (
+                        version INT PRIMARY KEY,
+                        description VARCHAR(200) NOT NULL,
+                        checksum CHAR(64) NOT NULL,
+                        applied_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+                        execution_millis BIGINT NOT NULL
+                    )
+                    """);
+        }
+    }
+
+    private static Map<Integer, String> findApplied(Connection connection) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT version, checksum FROM schema_migration")) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Polls pg_try_advisory_lock rather than blocking in pg_advisory_lock: a session blocked
+     * inside a statement holds a snapshot, and another node's CREATE INDEX CONCURRENTLY would
+     * wait on it forever.
+     */
+    private static void acquireLock(Connection connection) throws SQLException {
+        long deadline = System.currentTimeMillis() + LOCK_WAIT_MILLIS;
+        boolean waiting = false;
+        while (!tryLock(connection)) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Timed out waiting for another node to finish migrating");
+            }
+            if (!waiting) {
+                logger.info("Another node is migrating the schema, waiting");
+                waiting = true;
+            }
+            try {
+                Thread.sleep(LOCK_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for the migration lock", e);
+            }
+        }
+    }
+
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static void releaseLock(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, LOCK_KEY);
+            statement.execute();
+        } catch (SQLException e) {
+            logger.warn("Failed to release the migration lock", e);
+        }
+    }
+
+    private static void logInvalidIndexes(Connection connection) {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT indexrelid::regclass::text FROM pg_index WHERE NOT indisvalid")) {
+            while (rs.next()) {
+                logger.error("Index {} is invalid; drop it before retrying the migration", rs.getString(1));
+            }
+        } catch (SQLException e) {
+            logger.warn("Failed to look up invalid indexes", e);
+        }
+    }
+
+    private List<Migration> loadMigrations() throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        Map<Integer, String> seen = new HashMap<>();
+        for (String fileName : listScripts()) {
+            Matcher matcher = SCRIPT_NAME.matcher(fileName);
+            if (!matcher.matches()) {
+                logger.warn("Ignoring {}/{}: not named V<version>__<description>.sql", location, fileName);
+                continue;
+            }
+            int version = Integer.parseInt(matcher.group(1));
+            String previous = seen.put(version, fileName);
+            if (previous != null) {
+                throw new IllegalStateException("Duplicate migration version " + version + ": "
+                        + previous + " and " + fileName);
+            }
+            migrations.add(new Migration(version, matcher.group(2).replace('_', ' '),
+                    SqlScript.load(location + "/" + fileName)));
+        }
+        migrations.sort(Comparator.comparingInt(Migration::version));
+        return migrations;
+    }
+
+    private List<String> listScripts() throws IOException {
+        URL url = SchemaMigrator.class.getClassLoader().getResource(location);
+        if (url == null) {
+            Path directory = Path.of(location);
+            if (!Files.isDirectory(directory)) {
+                throw new IOException("Migration directory not found: " + location);
+            }
+            return listFiles(directory);
+        }
+        try {
+            URI uri = url.toURI();
+            if (!"jar".equals(uri.getScheme())) {
+                return listFiles(Path.of(uri));
+            }
+            try (FileSystem jar = FileSystems.newFileSystem(uri, Map.of())) {
+                return listFiles(jar.getPath(location));
+            } catch (FileSystemAlreadyExistsException e) {
+                return listFiles(FileSystems.getFileSystem(uri).getPath(location));
+            }
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid migration location: " + url, e);
+        }
+    }
+
+    private static List<String> listFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".sql"))
+                    .toList();
+        }
+    }
+
+    private record Migration(int version, String description, SqlScript script) {
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.repository;
+
+import org.example.config.DatabaseConfig;
+
+/**
+ * Applies pending schema migrations to the configured database (db.url, db.username,
+ * db.password) without starting the application, e.g. ahead of a rollout with
+ * db.migrate.enabled=false on the nodes:
+ *
+ * <pre>
+ * mvn exec:java -Dexec.mainClass=org.example.repository.SchemaTool
+ * </pre>
+ *
+ * An optional argument names a different migration directory.
+ */
+public final class SchemaTool {
+
+    private SchemaTool() {
+    }
+
+    public static void main(String[] args) {
+        String location = args.length > 0 ? args[0] : SchemaMigrator.DEFAULT_LOCATION;
+        try {
+            new SchemaMigrator(DatabaseConfig.getDataSource(), location).migrate();
+        } finally {
+            DatabaseConfig.closeDataSource();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A SQL script split into individual statements.
+ *
+ * Splits on semicolons outside string literals, dollar-quoted bodies ({@code $$} or tagged
+ * like {@code $body$}) and comments, line or nested block ones, so plpgsql functions survive
+ * intact.
+ */
+public final class SqlScript {
+
+    private static final Pattern CONCURRENTLY = Pattern.compile("\\bCONCURRENTLY\\b", Pattern.CASE_INSENSITIVE);
+
+    private final String name;
+    private final List<String> statements;
+    private final String checksum;
+
+    private SqlScript(String name, List<String> statements, String checksum) {
+        this.name = name;
+        this.statements = Collections.unmodifiableList(statements);
+        this.checksum = checksum;
+    }
+
+    /**
+     * Loads a script from the classpath, or from the file system if no such resource exists.
+     */
+    public static SqlScript load(String location) throws IOException {
+        try (InputStream in = SqlScript.class.getClassLoader().getResourceAsStream(location)) {
+            if (in != null) {
+                return parse(location, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        Path path = Path.of(location);
+        if (!Files.exists(path)) {
+            throw new IOException("SQL script not found: " + location);
+        }
+        return parse(location, Files.readString(path));
+    }
+
+    public static SqlScript parse(String name, String sql) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '-' && sql.startsWith("--", i)) {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? sql.length() : end;
+            } else if (c == '/' && sql.startsWith("/*", i)) {
+                i = blockCommentEnd(sql, i);
+                // Keep tokens on either side of the comment apart
+                current.append(' ');
+            } else if (c == '\'' || (c == '$' && dollarTag(sql, i) != null)) {
+                String quote = c == '\'' ? "'" : dollarTag(sql, i);
+                int end = sql.indexOf(quote, i + quote.length());
+                end = end < 0 ? sql.length() : end + quote.length();
+                current.append(sql, i, end);
+                i = end;
+            } else if (c == ';') {
+                addStatement(statements, current);
+                i++;
+            } else {
+                current.append(c);
+                i++;
+            }
+        }
+        addStatement(statements, current);
+        return new SqlScript(name, statements, sha256(sql));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getStatements() {
+        return statements;
+    }
+
+    /**
+     * SHA-256 of the script text, used to detect edits to scripts that were already applied.
+     */
+    public String getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * Whether the script builds or drops indexes CONCURRENTLY, which cannot run inside a
+     * transaction block.
+     */
+    public boolean requiresAutoCommit() {
+        return statements.stream().anyMatch(s -> CONCURRENTLY.matcher(s).find());
+    }
+
+    /**
+     * Runs the statements one by one in the connection's current transaction mode. Stops at
+     * the first failure.
+     */
+    public void execute(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    /**
+     * The dollar-quote opening at {@code start}, such as {@code $$} or {@code $body$}, or null
+     * if the dollar sign does not open one (a positional parameter like {@code $1}).
+     */
+    private static String dollarTag(String sql, int start) {
+        int i = start + 1;
+        while (i < sql.length()
+                && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_')) {
+            i++;
+        }
+        if (i >= sql.length() || sql.charAt(i) != '$') {
+            return null;
+        }
+        if (i > start + 1 && Character.isDigit(sql.charAt(start + 1))) {
+            return null;
+        }
+        return sql.substring(start, i + 1);
+    }
+
+    /**
+     * The index just past the block comment opening at {@code start}. Block comments nest, as
+     * in PostgreSQL.
+     */
+    private static int blockCommentEnd(String sql, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < sql.length()) {
+            if (sql.startsWith("/*", i)) {
+                depth++;
+                i += 2;
+            } else if (sql.startsWith("*/", i)) {
+                i += 2;
+                if (--depth == 0) {
+                    return i;
+                }
+            } else {
+                i++;
+            }
+        }
+        return sql.length();
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String statement = current.toString().trim();
+        if (!statement.isEmpty()) {
+            statements.add(statement);
+        }
+        current.setLength(0);
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.model.StockInfo;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class StockInfoRowMapper implements RowMapper<StockInfo> {
+    
+    private final ObjectMapper objectMapper;
+    
+    public StockInfoRowMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public StockInfo map(ResultSet rs, StatementContext ctx) throws SQLException {
+        try {
+            String jsonData = rs.getString("data");
+            return objectMapper.readValue(jsonData, StockInfo.class);
+        } catch (Exception e) {
+            throw new SQLException("Failed to deserialize StockInfo from JSON", e);
+        }
+    }
+}
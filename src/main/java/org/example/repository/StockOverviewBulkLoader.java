@@ -0,0 +1,146 @@
+package org.example.repository;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Bulk export and import of stock_overview with COPY, for backfills, disaster recovery and
+ * copying data between environments.
+ *
+ * Both directions stream CSV (symbol, data, content_hash, last_updated_at, last_checked_at, with
+ * a header line) so memory use does not depend on the table size. An import is copied into a
+ * temporary staging table and merged into stock_overview with one set-based upsert, all in
+ * one transaction.
+ */
+@Singleton
+public class StockOverviewBulkLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockOverviewBulkLoader.class);
+
+    private static final String COLUMNS = "symbol, data, content_hash, last_updated_at, last_checked_at";
+
+    // Of several rows for one symbol, the one with the newest last_updated_at wins, wherever it
+    // sits in the file. An incoming row replaces a stored one only if its
+    // content differs and it is not older, so replaying an old export never undoes newer
+    // data. Rows without a content hash get one computed from the JSONB text; it differs from
+    // the application's hash, which just means the next refresh rewrites the row once.
+    private static final String MERGE = """
+            WITH merged AS (
+                INSERT INTO stock_overview AS o (symbol, data, content_hash, last_updated_at, last_checked_at)
+                SELECT DISTINCT ON (symbol)
+                       symbol, data,
+                       COALESCE(content_hash, encode(sha256(convert_to(data::text, 'UTF8')), 'hex')),
+                       COALESCE(last_updated_at, now()), last_checked_at
+                FROM stock_overview_staging
+                ORDER BY symbol, last_updated_at DESC NULLS LAST
+                ON CONFLICT (symbol) DO UPDATE SET
+                    data = EXCLUDED.data,
+                    data_bin = NULL,
+                    content_hash = EXCLUDED.content_hash,
+                    last_updated_at = EXCLUDED.last_updated_at,
+                    last_checked_at = GREATEST(o.last_checked_at, EXCLUDED.last_checked_at)
+                WHERE o.content_hash IS DISTINCT FROM EXCLUDED.content_hash
+                  AND o.last_updated_at <= EXCLUDED.last_updated_at
+                RETURNING xmax = 0 AS inserted
+            )
+            SELECT count(*) FILTER (WHERE inserted), count(*) FILTER (WHERE NOT inserted) FROM merged
+            """;
+
+    private final DataSource dataSource;
+
+    @Inject
+    public StockOverviewBulkLoader(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Writes every overview to {@code out} as CSV.
+     *
+     * @return the number of rows exported
+     */
+    public long export(OutputStream out) {
+        try (Connection connection = dataSource.getConnection()) {
+            long rows = copyManager(connection).copyOut(
+                    "COPY (SELECT " + COLUMNS + " FROM stock_overview ORDER BY symbol) "
+                            + "TO STDOUT WITH (FORMAT csv, HEADER)", out);
+            logger.info("Exported {} stock overviews", rows);
+            return rows;
+        } catch (SQLException | IOException e) {
+            logger.error("Bulk export of stock overviews failed", e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+
+    /**
+     * Loads CSV in the export format from {@code in} and merges it into stock_overview.
+     * Binary payloads of merged rows are cleared; reads fall back to the JSONB until the next
+     * write.
+     */
+    public ImportResult importFrom(InputStream in) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("""
+                            CREATE TEMP TABLE stock_overview_staging (
+                                symbol VARCHAR(10) NOT NULL,
+                                data JSONB NOT NULL,
+                                content_hash CHAR(64),
+                                last_updated_at TIMESTAMP,
+                                last_checked_at TIMESTAMP
+                            ) ON COMMIT DROP
+                            """);
+                }
+                long staged = copyManager(connection).copyIn(
+                        "COPY stock_overview_staging (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv, HEADER)", in);
+                ImportResult result;
+                try (Statement statement = connection.createStatement()) {
+                    // Temp tables are never auto-analyzed; without stats the merge plan is a guess
+                    statement.execute("ANALYZE stock_overview_staging");
+                    try (ResultSet rs = statement.executeQuery(MERGE)) {
+                        rs.next();
+                        result = new ImportResult(staged, rs.getLong(1), rs.getLong(2));
+                    }
+                }
+                connection.commit();
+                logger.info("Imported {} stock overviews: {} inserted, {} updated, {} unchanged or older",
+                        result.staged(), result.inserted(), result.updated(), result.skipped());
+                return result;
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException | IOException e) {
+            logger.error("Bulk import of stock overviews failed", e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+
+    private static CopyManager copyManager(Connection connection) throws SQLException {
+        return connection.unwrap(PGConnection.class).getCopyAPI();
+    }
+
+    /**
+     * Row counts of an import. Skipped rows were duplicates within the input, identical to the
+     * stored content, or older than it.
+     */
+    public record ImportResult(long staged, long inserted, long updated) {
+
+        public long skipped() {
+            return staged - inserted - updated;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.example.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.postgresql.PGProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * Listens on the {@code stock_overview_changed} channel, fed by a trigger on stock_overview,
+ * and tells a handler which symbols another node has changed or deleted.
+ *
+ * Uses its own connection outside the pool, since it is held for the life of the process.
+ * Notifications carry the writer's application_name; this node's own writes are skipped. After
+ * a lost connection the handler is asked to resync, because notifications sent while
+ * disconnected are gone.
+ */
+public class StockOverviewChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockOverviewChangeListener.class);
+
+    public static final String CHANNEL = "stock_overview_changed";
+    private static final int POLL_TIMEOUT_MILLIS = 10_000;
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 30_000;
+
+    /**
+     * Receives change events on the listener thread.
+     */
+    public interface Handler {
+        void overviewChanged(String symbol);
+
+        /**
+         * Called after (re)connecting when changes may have been missed.
+         */
+        void resync();
+    }
+
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final String localOrigin;
+    private final ObjectMapper objectMapper;
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread thread;
+
+    /**
+     * @param localOrigin application_name of this node's writer connections
+     */
+    public StockOverviewChangeListener(String jdbcUrl, String username, String password,
+                                       String localOrigin, ObjectMapper objectMapper) {
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+        this.localOrigin = localOrigin;
+        this.objectMapper = objectMapper;
+    }
+
+    public synchronized void start(Handler handler) {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(() -> run(handler), "overview-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        closeConnection();
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    public boolean isConnected() {
+        return connection != null;
+    }
+
+    private void run(Handler handler) {
+        long reconnectDelay = 1_000;
+        boolean connectedBefore = false;
+        while (running) {
+            try {
+                Connection conn = connect();
+                connection = conn;
+                if (connectedBefore) {
+                    handler.resync();
+                }
+                connectedBefore = true;
+                reconnectDelay = 1_000;
+                logger.info("Listening for stock overview changes on channel {}", CHANNEL);
+
+                PGConnection pgConnection = conn.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter(), handler);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                logger.warn("Stock overview change listener disconnected, retrying in {} ms",
+                        reconnectDelay, e);
+            } finally {
+                closeConnection();
+            }
+            sleep(reconnectDelay);
+            reconnectDelay = Math.min(MAX_RECONNECT_DELAY_MILLIS, reconnectDelay * 2);
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty(PGProperty.USER.getName(), username);
+        properties.setProperty(PGProperty.PASSWORD.getName(), password);
+        properties.setProperty(PGProperty.APPLICATION_NAME.getName(), localOrigin + "-listener");
+        // TCP keepalive so a silently dropped connection is noticed
+        properties.setProperty(PGProperty.TCP_KEEP_ALIVE.getName(), "true");
+        Connection conn = DriverManager.getConnection(jdbcUrl, properties);
+        try (Statement statement = conn.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        return conn;
+    }
+
+    private void dispatch(String payload, Handler handler) {
+        try {
+            JsonNode event = objectMapper.readTree(payload);
+            String origin = event.path("origin").asText(null);
+            if (localOrigin.equals(origin)) {
+                return;
+            }
+            String symbol = event.path("symbol").asText(null);
+            if (symbol != null) {
+                logger.debug("Stock overview {} for symbol {} by {}", event.path("op").asText(), symbol, origin);
+                handler.overviewChanged(symbol);
+            }
+        } catch (Exception e) {
+            logger.warn("Ignoring malformed stock overview change notification: {}", payload, e);
+        }
+    }
+
+    private void closeConnection() {
+        Connection conn = connection;
+        connection = null;
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                logger.debug("Error closing listener connection", e);
+            }
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
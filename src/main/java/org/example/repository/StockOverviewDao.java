@@ -5,24 +5,83 @@ import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
 
+import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.Optional;
 
 public interface StockOverviewDao {
 
-    @SqlUpdate("""
-        INSERT INTO stock_overview (symbol, data, last_updated_at)
-        VALUES (:symbol, CAST(:jsonData AS jsonb), now())
-        ON CONFLICT (symbol)
-        DO UPDATE SET data = EXCLUDED.data, last_updated_at = EXCLUDED.last_updated_at
+    /**
+     * Columns read by {@link StockOverviewRowMapper}. The JSONB is only rendered for rows
+     * without a binary payload.
+     */
+    String OVERVIEW_COLUMNS = "data_bin, CASE WHEN data_bin IS NULL THEN data END AS data";
+
+    /**
+     * Upserts overviews in one statement. Rows whose content hash is unchanged keep their data
+     * and last_updated_at, and only last_checked_at moves; since no indexed value changes, that
+     * is a HOT update. data_bin is always replaced, so it matches data or is NULL. Returns the
+     * symbols that were inserted or changed.
+     */
+    @SqlQuery("""
+        WITH upserted AS (
+            INSERT INTO stock_overview AS o (symbol, data, data_bin, content_hash, last_updated_at, last_checked_at)
+            SELECT symbol, CAST(json_data AS jsonb), data_bin, content_hash, now(), now()
+            FROM unnest(:symbols, :jsonData, :dataBin, :contentHashes)
+                AS t(symbol, json_data, data_bin, content_hash)
+            ON CONFLICT (symbol) DO UPDATE SET
+                data = CASE WHEN o.content_hash IS DISTINCT FROM EXCLUDED.content_hash
+                            THEN EXCLUDED.data ELSE o.data END,
+                data_bin = EXCLUDED.data_bin,
+                last_updated_at = CASE WHEN o.content_hash IS DISTINCT FROM EXCLUDED.content_hash
+                                       THEN EXCLUDED.last_updated_at ELSE o.last_updated_at END,
+                content_hash = EXCLUDED.content_hash,
+                last_checked_at = EXCLUDED.last_checked_at
+            RETURNING symbol, last_updated_at
+        )
+        SELECT symbol FROM upserted WHERE last_updated_at = now()::timestamp
         """)
-    void save(@Bind("symbol") String symbol, @Bind("jsonData") String jsonData);
+    List<String> upsertIfChanged(@Bind("symbols") String[] symbols, @Bind("jsonData") String[] jsonData,
+                                 @Bind("dataBin") byte[][] dataBin,
+                                 @Bind("contentHashes") String[] contentHashes);
 
-    @SqlQuery("SELECT data FROM stock_overview WHERE symbol = :symbol")
+    @SqlQuery("SELECT " + OVERVIEW_COLUMNS + " FROM stock_overview WHERE symbol = :symbol")
     Optional<StockOverview> findBySymbol(@Bind("symbol") String symbol);
 
-    @SqlQuery("SELECT data FROM stock_overview ORDER BY last_updated_at DESC")
+    /**
+     * Screener query, served by idx_stock_overview_sector_pe. Overviews without a P/E ratio
+     * sort last.
+     */
+    @SqlQuery("SELECT " + OVERVIEW_COLUMNS + " FROM stock_overview"
+            + " WHERE upper(data->>'sector') = upper(:sector)"
+            + " ORDER BY (data->>'PERatio')::numeric"
+            + " LIMIT :limit")
+    List<StockOverview> findBySector(@Bind("sector") String sector, @Bind("limit") int limit);
+
+    @SqlQuery("SELECT " + OVERVIEW_COLUMNS + " FROM stock_overview"
+            + " WHERE upper(data->>'sector') = upper(:sector)"
+            + " AND (data->>'PERatio')::numeric <= :maxPeRatio"
+            + " ORDER BY (data->>'PERatio')::numeric"
+            + " LIMIT :limit")
+    List<StockOverview> findBySectorWithMaxPeRatio(@Bind("sector") String sector,
+                                                   @Bind("maxPeRatio") BigDecimal maxPeRatio,
+                                                   @Bind("limit") int limit);
+
+    /**
+     * Of the given symbols, those whose stored content changed after the paired epoch millis,
+     * or that are no longer stored.
+     */
+    @SqlQuery("""
+        SELECT s.symbol
+        FROM unnest(:symbols, :sinceMillis) AS s(symbol, since_millis)
+        LEFT JOIN stock_overview o ON o.symbol = s.symbol
+        WHERE o.symbol IS NULL
+           OR o.last_updated_at > CAST(to_timestamp(s.since_millis / 1000.0) AS timestamp)
+        """)
+    List<String> findChangedSince(@Bind("symbols") String[] symbols, @Bind("sinceMillis") long[] sinceMillis);
+
+    @SqlQuery("SELECT " + OVERVIEW_COLUMNS + " FROM stock_overview ORDER BY last_updated_at DESC")
     List<StockOverview> findAll();
 
     @SqlUpdate("DELETE FROM stock_overview WHERE symbol = :symbol")
@@ -30,4 +89,7 @@ public interface StockOverviewDao {
 
     @SqlQuery("SELECT last_updated_at FROM stock_overview WHERE symbol = :symbol")
     Optional<Timestamp> getLastUpdatedTime(@Bind("symbol") String symbol);
+
+    @SqlQuery("SELECT COALESCE(last_checked_at, last_updated_at) FROM stock_overview WHERE symbol = :symbol")
+    Optional<Timestamp> getLastCheckedTime(@Bind("symbol") String symbol);
 }
\ No newline at end of file
@@ -4,34 +4,69 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import org.example.config.CacheConfig;
+import org.example.config.StorageConfig;
 import org.example.model.StockOverview;
+import org.example.model.compact.OverviewBinaryCodec;
 import org.jdbi.v3.core.Jdbi;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Singleton
 public class StockOverviewRepository {
     
     private static final Logger logger = LoggerFactory.getLogger(StockOverviewRepository.class);
+    private static final int SAVE_CHUNK_SIZE = 500;
     private final StockOverviewDao dao;
     private final ObjectMapper objectMapper;
+    private final Duration freshnessTtl;
+    private final boolean binaryPayload;
     
-    @Inject
     public StockOverviewRepository(Jdbi jdbi, ObjectMapper objectMapper) {
+        this(jdbi, objectMapper, CacheConfig.defaults(), StorageConfig.defaults());
+    }
+    
+    @Inject
+    public StockOverviewRepository(Jdbi jdbi, ObjectMapper objectMapper, CacheConfig cacheConfig,
+                                   StorageConfig storageConfig) {
         this.dao = jdbi.onDemand(StockOverviewDao.class);
         this.objectMapper = objectMapper;
+        this.freshnessTtl = cacheConfig.getOverviewTtl();
+        this.binaryPayload = storageConfig.isOverviewBinaryPayload();
     }
     
-    public void save(StockOverview stockOverview) {
+    /**
+     * Stores the overview if its content changed. An identical refresh only records that the
+     * data was checked, which keeps it fresh without rewriting the JSONB or notifying other nodes.
+     *
+     * @return true if the stored content changed
+     */
+    public boolean save(StockOverview stockOverview) {
         try {
             String jsonData = objectMapper.writeValueAsString(stockOverview);
-            dao.save(stockOverview.getSymbol(), jsonData);
-            logger.info("Successfully saved/updated stock overview for symbol: {}", stockOverview.getSymbol());
+            boolean changed = !dao.upsertIfChanged(new String[] {stockOverview.getSymbol()},
+                    new String[] {jsonData}, new byte[][] {binaryPayload(stockOverview)},
+                    new String[] {contentHash(jsonData)}).isEmpty();
+            if (changed) {
+                logger.info("Successfully saved/updated stock overview for symbol: {}", stockOverview.getSymbol());
+            } else {
+                logger.debug("Stock overview unchanged for symbol: {}", stockOverview.getSymbol());
+            }
+            return changed;
         } catch (JsonProcessingException e) {
             logger.error("Failed to serialize StockOverview to JSON for symbol: {}", stockOverview.getSymbol(), e);
             throw new RuntimeException("JSON serialization failed", e);
@@ -41,6 +76,48 @@ public class StockOverviewRepository {
         }
     }
     
+    /**
+     * Upserts overviews in batches, writing only those whose content changed. If a symbol
+     * appears more than once, the last overview wins.
+     *
+     * @return the symbols whose stored content changed
+     */
+    public List<String> saveAll(List<StockOverview> stockOverviews) {
+        if (stockOverviews.isEmpty()) {
+            return List.of();
+        }
+        try {
+            // One upsert statement cannot touch the same row twice
+            Map<String, StockOverview> bySymbol = new LinkedHashMap<>();
+            for (StockOverview stockOverview : stockOverviews) {
+                bySymbol.put(stockOverview.getSymbol(), stockOverview);
+            }
+            List<String> symbols = new ArrayList<>(bySymbol.keySet());
+            List<String> changed = new ArrayList<>();
+            for (int from = 0; from < symbols.size(); from += SAVE_CHUNK_SIZE) {
+                List<String> chunk = symbols.subList(from, Math.min(symbols.size(), from + SAVE_CHUNK_SIZE));
+                String[] jsonData = new String[chunk.size()];
+                byte[][] dataBin = new byte[chunk.size()][];
+                String[] contentHashes = new String[chunk.size()];
+                for (int i = 0; i < chunk.size(); i++) {
+                    StockOverview stockOverview = bySymbol.get(chunk.get(i));
+                    jsonData[i] = objectMapper.writeValueAsString(stockOverview);
+                    dataBin[i] = binaryPayload(stockOverview);
+                    contentHashes[i] = contentHash(jsonData[i]);
+                }
+                changed.addAll(dao.upsertIfChanged(chunk.toArray(new String[0]), jsonData, dataBin, contentHashes));
+            }
+            logger.info("Saved {} stock overviews ({} unchanged)", changed.size(), symbols.size() - changed.size());
+            return changed;
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize StockOverview batch to JSON", e);
+            throw new RuntimeException("JSON serialization failed", e);
+        } catch (Exception e) {
+            logger.error("Database error when saving {} stock overviews", stockOverviews.size(), e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+    
     public Optional<StockOverview> findBySymbol(String symbol) {
         try {
             Optional<StockOverview> result = dao.findBySymbol(symbol);
@@ -56,6 +133,47 @@ public class StockOverviewRepository {
         }
     }
     
+    /**
+     * Stored overviews in a sector, cheapest P/E first, optionally capped at a maximum P/E.
+     */
+    public List<StockOverview> screen(String sector, BigDecimal maxPeRatio, int limit) {
+        try {
+            return maxPeRatio == null
+                    ? dao.findBySector(sector, limit)
+                    : dao.findBySectorWithMaxPeRatio(sector, maxPeRatio, limit);
+        } catch (Exception e) {
+            logger.error("Database error when screening stock overviews for sector: {}", sector, e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+    
+    /**
+     * Checks copies of overviews held elsewhere, each loaded at the paired epoch millis, against
+     * the stored rows.
+     *
+     * @return the symbols whose stored content changed since their copy was loaded, or that
+     *         were deleted
+     */
+    public List<String> findChangedSince(Map<String, Long> loadedAtMillisBySymbol) {
+        if (loadedAtMillisBySymbol.isEmpty()) {
+            return List.of();
+        }
+        try {
+            String[] symbols = new String[loadedAtMillisBySymbol.size()];
+            long[] sinceMillis = new long[symbols.length];
+            int i = 0;
+            for (Map.Entry<String, Long> entry : loadedAtMillisBySymbol.entrySet()) {
+                symbols[i] = entry.getKey();
+                sinceMillis[i++] = entry.getValue();
+            }
+            return dao.findChangedSince(symbols, sinceMillis);
+        } catch (Exception e) {
+            logger.error("Database error when checking {} stock overviews for changes",
+                    loadedAtMillisBySymbol.size(), e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+    
     public List<StockOverview> findAll() {
         try {
             List<StockOverview> stockOverviews = dao.findAll();
@@ -92,16 +210,28 @@ public class StockOverviewRepository {
         }
     }
     
+    /**
+     * When the stored overview was last confirmed against upstream, changed or not.
+     */
+    public Optional<Timestamp> getLastCheckedTime(String symbol) {
+        try {
+            return dao.getLastCheckedTime(symbol);
+        } catch (Exception e) {
+            logger.error("Database error when getting last checked time for symbol: {}", symbol, e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+    
     public boolean isDataStale(String symbol) {
-        Optional<Timestamp> lastUpdated = getLastUpdatedTime(symbol);
+        Optional<Timestamp> lastUpdated = getLastCheckedTime(symbol);
         if (lastUpdated.isEmpty()) {
             return true; // No data exists, so it's stale
         }
         
         LocalDateTime lastUpdatedTime = lastUpdated.get().toLocalDateTime();
-        LocalDateTime twentyFourHoursAgo = LocalDateTime.now().minusHours(24);
+        LocalDateTime freshnessCutoff = LocalDateTime.now().minus(freshnessTtl);
         
-        boolean stale = lastUpdatedTime.isBefore(twentyFourHoursAgo);
+        boolean stale = lastUpdatedTime.isBefore(freshnessCutoff);
         logger.debug("Data for symbol {} is {}stale. Last updated: {}", 
                     symbol, stale ? "" : "not ", lastUpdatedTime);
         
@@ -115,4 +245,17 @@ public class StockOverviewRepository {
         }
         return findBySymbol(symbol);
     }
+    
+    private byte[] binaryPayload(StockOverview stockOverview) {
+        return binaryPayload ? OverviewBinaryCodec.encode(stockOverview) : null;
+    }
+    
+    static String contentHash(String jsonData) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(jsonData.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
\ No newline at end of file
@@ -2,12 +2,18 @@ package org.example.repository;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.model.StockOverview;
+import org.example.model.compact.OverviewBinaryCodec;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.statement.StatementContext;
 
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 
+/**
+ * Maps overview rows from the binary payload (data_bin) when the query selects it and the row
+ * has one, and from the JSONB data column otherwise.
+ */
 public class StockOverviewRowMapper implements RowMapper<StockOverview> {
     
     private final ObjectMapper objectMapper;
@@ -18,11 +24,42 @@ public class StockOverviewRowMapper implements RowMapper<StockOverview> {
     
     @Override
     public StockOverview map(ResultSet rs, StatementContext ctx) throws SQLException {
-        try {
-            String jsonData = rs.getString("data");
-            return objectMapper.readValue(jsonData, StockOverview.class);
-        } catch (Exception e) {
-            throw new SQLException("Failed to deserialize StockOverview from JSON", e);
+        return specialize(rs, ctx).map(rs, ctx);
+    }
+    
+    /**
+     * Resolves column positions once per result set rather than by name on every row.
+     */
+    @Override
+    public RowMapper<StockOverview> specialize(ResultSet rs, StatementContext ctx) throws SQLException {
+        int binaryColumn = findColumn(rs, "data_bin");
+        int jsonColumn = findColumn(rs, "data");
+        return (row, context) -> {
+            if (binaryColumn > 0) {
+                byte[] payload = row.getBytes(binaryColumn);
+                if (payload != null) {
+                    try {
+                        return OverviewBinaryCodec.decode(payload);
+                    } catch (IllegalArgumentException e) {
+                        throw new SQLException("Failed to decode StockOverview binary payload", e);
+                    }
+                }
+            }
+            try {
+                return objectMapper.readValue(row.getString(jsonColumn), StockOverview.class);
+            } catch (Exception e) {
+                throw new SQLException("Failed to deserialize StockOverview from JSON", e);
+            }
+        };
+    }
+    
+    private static int findColumn(ResultSet rs, String name) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (name.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                return i;
+            }
         }
+        return 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,103 @@
+package org.example.repository;
+
+import org.example.model.PriceBar;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindBean;
+import org.jdbi.v3.sqlobject.statement.BatchChunkSize;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Access to the partitioned stock_price table.
+ *
+ * bar_time is stored as a UTC timestamp; epoch milliseconds are converted in SQL so the
+ * range predicates stay sargable and partition pruning still applies.
+ */
+public interface StockPriceDao {
+
+    @SqlBatch("""
+        INSERT INTO stock_price (symbol, bar_interval, bar_time, open, high, low, close, volume)
+        VALUES (:symbol, :interval, (to_timestamp(:timestamp / 1000.0) AT TIME ZONE 'UTC'),
+                :open, :high, :low, :close, :volume)
+        ON CONFLICT (symbol, bar_interval, bar_time)
+        DO UPDATE SET open = EXCLUDED.open, high = EXCLUDED.high, low = EXCLUDED.low,
+                      close = EXCLUDED.close, volume = EXCLUDED.volume
+        """)
+    @BatchChunkSize(1000)
+    void saveAll(@BindBean List<PriceBar> bars);
+
+    @SqlQuery("""
+        SELECT symbol, bar_interval, (EXTRACT(EPOCH FROM bar_time) * 1000)::bigint,
+               open, high, low, close, volume
+        FROM stock_price
+        WHERE symbol = :symbol
+          AND bar_interval = :interval
+          AND bar_time >= (to_timestamp(:fromMillis / 1000.0) AT TIME ZONE 'UTC')
+          AND bar_time < (to_timestamp(:toMillis / 1000.0) AT TIME ZONE 'UTC')
+        ORDER BY bar_time
+        """)
+    List<PriceBar> findRange(@Bind("symbol") String symbol,
+                             @Bind("interval") String interval,
+                             @Bind("fromMillis") long fromMillis,
+                             @Bind("toMillis") long toMillis);
+
+    @SqlQuery("""
+        SELECT symbol, :bucketLabel,
+               (EXTRACT(EPOCH FROM bucket_time) * 1000)::bigint,
+               (array_agg(open ORDER BY bar_time))[1], max(high), min(low),
+               (array_agg(close ORDER BY bar_time DESC))[1], sum(volume)::bigint
+        FROM (
+            SELECT symbol, bar_time, open, high, low, close, volume,
+                   date_bin(make_interval(secs => :bucketSeconds), bar_time, TIMESTAMP '1970-01-01') AS bucket_time
+            FROM stock_price
+            WHERE symbol = :symbol
+              AND bar_interval = :interval
+              AND bar_time >= (to_timestamp(:fromMillis / 1000.0) AT TIME ZONE 'UTC')
+              AND bar_time < (to_timestamp(:toMillis / 1000.0) AT TIME ZONE 'UTC')
+        ) bars
+        GROUP BY symbol, bucket_time
+        ORDER BY bucket_time
+        """)
+    List<PriceBar> findDownsampledFixed(@Bind("symbol") String symbol,
+                                        @Bind("interval") String interval,
+                                        @Bind("fromMillis") long fromMillis,
+                                        @Bind("toMillis") long toMillis,
+                                        @Bind("bucketSeconds") long bucketSeconds,
+                                        @Bind("bucketLabel") String bucketLabel);
+
+    @SqlQuery("""
+        SELECT symbol, :bucketLabel,
+               (EXTRACT(EPOCH FROM bucket_time) * 1000)::bigint,
+               (array_agg(open ORDER BY bar_time))[1], max(high), min(low),
+               (array_agg(close ORDER BY bar_time DESC))[1], sum(volume)::bigint
+        FROM (
+            SELECT symbol, bar_time, open, high, low, close, volume,
+                   date_trunc(:calendarUnit, bar_time) AS bucket_time
+            FROM stock_price
+            WHERE symbol = :symbol
+              AND bar_interval = :interval
+              AND bar_time >= (to_timestamp(:fromMillis / 1000.0) AT TIME ZONE 'UTC')
+              AND bar_time < (to_timestamp(:toMillis / 1000.0) AT TIME ZONE 'UTC')
+        ) bars
+        GROUP BY symbol, bucket_time
+        ORDER BY bucket_time
+        """)
+    List<PriceBar> findDownsampledCalendar(@Bind("symbol") String symbol,
+                                           @Bind("interval") String interval,
+                                           @Bind("fromMillis") long fromMillis,
+                                           @Bind("toMillis") long toMillis,
+                                           @Bind("calendarUnit") String calendarUnit,
+                                           @Bind("bucketLabel") String bucketLabel);
+
+    @SqlQuery("""
+        SELECT (EXTRACT(EPOCH FROM bar_time) * 1000)::bigint
+        FROM stock_price
+        WHERE symbol = :symbol AND bar_interval = :interval
+        ORDER BY bar_time DESC
+        LIMIT 1
+        """)
+    Optional<Long> findLatestBarTime(@Bind("symbol") String symbol, @Bind("interval") String interval);
+}
@@ -0,0 +1,119 @@
+package org.example.repository;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.example.model.HistoryBucket;
+import org.example.model.PriceBar;
+import org.example.model.PriceInterval;
+import org.jdbi.v3.core.Jdbi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Repository for price history stored in the month-partitioned stock_price table.
+ */
+@Singleton
+public class StockPriceRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockPriceRepository.class);
+    private final Jdbi jdbi;
+    private final StockPriceDao dao;
+    private final Set<YearMonth> knownPartitions = ConcurrentHashMap.newKeySet();
+
+    @Inject
+    public StockPriceRepository(Jdbi jdbi) {
+        this.jdbi = jdbi;
+        this.dao = jdbi.onDemand(StockPriceDao.class);
+    }
+
+    /**
+     * Upserts bars in batches, creating any monthly partitions they need first.
+     */
+    public void saveAll(List<PriceBar> bars) {
+        if (bars.isEmpty()) {
+            return;
+        }
+        try {
+            Set<YearMonth> months = new TreeSet<>();
+            for (PriceBar bar : bars) {
+                months.add(YearMonth.from(Instant.ofEpochMilli(bar.getTimestamp()).atZone(ZoneOffset.UTC)));
+            }
+            months.forEach(this::ensurePartition);
+            dao.saveAll(bars);
+            logger.info("Saved {} price bars for symbol: {}", bars.size(), bars.get(0).getSymbol());
+        } catch (Exception e) {
+            logger.error("Database error when saving price bars for symbol: {}", bars.get(0).getSymbol(), e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+
+    public List<PriceBar> findRange(String symbol, PriceInterval interval, long fromMillis, long toMillis) {
+        try {
+            return dao.findRange(symbol, interval.getLabel(), fromMillis, toMillis);
+        } catch (Exception e) {
+            logger.error("Database error when reading price history for symbol: {}", symbol, e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+
+    public List<PriceBar> findDownsampled(String symbol, PriceInterval interval, long fromMillis,
+                                          long toMillis, HistoryBucket bucket) {
+        try {
+            if (bucket.isCalendar()) {
+                return dao.findDownsampledCalendar(symbol, interval.getLabel(), fromMillis, toMillis,
+                        bucket.getCalendarUnit(), bucket.getLabel());
+            }
+            return dao.findDownsampledFixed(symbol, interval.getLabel(), fromMillis, toMillis,
+                    bucket.getFixedSeconds(), bucket.getLabel());
+        } catch (Exception e) {
+            logger.error("Database error when downsampling price history for symbol: {}", symbol, e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+
+    /**
+     * Returns the start time of the most recent stored bar, in epoch milliseconds.
+     */
+    public Optional<Long> findLatestBarTime(String symbol, PriceInterval interval) {
+        try {
+            return dao.findLatestBarTime(symbol, interval.getLabel());
+        } catch (Exception e) {
+            logger.error("Database error when reading latest bar time for symbol: {}", symbol, e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+
+    private void ensurePartition(YearMonth month) {
+        if (knownPartitions.contains(month)) {
+            return;
+        }
+        String partitionName = String.format("stock_price_p%04d%02d", month.getYear(), month.getMonthValue());
+        String ddl = String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF stock_price FOR VALUES FROM ('%s') TO ('%s')",
+                partitionName, month.atDay(1), month.plusMonths(1).atDay(1));
+        try {
+            jdbi.useHandle(handle -> handle.execute(ddl));
+            logger.debug("Ensured price history partition {}", partitionName);
+        } catch (Exception e) {
+            // Another node may have created it concurrently; only fail if it is still missing
+            boolean exists = jdbi.withHandle(handle -> handle
+                    .createQuery("SELECT to_regclass(:name) IS NOT NULL")
+                    .bind("name", partitionName)
+                    .mapTo(Boolean.class)
+                    .one());
+            if (!exists) {
+                throw e;
+            }
+        }
+        knownPartitions.add(month);
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.repository;
+
+import org.example.model.StockInfo;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+import java.util.Optional;
+
+public interface StockQuoteDao {
+
+    @SqlUpdate("""
+        INSERT INTO stock_quote (symbol, data, last_updated_at)
+        VALUES (:symbol, CAST(:jsonData AS jsonb), now())
+        ON CONFLICT (symbol)
+        DO UPDATE SET data = EXCLUDED.data, last_updated_at = EXCLUDED.last_updated_at
+        """)
+    void save(@Bind("symbol") String symbol, @Bind("jsonData") String jsonData);
+
+    @SqlQuery("""
+        SELECT data FROM stock_quote
+        WHERE symbol = :symbol
+          AND last_updated_at > now() - make_interval(secs => :maxAgeSeconds)
+        """)
+    Optional<StockInfo> findBySymbolNewerThan(@Bind("symbol") String symbol,
+                                              @Bind("maxAgeSeconds") double maxAgeSeconds);
+
+    @SqlUpdate("DELETE FROM stock_quote WHERE symbol = :symbol")
+    int deleteBySymbol(@Bind("symbol") String symbol);
+}
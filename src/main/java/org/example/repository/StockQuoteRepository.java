@@ -0,0 +1,65 @@
+package org.example.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.example.model.StockInfo;
+import org.jdbi.v3.core.Jdbi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Optional Postgres-backed tier for GLOBAL_QUOTE data, shared between nodes and restarts.
+ */
+@Singleton
+public class StockQuoteRepository {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StockQuoteRepository.class);
+    private final StockQuoteDao dao;
+    private final ObjectMapper objectMapper;
+    
+    @Inject
+    public StockQuoteRepository(Jdbi jdbi, ObjectMapper objectMapper) {
+        this.dao = jdbi.onDemand(StockQuoteDao.class);
+        this.objectMapper = objectMapper;
+    }
+    
+    public void save(StockInfo stockInfo) {
+        try {
+            String jsonData = objectMapper.writeValueAsString(stockInfo);
+            dao.save(stockInfo.getSymbol(), jsonData);
+            logger.debug("Saved stock quote for symbol: {}", stockInfo.getSymbol());
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize StockInfo to JSON for symbol: {}", stockInfo.getSymbol(), e);
+            throw new RuntimeException("JSON serialization failed", e);
+        } catch (Exception e) {
+            logger.error("Database error when saving stock quote for symbol: {}", stockInfo.getSymbol(), e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+    
+    /**
+     * Returns the stored quote if it was written less than {@code maxAge} ago.
+     */
+    public Optional<StockInfo> findBySymbolIfFresh(String symbol, Duration maxAge) {
+        try {
+            return dao.findBySymbolNewerThan(symbol, maxAge.toMillis() / 1000.0);
+        } catch (Exception e) {
+            logger.error("Database error when finding stock quote for symbol: {}", symbol, e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+    
+    public boolean deleteBySymbol(String symbol) {
+        try {
+            return dao.deleteBySymbol(symbol) > 0;
+        } catch (Exception e) {
+            logger.error("Database error when deleting stock quote for symbol: {}", symbol, e);
+            throw new RuntimeException("Database operation failed", e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.service;
+import org.example.model.IndicatorSnapshot;
+import org.example.model.PriceInterval;
+
+/**
+ * Service interface for technical indicators computed over price history
+ */
+public interface IndicatorService {
+  IndicatorSnapshot getIndicators(String symbol, PriceInterval interval, int window);
+}
@@ -0,0 +1,18 @@
+package org.example.service;
+import java.util.List;
+import org.example.model.IngestionStatus;
+
+/**
+ * Service interface for bulk ingestion of stock overviews
+ */
+public interface IngestionService {
+  int enqueue(List<String> symbols);
+
+  int enqueueUniverse();
+
+  void start();
+
+  void stop();
+
+  IngestionStatus getStatus();
+}
@@ -1,4 +1,9 @@
 package org.example.service;
+import java.math.BigDecimal;
+import java.util.List;
+import org.example.model.HistoryBucket;
+import org.example.model.PriceBar;
+import org.example.model.PriceInterval;
 import org.example.model.StockInfo;
 import org.example.model.StockOverview;
 
@@ -7,5 +12,57 @@ import org.example.model.StockOverview;
  */
 public interface StockService {
   StockInfo getStockInfo(String symbol);
+
+  /**
+   * Same as {@link #getStockInfo}, for background refreshes: an upstream call it needs waits
+   * behind user requests.
+   */
+  StockInfo prefetchStockInfo(String symbol);
+
   StockOverview getOverview(String symbol);
+
+  /**
+   * Price bars in [fromMillis, toMillis), oldest first.
+   */
+  List<PriceBar> getPriceHistory(String symbol, PriceInterval interval, long fromMillis, long toMillis);
+
+  /**
+   * Price bars in [fromMillis, toMillis) aggregated into OHLCV buckets, oldest first.
+   */
+  List<PriceBar> getPriceHistory(String symbol, PriceInterval interval, long fromMillis, long toMillis,
+      HistoryBucket bucket);
+
+  /**
+   * Stored overviews in a sector, cheapest P/E first. Served from the database only; symbols
+   * that were never loaded are not included.
+   */
+  List<StockOverview> screenOverviews(String sector, BigDecimal maxPeRatio, int limit);
+
+  /**
+   * Drops any in-process copy of the symbol's overview, e.g. after another node changed it.
+   */
+  void invalidateOverview(String symbol);
+
+  /**
+   * Drops all in-process overviews.
+   */
+  void invalidateAllOverviews();
+
+  /**
+   * Restores in-process overviews from the local snapshot file, if one is configured, without
+   * waiting for the database, and from then on rewrites the file periodically.
+   */
+  void startOverviewSnapshots();
+
+  /**
+   * Stops the periodic snapshot and writes a final one, so the next start is warm.
+   */
+  void stopOverviewSnapshots();
+
+  /**
+   * Writes the in-process overviews to the local snapshot file now.
+   *
+   * @return the number of overviews written; 0 when snapshots are off
+   */
+  int saveOverviewSnapshot();
 }
\ No newline at end of file
@@ -0,0 +1,268 @@
+package org.example.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.example.model.PriceBar;
+import org.example.model.PriceInterval;
+import org.example.model.StockInfo;
+import org.example.model.StockOverview;
+import org.example.provider.UpstreamRateLimitException;
+import org.example.symbol.UnknownSymbolException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses Alpha Vantage payloads into model objects.
+ *
+ * Strict: API errors and unparseable payloads throw, rate-limit notes throw
+ * {@link UpstreamRateLimitException} and empty answers for unknown symbols throw
+ * {@link UnknownSymbolException}. Callers decide whether to fall back.
+ */
+public class AlphaVantagePayloadParser {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AlphaVantagePayloadParser.class);
+
+  private static final DateTimeFormatter INTRADAY_TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  private final ObjectMapper objectMapper;
+
+  public AlphaVantagePayloadParser(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  public StockInfo parseQuote(String jsonResponse, String symbol) {
+    JsonNode root = readTree(jsonResponse);
+    JsonNode quote = root.get("Global Quote");
+
+    if (quote == null || quote.isEmpty()) {
+      checkForApiError(root);
+      if (quote != null) {
+        // Unknown symbols come back as an empty quote
+        throw new UnknownSymbolException(symbol);
+      }
+      throw new RuntimeException("Invalid response format from Alpha Vantage API");
+    }
+
+    StockInfo stockInfo = new StockInfo();
+    stockInfo.setSymbol(quote.get("01. symbol").asText());
+    stockInfo.setOpen(new BigDecimal(quote.get("02. open").asText()));
+    stockInfo.setHigh(new BigDecimal(quote.get("03. high").asText()));
+    stockInfo.setLow(new BigDecimal(quote.get("04. low").asText()));
+    stockInfo.setPrice(new BigDecimal(quote.get("05. price").asText()));
+    stockInfo.setVolume(quote.get("06. volume").asLong());
+    stockInfo.setPreviousClose(new BigDecimal(quote.get("08. previous close").asText()));
+    stockInfo.setChange(new BigDecimal(quote.get("09. change").asText()));
+    stockInfo.setChangePercent(parseChangePercent(quote.get("10. change percent").asText()));
+
+    LOGGER.info("Successfully parsed stock data for: {}", symbol);
+    return stockInfo;
+  }
+
+  public StockOverview parseOverview(String jsonResponse, String symbol) {
+    JsonNode root = readTree(jsonResponse);
+    checkForApiError(root);
+    if (getJsonText(root, "Symbol") == null) {
+      // Unknown symbols come back as an empty object, and so do listed funds such as ETFs
+      if (root.isObject() && root.isEmpty()) {
+        throw new UnknownSymbolException(symbol, "OVERVIEW");
+      }
+      throw new RuntimeException("No overview data from Alpha Vantage API for " + symbol);
+    }
+
+    StockOverview overview = new StockOverview();
+    overview.setSymbol(getJsonText(root, "Symbol"));
+    overview.setName(getJsonText(root, "Name"));
+    overview.setExchange(getJsonText(root, "Exchange"));
+    overview.setCurrency(getJsonText(root, "Currency"));
+    overview.setCountry(getJsonText(root, "Country"));
+    overview.setSector(getJsonText(root, "Sector"));
+    overview.setIndustry(getJsonText(root, "Industry"));
+
+    // Valuation metrics
+    overview.setPeRatio(parseDecimalField(root, "PERatio"));
+    overview.setPriceToBookRatio(parseDecimalField(root, "PriceToBookRatio"));
+    overview.setPegRatio(parseDecimalField(root, "PEGRatio"));
+
+    // Profitability metrics
+    overview.setReturnOnEquityTTM(parseDecimalField(root, "ReturnOnEquityTTM"));
+    overview.setReturnOnAssetsTTM(parseDecimalField(root, "ReturnOnAssetsTTM"));
+    overview.setProfitMargin(parseDecimalField(root, "ProfitMargin"));
+    overview.setOperatingMarginTTM(parseDecimalField(root, "OperatingMarginTTM"));
+
+    // Financial health metrics
+    overview.setCurrentRatio(parseDecimalField(root, "CurrentRatio"));
+    overview.setDebtToEquityRatio(parseDecimalField(root, "DebtToEquityRatio"));
+    overview.setQuickRatio(parseDecimalField(root, "QuickRatio"));
+
+    // Growth metrics
+    overview.setQuarterlyRevenueGrowthYOY(parseDecimalField(root, "QuarterlyRevenueGrowthYOY"));
+    overview.setQuarterlyEarningsGrowthYOY(parseDecimalField(root, "QuarterlyEarningsGrowthYOY"));
+
+    // Risk metrics
+    overview.setBeta(parseDecimalField(root, "Beta"));
+
+    LOGGER.info("Successfully parsed stock overview for: {}", symbol);
+    return overview;
+  }
+
+  public List<PriceBar> parseTimeSeries(String jsonResponse, String symbol,
+      PriceInterval interval) {
+    JsonNode root = readTree(jsonResponse);
+    JsonNode series = root.get(interval.getSeriesKey());
+
+    if (series == null || !series.isObject()) {
+      checkForApiError(root);
+      throw new RuntimeException("Invalid time series response format from Alpha Vantage API");
+    }
+
+    ZoneId zone = findSeriesTimeZone(root.get("Meta Data"));
+    List<PriceBar> bars = new ArrayList<>(series.size());
+    Iterator<Map.Entry<String, JsonNode>> fields = series.fields();
+    while (fields.hasNext()) {
+      Map.Entry<String, JsonNode> field = fields.next();
+      JsonNode bar = field.getValue();
+      bars.add(new PriceBar(symbol, interval.getLabel(),
+          parseBarTimestamp(field.getKey(), interval, zone),
+          bar.get("1. open").asDouble(),
+          bar.get("2. high").asDouble(),
+          bar.get("3. low").asDouble(),
+          bar.get("4. close").asDouble(),
+          bar.get("5. volume").asLong()));
+    }
+    LOGGER.info("Successfully parsed {} price bars for: {}", bars.size(), symbol);
+    return bars;
+  }
+
+  /**
+   * Parses the LISTING_STATUS CSV into active common-stock symbols.
+   */
+  public List<String> parseListingStatus(String csv) {
+    return parseListings(csv, true);
+  }
+
+  /**
+   * Parses the LISTING_STATUS CSV into all active symbols, ETFs included.
+   */
+  public List<String> parseActiveListings(String csv) {
+    return parseListings(csv, false);
+  }
+
+  private List<String> parseListings(String csv, boolean stocksOnly) {
+    String trimmed = csv.trim();
+    if (trimmed.startsWith("{")) {
+      checkForApiError(readTree(trimmed));
+      throw new RuntimeException("Invalid listing status response from Alpha Vantage API");
+    }
+    List<String> symbols = new ArrayList<>();
+    Iterator<String> lines = trimmed.lines().iterator();
+    if (!lines.hasNext()) {
+      return symbols;
+    }
+    // symbol,name,exchange,assetType,ipoDate,delistingDate,status
+    List<String> header = List.of(lines.next().trim().split(","));
+    int symbolColumn = header.indexOf("symbol");
+    int assetTypeColumn = header.indexOf("assetType");
+    int statusColumn = header.indexOf("status");
+    if (symbolColumn < 0) {
+      throw new RuntimeException("Listing status response has no symbol column");
+    }
+    while (lines.hasNext()) {
+      // Names may contain commas, but symbol, assetType and status never do; read them from
+      // the ends of the row
+      String[] columns = lines.next().split(",", -1);
+      if (columns.length < header.size()) {
+        continue;
+      }
+      int shift = columns.length - header.size();
+      String symbol = columns[symbolColumn].trim();
+      String assetType = assetTypeColumn < 0 ? "Stock" : columns[assetTypeColumn + shift].trim();
+      String status = statusColumn < 0 ? "Active" : columns[statusColumn + shift].trim();
+      if (!symbol.isEmpty() && (!stocksOnly || "Stock".equalsIgnoreCase(assetType))
+          && "Active".equalsIgnoreCase(status)) {
+        symbols.add(symbol.toUpperCase());
+      }
+    }
+    return symbols;
+  }
+
+  private JsonNode readTree(String jsonResponse) {
+    try {
+      return objectMapper.readTree(jsonResponse);
+    } catch (IOException e) {
+      LOGGER.debug("Response body: {}", jsonResponse);
+      throw new RuntimeException("Failed to parse Alpha Vantage response", e);
+    }
+  }
+
+  private void checkForApiError(JsonNode root) {
+    JsonNode errorMessage = root.get("Error Message");
+    if (errorMessage != null) {
+      throw new RuntimeException("API Error: " + errorMessage.asText());
+    }
+    JsonNode note = root.has("Note") ? root.get("Note") : root.get("Information");
+    if (note != null) {
+      throw new UpstreamRateLimitException("API rate limit reached: " + note.asText());
+    }
+  }
+
+  private ZoneId findSeriesTimeZone(JsonNode metaData) {
+    if (metaData != null) {
+      Iterator<Map.Entry<String, JsonNode>> fields = metaData.fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> field = fields.next();
+        if (field.getKey().endsWith("Time Zone")) {
+          try {
+            return ZoneId.of(field.getValue().asText());
+          } catch (RuntimeException e) {
+            LOGGER.debug("Unknown time zone in time series metadata: {}", field.getValue().asText());
+          }
+        }
+      }
+    }
+    return ZoneId.of("US/Eastern");
+  }
+
+  private long parseBarTimestamp(String value, PriceInterval interval, ZoneId zone) {
+    if (!interval.isIntraday()) {
+      // Daily bars are dates; keep them at midnight UTC so they never shift a day
+      return LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+    }
+    return LocalDateTime.parse(value, INTRADAY_TIMESTAMP).atZone(zone).toInstant().toEpochMilli();
+  }
+
+  private BigDecimal parseChangePercent(String changePercentStr) {
+    // Remove the % sign and convert to decimal
+    String cleanPercent = changePercentStr.replace("%", "");
+    return new BigDecimal(cleanPercent);
+  }
+
+  private String getJsonText(JsonNode root, String fieldName) {
+    JsonNode node = root.get(fieldName);
+    return (node != null && !node.isNull()) ? node.asText() : null;
+  }
+
+  private BigDecimal parseDecimalField(JsonNode root, String fieldName) {
+    JsonNode node = root.get(fieldName);
+    if (node == null || node.isNull() || "None".equals(node.asText()) || node.asText().trim().isEmpty()) {
+      return null;
+    }
+    try {
+      return new BigDecimal(node.asText());
+    } catch (NumberFormatException e) {
+      LOGGER.debug("Could not parse {} as decimal: {}", fieldName, node.asText());
+      return null;
+    }
+  }
+}
@@ -1,271 +1,702 @@
 package org.example.service.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.io.IOException;
 import java.math.BigDecimal;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import org.example.cache.AccessFrequencyTracker;
+import org.example.cache.OverviewSnapshotFile;
+import org.example.cache.TtlCache;
+import org.example.config.CacheConfig;
+import org.example.config.SnapshotConfig;
+import org.example.model.HistoryBucket;
+import org.example.model.PriceBar;
+import org.example.model.PriceInterval;
 import org.example.model.StockInfo;
 import org.example.model.StockOverview;
+import org.example.model.compact.CompactStockInfo;
+import org.example.model.compact.CompactStockOverview;
+import org.example.provider.CircuitOpenException;
+import org.example.provider.MarketDataProvider;
+import org.example.provider.MarketDataRequest;
+import org.example.provider.UpstreamRateLimitException;
+import org.example.repository.DatabaseHealth;
+import org.example.repository.DatabaseUnavailableException;
+import org.example.repository.RefreshLeaseRepository;
 import org.example.repository.StockOverviewRepository;
+import org.example.repository.StockPriceRepository;
+import org.example.repository.StockQuoteRepository;
 import org.example.service.StockService;
+import org.example.symbol.SymbolDirectory;
+import org.example.symbol.Symbols;
+import org.example.symbol.UnknownSymbolException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Alpha Vantage implementation of StockService
+ * Alpha Vantage implementation of StockService.
+ *
+ * Payloads come from the configured {@link MarketDataProvider} (the live HTTP API or a local
+ * replay directory); this class parses them and owns caching and persistence.
  */
 @Singleton
 public class AlphaVantageStockService implements StockService {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(AlphaVantageStockService.class);
 
-  private static final String BASE_URL = "https://www.alphavantage.co/query";
-  private static final String API_KEY = System.getenv("ALPHA_VANTAGE_API_KEY");
+  private static final int MOCK_HISTORY_BARS = 250;
+  private static final long LEASE_POLL_INTERVAL_MILLIS = 100;
+  private static final long SNAPSHOT_VERIFY_RETRY_MILLIS = 5_000;
 
-  private final HttpClient httpClient;
-  private final ObjectMapper objectMapper;
+  private final AlphaVantagePayloadParser payloadParser;
   private final StockOverviewRepository stockOverviewRepository;
+  private final StockQuoteRepository stockQuoteRepository;
+  private final StockPriceRepository stockPriceRepository;
+  private final RefreshLeaseRepository refreshLeaseRepository;
+  private final CacheConfig cacheConfig;
+  private final SnapshotConfig snapshotConfig;
+  private final DatabaseHealth databaseHealth;
+  private final OverviewWriteBuffer pendingOverviewWrites;
+  private final SymbolDirectory symbolDirectory;
+  private final MarketDataProvider marketDataProvider;
+  private final TtlCache<String, CompactStockInfo> quoteCache;
+  private final TtlCache<String, CompactStockOverview> overviewCache;
+  private final TtlCache<String, Boolean> historyRefreshChecks;
+  // Overviews restored from the snapshot and not yet checked against Postgres, with the time
+  // each copy was originally loaded
+  private final Map<String, Long> unverifiedOverviews = new ConcurrentHashMap<>();
+  private ScheduledExecutorService snapshotExecutor;
 
   @Inject
-  public AlphaVantageStockService(ObjectMapper objectMapper, StockOverviewRepository stockOverviewRepository) {
-    this.httpClient = HttpClient.newBuilder()
-        .connectTimeout(Duration.ofSeconds(10))
-        .build();
-    this.objectMapper = objectMapper;
+  public AlphaVantageStockService(ObjectMapper objectMapper,
+      StockOverviewRepository stockOverviewRepository,
+      StockQuoteRepository stockQuoteRepository,
+      StockPriceRepository stockPriceRepository,
+      RefreshLeaseRepository refreshLeaseRepository,
+      CacheConfig cacheConfig,
+      SnapshotConfig snapshotConfig,
+      DatabaseHealth databaseHealth,
+      OverviewWriteBuffer pendingOverviewWrites,
+      AccessFrequencyTracker accessFrequencyTracker,
+      SymbolDirectory symbolDirectory,
+      MarketDataProvider marketDataProvider) {
+    this.payloadParser = new AlphaVantagePayloadParser(objectMapper);
     this.stockOverviewRepository = stockOverviewRepository;
+    this.stockQuoteRepository = stockQuoteRepository;
+    this.stockPriceRepository = stockPriceRepository;
+    this.refreshLeaseRepository = refreshLeaseRepository;
+    this.cacheConfig = cacheConfig;
+    this.snapshotConfig = snapshotConfig;
+    this.databaseHealth = databaseHealth;
+    this.pendingOverviewWrites = pendingOverviewWrites;
+    this.symbolDirectory = symbolDirectory;
+    this.marketDataProvider = marketDataProvider;
+    // Popular symbols stay cached when the caches are full
+    ToIntFunction<String> frequency = accessFrequencyTracker.isEnabled()
+        ? accessFrequencyTracker::frequency : null;
+    this.quoteCache = new TtlCache<>(cacheConfig.getQuoteTtl().toMillis(),
+        cacheConfig.getQuoteMaxEntries(), System::currentTimeMillis, frequency);
+    this.overviewCache = new TtlCache<>(cacheConfig.getOverviewMemoryTtl().toMillis(),
+        cacheConfig.getOverviewMaxEntries(), System::currentTimeMillis, frequency);
+    this.historyRefreshChecks = new TtlCache<>(
+        cacheConfig.getHistoryRefreshCheckInterval().toMillis(), cacheConfig.getQuoteMaxEntries());
   }
 
   @Override
   public StockInfo getStockInfo(String symbol) {
-    if (symbol == null || symbol.trim().isEmpty()) {
-      throw new IllegalArgumentException("Stock symbol cannot be null or empty");
+    return getStockInfo(symbol, MarketDataRequest.Priority.INTERACTIVE);
+  }
+
+  @Override
+  public StockInfo prefetchStockInfo(String symbol) {
+    return getStockInfo(symbol, MarketDataRequest.Priority.PREFETCH);
+  }
+
+  private StockInfo getStockInfo(String symbol, MarketDataRequest.Priority priority) {
+    String normalizedSymbol = symbolDirectory.require(symbol);
+    try {
+      return cachedQuote(normalizedSymbol, priority).toStockInfo();
+    } catch (UnknownSymbolException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      // Upstream failing or circuit open: an expired quote beats an error
+      var staleQuote = quoteCache.getEntry(normalizedSymbol);
+      if (staleQuote.isEmpty()) {
+        throw e;
+      }
+      LOGGER.warn("Serving stale stock quote for symbol: {} ({})", normalizedSymbol, e.getMessage());
+      return staleQuote.get().value().toStockInfo();
     }
+  }
 
-    if (API_KEY == null || API_KEY.trim().isEmpty()) {
-      LOGGER.warn("Alpha Vantage API key not configured, returning mock data");
-      return createMockStockInfo(symbol.toUpperCase());
+  /**
+   * Concurrent user misses for the same symbol share one load. Prefetches never take part: a
+   * user joined to a prefetch-priority call would queue behind the whole prefetch backlog, and
+   * fail if that gives up. The stream hub polls each symbol from a single thread, so prefetches
+   * need no sharing of their own.
+   */
+  private CompactStockInfo cachedQuote(String symbol, MarketDataRequest.Priority priority) {
+    if (priority == MarketDataRequest.Priority.INTERACTIVE) {
+      return quoteCache.get(symbol, s -> CompactStockInfo.from(loadQuote(s, priority)));
     }
+    return quoteCache.getIfFresh(symbol).orElseGet(() -> {
+      CompactStockInfo quote = CompactStockInfo.from(loadQuote(symbol, priority));
+      quoteCache.put(symbol, quote);
+      return quote;
+    });
+  }
 
-    try {
-      String url = String.format("%s?function=GLOBAL_QUOTE&symbol=%s&apikey=%s",
-          BASE_URL, symbol.toUpperCase(), API_KEY);
+  private StockInfo loadQuote(String symbol, MarketDataRequest.Priority priority) {
+    boolean persistent = cacheConfig.isQuotePersistenceEnabled() && databaseHealth.isAvailable();
+    if (persistent) {
+      try {
+        var storedQuote = stockQuoteRepository.findBySymbolIfFresh(symbol, cacheConfig.getQuoteTtl());
+        if (storedQuote.isPresent()) {
+          LOGGER.info("Returning stored stock quote for symbol: {}", symbol);
+          return storedQuote.get();
+        }
+      } catch (RuntimeException e) {
+        if (!databaseHealth.reportFailure(e)) {
+          throw e;
+        }
+        persistent = false;
+      }
+    }
+
+    StockInfo freshQuote = fetchQuoteFromApi(symbol, priority);
 
-      HttpRequest request = HttpRequest.newBuilder()
-          .uri(URI.create(url))
-          .timeout(Duration.ofSeconds(10))
-          .GET()
-          .build();
+    if (persistent) {
+      try {
+        stockQuoteRepository.save(freshQuote);
+      } catch (RuntimeException e) {
+        // The persistent tier is best effort; the in-memory cache still holds the quote
+        databaseHealth.reportFailure(e);
+        LOGGER.warn("Failed to persist stock quote for symbol: {}", symbol, e);
+      }
+    }
+    return freshQuote;
+  }
 
-      LOGGER.info("Fetching stock data for symbol: {}", symbol);
+  private StockInfo fetchQuoteFromApi(String symbol, MarketDataRequest.Priority priority) {
+    if (!marketDataProvider.isAvailable()) {
+      LOGGER.warn("Market data provider {} not available, returning mock data",
+          marketDataProvider.getName());
+      return createMockStockInfo(symbol);
+    }
 
-      HttpResponse<String> response = httpClient.send(request,
-          HttpResponse.BodyHandlers.ofString());
+    LOGGER.info("Fetching stock data for symbol: {}", symbol);
+    return parseQuoteResponse(fetchPayload(MarketDataRequest.of("GLOBAL_QUOTE", symbol)
+        .withPriority(priority)), symbol);
+  }
 
-      if (response.statusCode() != 200) {
-        LOGGER.error("API request failed with status: {}", response.statusCode());
-        throw new RuntimeException("Failed to fetch stock data: HTTP " + response.statusCode());
+  @Override
+  public StockOverview getOverview(String symbol) {
+    String normalizedSymbol = symbolDirectory.require(symbol, "OVERVIEW");
+
+    if (!databaseHealth.isAvailable()) {
+      // Postgres is down: an in-process copy within the overview TTL is as good as the stored
+      // one would have been, and saves an upstream call
+      var cached = overviewCache.getEntry(normalizedSymbol);
+      if (cached.isPresent() && System.currentTimeMillis() - cached.get().loadedAtMillis()
+          < cacheConfig.getOverviewTtl().toMillis()) {
+        return cached.get().value().toStockOverview();
       }
+    }
 
-      return parseQuoteResponse(response.body(), symbol.toUpperCase());
+    try {
+      // Process memory first, then Postgres, then upstream
+      return overviewCache.get(normalizedSymbol, s -> CompactStockOverview.from(loadOverview(s)))
+          .toStockOverview();
+    } catch (UnknownSymbolException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      // Upstream failing or circuit open: serve the last known overview, however old
+      Optional<StockOverview> staleOverview = findStaleOverview(normalizedSymbol);
+      if (staleOverview.isEmpty()) {
+        throw e;
+      }
+      LOGGER.warn("Serving stale stock overview for symbol: {} ({})", normalizedSymbol,
+          e.getMessage());
+      return staleOverview.get();
+    }
+  }
 
-    } catch (IOException | InterruptedException e) {
-      LOGGER.error("Error fetching stock data for symbol: {}", symbol, e);
-      throw new RuntimeException("Failed to fetch stock data", e);
+  @Override
+  public List<StockOverview> screenOverviews(String sector, BigDecimal maxPeRatio, int limit) {
+    if (sector == null || sector.trim().isEmpty()) {
+      throw new IllegalArgumentException("Sector cannot be null or empty");
     }
+    return withDatabase(() -> stockOverviewRepository.screen(sector.trim(), maxPeRatio, limit));
   }
 
   @Override
-  public StockOverview getOverview(String symbol) {
-    if (symbol == null || symbol.trim().isEmpty()) {
-      throw new IllegalArgumentException("Stock symbol cannot be null or empty");
+  public void invalidateOverview(String symbol) {
+    String normalizedSymbol = Symbols.canonicalize(symbol);
+    if (normalizedSymbol == null) {
+      return;
     }
-    
-    String normalizedSymbol = symbol.trim().toUpperCase();
-    
-    // Check if we have fresh data in cache
-    var cachedOverview = stockOverviewRepository.findBySymbolIfFresh(normalizedSymbol);
-    if (cachedOverview.isPresent()) {
-      LOGGER.info("Returning cached stock overview for symbol: {}", normalizedSymbol);
-      return cachedOverview.get();
+    overviewCache.invalidate(normalizedSymbol);
+    unverifiedOverviews.remove(normalizedSymbol);
+  }
+
+  @Override
+  public void invalidateAllOverviews() {
+    overviewCache.invalidateAll();
+    unverifiedOverviews.clear();
+  }
+
+  @Override
+  public synchronized void startOverviewSnapshots() {
+    if (!snapshotConfig.isOverviewSnapshotEnabled() || snapshotExecutor != null) {
+      return;
     }
-    
-    // Fetch fresh data from API
-    StockOverview freshOverview = fetchOverviewFromApi(normalizedSymbol);
-    
-    // Save to cache
-    stockOverviewRepository.save(freshOverview);
-    LOGGER.info("Cached fresh stock overview for symbol: {}", normalizedSymbol);
-    
-    return freshOverview;
+    restoreOverviewSnapshot();
+    snapshotExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "overview-snapshot");
+      thread.setDaemon(true);
+      return thread;
+    });
+    if (!unverifiedOverviews.isEmpty()) {
+      snapshotExecutor.execute(this::verifyRestoredOverviews);
+    }
+    long intervalMillis = snapshotConfig.getOverviewInterval().toMillis();
+    snapshotExecutor.scheduleWithFixedDelay(() -> {
+      try {
+        saveOverviewSnapshot();
+      } catch (RuntimeException e) {
+        LOGGER.warn("Failed to write overview snapshot", e);
+      }
+    }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
   }
-  
-  private StockOverview fetchOverviewFromApi(String symbol) {
-    if (API_KEY == null || API_KEY.trim().isEmpty()) {
-      LOGGER.warn("Alpha Vantage API key not configured, returning mock data");
-      return createMockStockOverview(symbol);
+
+  @Override
+  public void stopOverviewSnapshots() {
+    ScheduledExecutorService executor;
+    synchronized (this) {
+      executor = snapshotExecutor;
+      if (executor == null || executor.isShutdown()) {
+        return;
+      }
+      executor.shutdownNow();
     }
+    try {
+      executor.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    saveOverviewSnapshot();
+  }
 
+  @Override
+  public int saveOverviewSnapshot() {
+    if (!snapshotConfig.isOverviewSnapshotEnabled()) {
+      return 0;
+    }
+    long start = System.nanoTime();
+    List<OverviewSnapshotFile.Entry> entries = new ArrayList<>(overviewCache.size());
+    overviewCache.forEach((symbol, entry) -> {
+      // A restored copy that has not been checked yet is only known current as of its
+      // original load, however recently it was re-cached
+      long loadedAtMillis = Math.min(entry.loadedAtMillis(),
+          unverifiedOverviews.getOrDefault(symbol, Long.MAX_VALUE));
+      entries.add(new OverviewSnapshotFile.Entry(loadedAtMillis, entry.value().toStockOverview()));
+    });
     try {
-      String url = String.format("%s?function=OVERVIEW&symbol=%s&apikey=%s",
-          BASE_URL, symbol, API_KEY);
+      OverviewSnapshotFile.write(snapshotConfig.getOverviewPath(), entries);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to write overview snapshot", e);
+    }
+    LOGGER.debug("Wrote {} overviews to {} in {} ms", entries.size(),
+        snapshotConfig.getOverviewPath(), (System.nanoTime() - start) / 1_000_000);
+    return entries.size();
+  }
 
-      HttpRequest request = HttpRequest.newBuilder()
-          .uri(URI.create(url))
-          .timeout(Duration.ofSeconds(10))
-          .GET()
-          .build();
+  /**
+   * Puts the snapshot's overviews into process memory as freshly loaded, so they are served
+   * without a database round trip, and remembers when each was really loaded. Copies older
+   * than the overview TTL are dropped; Postgres would treat them as stale anyway.
+   */
+  private void restoreOverviewSnapshot() {
+    long start = System.nanoTime();
+    List<OverviewSnapshotFile.Entry> entries;
+    try {
+      entries = OverviewSnapshotFile.read(snapshotConfig.getOverviewPath());
+    } catch (IOException e) {
+      LOGGER.warn("Ignoring unreadable overview snapshot {}", snapshotConfig.getOverviewPath(), e);
+      return;
+    }
+    long now = System.currentTimeMillis();
+    long ttlMillis = cacheConfig.getOverviewTtl().toMillis();
+    int restored = 0;
+    for (OverviewSnapshotFile.Entry entry : entries) {
+      if (now - entry.loadedAtMillis() >= ttlMillis) {
+        continue;
+      }
+      String symbol = entry.overview().getSymbol();
+      overviewCache.put(symbol, CompactStockOverview.from(entry.overview()));
+      unverifiedOverviews.put(symbol, entry.loadedAtMillis());
+      restored++;
+    }
+    LOGGER.info("Restored {} overviews from {} in {} ms ({} expired)", restored,
+        snapshotConfig.getOverviewPath(), (System.nanoTime() - start) / 1_000_000,
+        entries.size() - restored);
+  }
 
-      LOGGER.info("Fetching stock overview from API for symbol: {}", symbol);
+  /**
+   * Drops restored overviews that changed in Postgres, or were deleted, since the snapshot
+   * copy was loaded. Changes made while this node was down were never notified to it. Retries
+   * until the database answers.
+   */
+  private void verifyRestoredOverviews() {
+    Map<String, Long> pending = new HashMap<>(unverifiedOverviews);
+    if (pending.isEmpty()) {
+      return;
+    }
+    List<String> changed;
+    try {
+      changed = stockOverviewRepository.findChangedSince(pending);
+    } catch (RuntimeException e) {
+      if (snapshotExecutor.isShutdown()) {
+        return;
+      }
+      LOGGER.warn("Could not verify {} restored overviews, retrying in {} ms", pending.size(),
+          SNAPSHOT_VERIFY_RETRY_MILLIS);
+      snapshotExecutor.schedule(this::verifyRestoredOverviews, SNAPSHOT_VERIFY_RETRY_MILLIS,
+          TimeUnit.MILLISECONDS);
+      return;
+    }
+    for (String symbol : changed) {
+      overviewCache.invalidate(symbol);
+    }
+    pending.forEach(unverifiedOverviews::remove);
+    LOGGER.info("Verified {} restored overviews, dropped {} changed since the snapshot",
+        pending.size(), changed.size());
+  }
 
-      HttpResponse<String> response = httpClient.send(request,
-          HttpResponse.BodyHandlers.ofString());
-      LOGGER.info("Response {} from stock overview for symbol: {}", response, symbol);
+  private Optional<StockOverview> findStaleOverview(String normalizedSymbol) {
+    var cached = overviewCache.getEntry(normalizedSymbol);
+    if (cached.isPresent()) {
+      return Optional.of(cached.get().value().toStockOverview());
+    }
+    if (!databaseHealth.isAvailable()) {
+      return Optional.empty();
+    }
+    try {
+      return stockOverviewRepository.findBySymbol(normalizedSymbol);
+    } catch (RuntimeException e) {
+      databaseHealth.reportFailure(e);
+      return Optional.empty();
+    }
+  }
 
-      if (response.statusCode() != 200) {
-        LOGGER.error("API request failed with status: {}", response.statusCode());
-        throw new RuntimeException("Failed to fetch stock overview: HTTP " + response.statusCode());
+  private StockOverview loadOverview(String normalizedSymbol) {
+    if (databaseHealth.isAvailable()) {
+      try {
+        return loadOverviewThroughDatabase(normalizedSymbol);
+      } catch (RuntimeException e) {
+        if (!databaseHealth.reportFailure(e)) {
+          throw e;
+        }
       }
+    }
+    // Degraded mode: no stored copy or refresh lease to consult, so go upstream and queue the
+    // write for when the database is back
+    LOGGER.info("Database unavailable, fetching stock overview for symbol: {}", normalizedSymbol);
+    StockOverview freshOverview = fetchOverviewFromApi(normalizedSymbol);
+    persistOverview(freshOverview);
+    return freshOverview;
+  }
+
+  private StockOverview loadOverviewThroughDatabase(String normalizedSymbol) {
+    // Check if we have fresh data in cache
+    var cachedOverview = stockOverviewRepository.findBySymbolIfFresh(normalizedSymbol);
+    if (cachedOverview.isPresent()) {
+      LOGGER.info("Returning cached stock overview for symbol: {}", normalizedSymbol);
+      return cachedOverview.get();
+    }
 
-      return parseOverviewResponse(response.body(), symbol);
+    String leaseKey = "OVERVIEW:" + normalizedSymbol;
+    boolean leased = tryAcquireRefreshLease(leaseKey);
+    if (!leased) {
+      // Another node is refreshing this symbol: wait briefly for its result, else serve stale
+      var refreshed = awaitOverviewRefreshedElsewhere(normalizedSymbol);
+      if (refreshed.isPresent()) {
+        return refreshed.get();
+      }
+      var staleOverview = stockOverviewRepository.findBySymbol(normalizedSymbol);
+      if (staleOverview.isPresent()) {
+        LOGGER.info("Refresh of {} in progress on another node, serving stale overview",
+            normalizedSymbol);
+        return staleOverview.get();
+      }
+      // Nothing stored to fall back on; fetch it ourselves rather than fail the request
+    }
 
-    } catch (IOException | InterruptedException e) {
-      LOGGER.error("Error fetching stock overview for symbol: {}", symbol, e);
-      throw new RuntimeException("Failed to fetch stock overview", e);
+    try {
+      // Fetch fresh data from API
+      StockOverview freshOverview = fetchOverviewFromApi(normalizedSymbol);
+
+      persistOverview(freshOverview);
+      return freshOverview;
+    } finally {
+      if (leased) {
+        releaseRefreshLease(leaseKey);
+      }
     }
   }
 
-  private StockInfo parseQuoteResponse(String jsonResponse, String symbol) {
+  /**
+   * Stores a freshly fetched overview, or queues it in write-behind mode or while the database
+   * is unreachable.
+   */
+  private void persistOverview(StockOverview freshOverview) {
+    String symbol = freshOverview.getSymbol();
+    if (pendingOverviewWrites.isWriteBehind() || !databaseHealth.isAvailable()) {
+      pendingOverviewWrites.add(freshOverview);
+      return;
+    }
+    // A queued older copy must not be replayed over this one
+    pendingOverviewWrites.discard(symbol);
     try {
-      JsonNode root = objectMapper.readTree(jsonResponse);
-      JsonNode quote = root.get("Global Quote");
-
-      if (quote == null || quote.isEmpty()) {
-        // Check for API error messages
-        JsonNode errorMessage = root.get("Error Message");
-        if (errorMessage != null) {
-          throw new RuntimeException("API Error: " + errorMessage.asText());
-        }
+      // Save to cache; unchanged content only refreshes the stored check time
+      if (stockOverviewRepository.save(freshOverview)) {
+        LOGGER.info("Cached fresh stock overview for symbol: {}", symbol);
+      } else {
+        LOGGER.info("Stock overview unchanged for symbol: {}", symbol);
+      }
+    } catch (RuntimeException e) {
+      if (!databaseHealth.reportFailure(e)) {
+        throw e;
+      }
+      LOGGER.warn("Database unavailable, queued stock overview write for symbol: {}", symbol);
+      pendingOverviewWrites.add(freshOverview);
+    }
+  }
 
-        JsonNode note = root.get("Note");
-        if (note != null) {
-          LOGGER.warn("API rate limit reached: {}", note.asText());
-          return createMockStockInfo(symbol);
+  private Optional<StockOverview> awaitOverviewRefreshedElsewhere(String normalizedSymbol) {
+    long deadline = System.nanoTime() + cacheConfig.getRefreshLeaseWait().toNanos();
+    try {
+      while (System.nanoTime() < deadline) {
+        Thread.sleep(LEASE_POLL_INTERVAL_MILLIS);
+        var refreshed = stockOverviewRepository.findBySymbolIfFresh(normalizedSymbol);
+        if (refreshed.isPresent()) {
+          return refreshed;
         }
-
-        throw new RuntimeException("Invalid response format from Alpha Vantage API");
       }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return Optional.empty();
+  }
 
-      StockInfo stockInfo = new StockInfo();
-      stockInfo.setSymbol(quote.get("01. symbol").asText());
-      stockInfo.setOpen(new BigDecimal(quote.get("02. open").asText()));
-      stockInfo.setHigh(new BigDecimal(quote.get("03. high").asText()));
-      stockInfo.setLow(new BigDecimal(quote.get("04. low").asText()));
-      stockInfo.setPrice(new BigDecimal(quote.get("05. price").asText()));
-      stockInfo.setVolume(quote.get("06. volume").asLong());
-      stockInfo.setPreviousClose(new BigDecimal(quote.get("08. previous close").asText()));
-      stockInfo.setChange(new BigDecimal(quote.get("09. change").asText()));
-      stockInfo.setChangePercent(parseChangePercent(quote.get("10. change percent").asText()));
-
-      LOGGER.info("Successfully parsed stock data for: {}", symbol);
-      return stockInfo;
-
-    } catch (Exception e) {
-      LOGGER.error("Error parsing Alpha Vantage response for symbol: {}", symbol, e);
-      LOGGER.debug("Response body: {}", jsonResponse);
+  /**
+   * Takes the cluster-wide refresh lease for a key. Always succeeds when leases are disabled
+   * or the lease table is unreachable, so coordination never blocks a refresh outright.
+   */
+  private boolean tryAcquireRefreshLease(String leaseKey) {
+    if (!cacheConfig.isRefreshLeaseEnabled() || !databaseHealth.isAvailable()) {
+      return true;
+    }
+    try {
+      return refreshLeaseRepository.tryAcquire(leaseKey, cacheConfig.getRefreshLeaseTtl());
+    } catch (RuntimeException e) {
+      databaseHealth.reportFailure(e);
+      LOGGER.warn("Refresh lease {} unavailable, refreshing without it", leaseKey, e);
+      return true;
+    }
+  }
 
-      // Return mock data as fallback
-      return createMockStockInfo(symbol);
+  private void releaseRefreshLease(String leaseKey) {
+    if (!cacheConfig.isRefreshLeaseEnabled() || !databaseHealth.isAvailable()) {
+      return;
+    }
+    try {
+      refreshLeaseRepository.release(leaseKey);
+    } catch (RuntimeException e) {
+      // It expires on its own
+      LOGGER.warn("Failed to release refresh lease {}", leaseKey, e);
+    }
+  }
+
+  private StockOverview fetchOverviewFromApi(String symbol) {
+    if (!marketDataProvider.isAvailable()) {
+      LOGGER.warn("Market data provider {} not available, returning mock data",
+          marketDataProvider.getName());
+      return createMockStockOverview(symbol);
     }
+
+    LOGGER.info("Fetching stock overview from API for symbol: {}", symbol);
+    return parseOverviewResponse(fetchPayload(MarketDataRequest.of("OVERVIEW", symbol)), symbol);
   }
 
-  private BigDecimal parseChangePercent(String changePercentStr) {
-    // Remove the % sign and convert to decimal
-    String cleanPercent = changePercentStr.replace("%", "");
-    return new BigDecimal(cleanPercent);
+  @Override
+  public List<PriceBar> getPriceHistory(String symbol, PriceInterval interval, long fromMillis,
+      long toMillis) {
+    String normalizedSymbol = normalizeHistoryRequest(symbol, fromMillis, toMillis);
+    return withDatabase(() -> {
+      refreshHistoryIfStale(normalizedSymbol, interval);
+      return stockPriceRepository.findRange(normalizedSymbol, interval, fromMillis, toMillis);
+    });
   }
 
-  private StockOverview parseOverviewResponse(String jsonResponse, String symbol) {
-    try {
-      JsonNode root = objectMapper.readTree(jsonResponse);
+  @Override
+  public List<PriceBar> getPriceHistory(String symbol, PriceInterval interval, long fromMillis,
+      long toMillis, HistoryBucket bucket) {
+    String normalizedSymbol = normalizeHistoryRequest(symbol, fromMillis, toMillis);
+    return withDatabase(() -> {
+      refreshHistoryIfStale(normalizedSymbol, interval);
+      return stockPriceRepository.findDownsampled(normalizedSymbol, interval, fromMillis,
+          toMillis, bucket);
+    });
+  }
 
-      // Check for API error messages
-      JsonNode errorMessage = root.get("Error Message");
-      if (errorMessage != null) {
-        throw new RuntimeException("API Error: " + errorMessage.asText());
+  /**
+   * Runs a read that only the database can answer, failing fast while it is down.
+   */
+  private <T> T withDatabase(Supplier<T> operation) {
+    if (!databaseHealth.isAvailable()) {
+      throw new DatabaseUnavailableException();
+    }
+    try {
+      return operation.get();
+    } catch (RuntimeException e) {
+      if (databaseHealth.reportFailure(e)) {
+        throw new DatabaseUnavailableException(e);
       }
+      throw e;
+    }
+  }
+
+  private String normalizeHistoryRequest(String symbol, long fromMillis, long toMillis) {
+    String normalizedSymbol = symbolDirectory.require(symbol);
+    if (fromMillis >= toMillis) {
+      throw new IllegalArgumentException("'from' must be before 'to'");
+    }
+    return normalizedSymbol;
+  }
 
-      JsonNode note = root.get("Note");
-      if (note != null) {
-        LOGGER.warn("API rate limit reached: {}", note.asText());
-        return createMockStockOverview(symbol);
+  /**
+   * Ingests new bars from upstream when the newest stored bar is more than two intervals older
+   * than the last trading moment, so nights and weekends spend no quota once the previous
+   * session is stored. The check itself runs at most once per symbol and interval per
+   * refresh-check window, so repeated chart requests are served from Postgres alone.
+   */
+  private void refreshHistoryIfStale(String symbol, PriceInterval interval) {
+    historyRefreshChecks.get(symbol + ":" + interval.getLabel(), key -> {
+      var latestBar = stockPriceRepository.findLatestBarTime(symbol, interval);
+      long staleBefore = MarketSessions.lastTradingMillis(System.currentTimeMillis())
+          - 2 * interval.getLength().toMillis();
+      if (latestBar.isPresent() && latestBar.get() >= staleBefore) {
+        return Boolean.TRUE;
       }
+      String leaseKey = "HISTORY:" + key;
+      if (!tryAcquireRefreshLease(leaseKey)) {
+        // Another node is ingesting; its bars land in the same table
+        return Boolean.TRUE;
+      }
+      try {
+        // A full download only when nothing is stored yet; afterwards the compact window
+        // (latest 100 bars) is enough to fill the gap
+        List<PriceBar> bars = fetchTimeSeriesFromApi(symbol, interval, latestBar.isEmpty());
+        stockPriceRepository.saveAll(bars);
+        LOGGER.info("Ingested {} {} bars for symbol: {}", bars.size(), interval.getLabel(), symbol);
+        return Boolean.TRUE;
+      } catch (RuntimeException e) {
+        // Serve what is stored; the next check window will retry
+        databaseHealth.reportFailure(e);
+        LOGGER.warn("Failed to refresh {} price history for symbol: {}", interval.getLabel(), symbol, e);
+        return Boolean.FALSE;
+      } finally {
+        releaseRefreshLease(leaseKey);
+      }
+    });
+  }
 
-      StockOverview overview = new StockOverview();
-      overview.setSymbol(getJsonText(root, "Symbol"));
-      overview.setName(getJsonText(root, "Name"));
-      overview.setExchange(getJsonText(root, "Exchange"));
-      overview.setCurrency(getJsonText(root, "Currency"));
-      overview.setCountry(getJsonText(root, "Country"));
-      overview.setSector(getJsonText(root, "Sector"));
-      overview.setIndustry(getJsonText(root, "Industry"));
-
-      // Valuation metrics
-      overview.setPeRatio(parseDecimalField(root, "PERatio"));
-      overview.setPriceToBookRatio(parseDecimalField(root, "PriceToBookRatio"));
-      overview.setPegRatio(parseDecimalField(root, "PEGRatio"));
-
-      // Profitability metrics
-      overview.setReturnOnEquityTTM(parseDecimalField(root, "ReturnOnEquityTTM"));
-      overview.setReturnOnAssetsTTM(parseDecimalField(root, "ReturnOnAssetsTTM"));
-      overview.setProfitMargin(parseDecimalField(root, "ProfitMargin"));
-      overview.setOperatingMarginTTM(parseDecimalField(root, "OperatingMarginTTM"));
-
-      // Financial health metrics
-      overview.setCurrentRatio(parseDecimalField(root, "CurrentRatio"));
-      overview.setDebtToEquityRatio(parseDecimalField(root, "DebtToEquityRatio"));
-      overview.setQuickRatio(parseDecimalField(root, "QuickRatio"));
-
-      // Growth metrics
-      overview.setQuarterlyRevenueGrowthYOY(parseDecimalField(root, "QuarterlyRevenueGrowthYOY"));
-      overview.setQuarterlyEarningsGrowthYOY(parseDecimalField(root, "QuarterlyEarningsGrowthYOY"));
-
-      // Risk metrics
-      overview.setBeta(parseDecimalField(root, "Beta"));
-
-      LOGGER.info("Successfully parsed stock overview for: {}", symbol);
-      return overview;
-
-    } catch (Exception e) {
-      LOGGER.error("Error parsing Alpha Vantage overview response for symbol: {}", symbol, e);
-      LOGGER.debug("Response body: {}", jsonResponse);
+  private List<PriceBar> fetchTimeSeriesFromApi(String symbol, PriceInterval interval,
+      boolean fullHistory) {
+    if (!marketDataProvider.isAvailable()) {
+      LOGGER.warn("Market data provider {} not available, returning mock data",
+          marketDataProvider.getName());
+      return createMockPriceHistory(symbol, interval);
+    }
 
-      // Return mock data as fallback
-      return createMockStockOverview(symbol);
+    MarketDataRequest request = MarketDataRequest.of(interval.getFunction(), symbol)
+        .withParameter("outputsize", fullHistory ? "full" : "compact")
+        .withTimeout(Duration.ofSeconds(30));
+    if (interval.isIntraday()) {
+      request = request.withParameter("interval", interval.getUpstreamInterval());
     }
+
+    LOGGER.info("Fetching {} price history from API for symbol: {}", interval.getLabel(), symbol);
+    return payloadParser.parseTimeSeries(fetchPayload(request), symbol, interval);
   }
 
-  private String getJsonText(JsonNode root, String fieldName) {
-    JsonNode node = root.get(fieldName);
-    return (node != null && !node.isNull()) ? node.asText() : null;
+  /**
+   * Fetches a raw payload through the provider, wrapping transport failures.
+   */
+  private String fetchPayload(MarketDataRequest request) {
+    try {
+      return marketDataProvider.fetch(request);
+    } catch (CircuitOpenException e) {
+      LOGGER.warn("Skipping upstream fetch of {}: {}", request, e.getMessage());
+      throw new RuntimeException("Upstream unavailable for " + request.getFunction(), e);
+    } catch (IOException e) {
+      LOGGER.error("Error fetching {} from {}", request, marketDataProvider.getName(), e);
+      throw new RuntimeException("Failed to fetch " + request.getFunction() + " data", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while fetching " + request.getFunction() + " data", e);
+    }
   }
 
-  private BigDecimal parseDecimalField(JsonNode root, String fieldName) {
-    JsonNode node = root.get(fieldName);
-    if (node == null || node.isNull() || "None".equals(node.asText()) || node.asText().trim().isEmpty()) {
-      return null;
+  /**
+   * Parse failures propagate rather than falling back to mock data, which would otherwise be
+   * cached and stored as if upstream had returned it; callers serve stale data instead.
+   */
+  private StockInfo parseQuoteResponse(String jsonResponse, String symbol) {
+    try {
+      return payloadParser.parseQuote(jsonResponse, symbol);
+    } catch (UnknownSymbolException e) {
+      symbolDirectory.markUnknown(symbol);
+      throw e;
+    } catch (UpstreamRateLimitException e) {
+      LOGGER.warn(e.getMessage());
+      throw e;
+    } catch (RuntimeException e) {
+      LOGGER.error("Error parsing Alpha Vantage response for symbol: {}", symbol, e);
+      LOGGER.debug("Response body: {}", jsonResponse);
+      throw e;
     }
+  }
+
+  private StockOverview parseOverviewResponse(String jsonResponse, String symbol) {
     try {
-      return new BigDecimal(node.asText());
-    } catch (NumberFormatException e) {
-      LOGGER.debug("Could not parse {} as decimal: {}", fieldName, node.asText());
-      return null;
+      return payloadParser.parseOverview(jsonResponse, symbol);
+    } catch (UnknownSymbolException e) {
+      // Funds have quotes but no overview, so this says nothing about the symbol itself
+      symbolDirectory.markNoData(symbol, "OVERVIEW");
+      throw e;
+    } catch (UpstreamRateLimitException e) {
+      LOGGER.warn(e.getMessage());
+      throw e;
+    } catch (RuntimeException e) {
+      LOGGER.error("Error parsing Alpha Vantage overview response for symbol: {}", symbol, e);
+      LOGGER.debug("Response body: {}", jsonResponse);
+      throw e;
     }
   }
 
@@ -291,6 +722,32 @@ public class AlphaVantageStockService implements StockService {
     return mockData;
   }
 
+  private List<PriceBar> createMockPriceHistory(String symbol, PriceInterval interval) {
+    LOGGER.info("Creating mock {} price history for symbol: {}", interval.getLabel(), symbol);
+
+    // Deterministic random walk around the mock quote price
+    Random random = new Random(symbol.hashCode());
+    long step = interval.getLength().toMillis();
+    long lastBar = (System.currentTimeMillis() / step) * step;
+    double close = 50 + (Math.abs(symbol.hashCode()) % 450);
+
+    List<PriceBar> bars = new ArrayList<>(MOCK_HISTORY_BARS);
+    for (int i = MOCK_HISTORY_BARS - 1; i >= 0; i--) {
+      double open = close;
+      close = Math.max(1.0, open * (1 + (random.nextGaussian() * 0.01)));
+      double high = Math.max(open, close) * (1 + random.nextDouble() * 0.005);
+      double low = Math.min(open, close) * (1 - random.nextDouble() * 0.005);
+      long volume = 1_000_000L + random.nextInt(5_000_000);
+      bars.add(new PriceBar(symbol, interval.getLabel(), lastBar - i * step,
+          round2(open), round2(high), round2(low), round2(close), volume));
+    }
+    return bars;
+  }
+
+  private static double round2(double value) {
+    return Math.round(value * 100.0) / 100.0;
+  }
+
   private StockOverview createMockStockOverview(String symbol) {
     LOGGER.info("Creating mock stock overview for symbol: {}", symbol);
 
@@ -0,0 +1,103 @@
+package org.example.service.impl;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.example.cache.TtlCache;
+import org.example.config.CacheConfig;
+import org.example.indicator.IndicatorSet;
+import org.example.model.IndicatorSnapshot;
+import org.example.model.PriceBar;
+import org.example.model.PriceInterval;
+import org.example.service.IndicatorService;
+import org.example.service.StockService;
+import org.example.symbol.SymbolDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Indicator service that keeps per-series indicator state in memory and only feeds it bars
+ * that arrived since the last update.
+ *
+ * The first request for a series replays a warm-up window of history; later refreshes read
+ * just the new bars and apply them in O(1) each. Snapshots are cached for the history
+ * refresh-check interval, so repeated requests never touch the database.
+ */
+@Singleton
+public class IncrementalIndicatorService implements IndicatorService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalIndicatorService.class);
+
+  public static final int MIN_WINDOW = 2;
+  public static final int MAX_WINDOW = 500;
+  private static final int MAX_SERIES = 10_000;
+
+  private final StockService stockService;
+  private final SymbolDirectory symbolDirectory;
+  private final TtlCache<String, IndicatorSnapshot> snapshots;
+  private final Map<String, IndicatorSet> series = new LinkedHashMap<>(256, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, IndicatorSet> eldest) {
+      return size() > MAX_SERIES;
+    }
+  };
+
+  @Inject
+  public IncrementalIndicatorService(StockService stockService, SymbolDirectory symbolDirectory,
+      CacheConfig cacheConfig) {
+    this.stockService = stockService;
+    this.symbolDirectory = symbolDirectory;
+    this.snapshots = new TtlCache<>(cacheConfig.getHistoryRefreshCheckInterval().toMillis(),
+        MAX_SERIES);
+  }
+
+  @Override
+  public IndicatorSnapshot getIndicators(String symbol, PriceInterval interval, int window) {
+    // Before any indicator state is created for the series
+    String normalizedSymbol = symbolDirectory.require(symbol);
+    if (window < MIN_WINDOW || window > MAX_WINDOW) {
+      throw new IllegalArgumentException(
+          "Window must be between " + MIN_WINDOW + " and " + MAX_WINDOW);
+    }
+    String key = normalizedSymbol + ":" + interval.getLabel() + ":" + window;
+    return snapshots.get(key, k -> refresh(k, normalizedSymbol, interval, window));
+  }
+
+  private IndicatorSnapshot refresh(String key, String symbol, PriceInterval interval, int window) {
+    IndicatorSet indicators;
+    synchronized (series) {
+      indicators = series.computeIfAbsent(key, k -> new IndicatorSet(window));
+    }
+
+    synchronized (indicators) {
+      long now = System.currentTimeMillis();
+      long from = indicators.getBarCount() == 0
+          ? now - warmupMillis(interval, window)
+          : indicators.getLastTimestamp() + 1;
+      List<PriceBar> bars = stockService.getPriceHistory(symbol, interval, from, now + 1);
+
+      // Only closed bars are applied: an in-progress bar would otherwise be frozen at its
+      // first observed close, since incremental state cannot be rewound
+      long closedBefore = now - interval.getLength().toMillis();
+      int applied = 0;
+      for (PriceBar bar : bars) {
+        if (bar.getTimestamp() <= closedBefore && indicators.update(bar.getTimestamp(), bar.getClose())) {
+          applied++;
+        }
+      }
+      LOGGER.debug("Applied {} new bars to indicators {}", applied, key);
+      return indicators.snapshot(symbol, interval.getLabel());
+    }
+  }
+
+  /**
+   * History needed for EMA, RSI and MACD to converge, padded for weekends and closed hours.
+   */
+  private static long warmupMillis(PriceInterval interval, int window) {
+    int bars = Math.max(3 * window, 3 * (IndicatorSet.MACD_SLOW + IndicatorSet.MACD_SIGNAL));
+    double padding = interval.isIntraday() ? 5.0 : 1.6;
+    return (long) (bars * interval.getLength().toMillis() * padding);
+  }
+}
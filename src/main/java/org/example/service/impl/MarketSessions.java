@@ -0,0 +1,46 @@
+package org.example.service.impl;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Trading sessions of US equities as upstream bars cover them: weekdays from the 04:00
+ * pre-market open to the 20:00 after-hours close, New York time.
+ *
+ * Exchange holidays are not modelled; on those days history is checked as on any weekday.
+ */
+public final class MarketSessions {
+
+  private static final ZoneId ZONE = ZoneId.of("America/New_York");
+  private static final LocalTime OPEN = LocalTime.of(4, 0);
+  private static final LocalTime CLOSE = LocalTime.of(20, 0);
+
+  private MarketSessions() {
+  }
+
+  /**
+   * The latest moment at or before {@code nowMillis} at which a session was open: now while
+   * trading, otherwise the close of the previous session. No bar is newer than this.
+   */
+  public static long lastTradingMillis(long nowMillis) {
+    ZonedDateTime now = Instant.ofEpochMilli(nowMillis).atZone(ZONE);
+    LocalTime time = now.toLocalTime();
+    if (isSessionDay(now.toLocalDate()) && !time.isBefore(OPEN) && time.isBefore(CLOSE)) {
+      return nowMillis;
+    }
+    LocalDate day = time.isBefore(OPEN) ? now.toLocalDate().minusDays(1) : now.toLocalDate();
+    while (!isSessionDay(day)) {
+      day = day.minusDays(1);
+    }
+    return day.atTime(CLOSE).atZone(ZONE).toInstant().toEpochMilli();
+  }
+
+  private static boolean isSessionDay(LocalDate day) {
+    DayOfWeek dayOfWeek = day.getDayOfWeek();
+    return dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY;
+  }
+}
@@ -0,0 +1,245 @@
+package org.example.service.impl;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.example.config.DatabaseHealthConfig;
+import org.example.config.WriteBehindConfig;
+import org.example.model.StockOverview;
+import org.example.repository.DatabaseHealth;
+import org.example.repository.StockOverviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Overview writes held back while the database is down, replayed with batched upserts when it
+ * recovers. In write-behind mode every overview write goes through here, and a background
+ * flusher writes the queue once it reaches the batch size or the flush interval is up.
+ *
+ * Writes are coalesced by symbol, keeping the newest overview. The buffer is bounded; when it
+ * is full the symbol written longest ago is dropped, and its next refresh stores it again.
+ * {@link #stop} flushes what is left, so a clean shutdown loses nothing unless the database is
+ * down at the time; a crash loses at most one flush interval of writes.
+ */
+@Singleton
+public class OverviewWriteBuffer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OverviewWriteBuffer.class);
+
+  private final StockOverviewRepository stockOverviewRepository;
+  private final DatabaseHealth databaseHealth;
+  private final int capacity;
+  private final WriteBehindConfig writeBehindConfig;
+  private final Object flushLock = new Object();
+  // Guarded by this; insertion order is write order
+  private final LinkedHashMap<String, StockOverview> pending = new LinkedHashMap<>();
+  private long dropped;
+  private boolean running;
+  private Thread flusher;
+
+  @Inject
+  public OverviewWriteBuffer(StockOverviewRepository stockOverviewRepository,
+      DatabaseHealth databaseHealth, DatabaseHealthConfig config,
+      WriteBehindConfig writeBehindConfig) {
+    this(stockOverviewRepository, databaseHealth, config.getWriteBufferCapacity(),
+        writeBehindConfig);
+  }
+
+  public OverviewWriteBuffer(StockOverviewRepository stockOverviewRepository,
+      DatabaseHealth databaseHealth, int capacity) {
+    this(stockOverviewRepository, databaseHealth, capacity, WriteBehindConfig.defaults());
+  }
+
+  public OverviewWriteBuffer(StockOverviewRepository stockOverviewRepository,
+      DatabaseHealth databaseHealth, int capacity, WriteBehindConfig writeBehindConfig) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.stockOverviewRepository = stockOverviewRepository;
+    this.databaseHealth = databaseHealth;
+    this.capacity = capacity;
+    this.writeBehindConfig = writeBehindConfig;
+    databaseHealth.onRecovery(this::flush);
+  }
+
+  /**
+   * Whether all overview writes should be queued here rather than made directly.
+   */
+  public boolean isWriteBehind() {
+    return writeBehindConfig.isEnabled();
+  }
+
+  /**
+   * Starts the background flusher in write-behind mode.
+   */
+  public synchronized void start() {
+    if (!writeBehindConfig.isEnabled() || running) {
+      return;
+    }
+    running = true;
+    flusher = new Thread(this::runFlusher, "overview-write-behind");
+    flusher.setDaemon(true);
+    flusher.start();
+  }
+
+  /**
+   * Stops the flusher and writes whatever is still queued.
+   */
+  public void stop() {
+    Thread stopped;
+    synchronized (this) {
+      running = false;
+      notifyAll();
+      stopped = flusher;
+      flusher = null;
+    }
+    if (stopped != null) {
+      try {
+        stopped.join(writeBehindConfig.getFlushInterval().toMillis() + 30_000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    if (size() > 0) {
+      try {
+        flush();
+      } catch (RuntimeException e) {
+        LOGGER.error("Could not write {} queued stock overviews before stopping", size(), e);
+      }
+    }
+  }
+
+  /**
+   * Queues an overview, replacing any queued overview for the same symbol.
+   */
+  public synchronized void add(StockOverview overview) {
+    pending.remove(overview.getSymbol());
+    pending.put(overview.getSymbol(), overview);
+    if (running && pending.size() == writeBehindConfig.getBatchSize()) {
+      notifyAll();
+    }
+    if (pending.size() > capacity) {
+      Iterator<String> oldest = pending.keySet().iterator();
+      String symbol = oldest.next();
+      oldest.remove();
+      if (dropped++ % 1_000 == 0) {
+        LOGGER.warn("Overview write buffer full ({} entries), dropped queued write for {} "
+            + "({} dropped so far)", capacity, symbol, dropped);
+      }
+    }
+  }
+
+  /**
+   * Forgets any queued overview for the symbol, once a newer one has been written directly.
+   */
+  public synchronized void discard(String symbol) {
+    pending.remove(symbol);
+  }
+
+  public synchronized int size() {
+    return pending.size();
+  }
+
+  public synchronized long getDroppedCount() {
+    return dropped;
+  }
+
+  /**
+   * Writes everything queued, including overviews queued while flushing. If the database is
+   * unreachable the unwritten overviews are queued again, unless a newer one has arrived for
+   * their symbol.
+   *
+   * @return the number of overviews written
+   * @throws RuntimeException if the database write failed
+   */
+  public int flush() {
+    synchronized (flushLock) {
+      int written = 0;
+      while (true) {
+        List<StockOverview> batch;
+        synchronized (this) {
+          if (pending.isEmpty()) {
+            break;
+          }
+          batch = new ArrayList<>(pending.values());
+          pending.clear();
+        }
+        try {
+          stockOverviewRepository.saveAll(batch);
+        } catch (RuntimeException e) {
+          if (databaseHealth.reportFailure(e)) {
+            requeue(batch);
+          } else {
+            // Not an outage; the same batch would fail again
+            LOGGER.error("Dropping {} queued stock overviews that could not be written",
+                batch.size(), e);
+          }
+          throw e;
+        }
+        written += batch.size();
+      }
+      if (written > 0) {
+        LOGGER.info("Wrote {} queued stock overviews", written);
+      }
+      return written;
+    }
+  }
+
+  private void runFlusher() {
+    long intervalMillis = writeBehindConfig.getFlushInterval().toMillis();
+    while (true) {
+      synchronized (this) {
+        long deadline = System.currentTimeMillis() + intervalMillis;
+        // A full batch flushes early, unless the database is down: then the recovery hook
+        // flushes and this thread only waits
+        while (running && (pending.size() < writeBehindConfig.getBatchSize()
+            || !databaseHealth.isAvailable())) {
+          long remaining = deadline - System.currentTimeMillis();
+          if (remaining <= 0) {
+            break;
+          }
+          try {
+            wait(remaining);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+        if (!running) {
+          return;
+        }
+      }
+      if (databaseHealth.isAvailable()) {
+        try {
+          flush();
+        } catch (RuntimeException e) {
+          LOGGER.warn("Write-behind flush of stock overviews failed", e);
+        }
+      }
+    }
+  }
+
+  private synchronized void requeue(List<StockOverview> batch) {
+    // Unwritten overviews go back in front of anything queued since
+    LinkedHashMap<String, StockOverview> newer = new LinkedHashMap<>(pending);
+    pending.clear();
+    for (StockOverview overview : batch) {
+      if (!newer.containsKey(overview.getSymbol())) {
+        pending.put(overview.getSymbol(), overview);
+      }
+    }
+    for (Map.Entry<String, StockOverview> entry : newer.entrySet()) {
+      pending.put(entry.getKey(), entry.getValue());
+    }
+    while (pending.size() > capacity) {
+      Iterator<String> oldest = pending.keySet().iterator();
+      oldest.next();
+      oldest.remove();
+      dropped++;
+    }
+  }
+}
@@ -0,0 +1,261 @@
+package org.example.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.example.cache.AccessFrequencyTracker;
+import org.example.config.DatabaseConfig;
+import org.example.config.IngestionConfig;
+import org.example.model.IngestionStatus;
+import org.example.model.StockOverview;
+import org.example.provider.CircuitOpenException;
+import org.example.provider.MarketDataProvider;
+import org.example.provider.MarketDataRequest;
+import org.example.provider.RateBudgetExceededException;
+import org.example.provider.UpstreamRateLimitException;
+import org.example.repository.IngestionJobRepository;
+import org.example.repository.StockOverviewRepository;
+import org.example.service.IngestionService;
+import org.example.service.StockService;
+import org.example.symbol.Symbols;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * IngestionService backed by the ingestion_job queue in Postgres.
+ *
+ * Each worker claims a batch of due symbols, fetches their overviews with BULK priority (so
+ * the rate limiter paces it and keeps headroom for interactive requests) and upserts the batch
+ * in one round trip. Due symbols that users request most are claimed first. Any number of
+ * nodes can run workers against the same queue; a crashed worker's claims expire and are
+ * picked up again.
+ */
+@Singleton
+public class QueueIngestionService implements IngestionService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(QueueIngestionService.class);
+
+  private static final long IDLE_POLL_MILLIS = 5_000;
+
+  private final IngestionJobRepository jobRepository;
+  private final StockOverviewRepository stockOverviewRepository;
+  private final StockService stockService;
+  private final MarketDataProvider marketDataProvider;
+  private final AlphaVantagePayloadParser payloadParser;
+  private final IngestionConfig config;
+  private final AccessFrequencyTracker accessFrequencyTracker;
+
+  private final AtomicLong claimed = new AtomicLong();
+  private final AtomicLong fetched = new AtomicLong();
+  private final AtomicLong upserted = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong rateLimited = new AtomicLong();
+
+  private volatile boolean running;
+  private volatile long startedAtMillis;
+  private ExecutorService workers;
+
+  @Inject
+  public QueueIngestionService(IngestionJobRepository jobRepository,
+      StockOverviewRepository stockOverviewRepository, StockService stockService,
+      MarketDataProvider marketDataProvider, ObjectMapper objectMapper, IngestionConfig config,
+      AccessFrequencyTracker accessFrequencyTracker) {
+    this.jobRepository = jobRepository;
+    this.stockOverviewRepository = stockOverviewRepository;
+    this.stockService = stockService;
+    this.marketDataProvider = marketDataProvider;
+    this.payloadParser = new AlphaVantagePayloadParser(objectMapper);
+    this.config = config;
+    this.accessFrequencyTracker = accessFrequencyTracker;
+  }
+
+  @Override
+  public int enqueue(List<String> symbols) {
+    Set<String> normalized = new LinkedHashSet<>();
+    for (String symbol : symbols) {
+      String canonical = Symbols.canonicalize(symbol);
+      if (canonical == null) {
+        LOGGER.debug("Skipping invalid symbol for ingestion: {}", symbol);
+        continue;
+      }
+      normalized.add(canonical);
+    }
+    if (normalized.isEmpty()) {
+      return 0;
+    }
+    return jobRepository.enqueue(new ArrayList<>(normalized));
+  }
+
+  /**
+   * Queues every active stock from the upstream LISTING_STATUS listing.
+   */
+  @Override
+  public int enqueueUniverse() {
+    if (!marketDataProvider.isAvailable()) {
+      throw new IllegalStateException("Market data provider is not available");
+    }
+    String csv;
+    try {
+      csv = marketDataProvider.fetch(MarketDataRequest.of("LISTING_STATUS", null)
+          .withPriority(MarketDataRequest.Priority.BULK));
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to fetch listing status: " + e.getMessage(), e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while fetching listing status", e);
+    }
+    List<String> symbols = payloadParser.parseListingStatus(csv);
+    LOGGER.info("Listing status returned {} active stocks", symbols.size());
+    return enqueue(symbols);
+  }
+
+  @Override
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    if (!marketDataProvider.isAvailable()) {
+      LOGGER.warn("Not starting ingestion workers: market data provider {} is not available",
+          marketDataProvider.getName());
+      return;
+    }
+    running = true;
+    startedAtMillis = System.currentTimeMillis();
+    AtomicInteger threadNumber = new AtomicInteger();
+    workers = Executors.newFixedThreadPool(config.getWorkers(), runnable -> {
+      Thread thread = new Thread(runnable, "ingestion-worker-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    for (int i = 0; i < config.getWorkers(); i++) {
+      String workerId = DatabaseConfig.getApplicationName() + "-" + i;
+      workers.submit(() -> runWorker(workerId));
+    }
+    LOGGER.info("Started {} ingestion workers", config.getWorkers());
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    workers.shutdownNow();
+    try {
+      if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+        LOGGER.warn("Ingestion workers did not stop within 10 seconds");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    LOGGER.info("Stopped ingestion workers");
+  }
+
+  @Override
+  public IngestionStatus getStatus() {
+    IngestionStatus status = new IngestionStatus();
+    status.setRunning(running);
+    status.setWorkers(running ? config.getWorkers() : 0);
+    status.setQueue(jobRepository.countByStatus());
+    status.setDue(jobRepository.countDue());
+    status.setClaimed(claimed.get());
+    status.setFetched(fetched.get());
+    status.setUpserted(upserted.get());
+    status.setFailed(failed.get());
+    status.setRateLimited(rateLimited.get());
+    long elapsedMillis = System.currentTimeMillis() - startedAtMillis;
+    status.setPerMinute(running && elapsedMillis > 0
+        ? upserted.get() * 60_000.0 / elapsedMillis : 0);
+    return status;
+  }
+
+  private void runWorker(String workerId) {
+    while (running && !Thread.currentThread().isInterrupted()) {
+      try {
+        if (processBatch(workerId) == 0) {
+          Thread.sleep(IDLE_POLL_MILLIS);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) {
+        LOGGER.error("Ingestion worker {} failed, backing off", workerId, e);
+        try {
+          Thread.sleep(config.getRetryDelay().toMillis());
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Claims one batch of due symbols, fetches and upserts them.
+   *
+   * @return the number of symbols claimed
+   */
+  int processBatch(String workerId) throws InterruptedException {
+    List<String> batch = jobRepository.claim(workerId, config.getClaimBatchSize(),
+        config.getClaimLease(), accessFrequencyTracker.hotSymbols(config.getClaimBatchSize()));
+    if (batch.isEmpty()) {
+      return 0;
+    }
+    claimed.addAndGet(batch.size());
+
+    List<StockOverview> overviews = new ArrayList<>(batch.size());
+    List<String> done = new ArrayList<>(batch.size());
+    int next = 0;
+    boolean throttled = false;
+    try {
+      for (; next < batch.size(); next++) {
+        String symbol = batch.get(next);
+        try {
+          String payload = marketDataProvider.fetch(MarketDataRequest.of("OVERVIEW", symbol)
+              .withPriority(MarketDataRequest.Priority.BULK));
+          fetched.incrementAndGet();
+          overviews.add(payloadParser.parseOverview(payload, symbol));
+          done.add(symbol);
+        } catch (RateBudgetExceededException | UpstreamRateLimitException | CircuitOpenException e) {
+          // Out of quota or upstream down: hand the rest back without counting an attempt
+          LOGGER.warn("Ingestion worker {} throttled at {}: {}", workerId, symbol, e.getMessage());
+          rateLimited.incrementAndGet();
+          throttled = true;
+          break;
+        } catch (InterruptedException e) {
+          throw e;
+        } catch (Exception e) {
+          LOGGER.warn("Ingestion failed for symbol {}: {}", symbol, e.getMessage());
+          failed.incrementAndGet();
+          jobRepository.markFailed(symbol, String.valueOf(e.getMessage()), config.getMaxAttempts(),
+              config.getRetryDelay());
+        }
+      }
+    } finally {
+      if (next < batch.size()) {
+        jobRepository.release(batch.subList(next, batch.size()), config.getRetryDelay());
+      }
+      // Upsert whatever was fetched, even if the batch was cut short
+      if (!overviews.isEmpty()) {
+        List<String> changed = stockOverviewRepository.saveAll(overviews);
+        jobRepository.markDone(done, config.getRefreshInterval());
+        upserted.addAndGet(overviews.size());
+        changed.forEach(stockService::invalidateOverview);
+      }
+    }
+    if (throttled) {
+      Thread.sleep(config.getRetryDelay().toMillis());
+    }
+    return batch.size();
+  }
+}
@@ -0,0 +1,23 @@
+package org.example.stream;
+
+/**
+ * Connection to one streaming client. Calls for a given sink never overlap.
+ */
+public interface QuoteSink {
+
+  /**
+   * Sends a quote, already serialized as JSON.
+   *
+   * @return false if the client has gone away
+   */
+  boolean send(String symbol, String quoteJson);
+
+  /**
+   * Sends a keep-alive so dead connections are noticed between updates.
+   *
+   * @return false if the client has gone away
+   */
+  boolean heartbeat();
+
+  void close();
+}
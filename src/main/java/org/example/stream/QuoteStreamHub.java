@@ -0,0 +1,321 @@
+package org.example.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.example.config.StreamConfig;
+import org.example.model.StockInfo;
+import org.example.service.StockService;
+import org.example.symbol.SymbolDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fans quote updates out to streaming clients.
+ *
+ * Each subscribed symbol has one poller, however many clients watch it; the poller reads
+ * through {@link StockService#prefetchStockInfo}, so upstream is hit at most once per
+ * quote-cache TTL, behind user requests. A changed quote is serialized once and offered to
+ * every subscriber. Subscribers keep only the latest undelivered quote per symbol, so a slow
+ * client gets fewer, newer updates; one that falls further behind than
+ * {@code stream.maxMissedUpdates} is disconnected.
+ */
+@Singleton
+public class QuoteStreamHub {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(QuoteStreamHub.class);
+
+  private final StockService stockService;
+  private final SymbolDirectory symbolDirectory;
+  private final ObjectMapper objectMapper;
+  private final StreamConfig config;
+  private final Map<String, SymbolFeed> feeds = new ConcurrentHashMap<>();
+  private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+  private final AtomicLong droppedUpdates = new AtomicLong();
+  private final AtomicLong slowClientsDisconnected = new AtomicLong();
+
+  private ScheduledExecutorService scheduler;
+  private ExecutorService sender;
+  private boolean stopped;
+
+  @Inject
+  public QuoteStreamHub(StockService stockService, SymbolDirectory symbolDirectory,
+      ObjectMapper objectMapper, StreamConfig config) {
+    this.stockService = stockService;
+    this.symbolDirectory = symbolDirectory;
+    this.objectMapper = objectMapper;
+    this.config = config;
+  }
+
+  /**
+   * Subscribes a client to the given symbols. The latest known quote for each symbol is sent
+   * straight away.
+   *
+   * @throws IllegalArgumentException if no or too many symbols are requested, or one is
+   *         malformed or unknown
+   * @throws IllegalStateException if the node already serves the maximum number of clients, or
+   *         is shutting down
+   */
+  public Subscription subscribe(Collection<String> symbols, QuoteSink sink) {
+    Set<String> normalized = new LinkedHashSet<>();
+    for (String symbol : symbols) {
+      if (symbol != null && !symbol.trim().isEmpty()) {
+        // Rejected before a poller is started for it
+        normalized.add(symbolDirectory.require(symbol));
+      }
+    }
+    if (normalized.isEmpty() || normalized.size() > config.getMaxSymbolsPerClient()) {
+      throw new IllegalArgumentException(
+          "Between 1 and " + config.getMaxSymbolsPerClient() + " symbols are required");
+    }
+
+    Subscription subscription = new Subscription(normalized, sink);
+    synchronized (this) {
+      if (stopped) {
+        throw new IllegalStateException("Server is shutting down");
+      }
+      if (subscriptions.size() >= config.getMaxClients()) {
+        throw new IllegalStateException("Too many streaming clients");
+      }
+      ensureStarted();
+      subscriptions.add(subscription);
+      for (String symbol : normalized) {
+        feeds.computeIfAbsent(symbol, this::startFeed).subscribers.add(subscription);
+      }
+    }
+    for (String symbol : normalized) {
+      SymbolFeed feed = feeds.get(symbol);
+      if (feed != null && feed.latestJson != null) {
+        subscription.offer(symbol, feed.latestJson);
+      }
+    }
+    LOGGER.debug("Client subscribed to {}", normalized);
+    return subscription;
+  }
+
+  /**
+   * Disconnects every client and stops polling. Clients reconnect to another node; new
+   * subscriptions are refused from here on.
+   */
+  public void stop() {
+    synchronized (this) {
+      stopped = true;
+    }
+    int clients = subscriptions.size();
+    for (Subscription subscription : subscriptions) {
+      subscription.close();
+    }
+    synchronized (this) {
+      if (scheduler != null) {
+        scheduler.shutdownNow();
+        sender.shutdownNow();
+      }
+    }
+    if (clients > 0) {
+      LOGGER.info("Closed {} quote streams", clients);
+    }
+  }
+
+  public int getClientCount() {
+    return subscriptions.size();
+  }
+
+  public int getSymbolCount() {
+    return feeds.size();
+  }
+
+  public long getDroppedUpdates() {
+    return droppedUpdates.get();
+  }
+
+  public long getSlowClientsDisconnected() {
+    return slowClientsDisconnected.get();
+  }
+
+  private synchronized void unsubscribe(Subscription subscription) {
+    if (!subscriptions.remove(subscription)) {
+      return;
+    }
+    for (String symbol : subscription.symbols) {
+      SymbolFeed feed = feeds.get(symbol);
+      if (feed != null && feed.subscribers.remove(subscription) && feed.subscribers.isEmpty()) {
+        feed.poll.cancel(false);
+        feeds.remove(symbol);
+        LOGGER.debug("Stopped polling {}: no subscribers left", symbol);
+      }
+    }
+  }
+
+  private void ensureStarted() {
+    if (scheduler != null) {
+      return;
+    }
+    // Separate pools, so sending to clients never waits behind slow upstream reads
+    scheduler = Executors.newScheduledThreadPool(config.getPollerThreads(), daemonThreads("quote-stream-poller"));
+    sender = Executors.newFixedThreadPool(config.getSenderThreads(), daemonThreads("quote-stream-sender"));
+    long heartbeatMillis = config.getHeartbeatInterval().toMillis();
+    scheduler.scheduleWithFixedDelay(() -> subscriptions.forEach(Subscription::requestHeartbeat),
+        heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private SymbolFeed startFeed(String symbol) {
+    SymbolFeed feed = new SymbolFeed(symbol);
+    feed.poll = scheduler.scheduleWithFixedDelay(() -> poll(feed),
+        0, config.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+    return feed;
+  }
+
+  private void poll(SymbolFeed feed) {
+    try {
+      StockInfo quote = stockService.prefetchStockInfo(feed.symbol);
+      String json = objectMapper.writeValueAsString(quote);
+      if (json.equals(feed.latestJson)) {
+        return;
+      }
+      feed.latestJson = json;
+      for (Subscription subscription : feed.subscribers) {
+        subscription.offer(feed.symbol, json);
+      }
+    } catch (JsonProcessingException e) {
+      LOGGER.error("Failed to serialize quote for streaming: {}", feed.symbol, e);
+    } catch (Exception e) {
+      LOGGER.warn("Failed to poll quote for streaming: {} ({})", feed.symbol, e.getMessage());
+    }
+  }
+
+  private static ThreadFactory daemonThreads(String name) {
+    AtomicInteger threadNumber = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private static final class SymbolFeed {
+    private final String symbol;
+    private final Set<Subscription> subscribers = new CopyOnWriteArraySet<>();
+    private volatile String latestJson;
+    private ScheduledFuture<?> poll;
+
+    private SymbolFeed(String symbol) {
+      this.symbol = symbol;
+    }
+  }
+
+  /**
+   * One client's subscription. Closing it unsubscribes from every symbol and closes the sink.
+   */
+  public final class Subscription implements AutoCloseable {
+
+    private final Set<String> symbols;
+    private final QuoteSink sink;
+    // Latest undelivered quote per symbol; newer quotes replace older ones
+    private final Map<String, String> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicInteger missedUpdates = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean heartbeatDue;
+
+    private Subscription(Set<String> symbols, QuoteSink sink) {
+      this.symbols = symbols;
+      this.sink = sink;
+    }
+
+    public Set<String> getSymbols() {
+      return symbols;
+    }
+
+    public boolean isClosed() {
+      return closed.get();
+    }
+
+    @Override
+    public void close() {
+      if (!closed.compareAndSet(false, true)) {
+        return;
+      }
+      unsubscribe(this);
+      pending.clear();
+      sink.close();
+    }
+
+    private void offer(String symbol, String json) {
+      if (closed.get()) {
+        return;
+      }
+      if (pending.put(symbol, json) != null) {
+        droppedUpdates.incrementAndGet();
+        if (missedUpdates.incrementAndGet() > config.getMaxMissedUpdates()) {
+          LOGGER.info("Disconnecting slow streaming client subscribed to {}", symbols);
+          slowClientsDisconnected.incrementAndGet();
+          close();
+          return;
+        }
+      }
+      scheduleDrain();
+    }
+
+    private void requestHeartbeat() {
+      heartbeatDue = true;
+      scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+      if (!closed.get() && draining.compareAndSet(false, true)) {
+        try {
+          sender.execute(this::drain);
+        } catch (RuntimeException e) {
+          draining.set(false);
+          throw e;
+        }
+      }
+    }
+
+    private void drain() {
+      try {
+        for (String symbol : pending.keySet()) {
+          String json = pending.remove(symbol);
+          if (json != null && !sink.send(symbol, json)) {
+            close();
+            return;
+          }
+        }
+        if (heartbeatDue) {
+          heartbeatDue = false;
+          if (!sink.heartbeat()) {
+            close();
+            return;
+          }
+        }
+        missedUpdates.set(0);
+      } catch (RuntimeException e) {
+        LOGGER.warn("Failed to send to streaming client, disconnecting: {}", e.getMessage());
+        close();
+        return;
+      } finally {
+        draining.set(false);
+      }
+      // Updates that arrived while we were sending
+      if (!pending.isEmpty() || heartbeatDue) {
+        scheduleDrain();
+      }
+    }
+  }
+}
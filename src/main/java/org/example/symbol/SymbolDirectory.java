@@ -0,0 +1,209 @@
+package org.example.symbol;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.example.cache.TtlCache;
+import org.example.config.SymbolConfig;
+import org.example.provider.MarketDataProvider;
+import org.example.provider.MarketDataRequest;
+import org.example.service.impl.AlphaVantagePayloadParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides whether a symbol is worth looking up before anything else is spent on it.
+ *
+ * Malformed symbols are rejected by syntax alone. Once the upstream listing of active symbols
+ * has loaded (LISTING_STATUS, refreshed daily), symbols missing from it are rejected too,
+ * except exchange-suffixed ones such as {@code TSCO.LON}, which the US listing does not cover.
+ * Symbols upstream answered an empty quote for are remembered for a while, so repeated lookups
+ * of a bad ticker never spend quota. Until the listing loads, only those two checks apply.
+ *
+ * An empty answer from any other function only means that function has nothing for the symbol
+ * (OVERVIEW is empty for ETFs), so it is remembered for that function alone.
+ */
+@Singleton
+public class SymbolDirectory {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SymbolDirectory.class);
+
+  private final SymbolConfig config;
+  private final MarketDataProvider marketDataProvider;
+  private final AlphaVantagePayloadParser payloadParser;
+  // Keyed by symbol when no such symbol exists, by function and symbol when a function had no data
+  private final TtlCache<String, Boolean> unknownSymbols;
+  private final AtomicLong rejectedInvalid = new AtomicLong();
+  private final AtomicLong rejectedUnknown = new AtomicLong();
+  // Null until the listing has loaded
+  private volatile Set<String> listed;
+  private volatile long listedAtMillis;
+  private ScheduledExecutorService executor;
+
+  @Inject
+  public SymbolDirectory(SymbolConfig config, MarketDataProvider marketDataProvider,
+      ObjectMapper objectMapper) {
+    this.config = config;
+    this.marketDataProvider = marketDataProvider;
+    this.payloadParser = new AlphaVantagePayloadParser(objectMapper);
+    this.unknownSymbols = new TtlCache<>(config.getUnknownTtl().toMillis(),
+        config.getUnknownMaxEntries());
+  }
+
+  /**
+   * A directory that never loads a listing; symbols are checked by syntax and by what upstream
+   * reported unknown.
+   */
+  public static SymbolDirectory unlisted() {
+    return new SymbolDirectory(new SymbolConfig(false, Duration.ofHours(24), Duration.ofMinutes(5),
+        Duration.ofMinutes(60), 10_000), null, new ObjectMapper());
+  }
+
+  /**
+   * Returns the canonical form of a symbol that may exist.
+   *
+   * @throws IllegalArgumentException if the symbol is empty or malformed
+   * @throws UnknownSymbolException if the symbol is not listed or upstream recently reported
+   *         it unknown
+   */
+  public String require(String symbol) {
+    String canonical = Symbols.canonicalize(symbol);
+    if (canonical == null) {
+      if (symbol == null || symbol.trim().isEmpty()) {
+        throw new IllegalArgumentException("Stock symbol cannot be null or empty");
+      }
+      rejectedInvalid.incrementAndGet();
+      throw new IllegalArgumentException("Invalid stock symbol: " + symbol.trim());
+    }
+    Set<String> current = listed;
+    if ((current != null && canonical.indexOf('.') < 0 && !current.contains(canonical))
+        || unknownSymbols.getIfFresh(canonical).isPresent()) {
+      rejectedUnknown.incrementAndGet();
+      throw new UnknownSymbolException(canonical);
+    }
+    return canonical;
+  }
+
+  /**
+   * Like {@link #require(String)}, and also rejects a symbol upstream recently had no data for
+   * from {@code function}.
+   */
+  public String require(String symbol, String function) {
+    String canonical = require(symbol);
+    if (unknownSymbols.getIfFresh(function + ":" + canonical).isPresent()) {
+      rejectedUnknown.incrementAndGet();
+      throw new UnknownSymbolException(canonical, function);
+    }
+    return canonical;
+  }
+
+  /**
+   * Remembers that upstream knows no such symbol, as an empty quote says.
+   */
+  public void markUnknown(String symbol) {
+    String canonical = Symbols.canonicalize(symbol);
+    if (canonical != null) {
+      LOGGER.info("Upstream reports unknown symbol {}; rejecting it for {} minutes", canonical,
+          config.getUnknownTtl().toMinutes());
+      unknownSymbols.put(canonical, Boolean.TRUE);
+    }
+  }
+
+  /**
+   * Remembers that one upstream function has no data for a symbol; other lookups of the symbol
+   * are unaffected.
+   */
+  public void markNoData(String symbol, String function) {
+    String canonical = Symbols.canonicalize(symbol);
+    if (canonical != null) {
+      LOGGER.info("Upstream has no {} data for {}; not asking again for {} minutes", function,
+          canonical, config.getUnknownTtl().toMinutes());
+      unknownSymbols.put(function + ":" + canonical, Boolean.TRUE);
+    }
+  }
+
+  /**
+   * Replaces the listing of active symbols.
+   */
+  public void update(Collection<String> symbols) {
+    if (symbols.isEmpty()) {
+      // An empty listing would reject every request
+      throw new IllegalArgumentException("Listing of active symbols is empty");
+    }
+    listed = Set.copyOf(symbols);
+    listedAtMillis = System.currentTimeMillis();
+  }
+
+  /**
+   * Loads the listing in the background and refreshes it periodically.
+   */
+  public synchronized void start() {
+    if (!config.isDirectoryEnabled() || executor != null) {
+      return;
+    }
+    if (!marketDataProvider.isAvailable()) {
+      LOGGER.info("Not loading the symbol directory: market data provider {} is not available",
+          marketDataProvider.getName());
+      return;
+    }
+    executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "symbol-directory");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.execute(this::load);
+  }
+
+  public synchronized void stop() {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+  }
+
+  public Map<String, Object> getStatus() {
+    Set<String> current = listed;
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("listingLoaded", current != null);
+    status.put("listedSymbols", current == null ? 0 : current.size());
+    status.put("listedAt", current == null ? null : listedAtMillis);
+    status.put("unknownSymbolsCached", unknownSymbols.size());
+    status.put("rejectedInvalid", rejectedInvalid.get());
+    status.put("rejectedUnknown", rejectedUnknown.get());
+    return status;
+  }
+
+  private void load() {
+    long nextMillis = config.getDirectoryRetryDelay().toMillis();
+    try {
+      // Bulk priority: the listing must never delay a user's request
+      String csv = marketDataProvider.fetch(MarketDataRequest.of("LISTING_STATUS", null)
+          .withPriority(MarketDataRequest.Priority.BULK));
+      List<String> symbols = payloadParser.parseActiveListings(csv);
+      update(symbols);
+      LOGGER.info("Symbol directory loaded {} active symbols", symbols.size());
+      nextMillis = config.getDirectoryRefreshInterval().toMillis();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    } catch (Exception e) {
+      LOGGER.warn("Failed to load the symbol directory, retrying in {} minutes: {}",
+          config.getDirectoryRetryDelay().toMinutes(), e.getMessage());
+    }
+    synchronized (this) {
+      if (executor != null) {
+        executor.schedule(this::load, nextMillis, TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package org.example.symbol;
+
+/**
+ * Ticker syntax and canonical form.
+ *
+ * A canonical symbol is 1 to {@value #MAX_LENGTH} upper-case letters, digits, dots and dashes,
+ * starting with a letter or digit (the stock tables store symbols as varchar(10)).
+ */
+public final class Symbols {
+
+  public static final int MAX_LENGTH = 10;
+
+  private Symbols() {
+  }
+
+  /**
+   * Returns the canonical form of a symbol, or null if it is not a valid ticker. Input that is
+   * already canonical is returned as is, without allocating.
+   */
+  public static String canonicalize(String symbol) {
+    if (symbol == null) {
+      return null;
+    }
+    int start = 0;
+    int end = symbol.length();
+    while (start < end && symbol.charAt(start) <= ' ') {
+      start++;
+    }
+    while (end > start && symbol.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    if (end == start || end - start > MAX_LENGTH) {
+      return null;
+    }
+    boolean lowerCase = false;
+    for (int i = start; i < end; i++) {
+      char c = symbol.charAt(i);
+      if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+        continue;
+      }
+      if (c >= 'a' && c <= 'z') {
+        lowerCase = true;
+      } else if ((c != '.' && c != '-') || i == start) {
+        return null;
+      }
+    }
+    if (!lowerCase) {
+      return start == 0 && end == symbol.length() ? symbol : symbol.substring(start, end);
+    }
+    char[] chars = new char[end - start];
+    for (int i = start; i < end; i++) {
+      char c = symbol.charAt(i);
+      chars[i - start] = c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+    }
+    return new String(chars);
+  }
+}
@@ -0,0 +1,19 @@
+package org.example.symbol;
+
+/**
+ * The symbol is well formed but no such ticker is listed, or upstream has no data of the
+ * requested kind for it.
+ */
+public class UnknownSymbolException extends IllegalArgumentException {
+
+  public UnknownSymbolException(String symbol) {
+    super("Unknown stock symbol: " + symbol);
+  }
+
+  /**
+   * @param function the upstream function that had nothing for the symbol, e.g. OVERVIEW
+   */
+  public UnknownSymbolException(String symbol, String function) {
+    super("No " + function + " data for stock symbol: " + symbol);
+  }
+}
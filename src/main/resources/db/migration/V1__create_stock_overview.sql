@@ -0,0 +1,46 @@
+-- Create stock_overview table
+
+CREATE TABLE IF NOT EXISTS stock_overview (
+    symbol VARCHAR(10) PRIMARY KEY,
+    data JSONB NOT NULL,
+    content_hash CHAR(64),
+    last_updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_checked_at TIMESTAMP
+) WITH (fillfactor = 80);
+
+-- last_updated_at is when the content last changed, last_checked_at when upstream last
+-- confirmed it. A refresh that returns identical content (same content_hash, a SHA-256 of the
+-- JSON) only moves last_checked_at, which is unindexed, so the row is rewritten as a HOT
+-- update without touching the indexes or notifying other nodes. Databases created before
+-- these columns existed gain them here.
+ALTER TABLE stock_overview ADD COLUMN IF NOT EXISTS content_hash CHAR(64);
+ALTER TABLE stock_overview ADD COLUMN IF NOT EXISTS last_checked_at TIMESTAMP;
+
+-- Create index on last_updated_at for better performance when ordering
+CREATE INDEX IF NOT EXISTS idx_stock_overview_last_updated 
+ON stock_overview(last_updated_at);
+
+-- Notify other nodes when an overview changes so they can drop cached copies. The payload
+-- carries the writer's application_name so a node can skip its own writes, and the new
+-- content hash.
+CREATE OR REPLACE FUNCTION notify_stock_overview_changed() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('stock_overview_changed', json_build_object(
+        'symbol', COALESCE(NEW.symbol, OLD.symbol),
+        'op', TG_OP,
+        'hash', CASE WHEN TG_OP = 'DELETE' THEN NULL ELSE NEW.content_hash END,
+        'origin', current_setting('application_name', true))::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS stock_overview_changed_insert_delete ON stock_overview;
+CREATE TRIGGER stock_overview_changed_insert_delete
+AFTER INSERT OR DELETE ON stock_overview
+FOR EACH ROW EXECUTE FUNCTION notify_stock_overview_changed();
+
+DROP TRIGGER IF EXISTS stock_overview_changed_update ON stock_overview;
+CREATE TRIGGER stock_overview_changed_update
+AFTER UPDATE ON stock_overview
+FOR EACH ROW WHEN (OLD.content_hash IS DISTINCT FROM NEW.content_hash)
+EXECUTE FUNCTION notify_stock_overview_changed();
@@ -0,0 +1,8 @@
+-- Create stock_quote table (optional persistent tier of the GLOBAL_QUOTE cache)
+-- Only read and written when cache.quote.persistent=true
+
+CREATE TABLE IF NOT EXISTS stock_quote (
+    symbol VARCHAR(10) PRIMARY KEY,
+    data JSONB NOT NULL,
+    last_updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
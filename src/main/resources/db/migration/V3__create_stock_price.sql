@@ -0,0 +1,17 @@
+-- Create stock_price table for daily and intraday price history
+-- Range-partitioned by month on bar_time. Monthly partitions are created on demand by
+-- StockPriceRepository before ingestion, e.g.:
+--   CREATE TABLE stock_price_p202401 PARTITION OF stock_price
+--       FOR VALUES FROM ('2024-01-01') TO ('2024-02-01');
+
+CREATE TABLE IF NOT EXISTS stock_price (
+    symbol VARCHAR(10) NOT NULL,
+    bar_interval VARCHAR(8) NOT NULL,
+    bar_time TIMESTAMP NOT NULL,
+    open DOUBLE PRECISION NOT NULL,
+    high DOUBLE PRECISION NOT NULL,
+    low DOUBLE PRECISION NOT NULL,
+    close DOUBLE PRECISION NOT NULL,
+    volume BIGINT NOT NULL,
+    PRIMARY KEY (symbol, bar_interval, bar_time)
+) PARTITION BY RANGE (bar_time);
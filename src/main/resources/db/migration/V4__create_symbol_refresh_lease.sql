@@ -0,0 +1,9 @@
+-- Create symbol_refresh_lease table
+-- Cluster-wide leases so only one node refreshes a symbol from upstream at a time. Keys look
+-- like 'OVERVIEW:AAPL'; rows are deleted on release and expire on their own otherwise.
+
+CREATE TABLE IF NOT EXISTS symbol_refresh_lease (
+    lease_key VARCHAR(64) PRIMARY KEY,
+    holder VARCHAR(64) NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL
+);
@@ -0,0 +1,19 @@
+-- Create ingestion_job table
+-- Work queue for bulk overview ingestion, one row per symbol. Workers claim due rows with
+-- FOR UPDATE SKIP LOCKED; finished rows go back to DONE with available_at set to the next
+-- refresh, so the queue keeps the whole universe fresh. Rows stuck IN_PROGRESS past
+-- locked_until (a crashed worker) are claimable again.
+
+CREATE TABLE IF NOT EXISTS ingestion_job (
+    symbol VARCHAR(10) PRIMARY KEY,
+    status VARCHAR(16) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    available_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    locked_by VARCHAR(64),
+    locked_until TIMESTAMPTZ,
+    last_error TEXT,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_ingestion_job_due
+ON ingestion_job(available_at) WHERE status IN ('PENDING', 'DONE');
@@ -0,0 +1,7 @@
+-- The full GIN(data) index was never used by a query but was rewritten on every upsert.
+-- Index only what the screener filters and sorts on instead. Both statements run outside a
+-- transaction so writes are not blocked while the index builds.
+DROP INDEX CONCURRENTLY IF EXISTS idx_stock_overview_data_gin;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_stock_overview_sector_pe
+ON stock_overview (upper(data->>'sector'), ((data->>'PERatio')::numeric));
@@ -0,0 +1,5 @@
+-- Optional binary copy of the overview (OverviewBinaryCodec), written when
+-- db.overview.binaryPayload=true. Reads use it instead of rendering data to JSON text and
+-- parsing it; data stays the source of truth for the screener index and notifications. Writes
+-- always set it, to NULL when the option is off, so it never lags behind data.
+ALTER TABLE stock_overview ADD COLUMN IF NOT EXISTS data_bin BYTEA;
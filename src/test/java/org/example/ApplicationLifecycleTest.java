@@ -0,0 +1,66 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import org.example.config.ShutdownConfig;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for ApplicationLifecycle
+ */
+class ApplicationLifecycleTest {
+
+  @Test
+  void testStepsRunInOrderAfterReadinessIsWithdrawn() {
+    ApplicationLifecycle lifecycle = new ApplicationLifecycle(
+        new ShutdownConfig(Duration.ofMillis(50), Duration.ofSeconds(1), Duration.ofSeconds(5)));
+    List<String> ran = new CopyOnWriteArrayList<>();
+    lifecycle.onShutdown("first", () -> ran.add("first:" + lifecycle.isReady()));
+    lifecycle.onShutdown("failing", () -> {
+      throw new IllegalStateException("boom");
+    });
+    lifecycle.onShutdown("last", () -> ran.add("last"));
+    assertFalse(lifecycle.isReady());
+    lifecycle.markReady();
+    assertTrue(lifecycle.isReady());
+
+    long start = System.currentTimeMillis();
+    assertTrue(lifecycle.shutdown());
+
+    assertTrue(System.currentTimeMillis() - start >= 50, "readiness delay was skipped");
+    assertEquals(List.of("first:false", "last"), ran);
+    assertEquals(ApplicationLifecycle.State.STOPPED, lifecycle.getState());
+    assertTrue(lifecycle.shutdown());
+    assertEquals(2, ran.size());
+  }
+
+  @Test
+  void testAbandonsStepsAfterDeadline() {
+    ApplicationLifecycle lifecycle = new ApplicationLifecycle(
+        new ShutdownConfig(Duration.ZERO, Duration.ofSeconds(1), Duration.ofMillis(200)));
+    CountDownLatch never = new CountDownLatch(1);
+    List<String> ran = new CopyOnWriteArrayList<>();
+    lifecycle.onShutdown("stuck", () -> {
+      try {
+        never.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    lifecycle.onShutdown("after", () -> ran.add("after"));
+    lifecycle.markReady();
+
+    long start = System.currentTimeMillis();
+    assertFalse(lifecycle.shutdown());
+
+    assertTrue(System.currentTimeMillis() - start < 2_000);
+    assertTrue(ran.isEmpty());
+    assertEquals(ApplicationLifecycle.State.STOPPED, lifecycle.getState());
+  }
+}
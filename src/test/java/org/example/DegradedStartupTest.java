@@ -0,0 +1,76 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Stage;
+import io.javalin.Javalin;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import org.example.config.AppModule;
+import org.example.config.StartupTimer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Boots the full application with Postgres unreachable
+ */
+class DegradedStartupTest {
+
+  private static final Map<String, String> PROPERTIES = Map.of(
+      // Nothing listens on port 1, so connections are refused straight away
+      "db.url", "jdbc:postgresql://127.0.0.1:1/stock_iq",
+      "db.pool.connectionTimeout", "1000",
+      "provider.type", "replay",
+      "cache.overview.invalidation.enabled", "false",
+      "symbols.directory.enabled", "false",
+      "shutdown.readinessDelayMillis", "0");
+
+  private final HttpClient client = HttpClient.newHttpClient();
+  private Injector injector;
+
+  @AfterEach
+  void tearDown() {
+    if (injector != null) {
+      injector.getInstance(ApplicationLifecycle.class).shutdown();
+    }
+    PROPERTIES.keySet().forEach(System::clearProperty);
+    System.clearProperty("provider.replay.dir");
+  }
+
+  @Test
+  void testStartsAndServesWithDatabaseUnreachable() throws Exception {
+    PROPERTIES.forEach(System::setProperty);
+    System.setProperty("provider.replay.dir",
+        Path.of(getClass().getResource("/replay").toURI()).toString());
+    injector = Guice.createInjector(Stage.DEVELOPMENT, new AppModule());
+
+    Javalin app = Main.start(injector, 0, new StartupTimer());
+
+    HttpResponse<String> health = get(app, "/health");
+    assertEquals(200, health.statusCode());
+    assertTrue(health.body().contains("\"database\":\"DOWN\""), health.body());
+    assertTrue(health.body().contains("\"ready\":true"), health.body());
+    assertEquals(200, get(app, "/health/ready").statusCode());
+
+    HttpResponse<String> quote = get(app, "/stock-info?symbol=IBM");
+    assertEquals(200, quote.statusCode(), quote.body());
+    assertTrue(quote.body().contains("\"success\":true"), quote.body());
+  }
+
+  private HttpResponse<String> get(Javalin app, String pathAndQuery) throws Exception {
+    HttpRequest request = HttpRequest.newBuilder(
+            URI.create("http://localhost:" + app.port() + pathAndQuery))
+        .timeout(Duration.ofSeconds(10))
+        .GET()
+        .build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+}
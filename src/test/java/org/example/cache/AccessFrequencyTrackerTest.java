@@ -0,0 +1,92 @@
+package org.example.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.example.config.FrequencyConfig;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for AccessFrequencyTracker
+ */
+class AccessFrequencyTrackerTest {
+
+  @Test
+  void testRanksHotSymbolsAmongManyColdOnes() {
+    AccessFrequencyTracker tracker = new AccessFrequencyTracker(new FrequencyConfig(true, 1024, 3));
+    for (int i = 0; i < 50; i++) {
+      tracker.record("aapl");
+      if (i % 2 == 0) {
+        tracker.record("MSFT");
+      }
+      if (i % 5 == 0) {
+        tracker.record("IBM");
+      }
+      // One-off lookups compete for the hot list
+      tracker.record("X" + i);
+    }
+
+    assertEquals(List.of("AAPL", "MSFT", "IBM"), tracker.hotSymbols(10));
+    assertEquals(List.of("AAPL"), tracker.hotSymbols(1));
+    assertTrue(tracker.frequency("AAPL") >= 50);
+    assertTrue(tracker.frequency("X1") < tracker.frequency("IBM"));
+  }
+
+  @Test
+  void testCountsAreHalvedAfterSampleSize() {
+    AccessFrequencyTracker tracker = new AccessFrequencyTracker(new FrequencyConfig(true, 16, 5));
+    // 16 counters per row age every 160 requests
+    for (int i = 0; i < 159; i++) {
+      tracker.record("AAPL");
+    }
+    assertEquals(159, tracker.frequency("AAPL"));
+    tracker.record("AAPL");
+
+    Map<String, Object> status = tracker.getStatus(5);
+    assertEquals(1L, status.get("halvings"));
+    assertEquals(160L, status.get("recorded"));
+    assertEquals(80, tracker.frequency("AAPL"));
+    assertEquals(List.of(Map.of("symbol", "AAPL", "estimatedRequests", 80)), status.get("symbols"));
+  }
+
+  @Test
+  void testConcurrentRequestsAreAllCounted() throws Exception {
+    AccessFrequencyTracker tracker = new AccessFrequencyTracker(new FrequencyConfig(true, 16384, 5));
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> recorders = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        recorders.add(executor.submit(() -> {
+          for (int i = 0; i < 1_000; i++) {
+            tracker.record("AAPL");
+          }
+        }));
+      }
+      for (Future<?> recorder : recorders) {
+        recorder.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(8_000, tracker.frequency("AAPL"));
+    assertEquals(List.of("AAPL"), tracker.hotSymbols(5));
+    assertEquals(8_000L, tracker.getStatus(5).get("recorded"));
+  }
+
+  @Test
+  void testDisabledTrackerCountsNothing() {
+    AccessFrequencyTracker tracker = AccessFrequencyTracker.disabled();
+    tracker.record("AAPL");
+
+    assertEquals(0, tracker.frequency("AAPL"));
+    assertTrue(tracker.hotSymbols(10).isEmpty());
+  }
+}
@@ -0,0 +1,60 @@
+package org.example.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.example.model.StockOverview;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for OverviewSnapshotFile
+ */
+class OverviewSnapshotFileTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void testWriteReplacesAndReadsBack() throws IOException {
+    Path file = dir.resolve("snapshots/overviews.snapshot");
+    StockOverview apple = new StockOverview("AAPL", "Apple Inc.");
+    apple.setPeRatio(new BigDecimal("29.87"));
+
+    OverviewSnapshotFile.write(file, List.of(new OverviewSnapshotFile.Entry(1_000, apple),
+        new OverviewSnapshotFile.Entry(2_000, new StockOverview("MSFT", "Microsoft Corp"))));
+    OverviewSnapshotFile.write(file, List.of(new OverviewSnapshotFile.Entry(3_000, apple)));
+
+    List<OverviewSnapshotFile.Entry> entries = OverviewSnapshotFile.read(file);
+    assertEquals(1, entries.size());
+    assertEquals(3_000, entries.get(0).loadedAtMillis());
+    assertEquals("Apple Inc.", entries.get(0).overview().getName());
+    assertEquals(new BigDecimal("29.87"), entries.get(0).overview().getPeRatio());
+    // No temporary files left behind
+    try (var files = Files.list(file.getParent())) {
+      assertEquals(1, files.count());
+    }
+  }
+
+  @Test
+  void testMissingFileIsEmptyAndCorruptFileIsRejected() throws IOException {
+    Path file = dir.resolve("overviews.snapshot");
+    assertTrue(OverviewSnapshotFile.read(file).isEmpty());
+
+    OverviewSnapshotFile.write(file, List.of(
+        new OverviewSnapshotFile.Entry(1_000, new StockOverview("AAPL", "Apple Inc."))));
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+    assertThrows(IOException.class, () -> OverviewSnapshotFile.read(file));
+
+    Files.writeString(file, "not a snapshot");
+    assertThrows(IOException.class, () -> OverviewSnapshotFile.read(file));
+  }
+}
@@ -0,0 +1,226 @@
+package org.example.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for TtlCache
+ */
+class TtlCacheTest {
+
+  private AtomicLong now;
+  private TtlCache<String, String> cache;
+
+  @BeforeEach
+  void setUp() {
+    now = new AtomicLong(1_000);
+    cache = new TtlCache<>(100, 3, now::get);
+  }
+
+  @Test
+  void testLoadsOnceWithinTtl() {
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.get("AAPL", k -> k + loads.incrementAndGet());
+    now.addAndGet(99);
+    String value = cache.get("AAPL", k -> k + loads.incrementAndGet());
+
+    assertEquals("AAPL1", value);
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void testReloadsAfterTtlButKeepsStaleEntryReadable() {
+    cache.put("AAPL", "old");
+    now.addAndGet(100);
+
+    assertFalse(cache.getIfFresh("AAPL").isPresent());
+    assertEquals("old", cache.getEntry("AAPL").orElseThrow().value());
+    assertEquals("new", cache.get("AAPL", k -> "new"));
+  }
+
+  @Test
+  void testConcurrentMissesShareOneLoad() throws Exception {
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(executor.submit(() -> cache.get("MSFT", k -> {
+          loads.incrementAndGet();
+          try {
+            release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return "value";
+        })));
+      }
+      Thread.sleep(50);
+      release.countDown();
+      for (Future<String> result : results) {
+        assertEquals("value", result.get(5, TimeUnit.SECONDS));
+      }
+      assertEquals(1, loads.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testWaitersSeeLoaderError() throws Exception {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch fail = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<String> loader = executor.submit(() -> cache.get("ERR", k -> {
+        loading.countDown();
+        try {
+          fail.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        throw new AssertionError("loader blew up");
+      }));
+      assertTrue(loading.await(5, TimeUnit.SECONDS));
+      Future<String> waiter = executor.submit(() -> cache.get("ERR", k -> "second load"));
+      Thread.sleep(50);
+      fail.countDown();
+
+      ExecutionException loaderFailure = assertThrows(ExecutionException.class,
+          () -> loader.get(5, TimeUnit.SECONDS));
+      assertTrue(loaderFailure.getCause() instanceof AssertionError);
+      // The waiter either shared the failed load or loaded again after it; it never hangs
+      try {
+        assertEquals("second load", waiter.get(5, TimeUnit.SECONDS));
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof AssertionError);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testLoaderFailureIsNotCached() {
+    assertThrows(IllegalStateException.class, () -> cache.get("BAD", k -> {
+      throw new IllegalStateException("upstream down");
+    }));
+
+    assertEquals("ok", cache.get("BAD", k -> "ok"));
+  }
+
+  @Test
+  void testEvictsOldestBeyondCapacity() {
+    cache.put("A", "1");
+    now.incrementAndGet();
+    cache.put("B", "2");
+    now.incrementAndGet();
+    cache.put("C", "3");
+    now.incrementAndGet();
+    cache.put("D", "4");
+
+    assertEquals(3, cache.size());
+    assertFalse(cache.getEntry("A").isPresent());
+    assertTrue(cache.getEntry("D").isPresent());
+  }
+
+  @Test
+  void testExpiredEntriesWaitForEviction() {
+    cache.put("A", "1");
+    cache.put("B", "2");
+    now.addAndGet(100);
+    cache.put("C", "3");
+
+    // Nothing is swept on put; A goes first because it was stored first
+    assertEquals(3, cache.size());
+    cache.put("D", "4");
+    assertFalse(cache.getEntry("A").isPresent());
+    assertEquals("2", cache.getEntry("B").orElseThrow().value());
+    assertFalse(cache.getIfFresh("B").isPresent());
+  }
+
+  @Test
+  void testStaysAtCapacityUnderConcurrentPuts() throws Exception {
+    TtlCache<String, String> shared = new TtlCache<>(60_000, 100);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> writers = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        int writer = t;
+        writers.add(executor.submit(() -> {
+          for (int i = 0; i < 1_000; i++) {
+            shared.put(writer + "-" + i, "v");
+          }
+        }));
+      }
+      for (Future<?> result : writers) {
+        result.get(5, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // Neither overfilled nor over-evicted
+    assertEquals(100, shared.size());
+  }
+
+  @Test
+  void testKeepsFrequentEntriesAndRejectsColderNewcomers() {
+    Map<String, Integer> requests = Map.of("A", 5, "B", 1, "C", 3, "E", 2);
+    TtlCache<String, String> frequencyCache = new TtlCache<>(100, 3, now::get,
+        key -> requests.getOrDefault(key, 0));
+    frequencyCache.put("A", "1");
+    now.incrementAndGet();
+    frequencyCache.put("B", "2");
+    now.incrementAndGet();
+    frequencyCache.put("C", "3");
+    now.incrementAndGet();
+
+    // D was never requested, so it does not displace anything
+    frequencyCache.put("D", "4");
+    assertFalse(frequencyCache.getEntry("D").isPresent());
+    assertEquals(3, frequencyCache.size());
+
+    // E beats B, the least requested entry, even though A is older
+    frequencyCache.put("E", "5");
+    assertTrue(frequencyCache.getEntry("A").isPresent());
+    assertFalse(frequencyCache.getEntry("B").isPresent());
+    assertTrue(frequencyCache.getEntry("E").isPresent());
+  }
+
+  @Test
+  void testColdNewcomerTakesTheSlotOfAnExpiredEntry() {
+    Map<String, Integer> requests = Map.of("A", 5, "B", 4, "C", 3);
+    TtlCache<String, String> frequencyCache = new TtlCache<>(100, 3, now::get,
+        key -> requests.getOrDefault(key, 0));
+    frequencyCache.put("A", "1");
+    now.addAndGet(50);
+    frequencyCache.put("B", "2");
+    frequencyCache.put("C", "3");
+    now.addAndGet(50);
+
+    // A has expired, so D replaces it despite never having been requested
+    frequencyCache.put("D", "4");
+    assertFalse(frequencyCache.getEntry("A").isPresent());
+    assertTrue(frequencyCache.getEntry("B").isPresent());
+    assertTrue(frequencyCache.getEntry("D").isPresent());
+  }
+}
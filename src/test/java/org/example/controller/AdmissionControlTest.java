@@ -0,0 +1,124 @@
+package org.example.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.javalin.http.Context;
+import io.javalin.http.Handler;
+import io.javalin.http.Header;
+import io.javalin.http.HttpStatus;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.example.config.AdmissionConfig;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for AdmissionControl
+ */
+class AdmissionControlTest {
+
+  @Test
+  void testFullBudgetShedsOnlyItsOwnClass() throws Exception {
+    AdmissionControl admission = new AdmissionControl(
+        new AdmissionConfig(true, 2, 2, 1, 6_000, 100, null, 100, 3));
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Handler slowUpstream = admission.admit(AdmissionControl.EndpointClass.UPSTREAM, ctx -> {
+      entered.countDown();
+      release.await(5, TimeUnit.SECONDS);
+    });
+    AtomicInteger cachedCalls = new AtomicInteger();
+    Handler cached = admission.admit(AdmissionControl.EndpointClass.CACHED,
+        ctx -> cachedCalls.incrementAndGet());
+
+    Thread holder = new Thread(() -> {
+      try {
+        slowUpstream.handle(context("10.0.0.1"));
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    });
+    holder.start();
+    entered.await(5, TimeUnit.SECONDS);
+
+    Context rejected = context("10.0.0.2");
+    slowUpstream.handle(rejected);
+    verify(rejected).status(HttpStatus.TOO_MANY_REQUESTS);
+    verify(rejected).header(Header.RETRY_AFTER, "3");
+
+    Context admitted = context("10.0.0.2");
+    cached.handle(admitted);
+    assertEquals(1, cachedCalls.get());
+    verify(admitted, never()).status(any(HttpStatus.class));
+
+    release.countDown();
+    holder.join();
+    Map<?, ?> upstream = (Map<?, ?>) admission.getStatus().get("upstream");
+    assertEquals(0, upstream.get("inFlight"));
+    assertEquals(1L, upstream.get("rejected"));
+  }
+
+  @Test
+  void testClientOverItsRateIsToldWhenToRetry() throws Exception {
+    // One request per minute after a burst of two, tracked per X-Api-Key
+    AdmissionControl admission = new AdmissionControl(
+        new AdmissionConfig(true, 10, 10, 10, 1, 2, "X-Api-Key", 100, 1));
+    AtomicInteger calls = new AtomicInteger();
+    Handler handler = admission.admit(AdmissionControl.EndpointClass.CACHED,
+        ctx -> calls.incrementAndGet());
+
+    handler.handle(context("10.0.0.1", "key-a"));
+    handler.handle(context("10.0.0.2", "key-a"));
+    Context limited = context("10.0.0.3", "key-a");
+    handler.handle(limited);
+    handler.handle(context("10.0.0.1", "key-b"));
+
+    assertEquals(3, calls.get());
+    verify(limited).status(HttpStatus.TOO_MANY_REQUESTS);
+    verify(limited).header(Header.RETRY_AFTER, "60");
+    assertEquals(1L, admission.getStatus().get("rateLimited"));
+  }
+
+  @Test
+  void testDropsLeastRecentlySeenClientBeyondLimit() throws Exception {
+    // A burst of one and room for two clients
+    AdmissionControl admission = new AdmissionControl(
+        new AdmissionConfig(true, 10, 10, 10, 1, 1, null, 2, 1));
+    AtomicInteger calls = new AtomicInteger();
+    Handler handler = admission.admit(AdmissionControl.EndpointClass.CACHED,
+        ctx -> calls.incrementAndGet());
+
+    handler.handle(context("10.0.0.1"));
+    handler.handle(context("10.0.0.2"));
+    // Seeing 10.0.0.1 again makes 10.0.0.2 the least recently seen
+    handler.handle(context("10.0.0.1"));
+    handler.handle(context("10.0.0.3"));
+    assertEquals(2, admission.getStatus().get("clientsTracked"));
+
+    Context stillLimited = context("10.0.0.1");
+    handler.handle(stillLimited);
+    verify(stillLimited).status(HttpStatus.TOO_MANY_REQUESTS);
+    Context forgotten = context("10.0.0.2");
+    handler.handle(forgotten);
+    verify(forgotten, never()).status(any(HttpStatus.class));
+    assertEquals(4, calls.get());
+  }
+
+  private static Context context(String ip) {
+    return context(ip, null);
+  }
+
+  private static Context context(String ip, String apiKey) {
+    Context ctx = mock(Context.class);
+    when(ctx.ip()).thenReturn(ip);
+    when(ctx.header("X-Api-Key")).thenReturn(apiKey);
+    when(ctx.status(any(HttpStatus.class))).thenReturn(ctx);
+    return ctx;
+  }
+}
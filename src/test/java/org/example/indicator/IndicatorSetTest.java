@@ -0,0 +1,136 @@
+package org.example.indicator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.example.model.IndicatorSnapshot;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the incremental indicators, checked against direct recomputation
+ */
+class IndicatorSetTest {
+
+  private static final double EPSILON = 1e-9;
+
+  @Test
+  void testSimpleMovingAverageMatchesRecomputation() {
+    double[] closes = randomWalk(200);
+    SimpleMovingAverage sma = new SimpleMovingAverage(20);
+    for (int i = 0; i < closes.length; i++) {
+      double value = sma.update(closes[i]);
+      if (i < 19) {
+        assertTrue(Double.isNaN(value));
+      } else {
+        assertEquals(mean(closes, i - 19, i + 1), value, EPSILON);
+      }
+    }
+  }
+
+  @Test
+  void testExponentialMovingAverageMatchesRecomputation() {
+    double[] closes = randomWalk(100);
+    ExponentialMovingAverage ema = new ExponentialMovingAverage(10);
+    for (double close : closes) {
+      ema.update(close);
+    }
+
+    double alpha = 2.0 / 11;
+    double expected = mean(closes, 0, 10);
+    for (int i = 10; i < closes.length; i++) {
+      expected = alpha * closes[i] + (1 - alpha) * expected;
+    }
+    assertEquals(expected, ema.value(), EPSILON);
+  }
+
+  @Test
+  void testRelativeStrengthIndexBounds() {
+    RelativeStrengthIndex rising = new RelativeStrengthIndex(14);
+    RelativeStrengthIndex falling = new RelativeStrengthIndex(14);
+    for (int i = 0; i < 30; i++) {
+      rising.update(100 + i);
+      falling.update(100 - i);
+    }
+    assertEquals(100.0, rising.value(), EPSILON);
+    assertEquals(0.0, falling.value(), EPSILON);
+  }
+
+  @Test
+  void testRelativeStrengthIndexWilderSmoothing() {
+    double[] closes = {44.34, 44.09, 44.15, 43.61, 44.33, 44.83, 45.10, 45.42, 45.84, 46.08,
+        45.89, 46.03, 45.61, 46.28, 46.28, 46.00};
+    RelativeStrengthIndex rsi = new RelativeStrengthIndex(14);
+    for (double close : closes) {
+      rsi.update(close);
+    }
+
+    double gain = 0;
+    double loss = 0;
+    for (int i = 1; i <= 14; i++) {
+      double change = closes[i] - closes[i - 1];
+      gain += Math.max(change, 0) / 14;
+      loss += Math.max(-change, 0) / 14;
+    }
+    double change = closes[15] - closes[14];
+    gain = (gain * 13 + Math.max(change, 0)) / 14;
+    loss = (loss * 13 + Math.max(-change, 0)) / 14;
+    assertEquals(100 - 100 / (1 + gain / loss), rsi.value(), EPSILON);
+  }
+
+  @Test
+  void testBollingerBandsMatchRecomputation() {
+    double[] closes = randomWalk(120);
+    BollingerBands bands = new BollingerBands(20, 2.0);
+    for (double close : closes) {
+      bands.update(close);
+    }
+
+    double mean = mean(closes, 100, 120);
+    double variance = 0;
+    for (int i = 100; i < 120; i++) {
+      variance += (closes[i] - mean) * (closes[i] - mean) / 20;
+    }
+    assertEquals(mean, bands.middle(), EPSILON);
+    assertEquals(mean + 2 * Math.sqrt(variance), bands.upper(), 1e-6);
+    assertEquals(mean - 2 * Math.sqrt(variance), bands.lower(), 1e-6);
+  }
+
+  @Test
+  void testIndicatorSetIgnoresReplayedBars() {
+    IndicatorSet indicators = new IndicatorSet(5);
+    for (int i = 0; i < 10; i++) {
+      assertTrue(indicators.update(i, 100 + i));
+    }
+    assertFalse(indicators.update(9, 500));
+    assertFalse(indicators.update(3, 500));
+
+    IndicatorSnapshot snapshot = indicators.snapshot("AAPL", "daily");
+    assertEquals(10, indicators.getBarCount());
+    assertEquals(107.0, snapshot.getSma(), EPSILON);
+    assertEquals(109.0, snapshot.getClose(), EPSILON);
+    // MACD needs 26 bars before the line exists
+    assertNull(snapshot.getMacd());
+  }
+
+  private static double[] randomWalk(int n) {
+    Random random = new Random(42);
+    double[] values = new double[n];
+    double value = 100;
+    for (int i = 0; i < n; i++) {
+      value += random.nextGaussian();
+      values[i] = value;
+    }
+    return values;
+  }
+
+  private static double mean(double[] values, int from, int to) {
+    double sum = 0;
+    for (int i = from; i < to; i++) {
+      sum += values[i];
+    }
+    return sum / (to - from);
+  }
+}
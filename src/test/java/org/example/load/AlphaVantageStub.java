@@ -0,0 +1,108 @@
+package org.example.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import org.example.provider.MarketDataRequest;
+import org.example.provider.ReplayMarketDataProvider;
+
+/**
+ * Embedded HTTP stand-in for the Alpha Vantage query endpoint.
+ *
+ * Answers {@code GET /query?function=...&symbol=...} from recorded payloads through a
+ * {@link ReplayMarketDataProvider}, so latency, failure and "Note" rate-limit responses are
+ * injected exactly as in offline replay. Simulated failures are answered with HTTP 503.
+ */
+final class AlphaVantageStub implements AutoCloseable {
+
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final ReplayMarketDataProvider payloads;
+  private final Map<String, LongAdder> callsByFunction = new ConcurrentHashMap<>();
+
+  AlphaVantageStub(ReplayMarketDataProvider payloads) throws IOException {
+    this.payloads = payloads;
+    this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/query", this::handle);
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  String getBaseUrl() {
+    return "http://localhost:" + server.getAddress().getPort() + "/query";
+  }
+
+  /**
+   * Upstream calls served so far, by function.
+   */
+  Map<String, Long> getCallsByFunction() {
+    Map<String, Long> calls = new LinkedHashMap<>();
+    callsByFunction.forEach((function, count) -> calls.put(function, count.sum()));
+    return calls;
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+    String function = query.remove("function");
+    String symbol = query.remove("symbol");
+    query.remove("apikey");
+    if (function == null) {
+      respond(exchange, 400, "{\"Error Message\": \"Missing function\"}");
+      return;
+    }
+    callsByFunction.computeIfAbsent(function, f -> new LongAdder()).increment();
+
+    MarketDataRequest request = MarketDataRequest.of(function, symbol);
+    for (Map.Entry<String, String> parameter : query.entrySet()) {
+      request = request.withParameter(parameter.getKey(), parameter.getValue());
+    }
+    try {
+      respond(exchange, 200, payloads.fetch(request));
+    } catch (IOException e) {
+      respond(exchange, 503, "Service Unavailable");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      respond(exchange, 503, "Service Unavailable");
+    }
+  }
+
+  private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private static Map<String, String> parseQuery(String rawQuery) {
+    Map<String, String> query = new LinkedHashMap<>();
+    if (rawQuery == null) {
+      return query;
+    }
+    for (String pair : rawQuery.split("&")) {
+      int eq = pair.indexOf('=');
+      if (eq > 0) {
+        query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+            URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+      }
+    }
+    return query;
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+}
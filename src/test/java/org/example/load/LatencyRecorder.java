@@ -0,0 +1,53 @@
+package org.example.load;
+
+import java.util.Arrays;
+
+/**
+ * Single-threaded recorder of request latencies. Each load worker owns one per scenario;
+ * they are merged once the run is over, so recording never contends.
+ */
+final class LatencyRecorder {
+
+  private long[] nanos = new long[1024];
+  private int count;
+  private long errors;
+
+  void record(long latencyNanos) {
+    if (count == nanos.length) {
+      nanos = Arrays.copyOf(nanos, count * 2);
+    }
+    nanos[count++] = latencyNanos;
+  }
+
+  void recordError() {
+    errors++;
+  }
+
+  void merge(LatencyRecorder other) {
+    for (int i = 0; i < other.count; i++) {
+      record(other.nanos[i]);
+    }
+    errors += other.errors;
+  }
+
+  int getCount() {
+    return count;
+  }
+
+  long getErrors() {
+    return errors;
+  }
+
+  /**
+   * Latency at the given percentile (0-100) in milliseconds, by nearest rank.
+   */
+  double percentileMillis(double percentile) {
+    if (count == 0) {
+      return Double.NaN;
+    }
+    long[] sorted = Arrays.copyOf(nanos, count);
+    Arrays.sort(sorted);
+    int rank = (int) Math.ceil(percentile / 100.0 * count);
+    return sorted[Math.max(0, Math.min(count - 1, rank - 1))] / 1_000_000.0;
+  }
+}
@@ -0,0 +1,151 @@
+package org.example.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop load driver: a fixed number of workers each send one request at a time, picking
+ * a scenario by weight, for a warm-up period (not recorded) and then a measured period.
+ */
+final class LoadGenerator {
+
+  /**
+   * A weighted kind of request. The supplier is called for every request so scenarios can
+   * vary symbols.
+   */
+  record Scenario(String name, int weight, Supplier<HttpRequest> request) {
+  }
+
+  private final HttpClient client = HttpClient.newBuilder()
+      .connectTimeout(Duration.ofSeconds(5))
+      .build();
+  private final List<Scenario> scenarios;
+  private final int totalWeight;
+
+  LoadGenerator(List<Scenario> scenarios) {
+    this.scenarios = List.copyOf(scenarios);
+    this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+  }
+
+  Report run(int concurrency, Duration warmup, Duration measured) throws Exception {
+    ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+    try {
+      long measureFrom = System.nanoTime() + warmup.toNanos();
+      long stopAt = measureFrom + measured.toNanos();
+      List<Future<Map<String, LatencyRecorder>>> results = new ArrayList<>();
+      for (int i = 0; i < concurrency; i++) {
+        results.add(workers.submit(() -> drive(measureFrom, stopAt)));
+      }
+
+      Map<String, LatencyRecorder> merged = new LinkedHashMap<>();
+      scenarios.forEach(s -> merged.put(s.name(), new LatencyRecorder()));
+      for (Future<Map<String, LatencyRecorder>> result : results) {
+        result.get().forEach((name, recorder) -> merged.get(name).merge(recorder));
+      }
+      return new Report(concurrency, measured, merged);
+    } finally {
+      workers.shutdownNow();
+    }
+  }
+
+  private Map<String, LatencyRecorder> drive(long measureFrom, long stopAt) {
+    Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    scenarios.forEach(s -> recorders.put(s.name(), new LatencyRecorder()));
+    while (true) {
+      Scenario scenario = pick();
+      long start = System.nanoTime();
+      if (start >= stopAt) {
+        return recorders;
+      }
+      boolean ok;
+      try {
+        HttpResponse<Void> response = client.send(scenario.request().get(),
+            HttpResponse.BodyHandlers.discarding());
+        ok = response.statusCode() == 200;
+      } catch (Exception e) {
+        if (Thread.currentThread().isInterrupted()) {
+          return recorders;
+        }
+        ok = false;
+      }
+      if (start >= measureFrom) {
+        LatencyRecorder recorder = recorders.get(scenario.name());
+        if (ok) {
+          recorder.record(System.nanoTime() - start);
+        } else {
+          recorder.recordError();
+        }
+      }
+    }
+  }
+
+  private Scenario pick() {
+    int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+    for (Scenario scenario : scenarios) {
+      roll -= scenario.weight();
+      if (roll < 0) {
+        return scenario;
+      }
+    }
+    return scenarios.get(scenarios.size() - 1);
+  }
+
+  /**
+   * Throughput and latency percentiles per scenario and overall.
+   */
+  static final class Report {
+
+    private final int concurrency;
+    private final Duration measured;
+    private final Map<String, LatencyRecorder> byScenario;
+    private final LatencyRecorder total = new LatencyRecorder();
+
+    Report(int concurrency, Duration measured, Map<String, LatencyRecorder> byScenario) {
+      this.concurrency = concurrency;
+      this.measured = measured;
+      this.byScenario = byScenario;
+      byScenario.values().forEach(total::merge);
+    }
+
+    long getSuccessCount() {
+      return total.getCount();
+    }
+
+    long getErrorCount() {
+      return total.getErrors();
+    }
+
+    double getThroughput() {
+      return total.getCount() / (measured.toMillis() / 1000.0);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder out = new StringBuilder(String.format(
+          "Load test: concurrency=%d, measured=%ds%n  %-10s %9s %7s %9s %8s %8s %8s%n",
+          concurrency, measured.toSeconds(), "scenario", "ok", "errors", "req/s", "p50 ms",
+          "p99 ms", "p999 ms"));
+      byScenario.forEach((name, recorder) -> out.append(row(name, recorder)));
+      out.append(row("total", total));
+      return out.toString();
+    }
+
+    private String row(String name, LatencyRecorder recorder) {
+      return String.format("  %-10s %9d %7d %9.1f %8.2f %8.2f %8.2f%n", name, recorder.getCount(),
+          recorder.getErrors(), recorder.getCount() / (measured.toMillis() / 1000.0),
+          recorder.percentileMillis(50), recorder.percentileMillis(99),
+          recorder.percentileMillis(99.9));
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package org.example.load;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Stage;
+import io.javalin.Javalin;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.example.Main;
+import org.example.config.AppModule;
+import org.example.config.StartupTimer;
+import org.example.provider.ReplayMarketDataProvider;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Boots the full application against a Postgres container and an embedded Alpha Vantage stub,
+ * drives mixed traffic at fixed concurrency and logs throughput and p50/p99/p999.
+ *
+ * Excluded from the default build; run with {@code mvn -Pload-test test}. Tunables (system
+ * properties): load.concurrency, load.warmupSeconds, load.durationSeconds, load.symbols,
+ * load.upstreamLatencyMillis, load.upstreamJitterMillis, load.upstreamErrorRate,
+ * load.upstreamRateLimitRate, load.batchSize.
+ */
+@Tag("load")
+@Testcontainers
+class StockApiLoadTest {
+
+  @Container
+  private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+      .withDatabaseName("stock_iq")
+      .withUsername("test")
+      .withPassword("test");
+
+  private static AlphaVantageStub upstream;
+  private static Javalin app;
+  private static String baseUrl;
+
+  @BeforeAll
+  static void startStack() throws Exception {
+    upstream = new AlphaVantageStub(new ReplayMarketDataProvider(
+        Path.of(StockApiLoadTest.class.getResource("/replay").toURI()),
+        Long.getLong("load.upstreamLatencyMillis", 150),
+        Long.getLong("load.upstreamJitterMillis", 100),
+        Double.parseDouble(System.getProperty("load.upstreamErrorRate", "0")),
+        Double.parseDouble(System.getProperty("load.upstreamRateLimitRate", "0.01"))));
+
+    System.setProperty("db.url", postgres.getJdbcUrl());
+    System.setProperty("db.username", postgres.getUsername());
+    System.setProperty("db.password", postgres.getPassword());
+    System.setProperty("provider.type", "alphavantage");
+    System.setProperty("provider.alphavantage.baseUrl", upstream.getBaseUrl());
+    System.setProperty("provider.alphavantage.apiKey", "load-test");
+    System.setProperty("provider.rateLimit.callsPerMinute", "0");
+    // The generator is a single client; measure the stack, not the admission limits
+    System.setProperty("admission.enabled", "false");
+    System.setProperty("symbols.directory.enabled", "false");
+
+    Injector injector = Guice.createInjector(Stage.DEVELOPMENT, new AppModule());
+    app = Main.start(injector, 0, new StartupTimer());
+    baseUrl = "http://localhost:" + app.port();
+  }
+
+  @AfterAll
+  static void stopStack() {
+    if (app != null) {
+      app.stop();
+    }
+    if (upstream != null) {
+      upstream.close();
+    }
+  }
+
+  @Test
+  void mixedTraffic() throws Exception {
+    List<String> symbols = IntStream.range(0, Integer.getInteger("load.symbols", 500))
+        .mapToObj(i -> String.format("LT%04d", i))
+        .collect(Collectors.toList());
+    int batchSize = Integer.getInteger("load.batchSize", 10);
+
+    LoadGenerator generator = new LoadGenerator(List.of(
+        new LoadGenerator.Scenario("info", 60, () -> get("/stock-info?symbol=" + pick(symbols))),
+        new LoadGenerator.Scenario("overview", 30,
+            () -> get("/stock-overview?symbol=" + pick(symbols))),
+        new LoadGenerator.Scenario("batch", 10, () -> batch(symbols, batchSize))));
+
+    LoadGenerator.Report report = generator.run(
+        Integer.getInteger("load.concurrency", 32),
+        Duration.ofSeconds(Integer.getInteger("load.warmupSeconds", 10)),
+        Duration.ofSeconds(Integer.getInteger("load.durationSeconds", 30)));
+
+    System.out.println(report);
+    System.out.println("Upstream calls by function: " + upstream.getCallsByFunction());
+    assertTrue(report.getSuccessCount() > 0, "no successful requests");
+  }
+
+  private HttpRequest get(String pathAndQuery) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery))
+        .timeout(Duration.ofSeconds(30))
+        .GET()
+        .build();
+  }
+
+  private HttpRequest batch(List<String> symbols, int size) {
+    String body = IntStream.range(0, size)
+        .mapToObj(i -> "\"" + pick(symbols) + "\"")
+        .collect(Collectors.joining(",", "{\"symbols\":[", "]}"));
+    return HttpRequest.newBuilder(URI.create(baseUrl + "/stock"))
+        .timeout(Duration.ofSeconds(30))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+  }
+
+  private static String pick(List<String> symbols) {
+    return symbols.get(ThreadLocalRandom.current().nextInt(symbols.size()));
+  }
+}
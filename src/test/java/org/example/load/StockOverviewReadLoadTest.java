@@ -0,0 +1,109 @@
+package org.example.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.List;
+import org.example.config.CacheConfig;
+import org.example.config.StorageConfig;
+import org.example.model.StockOverview;
+import org.example.repository.SchemaMigrator;
+import org.example.repository.StockOverviewRepository;
+import org.example.repository.StockOverviewRowMapper;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.postgres.PostgresPlugin;
+import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Compares full-table overview reads from the JSONB column (text output + Jackson parse per
+ * row) with reads from the binary payload (db.overview.binaryPayload).
+ *
+ * <pre>
+ * mvn -Pload-test test -Dtest=StockOverviewReadLoadTest -Dbench.symbols=20000 -Dbench.rounds=20
+ * </pre>
+ */
+@Tag("load")
+@Testcontainers
+class StockOverviewReadLoadTest {
+
+  @Container
+  private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+      .withDatabaseName("stock_iq")
+      .withUsername("test")
+      .withPassword("test");
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void compareScanThroughput() {
+    int symbolCount = Integer.getInteger("bench.symbols", 20_000);
+    int rounds = Integer.getInteger("bench.rounds", 10);
+
+    HikariConfig poolConfig = new HikariConfig();
+    poolConfig.setJdbcUrl(postgres.getJdbcUrl());
+    poolConfig.setUsername(postgres.getUsername());
+    poolConfig.setPassword(postgres.getPassword());
+    try (HikariDataSource dataSource = new HikariDataSource(poolConfig)) {
+      new SchemaMigrator(dataSource).migrate();
+      Jdbi jdbi = Jdbi.create(dataSource)
+          .installPlugin(new SqlObjectPlugin())
+          .installPlugin(new PostgresPlugin())
+          .registerRowMapper(StockOverview.class, new StockOverviewRowMapper(objectMapper));
+      jdbi.useHandle(handle -> handle.execute("TRUNCATE stock_overview"));
+
+      List<StockOverview> overviews = new ArrayList<>(symbolCount);
+      for (int i = 0; i < symbolCount; i++) {
+        overviews.add(StockOverviewUpsertLoadTest.overview(String.format("R%05d", i)));
+      }
+      StockOverviewRepository jsonRepository = repository(jdbi, false);
+      StockOverviewRepository binaryRepository = repository(jdbi, true);
+
+      for (int from = 0; from < symbolCount; from += 500) {
+        jsonRepository.saveAll(overviews.subList(from, Math.min(symbolCount, from + 500)));
+      }
+      double json = scan(jsonRepository, symbolCount, rounds);
+      long jsonTableBytes = tableSize(jdbi);
+
+      // Same content, so only data_bin is written
+      for (int from = 0; from < symbolCount; from += 500) {
+        binaryRepository.saveAll(overviews.subList(from, Math.min(symbolCount, from + 500)));
+      }
+      jdbi.useHandle(handle -> handle.execute("VACUUM FULL stock_overview"));
+      double binary = scan(binaryRepository, symbolCount, rounds);
+      long binaryTableBytes = tableSize(jdbi);
+
+      System.out.printf("%nstock_overview full scan: %d rows x %d rounds%n", symbolCount, rounds);
+      System.out.printf("  %-8s %12s %10s%n", "payload", "rows/s", "table MB");
+      System.out.printf("  %-8s %12.0f %10.1f%n", "jsonb", json, jsonTableBytes / 1e6);
+      System.out.printf("  %-8s %12.0f %10.1f%n", "binary", binary, binaryTableBytes / 1e6);
+    }
+  }
+
+  private StockOverviewRepository repository(Jdbi jdbi, boolean binaryPayload) {
+    return new StockOverviewRepository(jdbi, objectMapper, CacheConfig.defaults(),
+        new StorageConfig(binaryPayload));
+  }
+
+  private static double scan(StockOverviewRepository repository, int symbolCount, int rounds) {
+    // One unmeasured pass warms the JIT and the buffer cache
+    assertEquals(symbolCount, repository.findAll().size());
+    long start = System.nanoTime();
+    for (int round = 0; round < rounds; round++) {
+      assertEquals(symbolCount, repository.findAll().size());
+    }
+    return symbolCount * (double) rounds / ((System.nanoTime() - start) / 1e9);
+  }
+
+  private static long tableSize(Jdbi jdbi) {
+    return jdbi.withHandle(handle -> handle
+        .createQuery("SELECT pg_table_size('stock_overview')").mapTo(Long.class).one());
+  }
+}
@@ -0,0 +1,196 @@
+package org.example.load;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.sql.DataSource;
+import org.example.model.StockOverview;
+import org.example.repository.SchemaMigrator;
+import org.example.repository.StockOverviewRepository;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.PreparedBatch;
+import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Compares overview upsert throughput and WAL volume between the original stock_overview
+ * layout (GIN(data) index, default fillfactor, every refresh rewrites the row) and the current
+ * one (screener expression index, fillfactor 80, unchanged refreshes only touch
+ * last_checked_at).
+ *
+ * Each round refreshes every symbol, with {@code bench.changeRate} of them returning changed
+ * content, which is roughly what a daily re-ingestion of the ticker universe looks like.
+ *
+ * <pre>
+ * mvn -Pload-test test -Dtest=StockOverviewUpsertLoadTest -Dbench.symbols=20000 -Dbench.rounds=5
+ * </pre>
+ */
+@Tag("load")
+@Testcontainers
+class StockOverviewUpsertLoadTest {
+
+  private static final String LEGACY_UPSERT = """
+      INSERT INTO stock_overview (symbol, data, last_updated_at)
+      VALUES (:symbol, CAST(:jsonData AS jsonb), now())
+      ON CONFLICT (symbol)
+      DO UPDATE SET data = EXCLUDED.data, last_updated_at = EXCLUDED.last_updated_at
+      """;
+
+  private static final String[] SECTORS = {
+      "TECHNOLOGY", "HEALTHCARE", "FINANCIAL SERVICES", "ENERGY", "INDUSTRIALS", "UTILITIES"
+  };
+
+  @Container
+  private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+      .withDatabaseName("stock_iq")
+      .withUsername("test")
+      .withPassword("test");
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void compareUpsertThroughput() throws Exception {
+    int symbolCount = Integer.getInteger("bench.symbols", 5_000);
+    int rounds = Integer.getInteger("bench.rounds", 3);
+    int batchSize = Integer.getInteger("bench.batchSize", 100);
+    double changeRate = Double.parseDouble(System.getProperty("bench.changeRate", "0.1"));
+
+    HikariConfig poolConfig = new HikariConfig();
+    poolConfig.setJdbcUrl(postgres.getJdbcUrl());
+    poolConfig.setUsername(postgres.getUsername());
+    poolConfig.setPassword(postgres.getPassword());
+    try (HikariDataSource dataSource = new HikariDataSource(poolConfig)) {
+      compare(dataSource, symbolCount, rounds, batchSize, changeRate);
+    }
+  }
+
+  private void compare(DataSource dataSource, int symbolCount, int rounds, int batchSize,
+                       double changeRate) throws Exception {
+    Jdbi jdbi = Jdbi.create(dataSource).installPlugin(new SqlObjectPlugin());
+    StockOverviewRepository repository = new StockOverviewRepository(jdbi, objectMapper);
+
+    resetSchema(dataSource, jdbi, true);
+    Result legacy = run(jdbi, symbolCount, rounds, batchSize, changeRate,
+        batch -> legacySaveAll(jdbi, batch));
+
+    resetSchema(dataSource, jdbi, false);
+    Result current = run(jdbi, symbolCount, rounds, batchSize, changeRate, repository::saveAll);
+
+    System.out.printf("%nstock_overview upsert: %d symbols x %d rounds, %.0f%% changed per round%n",
+        symbolCount, rounds, changeRate * 100);
+    System.out.printf("  %-8s %12s %12s %10s %10s%n", "layout", "rows/s", "WAL MB", "table MB", "index MB");
+    System.out.println("  " + legacy.format("legacy"));
+    System.out.println("  " + current.format("current"));
+
+    assertTrue(current.rowsPerSecond > 0, "no rows written");
+  }
+
+  private Result run(Jdbi jdbi, int symbolCount, int rounds, int batchSize, double changeRate,
+                     BatchWriter writer) throws Exception {
+    List<StockOverview> overviews = new ArrayList<>(symbolCount);
+    for (int i = 0; i < symbolCount; i++) {
+      overviews.add(overview(String.format("B%05d", i)));
+    }
+    // Initial load is not measured
+    writeAll(overviews, batchSize, writer);
+
+    String startLsn = jdbi.withHandle(handle -> handle
+        .createQuery("SELECT pg_current_wal_lsn()::text").mapTo(String.class).one());
+    long start = System.nanoTime();
+    for (int round = 0; round < rounds; round++) {
+      for (StockOverview overview : overviews) {
+        if (ThreadLocalRandom.current().nextDouble() < changeRate) {
+          overview.setPeRatio(overview.getPeRatio().add(new BigDecimal("0.01")));
+        }
+      }
+      writeAll(overviews, batchSize, writer);
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    return jdbi.withHandle(handle -> new Result(
+        symbolCount * (double) rounds / seconds,
+        handle.createQuery("SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), CAST(:start AS pg_lsn))")
+            .bind("start", startLsn).mapTo(Long.class).one(),
+        handle.createQuery("SELECT pg_table_size('stock_overview')").mapTo(Long.class).one(),
+        handle.createQuery("SELECT pg_indexes_size('stock_overview')").mapTo(Long.class).one()));
+  }
+
+  private static void writeAll(List<StockOverview> overviews, int batchSize, BatchWriter writer)
+      throws Exception {
+    for (int from = 0; from < overviews.size(); from += batchSize) {
+      writer.write(overviews.subList(from, Math.min(overviews.size(), from + batchSize)));
+    }
+  }
+
+  private void legacySaveAll(Jdbi jdbi, List<StockOverview> batch) throws Exception {
+    List<String> jsonData = new ArrayList<>(batch.size());
+    for (StockOverview overview : batch) {
+      jsonData.add(objectMapper.writeValueAsString(overview));
+    }
+    jdbi.useHandle(handle -> {
+      PreparedBatch prepared = handle.prepareBatch(LEGACY_UPSERT);
+      for (int i = 0; i < batch.size(); i++) {
+        prepared.bind("symbol", batch.get(i).getSymbol()).bind("jsonData", jsonData.get(i)).add();
+      }
+      prepared.execute();
+    });
+  }
+
+  private static void resetSchema(DataSource dataSource, Jdbi jdbi, boolean legacyLayout) {
+    jdbi.useHandle(handle -> handle.execute("DROP TABLE IF EXISTS stock_overview, schema_migration"));
+    new SchemaMigrator(dataSource).migrate();
+    if (legacyLayout) {
+      jdbi.useHandle(handle -> {
+        handle.execute("DROP INDEX idx_stock_overview_sector_pe");
+        handle.execute("CREATE INDEX idx_stock_overview_data_gin ON stock_overview USING GIN(data)");
+        handle.execute("ALTER TABLE stock_overview RESET (fillfactor)");
+      });
+    }
+  }
+
+  static StockOverview overview(String symbol) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    StockOverview overview = new StockOverview(symbol, symbol + " Holdings Inc.");
+    overview.setExchange(random.nextBoolean() ? "NYSE" : "NASDAQ");
+    overview.setCurrency("USD");
+    overview.setCountry("USA");
+    overview.setSector(SECTORS[random.nextInt(SECTORS.length)]);
+    overview.setIndustry("INDUSTRY " + random.nextInt(60));
+    overview.setPeRatio(BigDecimal.valueOf(random.nextInt(500, 6_000), 2));
+    overview.setPriceToBookRatio(BigDecimal.valueOf(random.nextInt(50, 2_000), 2));
+    overview.setPegRatio(BigDecimal.valueOf(random.nextInt(10, 400), 2));
+    overview.setReturnOnEquityTTM(BigDecimal.valueOf(random.nextInt(-500, 5_000), 4));
+    overview.setReturnOnAssetsTTM(BigDecimal.valueOf(random.nextInt(-500, 3_000), 4));
+    overview.setProfitMargin(BigDecimal.valueOf(random.nextInt(-2_000, 4_000), 4));
+    overview.setOperatingMarginTTM(BigDecimal.valueOf(random.nextInt(-2_000, 5_000), 4));
+    overview.setCurrentRatio(BigDecimal.valueOf(random.nextInt(50, 500), 2));
+    overview.setDebtToEquityRatio(BigDecimal.valueOf(random.nextInt(0, 300), 2));
+    overview.setQuickRatio(BigDecimal.valueOf(random.nextInt(30, 400), 2));
+    overview.setQuarterlyRevenueGrowthYOY(BigDecimal.valueOf(random.nextInt(-500, 1_500), 3));
+    overview.setQuarterlyEarningsGrowthYOY(BigDecimal.valueOf(random.nextInt(-900, 2_000), 3));
+    overview.setBeta(BigDecimal.valueOf(random.nextInt(20, 250), 2));
+    return overview;
+  }
+
+  @FunctionalInterface
+  private interface BatchWriter {
+    void write(List<StockOverview> batch) throws Exception;
+  }
+
+  private record Result(double rowsPerSecond, long walBytes, long tableBytes, long indexBytes) {
+    String format(String layout) {
+      return String.format("%-8s %12.0f %12.1f %10.1f %10.1f", layout, rowsPerSecond,
+          walBytes / 1e6, tableBytes / 1e6, indexBytes / 1e6);
+    }
+  }
+}
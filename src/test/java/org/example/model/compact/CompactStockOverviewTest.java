@@ -0,0 +1,90 @@
+package org.example.model.compact;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import org.example.model.StockInfo;
+import org.example.model.StockOverview;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round-trip tests for the compact model representations
+ */
+class CompactStockOverviewTest {
+
+  @Test
+  void testOverviewRoundTripIsLossless() {
+    StockOverview original = new StockOverview("AAPL", "Apple Inc.");
+    original.setExchange("NASDAQ");
+    original.setCurrency("USD");
+    original.setCountry("USA");
+    original.setSector("TECHNOLOGY");
+    original.setIndustry("ELECTRONIC COMPUTERS");
+    original.setPeRatio(new BigDecimal("29.87"));
+    original.setPriceToBookRatio(new BigDecimal("45.10"));
+    original.setPegRatio(new BigDecimal("-2.5E+3"));
+    original.setReturnOnEquityTTM(new BigDecimal("1.4720"));
+    original.setProfitMargin(new BigDecimal("0.00000000000000000001"));
+    original.setCurrentRatio(new BigDecimal("123456789012345678901234567890.5"));
+    original.setBeta(BigDecimal.ZERO);
+
+    StockOverview copy = CompactStockOverview.from(original).toStockOverview();
+
+    assertEquals(original.getSymbol(), copy.getSymbol());
+    assertEquals(original.getName(), copy.getName());
+    assertEquals(original.getExchange(), copy.getExchange());
+    assertEquals(original.getCurrency(), copy.getCurrency());
+    assertEquals(original.getCountry(), copy.getCountry());
+    assertEquals(original.getSector(), copy.getSector());
+    assertEquals(original.getIndustry(), copy.getIndustry());
+    // BigDecimal.equals also compares scale, so these check exact representation
+    for (OverviewMetric metric : OverviewMetric.all()) {
+      assertEquals(metric.get(original), metric.get(copy), metric.name());
+    }
+    assertNull(copy.getQuickRatio());
+  }
+
+  @Test
+  void testMetricAsDouble() {
+    StockOverview original = new StockOverview("MSFT", "Microsoft");
+    original.setPeRatio(new BigDecimal("35.12"));
+    original.setBeta(new BigDecimal("-0.905"));
+
+    CompactStockOverview compact = CompactStockOverview.from(original);
+
+    assertEquals(35.12, compact.getMetricAsDouble(OverviewMetric.PE_RATIO));
+    assertEquals(-0.905, compact.getMetricAsDouble(OverviewMetric.BETA));
+    assertTrue(Double.isNaN(compact.getMetricAsDouble(OverviewMetric.QUICK_RATIO)));
+  }
+
+  @Test
+  void testDictionaryCodesAreShared() {
+    StockOverview first = new StockOverview("A", "A Corp");
+    first.setSector("HEALTHCARE");
+    StockOverview second = new StockOverview("B", "B Corp");
+    second.setSector(new String("HEALTHCARE"));
+
+    assertEquals(CompactStockOverview.from(first).getSectorCode(),
+        CompactStockOverview.from(second).getSectorCode());
+  }
+
+  @Test
+  void testStockInfoRoundTripIsLossless() {
+    StockInfo original = new StockInfo("TSLA", new BigDecimal("251.0500"));
+    original.setOpen(new BigDecimal("248.10"));
+    original.setChangePercent(new BigDecimal("-1.2345"));
+    original.setVolume(98_765_432L);
+
+    StockInfo copy = CompactStockInfo.from(original).toStockInfo();
+
+    assertEquals(original.getSymbol(), copy.getSymbol());
+    assertEquals(original.getPrice(), copy.getPrice());
+    assertEquals(original.getOpen(), copy.getOpen());
+    assertEquals(original.getChangePercent(), copy.getChangePercent());
+    assertEquals(original.getVolume(), copy.getVolume());
+    assertNull(copy.getHigh());
+    assertNull(CompactStockInfo.from(new StockInfo("X", null)).toStockInfo().getVolume());
+  }
+}
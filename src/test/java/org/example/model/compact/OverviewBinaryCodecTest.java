@@ -0,0 +1,57 @@
+package org.example.model.compact;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import org.example.model.StockOverview;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round-trip tests for the binary overview payload
+ */
+class OverviewBinaryCodecTest {
+
+  @Test
+  void testRoundTripIsLossless() {
+    StockOverview original = new StockOverview("NESN", "Nestlé S.A.");
+    original.setExchange("SIX");
+    original.setCountry("Switzerland");
+    original.setSector("CONSUMER DEFENSIVE");
+    original.setPeRatio(new BigDecimal("19.40"));
+    original.setPegRatio(new BigDecimal("-2.5E+3"));
+    original.setProfitMargin(new BigDecimal("0.00000000000000000001"));
+    original.setCurrentRatio(new BigDecimal("123456789012345678901234567890.5"));
+    original.setQuarterlyEarningsGrowthYOY(new BigDecimal("-0.031"));
+    original.setBeta(BigDecimal.ZERO);
+
+    StockOverview copy = OverviewBinaryCodec.decode(OverviewBinaryCodec.encode(original));
+
+    assertEquals(original.getSymbol(), copy.getSymbol());
+    assertEquals(original.getName(), copy.getName());
+    assertEquals(original.getExchange(), copy.getExchange());
+    assertNull(copy.getCurrency());
+    assertEquals(original.getCountry(), copy.getCountry());
+    assertEquals(original.getSector(), copy.getSector());
+    assertNull(copy.getIndustry());
+    // BigDecimal.equals also compares scale, so these check exact representation
+    for (OverviewMetric metric : OverviewMetric.all()) {
+      assertEquals(metric.get(original), metric.get(copy), metric.name());
+    }
+  }
+
+  @Test
+  void testRejectsUnknownVersionAndTruncatedPayload() {
+    StockOverview overview = new StockOverview("AAPL", "Apple Inc.");
+    overview.setPeRatio(new BigDecimal("29.87"));
+    byte[] encoded = OverviewBinaryCodec.encode(overview);
+
+    byte[] future = encoded.clone();
+    future[0] = (byte) (OverviewBinaryCodec.VERSION + 1);
+    assertThrows(IllegalArgumentException.class, () -> OverviewBinaryCodec.decode(future));
+    assertThrows(IllegalArgumentException.class,
+        () -> OverviewBinaryCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)));
+  }
+}
@@ -0,0 +1,80 @@
+package org.example.provider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for TokenBucketRateLimiter and RateLimitedMarketDataProvider
+ */
+class RateLimitedMarketDataProviderTest {
+
+  @Test
+  void testReserveIsKeptForInteractiveCalls() throws Exception {
+    // Effectively no refill during the test
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(0.001, 3);
+
+    assertTrue(limiter.acquire(2, 0));
+    // Two tokens left, which is the reserve
+    assertFalse(limiter.acquire(2, 0));
+    assertTrue(limiter.acquire(0, 0));
+    assertTrue(limiter.acquire(0, 0));
+    assertFalse(limiter.acquire(0, 0));
+  }
+
+  @Test
+  void testWaitsForRefill() throws Exception {
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(6_000, 1);
+
+    assertTrue(limiter.acquire(0, 0));
+    long start = System.nanoTime();
+    assertTrue(limiter.acquire(0, Duration.ofSeconds(1).toNanos()));
+    assertTrue(System.nanoTime() - start >= Duration.ofMillis(5).toNanos());
+  }
+
+  @Test
+  void testTryAcquireReportsWaitUntilNextToken() {
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(60, 1);
+
+    assertEquals(0, limiter.tryAcquire());
+    long waitNanos = limiter.tryAcquire();
+    assertTrue(waitNanos > Duration.ofMillis(900).toNanos(), "wait was " + waitNanos);
+    assertTrue(waitNanos <= Duration.ofSeconds(1).toNanos(), "wait was " + waitNanos);
+  }
+
+  @Test
+  void testInteractiveCallFailsFastWhenBudgetIsSpent() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    MarketDataProvider upstream = new MarketDataProvider() {
+      @Override
+      public String getName() {
+        return "counting";
+      }
+
+      @Override
+      public boolean isAvailable() {
+        return true;
+      }
+
+      @Override
+      public String fetch(MarketDataRequest request) throws IOException {
+        calls.incrementAndGet();
+        return "ok";
+      }
+    };
+    RateLimitedMarketDataProvider provider = new RateLimitedMarketDataProvider(upstream,
+        new TokenBucketRateLimiter(0.001, 2), Duration.ofMillis(20), 1);
+    MarketDataRequest request = MarketDataRequest.of("GLOBAL_QUOTE", "IBM");
+
+    assertEquals("ok", provider.fetch(request));
+    assertEquals("ok", provider.fetch(request));
+    assertThrows(RateBudgetExceededException.class, () -> provider.fetch(request));
+    assertEquals(2, calls.get());
+  }
+}
@@ -0,0 +1,104 @@
+package org.example.provider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for ReplayMarketDataProvider and RecordingMarketDataProvider
+ */
+class ReplayMarketDataProviderTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testPrefersExactRecordingOverTemplate() throws Exception {
+    write("OVERVIEW/_default.json", "{\"Symbol\": \"{{symbol}}\"}");
+    write("OVERVIEW/IBM.json", "{\"Symbol\": \"IBM\", \"Name\": \"recorded\"}");
+    ReplayMarketDataProvider provider = new ReplayMarketDataProvider(directory, 0, 0, 0, 0);
+
+    assertEquals("{\"Symbol\": \"IBM\", \"Name\": \"recorded\"}",
+        provider.fetch(MarketDataRequest.of("OVERVIEW", "IBM")));
+    assertEquals("{\"Symbol\": \"MSFT\"}", provider.fetch(MarketDataRequest.of("OVERVIEW", "MSFT")));
+  }
+
+  @Test
+  void testFallsBackToRecordingWithoutParameters() throws Exception {
+    write("TIME_SERIES_INTRADAY/IBM__interval-5min.json", "five");
+    write("TIME_SERIES_INTRADAY/IBM.json", "any");
+    ReplayMarketDataProvider provider = new ReplayMarketDataProvider(directory, 0, 0, 0, 0);
+
+    MarketDataRequest request = MarketDataRequest.of("TIME_SERIES_INTRADAY", "IBM");
+    assertEquals("five", provider.fetch(request.withParameter("interval", "5min")));
+    assertEquals("any", provider.fetch(request.withParameter("interval", "1min")));
+  }
+
+  @Test
+  void testUnknownSymbolReturnsErrorPayload() throws Exception {
+    ReplayMarketDataProvider provider = new ReplayMarketDataProvider(directory, 0, 0, 0, 0);
+
+    assertTrue(provider.fetch(MarketDataRequest.of("OVERVIEW", "NOPE")).contains("Error Message"));
+  }
+
+  @Test
+  void testInjectsErrorsAndRateLimits() throws Exception {
+    write("OVERVIEW/_default.json", "{}");
+
+    ReplayMarketDataProvider failing = new ReplayMarketDataProvider(directory, 0, 0, 1, 0);
+    assertThrows(IOException.class, () -> failing.fetch(MarketDataRequest.of("OVERVIEW", "IBM")));
+
+    ReplayMarketDataProvider limited = new ReplayMarketDataProvider(directory, 0, 0, 0, 1);
+    assertEquals(ReplayMarketDataProvider.RATE_LIMIT_PAYLOAD,
+        limited.fetch(MarketDataRequest.of("OVERVIEW", "IBM")));
+  }
+
+  @Test
+  void testAppliesLatency() throws Exception {
+    write("OVERVIEW/_default.json", "{}");
+    ReplayMarketDataProvider provider = new ReplayMarketDataProvider(directory, 50, 0, 0, 0);
+
+    long start = System.nanoTime();
+    provider.fetch(MarketDataRequest.of("OVERVIEW", "IBM"));
+    assertTrue(System.nanoTime() - start >= 50_000_000L);
+  }
+
+  @Test
+  void testRecordedPayloadsReplay() throws Exception {
+    MarketDataProvider upstream = new MarketDataProvider() {
+      @Override
+      public String getName() {
+        return "stub";
+      }
+
+      @Override
+      public boolean isAvailable() {
+        return true;
+      }
+
+      @Override
+      public String fetch(MarketDataRequest request) {
+        return "payload for " + request;
+      }
+    };
+    MarketDataRequest request = MarketDataRequest.of("TIME_SERIES_INTRADAY", "IBM")
+        .withParameter("interval", "5min");
+
+    String recorded = new RecordingMarketDataProvider(upstream, directory).fetch(request);
+    String replayed = new ReplayMarketDataProvider(directory, 0, 0, 0, 0).fetch(request);
+
+    assertEquals(recorded, replayed);
+  }
+
+  private void write(String relativePath, String content) throws IOException {
+    Path path = directory.resolve(relativePath);
+    Files.createDirectories(path.getParent());
+    Files.writeString(path, content);
+  }
+}
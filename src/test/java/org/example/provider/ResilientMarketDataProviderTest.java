@@ -0,0 +1,141 @@
+package org.example.provider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for CircuitBreaker and ResilientMarketDataProvider
+ */
+class ResilientMarketDataProviderTest {
+
+  private static final MarketDataRequest REQUEST = MarketDataRequest.of("OVERVIEW", "IBM");
+
+  @Test
+  void testBreakerOpensAndRecoversThroughHalfOpen() {
+    AtomicLong now = new AtomicLong();
+    CircuitBreaker breaker = new CircuitBreaker("test", 4, 4, 0.5, Duration.ofMillis(100), now::get);
+
+    breaker.recordSuccess();
+    breaker.recordSuccess();
+    breaker.recordFailure();
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    breaker.recordFailure();
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    assertFalse(breaker.tryAcquire());
+
+    now.addAndGet(100);
+    assertTrue(breaker.tryAcquire());
+    assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    // Only one trial call at a time
+    assertFalse(breaker.tryAcquire());
+    breaker.recordSuccess();
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+  }
+
+  @Test
+  void testOpenCircuitFailsFastWithoutCallingUpstream() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    ResilientMarketDataProvider provider = resilient(request -> {
+      calls.incrementAndGet();
+      throw new IOException("down");
+    }, 1, new RetryBudget(0, 0), null);
+
+    for (int i = 0; i < 2; i++) {
+      assertThrows(IOException.class, () -> provider.fetch(REQUEST));
+    }
+    assertEquals(CircuitBreaker.State.OPEN, provider.getCircuitState());
+
+    assertThrows(CircuitOpenException.class, () -> provider.fetch(REQUEST));
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  void testRetriesTransientFailuresWithinBudget() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    ResilientMarketDataProvider provider = resilient(request -> {
+      if (calls.incrementAndGet() == 1) {
+        throw new UpstreamException("busy", 503);
+      }
+      return "ok";
+    }, 3, new RetryBudget(0, 1), null);
+
+    assertEquals("ok", provider.fetch(REQUEST));
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  void testDoesNotRetryWhenBudgetIsSpent() {
+    AtomicInteger calls = new AtomicInteger();
+    ResilientMarketDataProvider provider = resilient(request -> {
+      calls.incrementAndGet();
+      throw new UpstreamException("busy", 503);
+    }, 3, new RetryBudget(0, 0), null);
+
+    assertThrows(UpstreamException.class, () -> provider.fetch(REQUEST));
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  void testDoesNotRetryClientErrors() {
+    AtomicInteger calls = new AtomicInteger();
+    ResilientMarketDataProvider provider = resilient(request -> {
+      calls.incrementAndGet();
+      throw new UpstreamException("bad request", 400);
+    }, 3, new RetryBudget(0, 5), null);
+
+    assertThrows(UpstreamException.class, () -> provider.fetch(REQUEST));
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  void testHedgedRequestWinsOverSlowPrimary() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    ResilientMarketDataProvider provider = resilient(request -> {
+      if (calls.incrementAndGet() == 1) {
+        Thread.sleep(5_000);
+        return "slow";
+      }
+      return "hedge";
+    }, 1, new RetryBudget(0, 1), Duration.ofMillis(20));
+
+    long start = System.nanoTime();
+    assertEquals("hedge", provider.fetch(REQUEST));
+    assertTrue(System.nanoTime() - start < 2_000_000_000L);
+  }
+
+  private static ResilientMarketDataProvider resilient(Fetcher fetcher, int maxAttempts,
+      RetryBudget budget, Duration hedgeDelay) {
+    MarketDataProvider upstream = new MarketDataProvider() {
+      @Override
+      public String getName() {
+        return "stub";
+      }
+
+      @Override
+      public boolean isAvailable() {
+        return true;
+      }
+
+      @Override
+      public String fetch(MarketDataRequest request) throws IOException, InterruptedException {
+        return fetcher.fetch(request);
+      }
+    };
+    CircuitBreaker breaker = new CircuitBreaker("stub", 2, 2, 1.0, Duration.ofMinutes(1));
+    return new ResilientMarketDataProvider(upstream, breaker, budget, maxAttempts,
+        Duration.ofMillis(1), Duration.ofMillis(5), hedgeDelay);
+  }
+
+  @FunctionalInterface
+  private interface Fetcher {
+    String fetch(MarketDataRequest request) throws IOException, InterruptedException;
+  }
+}
@@ -0,0 +1,113 @@
+package org.example.provider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.example.provider.MarketDataRequest.Priority;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for UpstreamScheduler
+ */
+class UpstreamSchedulerTest {
+
+  @Test
+  void testInteractiveGoesFirstAndPreemptsQueuedBulk() throws Exception {
+    UpstreamScheduler scheduler = new UpstreamScheduler(null, 1, 3, 1, Duration.ofSeconds(5),
+        Duration.ofSeconds(5), 0);
+    List<String> order = new CopyOnWriteArrayList<>();
+    UpstreamScheduler.Permit held = scheduler.acquire(request("HELD", Priority.BULK));
+
+    Thread bulk = caller(scheduler, "BULK", Priority.BULK, order);
+    awaitWaiting(scheduler, "bulk", 1);
+    Thread prefetch = caller(scheduler, "PREFETCH", Priority.PREFETCH, order);
+    awaitWaiting(scheduler, "prefetch", 1);
+    Thread interactive = caller(scheduler, "INTERACTIVE", Priority.INTERACTIVE, order);
+    bulk.join(5_000);
+    awaitWaiting(scheduler, "interactive", 1);
+    held.close();
+    interactive.join(5_000);
+    prefetch.join(5_000);
+
+    assertEquals(List.of("BULK:preempted", "INTERACTIVE", "PREFETCH"), order);
+    assertEquals(1L, queueStats(scheduler, "bulk").get("preempted"));
+    assertEquals(0, scheduler.getStats().get("inFlight"));
+  }
+
+  @Test
+  void testPrefetchAndBulkShareByWeight() throws Exception {
+    UpstreamScheduler scheduler = new UpstreamScheduler(null, 1, 3, 1, Duration.ofSeconds(5),
+        Duration.ofSeconds(5), 0);
+    List<String> order = new CopyOnWriteArrayList<>();
+    UpstreamScheduler.Permit held = scheduler.acquire(request("HELD", Priority.INTERACTIVE));
+
+    List<Thread> callers = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      callers.add(caller(scheduler, "P", Priority.PREFETCH, order));
+      callers.add(caller(scheduler, "B", Priority.BULK, order));
+    }
+    awaitWaiting(scheduler, "prefetch", 4);
+    awaitWaiting(scheduler, "bulk", 4);
+    held.close();
+    for (Thread caller : callers) {
+      caller.join(5_000);
+    }
+
+    assertEquals(List.of("P", "P", "B", "P", "P", "B", "B", "B"), order);
+  }
+
+  @Test
+  void testInteractiveTimesOutWhenNoCapacity() throws Exception {
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(0.001, 1);
+    UpstreamScheduler scheduler = new UpstreamScheduler(limiter, 4, 3, 1, Duration.ofMillis(50),
+        Duration.ofSeconds(5), 0);
+
+    scheduler.acquire(request("AAPL", Priority.INTERACTIVE)).close();
+    assertThrows(RateBudgetExceededException.class,
+        () -> scheduler.acquire(request("MSFT", Priority.INTERACTIVE)));
+
+    Map<String, Object> interactive = queueStats(scheduler, "interactive");
+    assertEquals(1L, interactive.get("dispatched"));
+    assertEquals(1L, interactive.get("timedOut"));
+    assertEquals(0, interactive.get("waiting"));
+  }
+
+  private static Thread caller(UpstreamScheduler scheduler, String label, Priority priority,
+      List<String> order) {
+    Thread thread = new Thread(() -> {
+      try (UpstreamScheduler.Permit permit = scheduler.acquire(request(label, priority))) {
+        order.add(label);
+      } catch (RateBudgetExceededException e) {
+        order.add(label + ":preempted");
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    thread.start();
+    return thread;
+  }
+
+  private static void awaitWaiting(UpstreamScheduler scheduler, String queue, int count)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (((Number) queueStats(scheduler, queue).get("waiting")).intValue() < count) {
+      assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for " + queue);
+      Thread.sleep(5);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> queueStats(UpstreamScheduler scheduler, String queue) {
+    return (Map<String, Object>) scheduler.getStats().get(queue);
+  }
+
+  private static MarketDataRequest request(String symbol, Priority priority) {
+    return MarketDataRequest.of("OVERVIEW", symbol).withPriority(priority);
+  }
+}
@@ -3,6 +3,8 @@ package org.example.repository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import org.example.model.PriceBar;
+import org.example.model.StockInfo;
 import org.example.model.StockOverview;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.jackson2.Jackson2Plugin;
@@ -46,7 +48,9 @@ public abstract class BaseRepositoryIntegrationTest {
                 .installPlugin(new SqlObjectPlugin())
                 .installPlugin(new PostgresPlugin())
                 .installPlugin(new Jackson2Plugin())
-                .registerRowMapper(StockOverview.class, new StockOverviewRowMapper(objectMapper));
+                .registerRowMapper(StockOverview.class, new StockOverviewRowMapper(objectMapper))
+                .registerRowMapper(StockInfo.class, new StockInfoRowMapper(objectMapper))
+                .registerRowMapper(PriceBar.class, new PriceBarRowMapper());
         
         createSchema();
     }
@@ -62,29 +66,15 @@ public abstract class BaseRepositoryIntegrationTest {
     protected void cleanupDatabase() {
         jdbi.useHandle(handle -> {
             handle.execute("DELETE FROM stock_overview");
+            handle.execute("DELETE FROM stock_quote");
+            handle.execute("DELETE FROM stock_price");
+            handle.execute("DELETE FROM symbol_refresh_lease");
+            handle.execute("DELETE FROM ingestion_job");
         });
     }
 
     protected void createSchema() {
-        jdbi.useHandle(handle -> {
-            handle.execute("""
-                CREATE TABLE IF NOT EXISTS stock_overview (
-                    symbol VARCHAR(10) PRIMARY KEY,
-                    data JSONB NOT NULL,
-                    last_updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
-                )
-                """);
-            
-            handle.execute("""
-                CREATE INDEX IF NOT EXISTS idx_stock_overview_last_updated 
-                ON stock_overview(last_updated_at)
-                """);
-            
-            handle.execute("""
-                CREATE INDEX IF NOT EXISTS idx_stock_overview_data_gin 
-                ON stock_overview USING GIN(data)
-                """);
-        });
+        new SchemaMigrator(dataSource).migrate();
     }
 
     protected StockOverview createTestStock(String symbol, String name) {
@@ -0,0 +1,78 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DatabaseHealthTest {
+
+    @Test
+    void recognisesConnectionFailuresInCauseChain() {
+        assertTrue(DatabaseHealth.isConnectionFailure(new RuntimeException("Database operation failed",
+                new SQLTransientConnectionException("HikariPool-1 - Connection is not available"))));
+        assertTrue(DatabaseHealth.isConnectionFailure(new RuntimeException(
+                new SQLException("Connection refused", "08001"))));
+        assertTrue(DatabaseHealth.isConnectionFailure(new SQLException("terminating connection", "57P01")));
+        assertFalse(DatabaseHealth.isConnectionFailure(new RuntimeException(
+                new SQLException("duplicate key", "23505"))));
+        assertFalse(DatabaseHealth.isConnectionFailure(new IllegalStateException("bug")));
+    }
+
+    @Test
+    void recoversOnlyAfterProbeAndRecoveryHooksSucceed() throws SQLException {
+        AtomicBoolean reachable = new AtomicBoolean(true);
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenAnswer(invocation -> reachable.get());
+        DatabaseHealth health = new DatabaseHealth(() -> {
+            if (!reachable.get()) {
+                throw new SQLException("Connection refused", "08001");
+            }
+            return connection;
+        }, Duration.ofSeconds(1), Duration.ofSeconds(1));
+        List<Boolean> availableDuringHook = new ArrayList<>();
+        AtomicBoolean failHook = new AtomicBoolean(true);
+        health.onRecovery(() -> {
+            availableDuringHook.add(health.isAvailable());
+            if (failHook.get()) {
+                throw new IllegalStateException("replay failed");
+            }
+        });
+
+        assertTrue(health.checkNow());
+        assertFalse(health.reportFailure(new IllegalArgumentException("not a connection problem")));
+        assertTrue(health.isAvailable());
+
+        reachable.set(false);
+        assertFalse(health.checkNow());
+        assertFalse(health.isAvailable());
+
+        reachable.set(true);
+        assertFalse(health.checkNow());
+        assertFalse(health.isAvailable());
+
+        failHook.set(false);
+        assertTrue(health.checkNow());
+        assertTrue(health.isAvailable());
+        assertEquals(List.of(false, false), availableDuringHook);
+    }
+
+    @Test
+    void disabledHealthIgnoresFailures() {
+        DatabaseHealth health = DatabaseHealth.disabled();
+
+        assertFalse(health.reportFailure(new SQLTransientConnectionException("timeout")));
+        assertTrue(health.checkNow());
+        assertTrue(health.isAvailable());
+    }
+}
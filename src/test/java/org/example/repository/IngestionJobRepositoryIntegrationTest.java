@@ -0,0 +1,91 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IngestionJobRepositoryIntegrationTest extends BaseRepositoryIntegrationTest {
+
+    private IngestionJobRepository repository;
+
+    @BeforeEach
+    @Override
+    void setUp() {
+        super.setUp();
+        repository = new IngestionJobRepository(jdbi);
+    }
+
+    @Test
+    void testClaimsAreExclusive() {
+        assertEquals(3, repository.enqueue(List.of("AAPL", "MSFT", "IBM")));
+        // Queued jobs are not queued twice
+        assertEquals(0, repository.enqueue(List.of("AAPL")));
+
+        List<String> first = repository.claim("worker-a", 2, Duration.ofMinutes(5));
+        List<String> second = repository.claim("worker-b", 2, Duration.ofMinutes(5));
+
+        assertEquals(2, first.size());
+        assertEquals(1, second.size());
+        Set<String> all = new HashSet<>(first);
+        all.addAll(second);
+        assertEquals(Set.of("AAPL", "MSFT", "IBM"), all);
+        assertTrue(repository.claim("worker-c", 2, Duration.ofMinutes(5)).isEmpty());
+        assertEquals(3L, repository.countByStatus().get("IN_PROGRESS"));
+    }
+
+    @Test
+    void testPreferredSymbolsAreClaimedFirst() {
+        repository.enqueue(List.of("AAPL", "MSFT", "IBM", "NVDA"));
+
+        List<String> claimed = repository.claim("worker-a", 3, Duration.ofMinutes(5),
+                List.of("NVDA", "TSLA", "IBM"));
+
+        assertEquals(3, claimed.size());
+        assertEquals(List.of("NVDA", "IBM"), claimed.subList(0, 2));
+        assertEquals(1, repository.claim("worker-b", 3, Duration.ofMinutes(5), List.of("NVDA")).size());
+    }
+
+    @Test
+    void testDoneJobsComeBackAfterRefreshIntervalOrReenqueue() {
+        repository.enqueue(List.of("AAPL"));
+        repository.markDone(repository.claim("worker-a", 10, Duration.ofMinutes(5)), Duration.ofHours(24));
+
+        assertTrue(repository.claim("worker-a", 10, Duration.ofMinutes(5)).isEmpty());
+        assertEquals(0, repository.countDue());
+
+        assertEquals(1, repository.enqueue(List.of("AAPL")));
+        assertEquals(List.of("AAPL"), repository.claim("worker-a", 10, Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void testExpiredClaimIsTakenOver() {
+        repository.enqueue(List.of("AAPL"));
+        repository.claim("crashed-worker", 10, Duration.ofMinutes(5));
+        jdbi.useHandle(handle -> handle.execute(
+                "UPDATE ingestion_job SET locked_until = now() - interval '1 second'"));
+
+        assertEquals(List.of("AAPL"), repository.claim("worker-b", 10, Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void testFailuresAreRetriedUntilMaxAttempts() {
+        repository.enqueue(List.of("AAPL"));
+        repository.claim("worker-a", 10, Duration.ofMinutes(5));
+        repository.markFailed("AAPL", "HTTP 500", 2, Duration.ZERO);
+        assertEquals(1L, repository.countByStatus().get("PENDING"));
+
+        // Released claims do not count as an attempt
+        repository.release(repository.claim("worker-a", 10, Duration.ofMinutes(5)), Duration.ZERO);
+        repository.claim("worker-a", 10, Duration.ofMinutes(5));
+        repository.markFailed("AAPL", "HTTP 500", 2, Duration.ZERO);
+
+        assertEquals(1L, repository.countByStatus().get("FAILED"));
+        assertTrue(repository.claim("worker-a", 10, Duration.ofMinutes(5)).isEmpty());
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RefreshLeaseRepositoryIntegrationTest extends BaseRepositoryIntegrationTest {
+
+    private RefreshLeaseRepository nodeA;
+    private RefreshLeaseRepository nodeB;
+
+    @BeforeEach
+    @Override
+    void setUp() {
+        super.setUp();
+        nodeA = new RefreshLeaseRepository(jdbi, "node-a");
+        nodeB = new RefreshLeaseRepository(jdbi, "node-b");
+    }
+
+    @Test
+    void testOnlyOneNodeHoldsLease() {
+        assertTrue(nodeA.tryAcquire("OVERVIEW:AAPL", Duration.ofSeconds(30)));
+        assertFalse(nodeB.tryAcquire("OVERVIEW:AAPL", Duration.ofSeconds(30)));
+        // Re-entrant for the holder, independent per key
+        assertTrue(nodeA.tryAcquire("OVERVIEW:AAPL", Duration.ofSeconds(30)));
+        assertTrue(nodeB.tryAcquire("OVERVIEW:MSFT", Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void testReleasedLeaseCanBeTaken() {
+        assertTrue(nodeA.tryAcquire("OVERVIEW:AAPL", Duration.ofSeconds(30)));
+        // Only the holder can release
+        nodeB.release("OVERVIEW:AAPL");
+        assertFalse(nodeB.tryAcquire("OVERVIEW:AAPL", Duration.ofSeconds(30)));
+
+        nodeA.release("OVERVIEW:AAPL");
+        assertTrue(nodeB.tryAcquire("OVERVIEW:AAPL", Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void testExpiredLeaseCanBeTaken() {
+        assertTrue(nodeA.tryAcquire("OVERVIEW:AAPL", Duration.ofSeconds(30)));
+        jdbi.useHandle(handle -> handle.execute(
+                "UPDATE symbol_refresh_lease SET expires_at = now() - interval '1 second'"));
+
+        assertTrue(nodeB.tryAcquire("OVERVIEW:AAPL", Duration.ofSeconds(30)));
+        // Taken over in place rather than leaving the expired row behind
+        int rows = jdbi.withHandle(handle -> handle.createQuery(
+                "SELECT count(*) FROM symbol_refresh_lease").mapTo(Integer.class).one());
+        assertEquals(1, rows);
+        assertEquals("node-b", jdbi.withHandle(handle -> handle.createQuery(
+                "SELECT holder FROM symbol_refresh_lease").mapTo(String.class).one()));
+    }
+}
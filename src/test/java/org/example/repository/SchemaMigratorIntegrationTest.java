@@ -0,0 +1,105 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchemaMigratorIntegrationTest extends BaseRepositoryIntegrationTest {
+
+    @TempDir
+    Path migrations;
+
+    @BeforeEach
+    void copyMigrations() throws Exception {
+        Path source = Path.of(getClass().getResource("/" + SchemaMigrator.DEFAULT_LOCATION).toURI());
+        try (Stream<Path> files = Files.list(source)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, migrations.resolve(file.getFileName()));
+            }
+        }
+    }
+
+    @AfterEach
+    void dropTestObjects() {
+        jdbi.useHandle(handle -> {
+            handle.execute("DROP TABLE IF EXISTS migration_test");
+            handle.execute("DELETE FROM schema_migration WHERE version >= 1000");
+        });
+    }
+
+    @Test
+    void testAppliedVersionsAreRecordedOnce() throws Exception {
+        assertEquals(0, new SchemaMigrator(dataSource).migrate());
+
+        List<Integer> expected;
+        try (Stream<Path> files = Files.list(migrations)) {
+            expected = files.map(file -> Integer.parseInt(file.getFileName().toString().replaceAll("^V(\\d+)__.*", "$1")))
+                    .sorted()
+                    .toList();
+        }
+        List<Integer> versions = jdbi.withHandle(handle -> handle
+                .createQuery("SELECT version FROM schema_migration WHERE version < 1000 ORDER BY version")
+                .mapTo(Integer.class)
+                .list());
+        assertEquals(expected, versions);
+    }
+
+    @Test
+    void testAppliesNewVersionsInOrder() throws Exception {
+        Files.writeString(migrations.resolve("V1001__index_migration_test.sql"),
+                "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_migration_test_name ON migration_test (name);");
+        Files.writeString(migrations.resolve("V1000__create_migration_test.sql"),
+                "CREATE TABLE migration_test (id INT PRIMARY KEY, name TEXT);");
+
+        assertEquals(2, new SchemaMigrator(dataSource, migrations.toString()).migrate());
+        assertEquals(0, new SchemaMigrator(dataSource, migrations.toString()).migrate());
+
+        assertTrue(relationExists("idx_migration_test_name"));
+        assertEquals("create migration test", jdbi.withHandle(handle -> handle
+                .createQuery("SELECT description FROM schema_migration WHERE version = 1000")
+                .mapTo(String.class)
+                .one()));
+    }
+
+    @Test
+    void testFailedTransactionalMigrationLeavesNoTrace() throws Exception {
+        Files.writeString(migrations.resolve("V1000__broken.sql"), """
+                CREATE TABLE migration_test (id INT PRIMARY KEY);
+                INSERT INTO no_such_table VALUES (1);
+                """);
+
+        assertThrows(RuntimeException.class, () -> new SchemaMigrator(dataSource, migrations.toString()).migrate());
+
+        assertFalse(relationExists("migration_test"));
+        int recorded = jdbi.withHandle(handle -> handle
+                .createQuery("SELECT count(*) FROM schema_migration WHERE version = 1000")
+                .mapTo(Integer.class)
+                .one());
+        assertEquals(0, recorded);
+    }
+
+    @Test
+    void testEditedMigrationIsRejected() throws Exception {
+        Path script = migrations.resolve("V2__create_stock_quote.sql");
+        Files.writeString(script, Files.readString(script) + "\nCREATE INDEX ON stock_quote (last_updated_at);\n");
+
+        assertThrows(IllegalStateException.class,
+                () -> new SchemaMigrator(dataSource, migrations.toString()).migrate());
+    }
+
+    private boolean relationExists(String name) {
+        return jdbi.withHandle(handle -> handle
+                .createQuery("SELECT to_regclass(:name) IS NOT NULL")
+                .bind("name", name)
+                .mapTo(Boolean.class)
+                .one());
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlScriptTest {
+
+    @Test
+    void splitsOnSemicolonsOutsideQuotesAndComments() {
+        SqlScript script = SqlScript.parse("test.sql", """
+                -- comment; not a statement
+                CREATE TABLE t (v TEXT DEFAULT 'a;b');
+
+                CREATE FUNCTION f() RETURNS trigger AS $$
+                BEGIN
+                    RETURN NULL;
+                END;
+                $$ LANGUAGE plpgsql;
+                ;
+                SELECT 1
+                """);
+
+        List<String> statements = script.getStatements();
+        assertEquals(3, statements.size());
+        assertEquals("CREATE TABLE t (v TEXT DEFAULT 'a;b')", statements.get(0));
+        assertTrue(statements.get(1).contains("RETURN NULL;\nEND;"));
+        assertTrue(statements.get(1).endsWith("LANGUAGE plpgsql"));
+        assertEquals("SELECT 1", statements.get(2));
+    }
+
+    @Test
+    void keepsTaggedDollarQuotesAndBlockCommentsWhole() {
+        SqlScript script = SqlScript.parse("test.sql", """
+                /* header; /* nested; */ still a comment; */
+                CREATE FUNCTION g() RETURNS text AS $body$
+                BEGIN
+                    RETURN $$a;b$$;
+                END;
+                $body$ LANGUAGE plpgsql;
+                PREPARE p AS SELECT $1/*x;*/;
+                SELECT 2
+                """);
+
+        List<String> statements = script.getStatements();
+        assertEquals(3, statements.size());
+        assertTrue(statements.get(0).startsWith("CREATE FUNCTION g()"));
+        assertTrue(statements.get(0).contains("RETURN $$a;b$$;\nEND;"));
+        assertTrue(statements.get(0).endsWith("LANGUAGE plpgsql"));
+        assertEquals("PREPARE p AS SELECT $1", statements.get(1));
+        assertEquals("SELECT 2", statements.get(2));
+    }
+
+    @Test
+    void loadsMigrationFromClasspath() throws Exception {
+        SqlScript script = SqlScript.load("db/migration/V6__stock_overview_screener_index.sql");
+
+        assertTrue(script.getStatements().stream()
+                .anyMatch(s -> s.startsWith("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_stock_overview_sector_pe")));
+        assertTrue(script.requiresAutoCommit());
+        assertFalse(SqlScript.load("db/migration/V1__create_stock_overview.sql").requiresAutoCommit());
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.repository;
+
+import org.example.config.CacheConfig;
+import org.example.config.StorageConfig;
+import org.example.model.StockOverview;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StockOverviewBulkLoaderIntegrationTest extends BaseRepositoryIntegrationTest {
+
+    private StockOverviewRepository repository;
+    private StockOverviewBulkLoader loader;
+
+    @BeforeEach
+    @Override
+    void setUp() {
+        super.setUp();
+        repository = new StockOverviewRepository(jdbi, objectMapper, CacheConfig.defaults(), new StorageConfig(true));
+        loader = new StockOverviewBulkLoader(dataSource);
+    }
+
+    @Test
+    void testExportThenImportRestoresTable() {
+        repository.saveAll(List.of(createTestStock("AAPL", "Apple Inc."), createTestStock("MSFT", "Microsoft Corp")));
+        String hash = contentHash("AAPL");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(2, loader.export(out));
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("symbol,data,content_hash,last_updated_at,last_checked_at\n"));
+
+        jdbi.useHandle(handle -> handle.execute("DELETE FROM stock_overview"));
+        StockOverviewBulkLoader.ImportResult result = loader.importFrom(stream(csv));
+
+        assertEquals(new StockOverviewBulkLoader.ImportResult(2, 2, 0), result);
+        assertEquals("Apple Inc.", repository.findBySymbol("AAPL").get().getName());
+        assertEquals(hash, contentHash("AAPL"));
+        // Identical content is not rewritten by a later refresh
+        assertFalse(repository.save(createTestStock("AAPL", "Apple Inc.")));
+
+        assertEquals(2, loader.importFrom(stream(csv)).skipped());
+    }
+
+    @Test
+    void testImportDoesNotOverwriteNewerData() {
+        repository.save(createTestStock("AAPL", "Apple Inc."));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        loader.export(out);
+
+        repository.save(createTestStock("AAPL", "Apple"));
+        StockOverviewBulkLoader.ImportResult result = loader.importFrom(stream(out.toString(StandardCharsets.UTF_8)));
+
+        assertEquals(1, result.skipped());
+        assertEquals("Apple", repository.findBySymbol("AAPL").get().getName());
+    }
+
+    @Test
+    void testImportComputesMissingHashAndKeepsNewestDuplicate() {
+        String csv = """
+                symbol,data,content_hash,last_updated_at,last_checked_at
+                NVDA,"{""symbol"":""NVDA"",""name"":""Old""}",,2024-01-01 00:00:00,
+                NVDA,"{""symbol"":""NVDA"",""name"":""NVIDIA""}",,2024-02-01 00:00:00,
+                """;
+
+        StockOverviewBulkLoader.ImportResult result = loader.importFrom(stream(csv));
+
+        assertEquals(new StockOverviewBulkLoader.ImportResult(2, 1, 0), result);
+        assertEquals("NVIDIA", repository.findBySymbol("NVDA").get().getName());
+        assertNotNull(contentHash("NVDA"));
+    }
+
+    @Test
+    void testImportKeepsNewestDuplicateEvenWhenItComesFirst() {
+        String csv = """
+                symbol,data,content_hash,last_updated_at,last_checked_at
+                NVDA,"{""symbol"":""NVDA"",""name"":""NVIDIA""}",,2024-02-01 00:00:00,
+                NVDA,"{""symbol"":""NVDA"",""name"":""Old""}",,2024-01-01 00:00:00,
+                NVDA,"{""symbol"":""NVDA"",""name"":""Undated""}",,,
+                """;
+
+        StockOverviewBulkLoader.ImportResult result = loader.importFrom(stream(csv));
+
+        assertEquals(new StockOverviewBulkLoader.ImportResult(3, 1, 0), result);
+        assertEquals("NVIDIA", repository.findBySymbol("NVDA").get().getName());
+    }
+
+    @Test
+    void testMalformedImportChangesNothing() {
+        repository.save(createTestStock("AAPL", "Apple Inc."));
+        String csv = """
+                symbol,data,content_hash,last_updated_at,last_checked_at
+                MSFT,"{""symbol"":""MSFT""}",,2024-01-01 00:00:00,
+                TSLA,not json,,2024-01-01 00:00:00,
+                """;
+
+        assertThrows(RuntimeException.class, () -> loader.importFrom(stream(csv)));
+
+        assertTrue(repository.findBySymbol("MSFT").isEmpty());
+        assertEquals(1, repository.findAll().size());
+    }
+
+    private String contentHash(String symbol) {
+        return jdbi.withHandle(handle -> handle
+                .createQuery("SELECT content_hash FROM stock_overview WHERE symbol = :symbol")
+                .bind("symbol", symbol)
+                .mapTo(String.class)
+                .one());
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StockOverviewChangeListenerIntegrationTest extends BaseRepositoryIntegrationTest {
+
+    private StockOverviewRepository repository;
+    private StockOverviewChangeListener listener;
+    private final BlockingQueue<String> changes = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    @Override
+    void setUp() {
+        super.setUp();
+        repository = new StockOverviewRepository(jdbi, objectMapper);
+    }
+
+    @AfterEach
+    void stopListener() {
+        if (listener != null) {
+            listener.stop();
+        }
+    }
+
+    @Test
+    void testReceivesChangesFromOtherNodes() throws Exception {
+        startListener("other-node");
+
+        repository.save(createTestStock("AAPL", "Apple Inc."));
+        assertEquals("AAPL", changes.poll(10, TimeUnit.SECONDS));
+
+        repository.deleteBySymbol("AAPL");
+        assertEquals("AAPL", changes.poll(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testUnchangedDataDoesNotNotify() throws Exception {
+        repository.save(createTestStock("MSFT", "Microsoft"));
+        startListener("other-node");
+
+        repository.save(createTestStock("MSFT", "Microsoft"));
+        repository.save(createTestStock("MSFT", "Microsoft Corp"));
+
+        assertEquals("MSFT", changes.poll(10, TimeUnit.SECONDS));
+        assertNull(changes.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testSkipsOwnWrites() throws Exception {
+        String ownOrigin = jdbi.withHandle(handle -> handle
+                .createQuery("SELECT current_setting('application_name')")
+                .mapTo(String.class)
+                .one());
+        startListener(ownOrigin);
+
+        repository.save(createTestStock("GOOGL", "Alphabet"));
+
+        assertNull(changes.poll(1, TimeUnit.SECONDS));
+    }
+
+    private void startListener(String localOrigin) throws InterruptedException {
+        listener = new StockOverviewChangeListener(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword(), localOrigin, objectMapper);
+        listener.start(new StockOverviewChangeListener.Handler() {
+            @Override
+            public void overviewChanged(String symbol) {
+                changes.add(symbol);
+            }
+
+            @Override
+            public void resync() {
+            }
+        });
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!listener.isConnected() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(listener.isConnected());
+    }
+}
@@ -1,5 +1,7 @@
 package org.example.repository;
 
+import org.example.config.CacheConfig;
+import org.example.config.StorageConfig;
 import org.example.model.StockOverview;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,6 +10,7 @@ import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -61,6 +64,93 @@ public class StockOverviewRepositoryIntegrationTest extends BaseRepositoryIntegr
         assertEquals(0, new BigDecimal("30.0").compareTo(found.get().getPeRatio()));
     }
 
+    @Test
+    void testSaveAllUpsertsBatch() {
+        repository.save(createTestStock("MSFT", "Microsoft Corp"));
+
+        List<String> changed = repository.saveAll(List.of(
+                createTestStock("AAPL", "Apple Inc."),
+                createTestStock("MSFT", "Microsoft Corporation")));
+        assertEquals(List.of("AAPL", "MSFT"), changed);
+
+        assertEquals(List.of(), repository.saveAll(List.of(createTestStock("AAPL", "Apple Inc."))));
+        assertEquals(2, repository.findAll().size());
+        assertEquals("Microsoft Corporation", repository.findBySymbol("MSFT").get().getName());
+    }
+
+    @Test
+    void testUnchangedSaveOnlyRefreshesCheckTime() {
+        assertTrue(repository.save(createTestStock("AAPL", "Apple Inc.")));
+        jdbi.useHandle(handle -> handle.execute(
+                "UPDATE stock_overview SET last_updated_at = now() - interval '2 days', "
+                        + "last_checked_at = now() - interval '2 days'"));
+        assertTrue(repository.isDataStale("AAPL"));
+
+        assertFalse(repository.save(createTestStock("AAPL", "Apple Inc.")));
+
+        assertFalse(repository.isDataStale("AAPL"));
+        assertTrue(repository.getLastUpdatedTime("AAPL").get().toLocalDateTime()
+                .isBefore(LocalDateTime.now().minusDays(1)));
+
+        assertTrue(repository.save(createTestStock("AAPL", "Apple")));
+        assertTrue(repository.getLastUpdatedTime("AAPL").get().toLocalDateTime()
+                .isAfter(LocalDateTime.now().minusMinutes(1)));
+    }
+
+    @Test
+    void testBinaryPayloadIsReadInsteadOfJson() {
+        StockOverviewRepository binaryRepository = new StockOverviewRepository(jdbi, objectMapper,
+                CacheConfig.defaults(), new StorageConfig(true));
+        binaryRepository.saveAll(List.of(createCompleteTestStock("META", "Meta Platforms Inc.")));
+        assertTrue(hasBinaryPayload("META"));
+
+        StockOverview stock = binaryRepository.findBySymbol("META").get();
+        assertEquals("Meta Platforms Inc.", stock.getName());
+        assertEquals(0, new BigDecimal("0.20").compareTo(stock.getQuarterlyEarningsGrowthYOY()));
+        assertEquals("META", repository.screen("Technology", null, 10).get(0).getSymbol());
+
+        // Writing with the option off clears the payload so it can never go stale
+        repository.save(createCompleteTestStock("META", "Meta"));
+        assertFalse(hasBinaryPayload("META"));
+        assertEquals("Meta", binaryRepository.findBySymbol("META").get().getName());
+    }
+
+    @Test
+    void testScreenBySectorOrdersByPeRatio() {
+        StockOverview apple = createTestStock("AAPL", "Apple Inc.");
+        StockOverview microsoft = createTestStock("MSFT", "Microsoft Corporation");
+        microsoft.setPeRatio(new BigDecimal("12.0"));
+        StockOverview nvidia = createTestStock("NVDA", "NVIDIA Corporation");
+        nvidia.setPeRatio(null);
+        StockOverview exxon = createTestStock("XOM", "Exxon Mobil");
+        exxon.setSector("Energy");
+        repository.saveAll(List.of(apple, microsoft, nvidia, exxon));
+
+        List<String> all = repository.screen("technology", null, 10).stream()
+                .map(StockOverview::getSymbol).toList();
+        assertEquals(List.of("MSFT", "AAPL", "NVDA"), all);
+
+        List<String> cheap = repository.screen("TECHNOLOGY", new BigDecimal("20"), 10).stream()
+                .map(StockOverview::getSymbol).toList();
+        assertEquals(List.of("MSFT"), cheap);
+
+        assertEquals(1, repository.screen("Technology", null, 1).size());
+    }
+
+    @Test
+    void testFindChangedSince() {
+        repository.saveAll(List.of(createTestStock("AAPL", "Apple Inc."), createTestStock("MSFT", "Microsoft Corp")));
+        long copiedAt = System.currentTimeMillis() + 1_000;
+        jdbi.useHandle(handle -> handle.execute(
+                "UPDATE stock_overview SET last_updated_at = now() + interval '1 hour' WHERE symbol = 'MSFT'"));
+
+        List<String> changed = repository.findChangedSince(
+                Map.of("AAPL", copiedAt, "MSFT", copiedAt, "GONE", copiedAt));
+
+        assertEquals(List.of("GONE", "MSFT"), changed.stream().sorted().toList());
+        assertEquals(List.of(), repository.findChangedSince(Map.of()));
+    }
+
     @Test
     void testFindAll() {
         repository.save(createTestStock("AAPL", "Apple Inc."));
@@ -157,4 +247,12 @@ public class StockOverviewRepositoryIntegrationTest extends BaseRepositoryIntegr
         assertEquals(0, new BigDecimal("0.15").compareTo(stock.getQuarterlyRevenueGrowthYOY()));
         assertEquals(0, new BigDecimal("0.20").compareTo(stock.getQuarterlyEarningsGrowthYOY()));
     }
-}
\ No newline at end of file
+
+    private boolean hasBinaryPayload(String symbol) {
+        return jdbi.withHandle(handle -> handle
+                .createQuery("SELECT data_bin IS NOT NULL FROM stock_overview WHERE symbol = :symbol")
+                .bind("symbol", symbol)
+                .mapTo(Boolean.class)
+                .one());
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.repository;
+
+import org.example.model.HistoryBucket;
+import org.example.model.PriceBar;
+import org.example.model.PriceInterval;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StockPriceRepositoryIntegrationTest extends BaseRepositoryIntegrationTest {
+
+    private StockPriceRepository repository;
+
+    @BeforeEach
+    @Override
+    void setUp() {
+        super.setUp();
+        repository = new StockPriceRepository(jdbi);
+    }
+
+    @Test
+    void testSaveAllCreatesPartitionsAndReadsRange() {
+        // 60 daily bars span three monthly partitions
+        repository.saveAll(dailyBars("AAPL", LocalDate.of(2024, 1, 1), 60));
+
+        List<PriceBar> january = repository.findRange("AAPL", PriceInterval.DAILY,
+                millis(LocalDate.of(2024, 1, 1)), millis(LocalDate.of(2024, 2, 1)));
+
+        assertEquals(31, january.size());
+        assertEquals(millis(LocalDate.of(2024, 1, 1)), january.get(0).getTimestamp());
+        assertEquals("daily", january.get(0).getInterval());
+
+        int partitions = jdbi.withHandle(handle -> handle
+                .createQuery("SELECT count(*) FROM pg_inherits WHERE inhparent = 'stock_price'::regclass")
+                .mapTo(Integer.class)
+                .one());
+        assertEquals(3, partitions);
+    }
+
+    @Test
+    void testSaveAllIsIdempotent() {
+        repository.saveAll(dailyBars("MSFT", LocalDate.of(2024, 3, 1), 10));
+        repository.saveAll(dailyBars("MSFT", LocalDate.of(2024, 3, 1), 10));
+
+        assertEquals(10, repository.findRange("MSFT", PriceInterval.DAILY,
+                millis(LocalDate.of(2024, 3, 1)), millis(LocalDate.of(2024, 4, 1))).size());
+    }
+
+    @Test
+    void testDownsampleByMonth() {
+        repository.saveAll(dailyBars("NVDA", LocalDate.of(2024, 1, 1), 60));
+
+        List<PriceBar> months = repository.findDownsampled("NVDA", PriceInterval.DAILY,
+                millis(LocalDate.of(2024, 1, 1)), millis(LocalDate.of(2024, 3, 1)),
+                HistoryBucket.parse("1mo"));
+
+        assertEquals(2, months.size());
+        PriceBar january = months.get(0);
+        assertEquals("1mo", january.getInterval());
+        assertEquals(100.0, january.getOpen(), 1e-9);
+        assertEquals(130.0, january.getClose(), 1e-9);
+        assertEquals(31 * 1000L, january.getVolume());
+    }
+
+    @Test
+    void testFindLatestBarTime() {
+        assertFalse(repository.findLatestBarTime("AMZN", PriceInterval.DAILY).isPresent());
+
+        repository.saveAll(dailyBars("AMZN", LocalDate.of(2024, 5, 1), 5));
+
+        Optional<Long> latest = repository.findLatestBarTime("AMZN", PriceInterval.DAILY);
+        assertEquals(Optional.of(millis(LocalDate.of(2024, 5, 5))), latest);
+    }
+
+    private List<PriceBar> dailyBars(String symbol, LocalDate start, int days) {
+        List<PriceBar> bars = new ArrayList<>();
+        for (int i = 0; i < days; i++) {
+            double close = 100.0 + i;
+            bars.add(new PriceBar(symbol, "daily", millis(start.plusDays(i)),
+                    close, close + 1, close - 1, close, 1000L));
+        }
+        return bars;
+    }
+
+    private long millis(LocalDate date) {
+        return date.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.repository;
+
+import org.example.model.StockInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StockQuoteRepositoryIntegrationTest extends BaseRepositoryIntegrationTest {
+
+    private StockQuoteRepository repository;
+
+    @BeforeEach
+    @Override
+    void setUp() {
+        super.setUp();
+        repository = new StockQuoteRepository(jdbi, objectMapper);
+    }
+
+    @Test
+    void testSaveAndFindFreshQuote() {
+        StockInfo quote = new StockInfo("AAPL", new BigDecimal("150.25"));
+        quote.setVolume(1000L);
+
+        repository.save(quote);
+
+        Optional<StockInfo> found = repository.findBySymbolIfFresh("AAPL", Duration.ofMinutes(1));
+        assertTrue(found.isPresent());
+        assertEquals(0, new BigDecimal("150.25").compareTo(found.get().getPrice()));
+        assertEquals(1000L, found.get().getVolume());
+    }
+
+    @Test
+    void testExpiredQuoteIsNotReturned() {
+        repository.save(new StockInfo("MSFT", new BigDecimal("300.00")));
+        jdbi.useHandle(handle -> handle.execute(
+                "UPDATE stock_quote SET last_updated_at = now() - interval '5 minutes' WHERE symbol = 'MSFT'"));
+
+        assertFalse(repository.findBySymbolIfFresh("MSFT", Duration.ofMinutes(1)).isPresent());
+        assertTrue(repository.findBySymbolIfFresh("MSFT", Duration.ofMinutes(10)).isPresent());
+    }
+
+    @Test
+    void testDeleteBySymbol() {
+        repository.save(new StockInfo("TSLA", new BigDecimal("200.00")));
+
+        assertTrue(repository.deleteBySymbol("TSLA"));
+        assertFalse(repository.deleteBySymbol("TSLA"));
+    }
+}
@@ -1,23 +1,66 @@
 package org.example.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.cache.AccessFrequencyTracker;
+import org.example.cache.OverviewSnapshotFile;
+import org.example.config.CacheConfig;
+import org.example.config.DatabaseHealthConfig;
+import org.example.config.SnapshotConfig;
+import org.example.config.WriteBehindConfig;
+import org.example.model.PriceBar;
+import org.example.model.PriceInterval;
 import org.example.model.StockInfo;
 import org.example.model.StockOverview;
+import org.example.provider.CircuitOpenException;
+import org.example.provider.MarketDataProvider;
+import org.example.provider.MarketDataRequest;
+import org.example.provider.ReplayMarketDataProvider;
+import org.example.repository.DatabaseHealth;
+import org.example.repository.DatabaseUnavailableException;
+import org.example.repository.RefreshLeaseRepository;
 import org.example.repository.StockOverviewRepository;
+import org.example.repository.StockPriceRepository;
+import org.example.repository.StockQuoteRepository;
 import org.example.service.impl.AlphaVantageStockService;
+import org.example.service.impl.MarketSessions;
+import org.example.service.impl.OverviewWriteBuffer;
+import org.example.symbol.SymbolDirectory;
+import org.example.symbol.UnknownSymbolException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Unit tests for AlphaVantageStockService
@@ -26,17 +69,25 @@ class AlphaVantageStockServiceTest {
 
   private StockService stockService;
   private StockOverviewRepository mockRepository;
+  private StockPriceRepository mockPriceRepository;
+  private RefreshLeaseRepository mockLeaseRepository;
 
   @BeforeEach
   void setUp() {
     // Create mocked dependencies
-    ObjectMapper objectMapper = new ObjectMapper();
     mockRepository = mock(StockOverviewRepository.class);
     
     // Mock repository to always return empty (stale data) so we fetch from API
     when(mockRepository.findBySymbolIfFresh(any(String.class))).thenReturn(Optional.empty());
     
-    stockService = new AlphaVantageStockService(objectMapper, mockRepository);
+    mockPriceRepository = mock(StockPriceRepository.class);
+    when(mockPriceRepository.findLatestBarTime(any(String.class), any(PriceInterval.class)))
+        .thenReturn(Optional.empty());
+
+    mockLeaseRepository = mock(RefreshLeaseRepository.class);
+    when(mockLeaseRepository.tryAcquire(any(String.class), any(Duration.class))).thenReturn(true);
+
+    stockService = service().build();
   }
 
   @Test
@@ -104,6 +155,33 @@ class AlphaVantageStockServiceTest {
     assertEquals(first.getVolume(), second.getVolume());
   }
 
+  @Test
+  void testStockInfoServedFromCacheWithinTtl() {
+    StockInfo first = stockService.getStockInfo("AAPL");
+    StockInfo second = stockService.getStockInfo(" aapl ");
+
+    assertEquals(first.getPrice(), second.getPrice());
+    assertEquals(first.getVolume(), second.getVolume());
+  }
+
+  @Test
+  void testOverviewServedFromMemoryWithinTtl() {
+    stockService.getOverview("AAPL");
+    stockService.getOverview("aapl");
+
+    verify(mockRepository, times(1)).findBySymbolIfFresh("AAPL");
+    verify(mockRepository, times(1)).save(any(StockOverview.class));
+  }
+
+  @Test
+  void testInvalidatedOverviewIsReloaded() {
+    stockService.getOverview("AAPL");
+    stockService.invalidateOverview("aapl");
+    stockService.getOverview("AAPL");
+
+    verify(mockRepository, times(2)).findBySymbolIfFresh("AAPL");
+  }
+
   @Test
   void testGetOverviewWithValidSymbol() {
     // Since we don't have API key in test environment, this will return mock data
@@ -209,4 +287,322 @@ class AlphaVantageStockServiceTest {
     var risk = overview.getCategorizedMetrics().get("risk");
     assertTrue(risk.containsKey("Beta"));
   }
-}
\ No newline at end of file
+
+  @Test
+  void testPriceHistoryIngestsOnceWhenNothingStored() {
+    List<PriceBar> stored = List.of(new PriceBar("AAPL", "daily", 0L, 1, 2, 0.5, 1.5, 100L));
+    when(mockPriceRepository.findRange(eq("AAPL"), eq(PriceInterval.DAILY), anyLong(), anyLong()))
+        .thenReturn(stored);
+
+    List<PriceBar> first = stockService.getPriceHistory("aapl", PriceInterval.DAILY, 0L, 1000L);
+    stockService.getPriceHistory("AAPL", PriceInterval.DAILY, 0L, 1000L);
+
+    assertEquals(stored, first);
+    // Mock history is ingested once; the second request is inside the refresh-check window
+    verify(mockPriceRepository, times(1)).saveAll(anyList());
+  }
+
+  @Test
+  void testLastTradingMomentSkipsNightsAndWeekends() {
+    ZoneId newYork = ZoneId.of("America/New_York");
+    long fridayClose = ZonedDateTime.of(2024, 3, 8, 20, 0, 0, 0, newYork).toInstant().toEpochMilli();
+    long fridayAfternoon = ZonedDateTime.of(2024, 3, 8, 15, 0, 0, 0, newYork).toInstant()
+        .toEpochMilli();
+    long saturday = ZonedDateTime.of(2024, 3, 9, 12, 0, 0, 0, newYork).toInstant().toEpochMilli();
+    long mondayBeforeOpen = ZonedDateTime.of(2024, 3, 11, 3, 0, 0, 0, newYork).toInstant()
+        .toEpochMilli();
+
+    assertEquals(fridayAfternoon, MarketSessions.lastTradingMillis(fridayAfternoon));
+    assertEquals(fridayClose, MarketSessions.lastTradingMillis(fridayClose + 60_000));
+    assertEquals(fridayClose, MarketSessions.lastTradingMillis(saturday));
+    assertEquals(fridayClose, MarketSessions.lastTradingMillis(mondayBeforeOpen));
+  }
+
+  @Test
+  void testPriceHistoryRejectsInvertedRange() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      stockService.getPriceHistory("AAPL", PriceInterval.DAILY, 1000L, 0L);
+    });
+  }
+
+  @Test
+  void testParsesPayloadsFromProvider() throws Exception {
+    MarketDataProvider replay = new ReplayMarketDataProvider(
+        Path.of(getClass().getResource("/replay").toURI()), 0, 0, 0, 0);
+    StockService replayService = service().provider(replay).build();
+
+    StockInfo quote = replayService.getStockInfo("ibm");
+    assertEquals("IBM", quote.getSymbol());
+    assertEquals(0, quote.getPrice().compareTo(new BigDecimal("190.64")));
+
+    StockOverview overview = replayService.getOverview("IBM");
+    assertEquals("IBM Replay Inc", overview.getName());
+    assertNull(overview.getCurrentRatio());
+
+    replayService.getPriceHistory("IBM", PriceInterval.DAILY, 0L, 1000L);
+    verify(mockPriceRepository).saveAll(argThat(bars -> bars.size() == 3));
+  }
+
+  @Test
+  void testServesStaleOverviewWhenUpstreamFails() throws Exception {
+    MarketDataProvider failing = mock(MarketDataProvider.class);
+    when(failing.isAvailable()).thenReturn(true);
+    when(failing.getName()).thenReturn("failing");
+    when(failing.fetch(any())).thenThrow(new CircuitOpenException("open"));
+    StockOverview stored = new StockOverview("IBM", "Stored Inc");
+    when(mockRepository.findBySymbol("IBM")).thenReturn(Optional.of(stored));
+
+    StockService failingService = service().provider(failing).build();
+
+    assertEquals("Stored Inc", failingService.getOverview("IBM").getName());
+    assertThrows(RuntimeException.class, () -> failingService.getOverview("MSFT"));
+  }
+
+  @Test
+  void testUnknownSymbolIsRememberedAndNothingIsStored() throws Exception {
+    MarketDataProvider upstream = mock(MarketDataProvider.class);
+    when(upstream.isAvailable()).thenReturn(true);
+    when(upstream.getName()).thenReturn("upstream");
+    when(upstream.fetch(argThat(request -> request != null && "ZZZZ".equals(request.getSymbol())
+        && "OVERVIEW".equals(request.getFunction())))).thenReturn("{}");
+    when(upstream.fetch(argThat(request -> request != null && "ZZZZ".equals(request.getSymbol())
+        && "GLOBAL_QUOTE".equals(request.getFunction())))).thenReturn("{\"Global Quote\": {}}");
+    when(upstream.fetch(argThat(request -> request != null && "IBM".equals(request.getSymbol()))))
+        .thenReturn("{\"Information\": \"Our standard API rate limit is 25 requests per day.\"}");
+    StockService upstreamService = service().provider(upstream).build();
+
+    assertThrows(UnknownSymbolException.class, () -> upstreamService.getOverview("zzzz"));
+    assertThrows(UnknownSymbolException.class, () -> upstreamService.getOverview("ZZZZ"));
+    // An empty quote means no such symbol: rejected without asking upstream again, everywhere
+    assertThrows(UnknownSymbolException.class, () -> upstreamService.getStockInfo("ZZZZ"));
+    assertThrows(UnknownSymbolException.class, () -> upstreamService.getStockInfo("ZZZZ"));
+    assertThrows(UnknownSymbolException.class,
+        () -> upstreamService.getPriceHistory("ZZZZ", PriceInterval.DAILY, 0L, 1000L));
+    assertThrows(IllegalArgumentException.class, () -> upstreamService.getOverview("NOT A TICKER"));
+    verify(upstream, times(2)).fetch(any());
+
+    // A rate-limit note is an error, not an overview to store
+    assertThrows(RuntimeException.class, () -> upstreamService.getOverview("IBM"));
+    verify(mockRepository, times(0)).save(any());
+  }
+
+  @Test
+  void testUserRequestDoesNotWaitForPrefetchOfSameSymbol() throws Exception {
+    String quote = Files.readString(
+        Path.of(getClass().getResource("/replay/GLOBAL_QUOTE/_default.json").toURI()))
+        .replace("{{symbol}}", "IBM");
+    CountDownLatch prefetchStarted = new CountDownLatch(1);
+    CountDownLatch releasePrefetch = new CountDownLatch(1);
+    MarketDataProvider upstream = mock(MarketDataProvider.class);
+    when(upstream.isAvailable()).thenReturn(true);
+    when(upstream.fetch(any())).thenAnswer(invocation -> {
+      MarketDataRequest request = invocation.getArgument(0);
+      if (request.getPriority() == MarketDataRequest.Priority.PREFETCH) {
+        prefetchStarted.countDown();
+        releasePrefetch.await(5, TimeUnit.SECONDS);
+      }
+      return quote;
+    });
+    StockService upstreamService = service().provider(upstream).build();
+
+    Thread prefetch = new Thread(() -> upstreamService.prefetchStockInfo("IBM"));
+    prefetch.start();
+    try {
+      assertTrue(prefetchStarted.await(5, TimeUnit.SECONDS));
+      long start = System.nanoTime();
+      assertEquals("IBM", upstreamService.getStockInfo("IBM").getSymbol());
+      assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2),
+          "user request waited for the prefetch");
+      verify(upstream).fetch(argThat(request -> request != null
+          && request.getPriority() == MarketDataRequest.Priority.INTERACTIVE));
+    } finally {
+      releasePrefetch.countDown();
+      prefetch.join();
+    }
+  }
+
+  @Test
+  void testFundWithoutOverviewStillHasQuotes() throws Exception {
+    MarketDataProvider upstream = mock(MarketDataProvider.class);
+    when(upstream.isAvailable()).thenReturn(true);
+    when(upstream.fetch(argThat(request -> request != null
+        && "OVERVIEW".equals(request.getFunction())))).thenReturn("{}");
+    when(upstream.fetch(argThat(request -> request != null
+        && "GLOBAL_QUOTE".equals(request.getFunction())))).thenReturn(Files.readString(
+            Path.of(getClass().getResource("/replay/GLOBAL_QUOTE/_default.json").toURI()))
+        .replace("{{symbol}}", "SPY"));
+    StockService upstreamService = service().provider(upstream).build();
+
+    UnknownSymbolException noOverview = assertThrows(UnknownSymbolException.class,
+        () -> upstreamService.getOverview("SPY"));
+    assertEquals("No OVERVIEW data for stock symbol: SPY", noOverview.getMessage());
+
+    assertEquals("SPY", upstreamService.getStockInfo("SPY").getSymbol());
+    // The empty overview is remembered for overviews alone
+    assertThrows(UnknownSymbolException.class, () -> upstreamService.getOverview("SPY"));
+    verify(upstream, times(1)).fetch(argThat(request -> request != null
+        && "OVERVIEW".equals(request.getFunction())));
+  }
+
+  @Test
+  void testServesStaleOverviewWhileAnotherNodeHoldsRefreshLease() throws Exception {
+    MarketDataProvider upstream = mock(MarketDataProvider.class);
+    when(upstream.isAvailable()).thenReturn(true);
+    when(mockLeaseRepository.tryAcquire(eq("OVERVIEW:IBM"), any(Duration.class))).thenReturn(false);
+    when(mockRepository.findBySymbol("IBM")).thenReturn(Optional.of(new StockOverview("IBM", "Stored Inc")));
+    CacheConfig shortWait = new CacheConfig(Duration.ofSeconds(60), 100, false, Duration.ofHours(24),
+        Duration.ofMinutes(5), 100, Duration.ofMinutes(5), Duration.ofSeconds(30),
+        Duration.ofMillis(250));
+
+    StockService leaseService = service().cacheConfig(shortWait).provider(upstream).build();
+
+    assertEquals("Stored Inc", leaseService.getOverview("IBM").getName());
+    verify(upstream, times(0)).fetch(any());
+    verify(mockLeaseRepository, times(0)).release(any());
+  }
+
+  @Test
+  void testRestoresOverviewSnapshotAndEvictsChangedEntries(@TempDir Path dir) throws Exception {
+    SnapshotConfig snapshots = new SnapshotConfig(dir.resolve("overviews.snapshot"), Duration.ofHours(1));
+    long now = System.currentTimeMillis();
+    OverviewSnapshotFile.write(snapshots.getOverviewPath(), List.of(
+        new OverviewSnapshotFile.Entry(now - 60_000, new StockOverview("AAPL", "Snapshot Apple")),
+        new OverviewSnapshotFile.Entry(now - 60_000, new StockOverview("MSFT", "Snapshot Microsoft")),
+        new OverviewSnapshotFile.Entry(now - Duration.ofDays(2).toMillis(),
+            new StockOverview("IBM", "Snapshot IBM"))));
+    // Postgres is unreachable until released
+    CountDownLatch databaseUp = new CountDownLatch(1);
+    when(mockRepository.findChangedSince(any())).thenAnswer(invocation -> {
+      databaseUp.await();
+      return List.of("MSFT");
+    });
+    StockService restartedService = service().snapshotConfig(snapshots).build();
+
+    restartedService.startOverviewSnapshots();
+
+    assertEquals("Snapshot Apple", restartedService.getOverview("AAPL").getName());
+    assertEquals("Snapshot Microsoft", restartedService.getOverview("msft").getName());
+    verify(mockRepository, times(0)).findBySymbolIfFresh(any(String.class));
+    // Older than the overview TTL, so not restored
+    assertNotEquals("Snapshot IBM", restartedService.getOverview("IBM").getName());
+
+    databaseUp.countDown();
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (restartedService.getOverview("MSFT").getName().equals("Snapshot Microsoft")
+        && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertNotEquals("Snapshot Microsoft", restartedService.getOverview("MSFT").getName());
+    assertEquals("Snapshot Apple", restartedService.getOverview("AAPL").getName());
+
+    assertEquals(3, restartedService.saveOverviewSnapshot());
+    assertEquals(3, OverviewSnapshotFile.read(snapshots.getOverviewPath()).size());
+  }
+
+  @Test
+  void testDegradedModeServesMemoryAndReplaysQueuedWrites() throws Exception {
+    AtomicBoolean databaseUp = new AtomicBoolean(true);
+    DatabaseHealth health = new DatabaseHealth(() -> {
+      if (!databaseUp.get()) {
+        throw new SQLException("Connection refused", "08001");
+      }
+      return mock(Connection.class, invocation -> invocation.getMethod().getName().equals("isValid"));
+    }, Duration.ofSeconds(1), Duration.ofSeconds(1));
+    OverviewWriteBuffer writeBuffer = new OverviewWriteBuffer(mockRepository, health, 100);
+    StockService degradedService = service().databaseHealth(health).writeBuffer(writeBuffer).build();
+    StockOverview cached = degradedService.getOverview("AAPL");
+
+    // The pool times out on the next lookup; the request still gets an answer
+    databaseUp.set(false);
+    degradedService.invalidateOverview("AAPL");
+    when(mockRepository.findBySymbolIfFresh("AAPL")).thenThrow(new RuntimeException(
+        "Database operation failed", new SQLTransientConnectionException("Connection is not available")));
+    assertEquals(cached.getName(), degradedService.getOverview("AAPL").getName());
+    assertFalse(health.isAvailable());
+    assertNotNull(degradedService.getOverview("MSFT"));
+    verify(mockRepository, times(0)).findBySymbolIfFresh("MSFT");
+    verify(mockRepository, times(1)).save(any());
+    assertEquals(2, writeBuffer.size());
+    assertThrows(DatabaseUnavailableException.class,
+        () -> degradedService.getPriceHistory("AAPL", PriceInterval.DAILY, 0L, 1000L));
+    verify(mockPriceRepository, times(0)).findRange(any(), any(), anyLong(), anyLong());
+
+    databaseUp.set(true);
+    assertTrue(health.checkNow());
+    verify(mockRepository).saveAll(argThat(overviews -> overviews.size() == 2));
+    assertEquals(0, writeBuffer.size());
+  }
+
+  @Test
+  void testWriteBehindQueuesFreshOverviewInsteadOfSaving() {
+    DatabaseHealth health = DatabaseHealth.disabled();
+    OverviewWriteBuffer writeBuffer = new OverviewWriteBuffer(mockRepository, health, 100,
+        new WriteBehindConfig(true, 200, Duration.ofHours(1)));
+    StockService writeBehindService = service().databaseHealth(health).writeBuffer(writeBuffer).build();
+
+    assertEquals("AAPL", writeBehindService.getOverview("AAPL").getSymbol());
+
+    verify(mockRepository, times(0)).save(any());
+    assertEquals(1, writeBuffer.size());
+    writeBuffer.stop();
+    verify(mockRepository).saveAll(argThat(overviews -> overviews.size() == 1));
+  }
+
+  private static MarketDataProvider unavailableProvider() {
+    MarketDataProvider provider = mock(MarketDataProvider.class);
+    when(provider.isAvailable()).thenReturn(false);
+    when(provider.getName()).thenReturn("none");
+    return provider;
+  }
+
+  /**
+   * A service over this test's mocked repositories, with defaults for everything else.
+   */
+  private ServiceBuilder service() {
+    return new ServiceBuilder();
+  }
+
+  private final class ServiceBuilder {
+
+    private CacheConfig cacheConfig = CacheConfig.defaults();
+    private SnapshotConfig snapshotConfig = SnapshotConfig.defaults();
+    private DatabaseHealth databaseHealth = DatabaseHealth.disabled();
+    private OverviewWriteBuffer writeBuffer;
+    private MarketDataProvider provider = unavailableProvider();
+
+    ServiceBuilder cacheConfig(CacheConfig cacheConfig) {
+      this.cacheConfig = cacheConfig;
+      return this;
+    }
+
+    ServiceBuilder snapshotConfig(SnapshotConfig snapshotConfig) {
+      this.snapshotConfig = snapshotConfig;
+      return this;
+    }
+
+    ServiceBuilder databaseHealth(DatabaseHealth databaseHealth) {
+      this.databaseHealth = databaseHealth;
+      return this;
+    }
+
+    ServiceBuilder writeBuffer(OverviewWriteBuffer writeBuffer) {
+      this.writeBuffer = writeBuffer;
+      return this;
+    }
+
+    ServiceBuilder provider(MarketDataProvider provider) {
+      this.provider = provider;
+      return this;
+    }
+
+    AlphaVantageStockService build() {
+      OverviewWriteBuffer buffer = writeBuffer != null ? writeBuffer
+          : new OverviewWriteBuffer(mockRepository, databaseHealth,
+              DatabaseHealthConfig.defaults().getWriteBufferCapacity());
+      return new AlphaVantageStockService(new ObjectMapper(), mockRepository,
+          mock(StockQuoteRepository.class), mockPriceRepository, mockLeaseRepository, cacheConfig,
+          snapshotConfig, databaseHealth, buffer, AccessFrequencyTracker.disabled(),
+          SymbolDirectory.unlisted(), provider);
+    }
+  }
+}
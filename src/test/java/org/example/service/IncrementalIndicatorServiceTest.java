@@ -0,0 +1,93 @@
+package org.example.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.example.config.CacheConfig;
+import org.example.model.IndicatorSnapshot;
+import org.example.model.PriceBar;
+import org.example.model.PriceInterval;
+import org.example.service.impl.IncrementalIndicatorService;
+import org.example.symbol.SymbolDirectory;
+import org.example.symbol.UnknownSymbolException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for IncrementalIndicatorService
+ */
+class IncrementalIndicatorServiceTest {
+
+  private StockService stockService;
+  private SymbolDirectory symbolDirectory;
+  private IndicatorService indicatorService;
+
+  @BeforeEach
+  void setUp() {
+    stockService = mock(StockService.class);
+    symbolDirectory = SymbolDirectory.unlisted();
+    indicatorService = new IncrementalIndicatorService(stockService, symbolDirectory,
+        CacheConfig.defaults());
+  }
+
+  @Test
+  void testSnapshotIsCachedBetweenRequests() {
+    when(stockService.getPriceHistory(eq("AAPL"), eq(PriceInterval.DAILY), anyLong(), anyLong()))
+        .thenReturn(closedDailyBars("AAPL", 60));
+
+    IndicatorSnapshot first = indicatorService.getIndicators("aapl", PriceInterval.DAILY, 20);
+    IndicatorSnapshot second = indicatorService.getIndicators("AAPL", PriceInterval.DAILY, 20);
+
+    assertSame(first, second);
+    assertNotNull(first.getSma());
+    assertNotNull(first.getMacd());
+    assertEquals(20, first.getWindow());
+    verify(stockService, times(1))
+        .getPriceHistory(eq("AAPL"), eq(PriceInterval.DAILY), anyLong(), anyLong());
+  }
+
+  @Test
+  void testRejectsOutOfRangeWindow() {
+    assertThrows(IllegalArgumentException.class,
+        () -> indicatorService.getIndicators("AAPL", PriceInterval.DAILY, 1));
+    assertThrows(IllegalArgumentException.class,
+        () -> indicatorService.getIndicators("AAPL", PriceInterval.DAILY, 10_000));
+  }
+
+  @Test
+  void testRejectsUnknownSymbolWithoutReadingHistory() {
+    symbolDirectory.markUnknown("ZZZZ");
+
+    assertThrows(UnknownSymbolException.class,
+        () -> indicatorService.getIndicators("zzzz", PriceInterval.DAILY, 20));
+    assertThrows(IllegalArgumentException.class,
+        () -> indicatorService.getIndicators("NOT A TICKER", PriceInterval.DAILY, 20));
+    verify(stockService, never()).getPriceHistory(anyString(), any(PriceInterval.class),
+        anyLong(), anyLong());
+  }
+
+  private List<PriceBar> closedDailyBars(String symbol, int count) {
+    long day = Duration.ofDays(1).toMillis();
+    long last = (System.currentTimeMillis() / day - 2) * day;
+    List<PriceBar> bars = new ArrayList<>();
+    for (int i = count - 1; i >= 0; i--) {
+      double close = 100 + Math.sin(i / 5.0) * 5;
+      bars.add(new PriceBar(symbol, "daily", last - i * day, close, close + 1, close - 1, close, 1000L));
+    }
+    return bars;
+  }
+}
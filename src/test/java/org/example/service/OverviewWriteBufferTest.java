@@ -0,0 +1,86 @@
+package org.example.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import org.example.config.WriteBehindConfig;
+import org.example.model.StockOverview;
+import org.example.repository.DatabaseHealth;
+import org.example.repository.StockOverviewRepository;
+import org.example.service.impl.OverviewWriteBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for OverviewWriteBuffer
+ */
+class OverviewWriteBufferTest {
+
+  private StockOverviewRepository repository;
+  private DatabaseHealth health;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(StockOverviewRepository.class);
+    health = new DatabaseHealth(() -> mock(Connection.class), Duration.ofSeconds(1),
+        Duration.ofSeconds(1));
+  }
+
+  @Test
+  void testCoalescesBySymbolAndDropsOldestWhenFull() {
+    OverviewWriteBuffer buffer = new OverviewWriteBuffer(repository, health, 2);
+
+    buffer.add(new StockOverview("AAPL", "Apple"));
+    buffer.add(new StockOverview("MSFT", "Microsoft"));
+    buffer.add(new StockOverview("AAPL", "Apple Inc."));
+    buffer.add(new StockOverview("NVDA", "NVIDIA"));
+
+    assertEquals(2, buffer.size());
+    assertEquals(1, buffer.getDroppedCount());
+    assertEquals(2, buffer.flush());
+    verify(repository).saveAll(argThat(overviews -> overviews.stream()
+        .map(StockOverview::getName).toList().equals(List.of("Apple Inc.", "NVIDIA"))));
+  }
+
+  @Test
+  void testRequeuesWhenDatabaseIsUnreachable() {
+    OverviewWriteBuffer buffer = new OverviewWriteBuffer(repository, health, 10);
+    buffer.add(new StockOverview("AAPL", "Apple"));
+    when(repository.saveAll(anyList())).thenThrow(new RuntimeException("Database operation failed",
+        new SQLTransientConnectionException("Connection is not available")));
+
+    assertThrows(RuntimeException.class, buffer::flush);
+
+    assertEquals(1, buffer.size());
+    assertFalse(health.isAvailable());
+  }
+
+  @Test
+  void testWriteBehindFlushesFullBatchesAndRemainderOnStop() {
+    OverviewWriteBuffer buffer = new OverviewWriteBuffer(repository, health, 100,
+        new WriteBehindConfig(true, 2, Duration.ofHours(1)));
+    buffer.start();
+
+    buffer.add(new StockOverview("AAPL", "Apple"));
+    buffer.add(new StockOverview("MSFT", "Microsoft"));
+    verify(repository, timeout(2_000)).saveAll(argThat(overviews -> overviews.size() == 2));
+
+    buffer.add(new StockOverview("NVDA", "NVIDIA"));
+    verify(repository, never()).saveAll(argThat(overviews -> overviews.size() == 1));
+    buffer.stop();
+    verify(repository).saveAll(argThat(overviews -> overviews.size() == 1));
+    assertEquals(0, buffer.size());
+  }
+}
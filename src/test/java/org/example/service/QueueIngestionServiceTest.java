@@ -0,0 +1,136 @@
+package org.example.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.example.cache.AccessFrequencyTracker;
+import org.example.config.FrequencyConfig;
+import org.example.config.IngestionConfig;
+import org.example.provider.MarketDataProvider;
+import org.example.provider.MarketDataRequest;
+import org.example.provider.RateBudgetExceededException;
+import org.example.provider.UpstreamException;
+import org.example.repository.IngestionJobRepository;
+import org.example.repository.StockOverviewRepository;
+import org.example.service.impl.QueueIngestionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for QueueIngestionService
+ */
+class QueueIngestionServiceTest {
+
+  private IngestionJobRepository mockJobRepository;
+  private StockOverviewRepository mockOverviewRepository;
+  private StockService mockStockService;
+  private MarketDataProvider mockProvider;
+  private AccessFrequencyTracker tracker;
+  private QueueIngestionService ingestionService;
+
+  @BeforeEach
+  void setUp() {
+    mockJobRepository = mock(IngestionJobRepository.class);
+    when(mockJobRepository.countByStatus()).thenReturn(Map.of());
+    mockOverviewRepository = mock(StockOverviewRepository.class);
+    mockStockService = mock(StockService.class);
+    mockProvider = mock(MarketDataProvider.class);
+    when(mockProvider.getName()).thenReturn("mock");
+    when(mockProvider.isAvailable()).thenReturn(true);
+
+    IngestionConfig config = new IngestionConfig(true, 1, 3, Duration.ofMinutes(5), 5,
+        Duration.ofMillis(10), Duration.ofHours(24));
+    tracker = new AccessFrequencyTracker(FrequencyConfig.defaults());
+    ingestionService = new QueueIngestionService(mockJobRepository, mockOverviewRepository,
+        mockStockService, mockProvider, new ObjectMapper(), config, tracker);
+  }
+
+  @AfterEach
+  void tearDown() {
+    ingestionService.stop();
+  }
+
+  @Test
+  void testEnqueueNormalizesAndDeduplicatesSymbols() {
+    when(mockJobRepository.enqueue(List.of("AAPL", "MSFT"))).thenReturn(2);
+
+    int queued = ingestionService.enqueue(List.of(" aapl", "AAPL", "", "msft", "WAYTOOLONGSYMBOL"));
+
+    assertEquals(2, queued);
+    verify(mockJobRepository).enqueue(List.of("AAPL", "MSFT"));
+  }
+
+  @Test
+  void testWorkerUpsertsBatchAndHandsBackThrottledSymbols() throws Exception {
+    tracker.record("IBM");
+    // Hot symbols are claimed first
+    when(mockJobRepository.claim(anyString(), eq(3), any(Duration.class), eq(List.of("IBM"))))
+        .thenReturn(List.of("IBM", "BAD", "LATE"))
+        .thenReturn(List.of());
+    when(mockProvider.fetch(argThat(request -> request != null && "IBM".equals(request.getSymbol()))))
+        .thenReturn("{\"Symbol\":\"IBM\",\"Name\":\"International Business Machines\"}");
+    when(mockProvider.fetch(argThat(request -> request != null && "BAD".equals(request.getSymbol()))))
+        .thenThrow(new UpstreamException("Upstream returned HTTP 500", 500));
+    when(mockProvider.fetch(argThat(request -> request != null && "LATE".equals(request.getSymbol()))))
+        .thenThrow(new RateBudgetExceededException("Upstream rate budget exhausted"));
+
+    when(mockOverviewRepository.saveAll(anyList())).thenReturn(List.of("IBM"));
+
+    ingestionService.start();
+
+    verify(mockOverviewRepository, timeout(2_000)).saveAll(argThat(overviews ->
+        overviews.size() == 1 && "IBM".equals(overviews.get(0).getSymbol())));
+    verify(mockJobRepository, timeout(2_000)).markDone(List.of("IBM"), Duration.ofHours(24));
+    verify(mockJobRepository).markFailed(eq("BAD"), anyString(), eq(5), any(Duration.class));
+    verify(mockJobRepository).release(eq(List.of("LATE")), any(Duration.class));
+    // Caches are invalidated after the batch is marked done
+    verify(mockStockService, timeout(2_000)).invalidateOverview("IBM");
+    verify(mockProvider).fetch(argThat(request -> request != null
+        && request.getPriority() == MarketDataRequest.Priority.BULK && "IBM".equals(request.getSymbol())));
+
+    assertEquals(3, ingestionService.getStatus().getClaimed());
+    assertEquals(1, ingestionService.getStatus().getUpserted());
+    assertEquals(1, ingestionService.getStatus().getFailed());
+    assertEquals(1, ingestionService.getStatus().getRateLimited());
+  }
+
+  @Test
+  void testDoesNotStartWithoutProvider() {
+    when(mockProvider.isAvailable()).thenReturn(false);
+
+    ingestionService.start();
+
+    assertFalse(ingestionService.getStatus().isRunning());
+    verify(mockJobRepository, never()).claim(anyString(), anyInt(), any(Duration.class), anyList());
+  }
+
+  @Test
+  void testEnqueueUniverseQueuesActiveStocks() throws Exception {
+    when(mockProvider.fetch(argThat(request -> request != null
+        && "LISTING_STATUS".equals(request.getFunction()))))
+        .thenReturn("symbol,name,exchange,assetType,ipoDate,delistingDate,status\n"
+            + "IBM,International Business Machines,NYSE,Stock,1962-01-02,null,Active\n"
+            + "SPY,SPDR S&P 500 ETF Trust,NYSE ARCA,ETF,1993-01-29,null,Active\n");
+    when(mockJobRepository.enqueue(List.of("IBM"))).thenReturn(1);
+
+    assertEquals(1, ingestionService.enqueueUniverse());
+    assertTrue(ingestionService.getStatus().getQueue().isEmpty());
+  }
+}
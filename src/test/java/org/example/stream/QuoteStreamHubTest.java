@@ -0,0 +1,189 @@
+package org.example.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.example.config.StreamConfig;
+import org.example.model.StockInfo;
+import org.example.service.StockService;
+import org.example.symbol.SymbolDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for QuoteStreamHub
+ */
+class QuoteStreamHubTest {
+
+  private StockService mockStockService;
+  private AtomicInteger polls;
+  private QuoteStreamHub hub;
+
+  @BeforeEach
+  void setUp() {
+    mockStockService = mock(StockService.class);
+    polls = new AtomicInteger();
+    // Every poll returns a new price
+    when(mockStockService.prefetchStockInfo(anyString())).thenAnswer(invocation ->
+        new StockInfo(invocation.getArgument(0), BigDecimal.valueOf(polls.incrementAndGet())));
+    hub = new QuoteStreamHub(mockStockService, SymbolDirectory.unlisted(), new ObjectMapper(),
+        new StreamConfig(Duration.ofMillis(20), Duration.ofMinutes(1), 5, 10, 3, 2, 2));
+  }
+
+  @Test
+  void testSymbolIsPolledOnceForAllSubscribers() throws Exception {
+    // Each AAPL poll waits for the test to allow it, then returns a new price
+    Semaphore aaplPolls = new Semaphore(0);
+    AtomicInteger aaplPolled = new AtomicInteger();
+    when(mockStockService.prefetchStockInfo("AAPL")).thenAnswer(invocation -> {
+      if (!aaplPolls.tryAcquire(5, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("poll not allowed");
+      }
+      return new StockInfo("AAPL", BigDecimal.valueOf(aaplPolled.incrementAndGet()));
+    });
+    RecordingSink first = new RecordingSink();
+    RecordingSink second = new RecordingSink();
+    QuoteStreamHub.Subscription firstSubscription = hub.subscribe(List.of("aapl"), first);
+    QuoteStreamHub.Subscription secondSubscription = hub.subscribe(List.of("AAPL", "MSFT"), second);
+    assertEquals(2, hub.getSymbolCount());
+
+    for (int update = 1; update <= 3; update++) {
+      aaplPolls.release();
+      awaitQuotes(first, "AAPL", update);
+      awaitQuotes(second, "AAPL", update);
+    }
+    firstSubscription.close();
+    secondSubscription.close();
+
+    List<String> firstAapl = first.quotes.stream().filter(q -> q.contains("AAPL")).toList();
+    List<String> secondAapl = second.quotes.stream().filter(q -> q.contains("AAPL")).toList();
+    assertTrue(second.quotes.stream().anyMatch(q -> q.contains("MSFT")));
+    // One poller for both clients: each poll reaches both, in the same order, exactly once
+    assertEquals(3, aaplPolled.get());
+    assertEquals(3, firstAapl.size(), firstAapl.toString());
+    assertEquals(3, new HashSet<>(firstAapl).size(), firstAapl.toString());
+    assertEquals(firstAapl, secondAapl);
+  }
+
+  @Test
+  void testLastUnsubscribeStopsPolling() throws Exception {
+    QuoteStreamHub.Subscription subscription = hub.subscribe(List.of("AAPL"), new RecordingSink());
+    Thread.sleep(50);
+
+    subscription.close();
+    assertEquals(0, hub.getSymbolCount());
+    assertEquals(0, hub.getClientCount());
+    Thread.sleep(50);
+    int pollsAfterClose = polls.get();
+    Thread.sleep(100);
+    assertEquals(pollsAfterClose, polls.get());
+  }
+
+  @Test
+  void testSlowClientIsDisconnected() throws Exception {
+    CountDownLatch unblock = new CountDownLatch(1);
+    RecordingSink slow = new RecordingSink() {
+      @Override
+      public boolean send(String symbol, String quoteJson) {
+        try {
+          unblock.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return super.send(symbol, quoteJson);
+      }
+    };
+    RecordingSink fast = new RecordingSink();
+    QuoteStreamHub.Subscription slowSubscription = hub.subscribe(List.of("AAPL"), slow);
+    QuoteStreamHub.Subscription fastSubscription = hub.subscribe(List.of("AAPL"), fast);
+
+    Thread.sleep(300);
+    unblock.countDown();
+
+    assertTrue(slowSubscription.isClosed());
+    assertTrue(slow.closed);
+    assertEquals(1, hub.getSlowClientsDisconnected());
+    assertFalse(fastSubscription.isClosed());
+    assertTrue(fast.quotes.size() > 3);
+  }
+
+  @Test
+  void testStopClosesClientsAndRefusesNewOnes() throws Exception {
+    RecordingSink sink = new RecordingSink();
+    QuoteStreamHub.Subscription subscription = hub.subscribe(List.of("AAPL"), sink);
+    awaitQuotes(sink, "AAPL", 1);
+
+    hub.stop();
+
+    assertTrue(subscription.isClosed());
+    assertTrue(sink.closed);
+    assertEquals(0, hub.getClientCount());
+    assertThrows(IllegalStateException.class,
+        () -> hub.subscribe(List.of("MSFT"), new RecordingSink()));
+  }
+
+  @Test
+  void testRejectsTooManySymbols() {
+    assertThrows(IllegalArgumentException.class,
+        () -> hub.subscribe(List.of("A", "B", "C", "D", "E", "F"), new RecordingSink()));
+    assertThrows(IllegalArgumentException.class,
+        () -> hub.subscribe(List.of(" "), new RecordingSink()));
+  }
+
+  @Test
+  void testRejectsInvalidSymbolsBeforePolling() throws Exception {
+    assertThrows(IllegalArgumentException.class,
+        () -> hub.subscribe(List.of("AAPL", "DROP;TABLE"), new RecordingSink()));
+    Thread.sleep(50);
+
+    assertEquals(0, hub.getSymbolCount());
+    assertEquals(0, hub.getClientCount());
+    assertEquals(0, polls.get());
+  }
+
+  private static void awaitQuotes(RecordingSink sink, String symbol, int count)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (sink.quotes.stream().filter(q -> q.contains(symbol)).count() < count) {
+      assertTrue(System.currentTimeMillis() < deadline,
+          "timed out waiting for " + symbol + " quotes");
+      Thread.sleep(10);
+    }
+  }
+
+  private static class RecordingSink implements QuoteSink {
+    final List<String> quotes = new CopyOnWriteArrayList<>();
+    volatile boolean closed;
+
+    @Override
+    public boolean send(String symbol, String quoteJson) {
+      quotes.add(quoteJson);
+      return true;
+    }
+
+    @Override
+    public boolean heartbeat() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
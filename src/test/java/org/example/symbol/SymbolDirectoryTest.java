@@ -0,0 +1,91 @@
+package org.example.symbol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.List;
+import org.example.config.SymbolConfig;
+import org.example.provider.MarketDataProvider;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for SymbolDirectory and Symbols
+ */
+class SymbolDirectoryTest {
+
+  @Test
+  void testCanonicalizesWithoutCopyingCanonicalInput() {
+    String canonical = "BRK-B";
+    assertSame(canonical, Symbols.canonicalize(canonical));
+    assertEquals("AAPL", Symbols.canonicalize(" aapl "));
+    assertEquals("TSCO.LON", Symbols.canonicalize("tsco.lon"));
+
+    assertNull(Symbols.canonicalize(null));
+    assertNull(Symbols.canonicalize("  "));
+    assertNull(Symbols.canonicalize("WAYTOOLONGSYMBOL"));
+    assertNull(Symbols.canonicalize("AA PL"));
+    assertNull(Symbols.canonicalize(".AAPL"));
+    assertNull(Symbols.canonicalize("AAPL;DROP"));
+  }
+
+  @Test
+  void testRejectsUnlistedAndUnknownSymbols() {
+    SymbolDirectory directory = SymbolDirectory.unlisted();
+    assertEquals("ZZZZ", directory.require("zzzz"));
+
+    directory.markNoData("SPY", "OVERVIEW");
+    assertEquals("SPY", directory.require("spy"));
+    assertEquals("SPY", directory.require("spy", "TIME_SERIES_DAILY"));
+    assertThrows(UnknownSymbolException.class, () -> directory.require("spy", "OVERVIEW"));
+
+    directory.markUnknown("ZZZZ");
+    assertThrows(UnknownSymbolException.class, () -> directory.require("zzzz"));
+
+    directory.update(List.of("AAPL", "MSFT"));
+    assertEquals("AAPL", directory.require("aapl"));
+    assertThrows(UnknownSymbolException.class, () -> directory.require("NOPE"));
+    // Foreign listings are not in the US directory
+    assertEquals("TSCO.LON", directory.require("TSCO.LON"));
+    IllegalArgumentException invalid = assertThrows(IllegalArgumentException.class,
+        () -> directory.require("AA PL"));
+    assertEquals("Invalid stock symbol: AA PL", invalid.getMessage());
+
+    assertEquals(1L, directory.getStatus().get("rejectedInvalid"));
+    assertEquals(3L, directory.getStatus().get("rejectedUnknown"));
+  }
+
+  @Test
+  void testLoadsListingFromProvider() throws Exception {
+    MarketDataProvider provider = mock(MarketDataProvider.class);
+    when(provider.isAvailable()).thenReturn(true);
+    when(provider.fetch(any())).thenReturn(
+        "symbol,name,exchange,assetType,ipoDate,delistingDate,status\n"
+            + "IBM,International Business Machines,NYSE,Stock,1962-01-02,null,Active\n"
+            + "SPY,SPDR S&P 500 ETF Trust,NYSE ARCA,ETF,1993-01-29,null,Active\n");
+    SymbolDirectory directory = new SymbolDirectory(new SymbolConfig(true, Duration.ofHours(24),
+        Duration.ofMinutes(5), Duration.ofMinutes(60), 100), provider, new ObjectMapper());
+
+    directory.start();
+    try {
+      long deadline = System.currentTimeMillis() + 5_000;
+      while (!Boolean.TRUE.equals(directory.getStatus().get("listingLoaded"))) {
+        assertTrue(System.currentTimeMillis() < deadline, "listing was not loaded");
+        Thread.sleep(10);
+      }
+    } finally {
+      directory.stop();
+    }
+
+    assertEquals(2, directory.getStatus().get("listedSymbols"));
+    assertEquals("SPY", directory.require("spy"));
+    assertThrows(UnknownSymbolException.class, () -> directory.require("AAPL"));
+  }
+}